@@ -11,6 +11,29 @@ CREATE TABLE finances.usuario
   nome character varying(150),
   email character varying(100),
   senha character varying(20),
+  moeda character(3),
+  data_cadastro date default now(),
+  seq_lancamentos bigint NOT NULL default 0,
+  seq_remocoes_expiradas bigint NOT NULL default 0,
+  CONSTRAINT uk_usuario_email UNIQUE (email)
+);
+
+-- login e cadastro comparam o email ignorando a caixa
+CREATE INDEX ix_usuario_email_maiusculo ON finances.usuario (upper(email));
+
+CREATE TABLE finances.recorrencia
+(
+  id bigserial NOT NULL PRIMARY KEY,
+  descricao character varying(100) NOT NULL,
+  mes_inicio integer NOT NULL,
+  ano_inicio integer NOT NULL,
+  quantidade integer NOT NULL,
+  parcelado boolean NOT NULL default false,
+  valor numeric(16,2),
+  valor_total numeric(16,2),
+  moeda character(3) NOT NULL default 'BRL',
+  tipo character varying(20),
+  id_usuario bigint REFERENCES finances.usuario (id),
   data_cadastro date default now()
 );
 
@@ -21,8 +44,103 @@ CREATE TABLE finances.lancamento
   mes integer NOT NULL,
   ano integer NOT NULL,
   valor numeric(16,2),
+  moeda character(3) NOT NULL default 'BRL',
   tipo character varying(20),
   status character varying(20),
   id_usuario bigint REFERENCES finances.usuario (id),
+  data_cadastro date default now(),
+  data_vencimento date,
+  id_recorrencia bigint REFERENCES finances.recorrencia (id),
+  parcela integer,
+  hash_conteudo character varying(64),
+  seq_alteracao bigint NOT NULL default 0,
+  referencia_importacao character varying(255),
+  CONSTRAINT uk_lancamento_usuario_hash UNIQUE (id_usuario, hash_conteudo)
+);
+
+CREATE TABLE finances.tag
+(
+  id bigserial NOT NULL PRIMARY KEY,
+  nome character varying(50) NOT NULL,
+  id_usuario bigint NOT NULL REFERENCES finances.usuario (id),
+  UNIQUE (id_usuario, nome)
+);
+
+CREATE TABLE finances.lancamento_tag
+(
+  id_lancamento bigint NOT NULL REFERENCES finances.lancamento (id) ON DELETE CASCADE,
+  id_tag bigint NOT NULL REFERENCES finances.tag (id) ON DELETE CASCADE,
+  PRIMARY KEY (id_lancamento, id_tag)
+);
+
+CREATE TABLE finances.lancamento_removido
+(
+  id_lancamento bigint NOT NULL PRIMARY KEY,
+  id_usuario bigint NOT NULL REFERENCES finances.usuario (id),
+  seq_alteracao bigint NOT NULL,
+  data_remocao timestamp NOT NULL default now()
+);
+
+CREATE TABLE finances.diretorio_usuario
+(
+  email character varying(100) NOT NULL PRIMARY KEY,
+  shard integer NOT NULL
+);
+
+CREATE TABLE finances.tarefa_agendada
+(
+  nome character varying(50) NOT NULL PRIMARY KEY,
+  dono character varying(100) NOT NULL,
+  expira_em timestamp NOT NULL,
+  posicao bigint
+);
+
+CREATE TABLE finances.orcamento
+(
+  id bigserial NOT NULL PRIMARY KEY,
+  id_usuario bigint NOT NULL REFERENCES finances.usuario (id),
+  mes integer NOT NULL,
+  ano integer NOT NULL,
+  tipo character varying(20) NOT NULL,
+  id_tag bigint REFERENCES finances.tag (id) ON DELETE CASCADE,
+  limite numeric(16,2) NOT NULL,
+  gasto numeric(16,2) NOT NULL default 0,
+  percentual_alerta integer NOT NULL default 80,
+  situacao character varying(20) NOT NULL,
   data_cadastro date default now()
-);
\ No newline at end of file
+);
+
+CREATE UNIQUE INDEX idx_orcamento_usuario_mes ON finances.orcamento (id_usuario, ano, mes, tipo, coalesce(id_tag, 0));
+
+CREATE INDEX idx_lancamento_recorrencia ON finances.lancamento (id_recorrencia, ano, mes);
+
+CREATE INDEX idx_lancamento_usuario_periodo ON finances.lancamento (id_usuario, ano, mes);
+
+CREATE INDEX idx_lancamento_usuario_cadastro ON finances.lancamento (id_usuario, data_cadastro);
+
+CREATE INDEX idx_lancamento_usuario_descricao ON finances.lancamento (id_usuario, lower(descricao) text_pattern_ops);
+
+CREATE INDEX idx_lancamento_usuario_seq ON finances.lancamento (id_usuario, seq_alteracao);
+
+CREATE INDEX idx_lancamento_vencimento ON finances.lancamento (data_vencimento, id) WHERE status = 'PENDENTE';
+
+CREATE INDEX idx_lancamento_removido_usuario_seq ON finances.lancamento_removido (id_usuario, seq_alteracao);
+
+CREATE INDEX idx_lancamento_removido_data ON finances.lancamento_removido (data_remocao);
+
+-- Particionamento (finances.shards.habilitado=true): este script roda em cada shard. No shard s > 0
+-- os ids começam em s * 2^47 + 1, que é como a aplicação descobre o shard de um id:
+-- ALTER SEQUENCE finances.usuario_id_seq RESTART WITH <s * 140737488355328 + 1>;
+-- (o mesmo para recorrencia_id_seq, lancamento_id_seq, tag_id_seq e orcamento_id_seq)
+-- O diretório só é usado no shard 0. Ao particionar uma base existente, ela vira o shard 0:
+-- INSERT INTO finances.diretorio_usuario (email, shard) SELECT lower(trim(email)), 0 FROM finances.usuario;
+
+-- O email é gravado em minúsculas e sem espaços nas pontas, mas login e cadastro comparam sem
+-- caixa, então os emails já gravados continuam valendo sem migração. Numa base existente:
+-- CREATE INDEX ix_usuario_email_maiusculo ON finances.usuario (upper(email));
+-- ALTER TABLE finances.usuario ADD CONSTRAINT uk_usuario_email UNIQUE (email);
+
+-- O hash de conteúdo dos extratos inclui a referência de importação (FITID ou dia e ocorrência).
+-- Numa base existente:
+-- ALTER TABLE finances.lancamento ADD COLUMN referencia_importacao character varying(255);
+-- Extratos importados antes disso têm outro hash e, se reenviados, são gravados de novo.
@@ -0,0 +1,74 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.audit.AuditJournal;
+import br.com.pedrodavi.financesapi.audit.LaunchSnapshot;
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Custo do {@link AuditJournal} por alteração de lançamento: o registro com {@code fsync} em
+ * lote (o caminho de produção) e, para comparação, com {@code fsync} a cada escrita.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="AuditJournalBenchmark -f 1"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditJournalBenchmark {
+
+    private final LaunchSnapshot antes = new LaunchSnapshot("Aluguel do apartamento", 5, 2021, Money.valueOf(1500),
+            "BRL", ReleaseType.DESPESA, LaunchStatus.PENDENTE);
+    private final LaunchSnapshot depois = new LaunchSnapshot("Aluguel do apartamento", 5, 2021, Money.valueOf(1500),
+            "BRL", ReleaseType.DESPESA, LaunchStatus.EFETIVADO);
+
+    private Path diretorio;
+    private AuditJournal diario;
+    private long lancamento;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        diretorio = Files.createTempDirectory("auditoria-benchmark");
+        diario = new AuditJournal(true, diretorio.toString(), 64, 0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        diario.fechar();
+        try(Stream<Path> arquivos = Files.walk(diretorio)) {
+            for(Path arquivo : (Iterable<Path>) arquivos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(arquivo);
+            }
+        }
+    }
+
+    @Benchmark
+    public long registrar() {
+        return diario.registrar(LaunchEventType.STATUS_ATUALIZADO, 7L, ++lancamento, antes, depois);
+    }
+
+    @Benchmark
+    public long registrarSincronizando() {
+        long sequencia = diario.registrar(LaunchEventType.STATUS_ATUALIZADO, 7L, ++lancamento, antes, depois);
+        diario.sincronizar();
+        return sequencia;
+    }
+
+}
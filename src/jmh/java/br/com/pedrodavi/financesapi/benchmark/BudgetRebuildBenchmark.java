@@ -0,0 +1,119 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.FinancesapiApplication;
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.RebuildStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetRebuildJob;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.BudgetRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.service.BudgetRebuildService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconstrução dos orçamentos de {@code usuarios} usuários, um orçamento cada, somando
+ * {@code linhas} lançamentos, com {@code threads} threads sobre o H2 do perfil {@code test}.
+ * Cada iteração zera os gastos antes de medir, então todos os orçamentos são corrigidos.
+ * Compare as médias entre os valores de {@code threads} para ver o ganho por núcleo.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="BudgetRebuildBenchmark -f 1 -i 3 -wi 1"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BudgetRebuildBenchmark {
+
+    private static final LocalDate HOJE = LocalDate.of(2021, 5, 10);
+
+    @Param("200000")
+    private int linhas;
+
+    @Param("2000")
+    private int usuarios;
+
+    @Param({"1", "2", "4"})
+    private int threads;
+
+    private ConfigurableApplicationContext context;
+    private BudgetRebuildService service;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(FinancesapiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "finances.reconstrucao.threads=" + threads)
+                .run();
+        service = context.getBean(BudgetRebuildService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LaunchRepository lancamentos = context.getBean(LaunchRepository.class);
+
+        List<User> donos = new ArrayList<>(usuarios);
+        for(int i = 0; i < usuarios; i++) {
+            donos.add(User.builder().nome("benchmark").email("benchmark" + i + "@email.com").senha("senha").build());
+        }
+        donos = context.getBean(UserRepository.class).saveAll(donos);
+
+        List<Budget> orcamentos = new ArrayList<>(usuarios);
+        for(User dono : donos) {
+            orcamentos.add(Budget.builder().usuario(dono).mes(HOJE.getMonthValue()).ano(HOJE.getYear())
+                    .tipo(ReleaseType.DESPESA).limite(Money.valueOf(1000)).gasto(Money.ZERO).percentualAlerta(80)
+                    .situacao(BudgetStatus.DENTRO).dataCadastro(HOJE).build());
+        }
+        context.getBean(BudgetRepository.class).saveAll(orcamentos);
+
+        List<Launch> bloco = new ArrayList<>(10000);
+        for(int i = 0; i < linhas; i++) {
+            bloco.add(Launch.builder().descricao("conta " + i).mes(HOJE.getMonthValue()).ano(HOJE.getYear())
+                    .valor(Money.ofCents(100 + i % 10000)).moeda("BRL").tipo(ReleaseType.DESPESA)
+                    .status(LaunchStatus.EFETIVADO).usuario(donos.get(i % usuarios)).dataCadastro(HOJE).build());
+            if(bloco.size() == 10000 || i == linhas - 1) {
+                lancamentos.inserirEmLote(bloco);
+                bloco.clear();
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void zerarGastos() {
+        jdbcTemplate.update("update finances.orcamento set gasto = 0, situacao = 'DENTRO'");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int reconstruir() {
+        BudgetRebuildJob job = service.reconstruir(false, false);
+        if(job.getStatus() != RebuildStatus.CONCLUIDO || job.getDivergentes() != usuarios) {
+            throw new IllegalStateException("Reconstrução incompleta: " + job.getDivergentes() + " " + job.getErro());
+        }
+        return job.getDivergentes();
+    }
+
+}
@@ -0,0 +1,99 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.FinancesapiApplication;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência dos endpoints de lançamento por id com e sem o cache de segundo nível do
+ * Hibernate, sobre o H2 do perfil {@code test} (o ganho com o Postgres na rede é maior).
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="LaunchByIdBenchmark -f 1"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LaunchByIdBenchmark {
+
+    private static final int LANCAMENTOS = 1000;
+    private static final String STATUS = "{\"status\":\"" + LaunchStatus.EFETIVADO + "\"}";
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mvc;
+    private final List<Long> ids = new ArrayList<>();
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(FinancesapiApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache)
+                .run();
+        mvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        User usuario = context.getBean(UserRepository.class).save(User.builder()
+                .nome("benchmark").email("benchmark@email.com").senha("senha").build());
+        LaunchRepository repository = context.getBean(LaunchRepository.class);
+        for(int i = 0; i < LANCAMENTOS; i++) {
+            ids.add(repository.save(Launch.builder()
+                    .descricao("lancamento " + i).mes(1 + i % 12).ano(2021)
+                    .valor(Money.valueOf(10 + i)).tipo(ReleaseType.DESPESA).status(LaunchStatus.PENDENTE)
+                    .usuario(usuario).dataCadastro(LocalDate.now()).moeda("BRL")
+                    .build()).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult obter() throws Exception {
+        return mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos/" + proximoId())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult atualizarStatus() throws Exception {
+        return mvc.perform(MockMvcRequestBuilders.put("/api/lancamentos/" + proximoId() + "/atualiza-status")
+                .contentType(MediaType.APPLICATION_JSON).content(STATUS)).andReturn();
+    }
+
+    private Long proximoId() {
+        return ids.get(proximo++ % LANCAMENTOS);
+    }
+
+}
@@ -0,0 +1,99 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.converter.LaunchColumns;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a resposta atual do {@code buscar} (lista de entidades pelo {@link ObjectMapper})
+ * com o formato por colunas de {@link LaunchColumns}. O tamanho de cada payload é impresso
+ * no setup.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="LaunchColumnsBenchmark -f 1 -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LaunchColumnsBenchmark {
+
+    @Param("10000")
+    int linhas;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private ObjectWriter writer;
+    private List<Launch> lancamentos;
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(42);
+        User usuario = User.builder().id(1L).nome("usuario").email("usuario@email.com").moeda("BRL").build();
+        Tag[] tags = new Tag[8];
+        for(int i = 0; i < tags.length; i++) {
+            tags[i] = Tag.builder().id((long) i).nome("tag" + i).usuario(usuario).build();
+        }
+        lancamentos = new ArrayList<>(linhas);
+        for(int i = 0; i < linhas; i++) {
+            Set<Tag> doLancamento = new HashSet<>();
+            for(int t = random.nextInt(3); t > 0; t--) {
+                doLancamento.add(tags[random.nextInt(tags.length)]);
+            }
+            lancamentos.add(Launch.builder()
+                    .id((long) i + 1)
+                    .descricao("lancamento " + i)
+                    .mes(1 + random.nextInt(12))
+                    .ano(2020 + random.nextInt(2))
+                    .valor(Money.ofCents(random.nextInt(1_000_000)))
+                    .moeda("BRL")
+                    .tipo(random.nextBoolean() ? ReleaseType.RECEITA : ReleaseType.DESPESA)
+                    .status(LaunchStatus.values()[random.nextInt(LaunchStatus.values().length)])
+                    .dataCadastro(LocalDate.of(2021, 1, 1).plusDays(random.nextInt(365)))
+                    .usuario(usuario)
+                    .tags(doLancamento)
+                    .build());
+        }
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Launch.class));
+        System.out.printf("%n%d linhas: entidades=%d bytes, colunas=%d bytes%n",
+                linhas, entidades().length, colunas().length);
+    }
+
+    @Benchmark
+    public byte[] entidades() throws Exception {
+        return writer.writeValueAsBytes(lancamentos);
+    }
+
+    @Benchmark
+    public byte[] colunas() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(1 << 16);
+        try(JsonGenerator gen = mapper.getFactory().createGenerator(saida, JsonEncoding.UTF8)) {
+            new LaunchColumns(lancamentos).escrever(gen);
+        }
+        return saida.toByteArray();
+    }
+
+}
@@ -0,0 +1,109 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.FinancesapiApplication;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.service.LaunchEffectivationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Efetivação de {@code linhas} lançamentos vencidos, de {@code usuarios} usuários, em lotes de
+ * {@code lote}, sobre o H2 do perfil {@code test}. Cada iteração volta todos a pendente antes
+ * de medir; linhas por segundo = {@code linhas / (ms/op / 1000)}.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="LaunchEffectivationBenchmark -f 1 -i 1 -wi 0 -to 80m -jvmArgsAppend -Xmx3g"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LaunchEffectivationBenchmark {
+
+    private static final LocalDate HOJE = LocalDate.of(2021, 5, 10);
+
+    @Param("1000000")
+    private int linhas;
+
+    @Param("1000")
+    private int usuarios;
+
+    @Param("1000")
+    private int lote;
+
+    private ConfigurableApplicationContext context;
+    private LaunchEffectivationService service;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(FinancesapiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "finances.efetivacao.lote=" + lote)
+                .run();
+        service = context.getBean(LaunchEffectivationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LaunchRepository lancamentos = context.getBean(LaunchRepository.class);
+
+        List<User> donos = new ArrayList<>(usuarios);
+        for(int i = 0; i < usuarios; i++) {
+            donos.add(User.builder().nome("benchmark").email("benchmark" + i + "@email.com").senha("senha").build());
+        }
+        donos = context.getBean(UserRepository.class).saveAll(donos);
+
+        List<Launch> bloco = new ArrayList<>(10000);
+        for(int i = 0; i < linhas; i++) {
+            bloco.add(Launch.builder().descricao("conta " + i).mes(HOJE.getMonthValue()).ano(HOJE.getYear())
+                    .valor(Money.ofCents(100 + i % 10000)).moeda("BRL").tipo(ReleaseType.DESPESA)
+                    .status(LaunchStatus.PENDENTE).usuario(donos.get(i % usuarios)).dataCadastro(HOJE)
+                    .dataVencimento(HOJE.minusDays(i % 365)).build());
+            if(bloco.size() == 10000 || i == linhas - 1) {
+                lancamentos.inserirEmLote(bloco);
+                bloco.clear();
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void pendentes() {
+        Long maior = jdbcTemplate.queryForObject("select max(id) from finances.lancamento", Long.class);
+        for(long inicio = 0; inicio <= maior; inicio += 100000) {
+            jdbcTemplate.update("update finances.lancamento set status = 'PENDENTE' where id > ? and id <= ?", inicio, inicio + 100000);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int efetivar() {
+        int efetivados = service.efetivarVencidos(HOJE);
+        if(efetivados != linhas) {
+            throw new IllegalStateException("Efetivação incompleta: " + efetivados);
+        }
+        return efetivados;
+    }
+
+}
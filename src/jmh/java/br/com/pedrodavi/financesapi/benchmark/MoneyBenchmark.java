@@ -0,0 +1,125 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.dto.LaunchDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara {@link Money} com {@link BigDecimal} nas operações do caminho de lançamentos:
+ * validação (comparação com zero), soma de saldo e serialização JSON.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="MoneyBenchmark -f 1 -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    private static final int TAMANHO = 1024;
+
+    private final Money[] moneys = new Money[TAMANHO];
+    private final BigDecimal[] decimals = new BigDecimal[TAMANHO];
+
+    private final ObjectWriter writer = new ObjectMapper().writerFor(LaunchDTO.class);
+    private LaunchDTO dtoMoney;
+    private BigDecimalDTO dtoDecimal;
+    private ObjectWriter decimalWriter;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for(int i = 0; i < TAMANHO; i++) {
+            long cents = random.nextInt(10_000_000);
+            moneys[i] = Money.ofCents(cents);
+            decimals[i] = BigDecimal.valueOf(cents, 2);
+        }
+        dtoMoney = LaunchDTO.builder().descricao("Salario").mes(1).ano(2021).valor(moneys[0]).usuario(1L).tipo("RECEITA").status("PENDENTE").build();
+        dtoDecimal = new BigDecimalDTO("Salario", 1, 2021, decimals[0], 1L, "RECEITA", "PENDENTE");
+        decimalWriter = new ObjectMapper().writerFor(BigDecimalDTO.class);
+    }
+
+    @Benchmark
+    public int validarMoney() {
+        int positivos = 0;
+        for(Money valor : moneys) {
+            if(valor.isPositive()) {
+                positivos++;
+            }
+        }
+        return positivos;
+    }
+
+    @Benchmark
+    public int validarBigDecimal() {
+        int positivos = 0;
+        for(BigDecimal valor : decimals) {
+            if(valor.compareTo(BigDecimal.ZERO) >= 1) {
+                positivos++;
+            }
+        }
+        return positivos;
+    }
+
+    @Benchmark
+    public Money somarMoney() {
+        Money total = Money.ZERO;
+        for(Money valor : moneys) {
+            total = total.plus(valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal somarBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for(BigDecimal valor : decimals) {
+            total = total.add(valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public byte[] serializarMoney() throws Exception {
+        return writer.writeValueAsBytes(dtoMoney);
+    }
+
+    @Benchmark
+    public byte[] serializarBigDecimal() throws Exception {
+        return decimalWriter.writeValueAsBytes(dtoDecimal);
+    }
+
+    public static class BigDecimalDTO {
+
+        public String descricao;
+        public Integer mes;
+        public Integer ano;
+        public BigDecimal valor;
+        public Long usuario;
+        public String tipo;
+        public String status;
+
+        public BigDecimalDTO(String descricao, Integer mes, Integer ano, BigDecimal valor, Long usuario, String tipo, String status) {
+            this.descricao = descricao;
+            this.mes = mes;
+            this.ano = ano;
+            this.valor = valor;
+            this.usuario = usuario;
+            this.tipo = tipo;
+            this.status = status;
+        }
+
+    }
+
+}
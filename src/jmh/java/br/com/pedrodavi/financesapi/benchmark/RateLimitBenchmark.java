@@ -0,0 +1,83 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.ratelimit.RateLimitFilter;
+import br.com.pedrodavi.financesapi.ratelimit.RateLimitProperties;
+import br.com.pedrodavi.financesapi.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link RateLimitFilter} por requisição permitida, com várias threads disputando
+ * os mesmos buckets (10 mil usuários, mil IPs).
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="RateLimitBenchmark -f 1"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    private static final FilterChain NADA = (request, response) -> { };
+
+    private RateLimitFilter filter;
+
+    @State(Scope.Thread)
+    public static class Requisicoes {
+
+        final MockHttpServletRequest[] requests = new MockHttpServletRequest[1024];
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        int proxima;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for(int i = 0; i < requests.length; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos");
+                String usuario = Integer.toString(random.nextInt(10_000));
+                request.setRemoteAddr("10.0." + random.nextInt(4) + "." + random.nextInt(250));
+                request.setParameter("usuario", usuario);
+                request.setQueryString("usuario=" + usuario);
+                requests[i] = request;
+            }
+        }
+
+        MockHttpServletRequest proxima() {
+            return requests[proxima++ & (requests.length - 1)];
+        }
+
+    }
+
+    @Setup
+    public void setup() {
+        RateLimitProperties.Regra regra = new RateLimitProperties.Regra();
+        regra.setMetodo("GET");
+        regra.setCaminho("/api/lancamentos");
+        // limite alto o bastante para medir o caminho da requisição permitida
+        regra.setPorSegundo(1e9);
+        regra.setRajada(1_000_000);
+        RateLimitProperties propriedades = new RateLimitProperties();
+        propriedades.setRegras(List.of(regra));
+        filter = new RateLimitFilter(new RateLimiter(propriedades));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtrar(Requisicoes requisicoes) throws Exception {
+        filter.doFilter(requisicoes.proxima(), requisicoes.response, NADA);
+        return requisicoes.response;
+    }
+
+}
@@ -0,0 +1,89 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mede o tempo até a primeira requisição atendida: do início do processo até o primeiro
+ * {@code GET /api/usuarios/0/saldo} respondido (qualquer status HTTP).
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=br.com.pedrodavi.financesapi.benchmark.StartupTimeBenchmark \
+ *     -Dbenchmark.args="5 java -jar target/financesapi-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod,test"
+ * </pre>
+ *
+ * O primeiro argumento é o número de execuções; o restante é o comando que sobe a aplicação,
+ * ao qual é acrescentado {@code --server.port}.
+ */
+public class StartupTimeBenchmark {
+
+    private static final long LIMITE_MS = 120_000;
+
+    public static void main(String[] args) throws Exception {
+        int execucoes = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        List<String> comando = args.length > 1
+                ? new ArrayList<>(Arrays.asList(args).subList(1, args.length))
+                : new ArrayList<>(List.of("java", "-jar", "target/financesapi-0.0.1-SNAPSHOT.jar", "--spring.profiles.active=test"));
+
+        List<Long> tempos = new ArrayList<>();
+        for(int i = 0; i < execucoes; i++) {
+            long tempo = medir(comando);
+            tempos.add(tempo);
+            System.out.printf("execucao %d: %d ms%n", i + 1, tempo);
+        }
+
+        Collections.sort(tempos);
+        System.out.printf("time-to-first-request  min %d ms  mediana %d ms  max %d ms  (%s)%n",
+                tempos.get(0), tempos.get(tempos.size() / 2), tempos.get(tempos.size() - 1), String.join(" ", comando));
+    }
+
+    private static long medir(List<String> comando) throws Exception {
+        int porta = portaLivre();
+        List<String> linha = new ArrayList<>(comando);
+        linha.add("--server.port=" + porta);
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(linha)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/startup-benchmark.log")))
+                .start();
+        try {
+            URL url = new URL("http://localhost:" + porta + "/api/usuarios/0/saldo");
+            while (true) {
+                if(!processo.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou antes de responder; veja target/startup-benchmark.log");
+                }
+                if((System.nanoTime() - inicio) / 1_000_000 > LIMITE_MS) {
+                    throw new IllegalStateException("A aplicação não respondeu em " + LIMITE_MS + " ms");
+                }
+                try {
+                    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                    connection.setConnectTimeout(50);
+                    connection.getResponseCode();
+                    connection.disconnect();
+                    return (System.nanoTime() - inicio) / 1_000_000;
+                } catch (IOException e) {
+                    Thread.sleep(10);
+                }
+            }
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private static int portaLivre() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
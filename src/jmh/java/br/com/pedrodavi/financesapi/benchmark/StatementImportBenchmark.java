@@ -0,0 +1,86 @@
+package br.com.pedrodavi.financesapi.benchmark;
+
+import br.com.pedrodavi.financesapi.FinancesapiApplication;
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+import br.com.pedrodavi.financesapi.model.ImportJob;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.service.StatementImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação de um CSV de ponta a ponta (leitura, validação, deduplicação e gravação) sobre
+ * o H2 do perfil {@code test}. Cada iteração importa o arquivo inteiro para um usuário novo;
+ * linhas por segundo = {@code linhas / (ms/op / 1000)}.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="StatementImportBenchmark -f 1"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatementImportBenchmark {
+
+    @Param("50000")
+    private int linhas;
+
+    private ConfigurableApplicationContext context;
+    private StatementImportService service;
+    private UserRepository usuarios;
+    private byte[] csv;
+    private User usuario;
+    private int sequencia;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(FinancesapiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        service = context.getBean(StatementImportService.class);
+        usuarios = context.getBean(UserRepository.class);
+
+        Random random = new Random(42);
+        StringBuilder conteudo = new StringBuilder("data;descricao;valor\n");
+        for(int i = 0; i < linhas; i++) {
+            conteudo.append(String.format("%02d/%02d/2021;compra %d;%s%d,%02d%n", 1 + random.nextInt(28),
+                    1 + random.nextInt(12), i, random.nextBoolean() ? "-" : "", random.nextInt(5000), random.nextInt(100)));
+        }
+        csv = conteudo.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void novoUsuario() {
+        usuario = usuarios.save(User.builder().nome("benchmark").email("benchmark" + sequencia++ + "@email.com").senha("senha").build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportJob importar() {
+        ImportJob job = service.importar(usuario, StatementFormat.CSV, new ByteArrayInputStream(csv), StandardCharsets.UTF_8, null);
+        if(job.getImportados() != linhas) {
+            throw new IllegalStateException("Importação incompleta: " + job.getImportados() + " " + job.getErro());
+        }
+        return job;
+    }
+
+}
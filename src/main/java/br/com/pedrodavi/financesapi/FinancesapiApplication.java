@@ -2,9 +2,11 @@ package br.com.pedrodavi.financesapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
+@EnableScheduling
 //public class FinancesapiApplication implements WebMvcConfigurer {
 public class FinancesapiApplication implements WebMvcConfigurer {
 
@@ -0,0 +1,172 @@
+package br.com.pedrodavi.financesapi.audit;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário dos registros do diário:
+ *
+ * <pre>
+ * int tamanho | int crc32c | long sequencia | long instante (ms) | byte tipo
+ *             | long usuario | long lancamento | byte presenca | [antes] | [depois]
+ * lançamento: string descricao | int mes | int ano | long centavos | string moeda | byte tipo | byte status
+ * string:     int bytes (-1 para nulo) | UTF-8
+ * </pre>
+ *
+ * O {@code crc} cobre tudo depois dele. Um {@code tamanho} zero marca o fim de um segmento;
+ * um registro com CRC inválido é tratado como escrita interrompida e também encerra a leitura.
+ */
+final class AuditCodec {
+
+    static final int CABECALHO = 8;
+
+    private static final long NULO = Long.MIN_VALUE;
+    private static final byte ANTES = 1;
+    private static final byte DEPOIS = 2;
+
+    private static final LaunchEventType[] TIPOS_EVENTO = LaunchEventType.values();
+    private static final ReleaseType[] TIPOS = ReleaseType.values();
+    private static final LaunchStatus[] STATUS = LaunchStatus.values();
+
+    private AuditCodec() {
+    }
+
+    /**
+     * Escreve o registro completo, com cabeçalho, a partir da posição atual do buffer.
+     *
+     * @throws java.nio.BufferOverflowException se não couber
+     */
+    static void escrever(ByteBuffer destino, long sequencia, long instante, LaunchEventType tipo, Long usuario,
+                         Long lancamento, LaunchSnapshot antes, LaunchSnapshot depois) {
+        int inicio = destino.position();
+        destino.position(inicio + CABECALHO);
+        destino.putLong(sequencia);
+        destino.putLong(instante);
+        destino.put((byte) tipo.ordinal());
+        destino.putLong(usuario == null ? NULO : usuario);
+        destino.putLong(lancamento == null ? NULO : lancamento);
+        destino.put((byte) ((antes == null ? 0 : ANTES) | (depois == null ? 0 : DEPOIS)));
+        if(antes != null) {
+            escrever(destino, antes);
+        }
+        if(depois != null) {
+            escrever(destino, depois);
+        }
+        int fim = destino.position();
+        destino.putInt(inicio, fim - inicio - CABECALHO);
+        destino.putInt(inicio + 4, crc(destino, inicio + CABECALHO, fim));
+    }
+
+    /**
+     * Tamanho do registro que começa em {@code posicao}, com cabeçalho, ou {@code -1} se ali
+     * termina o segmento (fim, espaço livre ou registro corrompido).
+     */
+    static int validar(ByteBuffer origem, int posicao, int limite) {
+        if(posicao + CABECALHO > limite) {
+            return -1;
+        }
+        int tamanho = origem.getInt(posicao);
+        if(tamanho <= 0 || tamanho > limite - posicao - CABECALHO) {
+            return -1;
+        }
+        int corpo = posicao + CABECALHO;
+        return origem.getInt(posicao + 4) == crc(origem, corpo, corpo + tamanho) ? tamanho + CABECALHO : -1;
+    }
+
+    static long sequencia(ByteBuffer origem, int posicao) {
+        return origem.getLong(posicao + CABECALHO);
+    }
+
+    static long instante(ByteBuffer origem, int posicao) {
+        return origem.getLong(posicao + CABECALHO + 8);
+    }
+
+    static long usuario(ByteBuffer origem, int posicao) {
+        return origem.getLong(posicao + CABECALHO + 17);
+    }
+
+    static long lancamento(ByteBuffer origem, int posicao) {
+        return origem.getLong(posicao + CABECALHO + 25);
+    }
+
+    /**
+     * Lê o registro, já validado, que começa em {@code posicao}.
+     */
+    static AuditEntry ler(ByteBuffer origem, int posicao) {
+        ByteBuffer leitura = origem.duplicate();
+        leitura.position(posicao + CABECALHO);
+        long sequencia = leitura.getLong();
+        long instante = leitura.getLong();
+        LaunchEventType tipo = TIPOS_EVENTO[leitura.get()];
+        long usuario = leitura.getLong();
+        long lancamento = leitura.getLong();
+        byte presenca = leitura.get();
+        LaunchSnapshot antes = (presenca & ANTES) != 0 ? lerLancamento(leitura) : null;
+        LaunchSnapshot depois = (presenca & DEPOIS) != 0 ? lerLancamento(leitura) : null;
+        return new AuditEntry(sequencia, Instant.ofEpochMilli(instante), tipo,
+                usuario == NULO ? null : usuario, lancamento == NULO ? null : lancamento, antes, depois);
+    }
+
+    static boolean ehNulo(long id) {
+        return id == NULO;
+    }
+
+    private static void escrever(ByteBuffer destino, LaunchSnapshot lancamento) {
+        escrever(destino, lancamento.getDescricao());
+        destino.putInt(lancamento.getMes() == null ? -1 : lancamento.getMes());
+        destino.putInt(lancamento.getAno() == null ? -1 : lancamento.getAno());
+        destino.putLong(lancamento.getValor() == null ? NULO : lancamento.getValor().getCents());
+        escrever(destino, lancamento.getMoeda());
+        destino.put((byte) (lancamento.getTipo() == null ? -1 : lancamento.getTipo().ordinal()));
+        destino.put((byte) (lancamento.getStatus() == null ? -1 : lancamento.getStatus().ordinal()));
+    }
+
+    private static LaunchSnapshot lerLancamento(ByteBuffer origem) {
+        String descricao = lerTexto(origem);
+        int mes = origem.getInt();
+        int ano = origem.getInt();
+        long centavos = origem.getLong();
+        String moeda = lerTexto(origem);
+        byte tipo = origem.get();
+        byte status = origem.get();
+        return new LaunchSnapshot(descricao, mes < 0 ? null : mes, ano < 0 ? null : ano,
+                centavos == NULO ? null : Money.ofCents(centavos), moeda,
+                tipo < 0 ? null : TIPOS[tipo], status < 0 ? null : STATUS[status]);
+    }
+
+    private static void escrever(ByteBuffer destino, String texto) {
+        if(texto == null) {
+            destino.putInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        destino.putInt(bytes.length);
+        destino.put(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer origem) {
+        int tamanho = origem.getInt();
+        if(tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        origem.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer buffer, int inicio, int fim) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer trecho = buffer.duplicate();
+        trecho.limit(fim).position(inicio);
+        crc.update(trecho);
+        return (int) crc.getValue();
+    }
+
+}
@@ -0,0 +1,27 @@
+package br.com.pedrodavi.financesapi.audit;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Registro do diário de auditoria: a alteração de um lançamento com os valores antes e depois.
+ * {@code antes} é nulo na criação e {@code depois} na remoção.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditEntry {
+
+    private final long sequencia;
+    private final Instant instante;
+    private final LaunchEventType tipo;
+    private final Long usuario;
+    private final Long lancamento;
+    private final LaunchSnapshot antes;
+    private final LaunchSnapshot depois;
+
+}
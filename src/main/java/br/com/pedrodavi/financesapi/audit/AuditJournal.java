@@ -0,0 +1,351 @@
+package br.com.pedrodavi.financesapi.audit;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.event.LaunchAuditEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Diário de auditoria dos lançamentos: arquivo binário somente de acréscimo, dividido em
+ * segmentos mapeados em memória. Cada alteração confirmada vira um registro com os valores
+ * antes e depois, o usuário e o instante, sem nenhuma escrita extra no banco.
+ *
+ * <p>A escrita só copia o registro para a memória mapeada; o {@code fsync} é feito em lote a
+ * cada {@code finances.auditoria.sync-ms}, então uma queda do sistema operacional pode perder
+ * esse intervalo. Quando o segmento ativo enche, ele é sincronizado e selado, e um novo é
+ * criado. A compactação regrava os selados no tamanho exato, descartando os registros mais
+ * antigos que {@code finances.auditoria.retencao-dias} (zero mantém tudo).
+ *
+ * <p>Um arquivo de trava impede que dois processos escrevam no mesmo diretório. Com
+ * {@code finances.auditoria.habilitado=false}, o padrão, nada é gravado e o histórico fica
+ * vazio. Habilitado, o diário exige {@code finances.auditoria.diretorio} apontando para um
+ * volume persistente: no disco efêmero de um contêiner o histórico some a cada implantação.
+ * Cada nó grava e consulta só o próprio diário, então o histórico só fica completo com um
+ * único nó.
+ */
+@Slf4j
+@Component
+public class AuditJournal {
+
+    private static final String TRAVA = "diario.lock";
+    private static final int REGISTRO_INICIAL = 4096;
+
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final int retencaoDias;
+    private final Clock relogio;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<JournalSegment> segmentos = new ArrayList<>();
+    private JournalSegment ativo;
+    private long proximaSequencia;
+    private ByteBuffer registro = ByteBuffer.allocate(REGISTRO_INICIAL);
+    private FileChannel canalTrava;
+    private FileLock trava;
+
+    @Autowired
+    public AuditJournal(@Value("${finances.auditoria.habilitado:false}") boolean habilitado,
+                        @Value("${finances.auditoria.diretorio:}") String diretorio,
+                        @Value("${finances.auditoria.segmento-mb:64}") int segmentoMb,
+                        @Value("${finances.auditoria.retencao-dias:0}") int retencaoDias) {
+        this(habilitado, caminho(habilitado, diretorio), segmentoMb * 1024 * 1024, retencaoDias, Clock.systemUTC());
+    }
+
+    AuditJournal(boolean habilitado, Path diretorio, int tamanhoSegmento, int retencaoDias, Clock relogio) {
+        this.habilitado = habilitado;
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.retencaoDias = retencaoDias;
+        this.relogio = relogio;
+        if(habilitado) {
+            abrir();
+        }
+    }
+
+    private static Path caminho(boolean habilitado, String diretorio) {
+        if(!habilitado) {
+            return null;
+        }
+        if(diretorio.isBlank()) {
+            throw new IllegalStateException("Informe em finances.auditoria.diretorio um diretório num volume persistente.");
+        }
+        return Paths.get(diretorio);
+    }
+
+    private void abrir() {
+        try {
+            Files.createDirectories(diretorio);
+            canalTrava = FileChannel.open(diretorio.resolve(TRAVA), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            trava = canalTrava.tryLock();
+            if(trava == null) {
+                canalTrava.close();
+                throw new IllegalStateException("Diário de auditoria em uso por outro processo: " + diretorio);
+            }
+            // sobras de uma compactação interrompida; o original continua no lugar
+            try(Stream<Path> temporarios = Files.list(diretorio)) {
+                for(Path temporario : temporarios.filter(arquivo -> arquivo.toString().endsWith(".tmp")).collect(Collectors.toList())) {
+                    Files.delete(temporario);
+                }
+            }
+            List<Path> arquivos;
+            try(Stream<Path> lista = Files.list(diretorio)) {
+                arquivos = lista.filter(arquivo -> arquivo.getFileName().toString().endsWith(JournalSegment.EXTENSAO))
+                        .sorted().collect(Collectors.toList());
+            }
+            for(int i = 0; i < arquivos.size(); i++) {
+                segmentos.add(JournalSegment.abrir(arquivos.get(i), i == arquivos.size() - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        proximaSequencia = segmentos.stream().mapToLong(JournalSegment::getUltimaSequencia).max().orElse(-1L) + 1;
+        if(segmentos.isEmpty() || segmentos.get(segmentos.size() - 1).isCompacto()) {
+            ativo = novoSegmento();
+        } else {
+            ativo = segmentos.get(segmentos.size() - 1);
+        }
+        log.info("Diário de auditoria em {}: {} segmento(s), próxima sequência {}.", diretorio, segmentos.size(), proximaSequencia);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLancamento(LaunchAuditEvent evento) {
+        registrar(evento.getTipo(), evento.getUsuario(), evento.getLancamento(), evento.getAntes(), evento.getDepois());
+    }
+
+    /**
+     * Acrescenta um registro e devolve a sua sequência, ou {@code -1} com o diário desabilitado.
+     */
+    public long registrar(LaunchEventType tipo, Long usuario, Long lancamento, LaunchSnapshot antes, LaunchSnapshot depois) {
+        if(!habilitado) {
+            return -1L;
+        }
+        lock.writeLock().lock();
+        try {
+            long sequencia = proximaSequencia;
+            codificar(sequencia, tipo, usuario, lancamento, antes, depois);
+            if(!ativo.anexar(registro)) {
+                if(registro.remaining() > tamanhoSegmento) {
+                    throw new IllegalArgumentException("Registro de auditoria maior que um segmento: " + registro.remaining() + " bytes.");
+                }
+                ativo.sincronizar();
+                ativo = novoSegmento();
+                ativo.anexar(registro);
+            }
+            proximaSequencia++;
+            return sequencia;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void codificar(long sequencia, LaunchEventType tipo, Long usuario, Long lancamento, LaunchSnapshot antes, LaunchSnapshot depois) {
+        long instante = relogio.millis();
+        while (true) {
+            registro.clear();
+            try {
+                AuditCodec.escrever(registro, sequencia, instante, tipo, usuario, lancamento, antes, depois);
+                registro.flip();
+                return;
+            } catch (BufferOverflowException | IndexOutOfBoundsException e) {
+                registro = ByteBuffer.allocate(registro.capacity() * 2);
+            }
+        }
+    }
+
+    private JournalSegment novoSegmento() {
+        JournalSegment segmento = JournalSegment.criar(diretorio.resolve(JournalSegment.nome(proximaSequencia)), tamanhoSegmento);
+        segmentos.add(segmento);
+        return segmento;
+    }
+
+    /**
+     * Histórico de um usuário, em ordem de gravação.
+     */
+    public List<AuditEntry> historicoDoUsuario(Long idUsuario) {
+        return historico(segmento -> segmento.contemUsuario(idUsuario),
+                (buffer, posicao) -> AuditCodec.usuario(buffer, posicao) == idUsuario);
+    }
+
+    /**
+     * Histórico de um lançamento, em ordem de gravação.
+     */
+    public List<AuditEntry> historicoDoLancamento(Long idLancamento) {
+        return historico(segmento -> segmento.contemLancamento(idLancamento),
+                (buffer, posicao) -> AuditCodec.lancamento(buffer, posicao) == idLancamento);
+    }
+
+    private List<AuditEntry> historico(Predicate<JournalSegment> candidato, Filtro filtro) {
+        List<AuditEntry> entradas = new ArrayList<>();
+        if(!habilitado) {
+            return entradas;
+        }
+        lock.readLock().lock();
+        try {
+            for(JournalSegment segmento : segmentos) {
+                if(!candidato.test(segmento)) {
+                    continue;
+                }
+                ByteBuffer buffer = segmento.getBuffer();
+                segmento.percorrer(posicao -> {
+                    if(filtro.aceita(buffer, posicao)) {
+                        entradas.add(AuditCodec.ler(buffer, posicao));
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entradas;
+    }
+
+    /**
+     * Descarrega no disco o que foi gravado desde a última sincronização. O {@code fsync} roda
+     * fora da trava, sem segurar as escritas.
+     */
+    @Scheduled(fixedDelayString = "${finances.auditoria.sync-ms:200}")
+    public void sincronizar() {
+        if(!habilitado) {
+            return;
+        }
+        JournalSegment atual;
+        lock.readLock().lock();
+        try {
+            atual = ativo;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if(atual != null) {
+            atual.sincronizar();
+        }
+    }
+
+    /**
+     * Regrava os segmentos selados sem o espaço livre do fim e sem os registros vencidos; um
+     * segmento sem nenhum registro restante é apagado. Os novos arquivos são escritos ao lado e
+     * trocados com um {@code move} atômico, com a trava de escrita segurada só na troca.
+     */
+    @Scheduled(fixedDelayString = "${finances.auditoria.compactacao-ms:3600000}")
+    public void compactar() {
+        if(!habilitado) {
+            return;
+        }
+        long horizonte = retencaoDias > 0 ? relogio.millis() - Duration.ofDays(retencaoDias).toMillis() : Long.MIN_VALUE;
+        List<JournalSegment> selados;
+        lock.readLock().lock();
+        try {
+            selados = segmentos.stream().filter(segmento -> segmento != ativo).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+        for(JournalSegment segmento : selados) {
+            try {
+                compactar(segmento, horizonte);
+            } catch (IOException e) {
+                log.warn("Falha ao compactar o segmento de auditoria {}.", segmento.getArquivo(), e);
+            }
+        }
+    }
+
+    private void compactar(JournalSegment segmento, long horizonte) throws IOException {
+        ByteBuffer buffer = segmento.getBuffer();
+        List<Integer> mantidos = new ArrayList<>();
+        segmento.percorrer(posicao -> {
+            if(AuditCodec.instante(buffer, posicao) >= horizonte) {
+                mantidos.add(posicao);
+            }
+        });
+        if(mantidos.isEmpty()) {
+            substituir(segmento, null);
+            Files.deleteIfExists(segmento.getArquivo());
+            return;
+        }
+        int removidos = segmento.contar() - mantidos.size();
+        if(removidos == 0 && segmento.isCompacto()) {
+            return;
+        }
+
+        Path temporario = segmento.getArquivo().resolveSibling(segmento.getArquivo().getFileName() + ".tmp");
+        try(FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for(int posicao : mantidos) {
+                ByteBuffer origem = buffer.duplicate();
+                origem.limit(posicao + AuditCodec.CABECALHO + buffer.getInt(posicao)).position(posicao);
+                while (origem.hasRemaining()) {
+                    canal.write(origem);
+                }
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, segmento.getArquivo(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        substituir(segmento, JournalSegment.abrir(segmento.getArquivo(), false));
+    }
+
+    private void substituir(JournalSegment antigo, JournalSegment novo) {
+        lock.writeLock().lock();
+        try {
+            int indice = segmentos.indexOf(antigo);
+            if(novo == null) {
+                segmentos.remove(indice);
+            } else {
+                segmentos.set(indice, novo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void fechar() {
+        if(!habilitado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if(ativo != null) {
+                ativo.sincronizar();
+            }
+            if(trava != null) {
+                trava.release();
+                canalTrava.close();
+                trava = null;
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao liberar a trava do diário de auditoria.", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private interface Filtro {
+
+        boolean aceita(ByteBuffer buffer, int posicao);
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package br.com.pedrodavi.financesapi.audit;
+
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Um arquivo do diário mapeado em memória. O segmento ativo é criado com o tamanho máximo e
+ * preenchido do início; os selados só são lidos, e a compactação os regrava no tamanho exato.
+ * Cada segmento guarda em bitmaps os usuários e lançamentos que contém, para que a leitura
+ * do histórico pule os que não interessam.
+ */
+class JournalSegment {
+
+    static final String EXTENSAO = ".seg";
+
+    private final Path arquivo;
+    private final MappedByteBuffer buffer;
+    private final Roaring64NavigableMap usuarios = new Roaring64NavigableMap();
+    private final Roaring64NavigableMap lancamentos = new Roaring64NavigableMap();
+
+    private int posicao;
+    private int registros;
+    private long ultimaSequencia = -1L;
+    private long ultimoInstante = Long.MIN_VALUE;
+    private volatile boolean sujo;
+
+    private JournalSegment(Path arquivo, MappedByteBuffer buffer) {
+        this.arquivo = arquivo;
+        this.buffer = buffer;
+    }
+
+    static String nome(long primeiraSequencia) {
+        return String.format("%020d%s", primeiraSequencia, EXTENSAO);
+    }
+
+    /**
+     * Cria um segmento vazio de {@code tamanho} bytes para escrita.
+     */
+    static JournalSegment criar(Path arquivo, int tamanho) {
+        try(FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(arquivo, canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Mapeia um segmento existente e percorre os registros válidos, reconstruindo os índices.
+     * Aberto para escrita, as próximas gravações continuam logo após o último registro válido.
+     */
+    static JournalSegment abrir(Path arquivo, boolean escrita) {
+        FileChannel.MapMode modo = escrita ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        StandardOpenOption[] opcoes = escrita
+                ? new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE }
+                : new StandardOpenOption[] { StandardOpenOption.READ };
+        try(FileChannel canal = FileChannel.open(arquivo, opcoes)) {
+            JournalSegment segmento = new JournalSegment(arquivo, canal.map(modo, 0, canal.size()));
+            segmento.recuperar();
+            return segmento;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recuperar() {
+        int limite = buffer.capacity();
+        int atual = 0;
+        int tamanho;
+        while ((tamanho = AuditCodec.validar(buffer, atual, limite)) > 0) {
+            indexar(atual);
+            atual += tamanho;
+        }
+        posicao = atual;
+    }
+
+    /**
+     * Copia o registro já codificado em {@code registro} para o fim do segmento, seguido de um
+     * marcador de fim. Retorna {@code false}, sem escrever nada, se não houver espaço.
+     */
+    boolean anexar(ByteBuffer registro) {
+        int tamanho = registro.remaining();
+        if(posicao + tamanho > buffer.capacity()) {
+            return false;
+        }
+        int inicio = posicao;
+        ByteBuffer destino = buffer.duplicate();
+        destino.position(inicio);
+        destino.put(registro.duplicate());
+        posicao += tamanho;
+        if(posicao + 4 <= buffer.capacity()) {
+            // um resto de escrita interrompida depois do marcador nunca é lido
+            buffer.putInt(posicao, 0);
+        }
+        indexar(inicio);
+        sujo = true;
+        return true;
+    }
+
+    private void indexar(int inicio) {
+        long usuario = AuditCodec.usuario(buffer, inicio);
+        long lancamento = AuditCodec.lancamento(buffer, inicio);
+        if(!AuditCodec.ehNulo(usuario)) {
+            usuarios.addLong(usuario);
+        }
+        if(!AuditCodec.ehNulo(lancamento)) {
+            lancamentos.addLong(lancamento);
+        }
+        registros++;
+        ultimaSequencia = AuditCodec.sequencia(buffer, inicio);
+        ultimoInstante = Math.max(ultimoInstante, AuditCodec.instante(buffer, inicio));
+    }
+
+    /**
+     * Percorre os registros gravados até o momento, passando a posição de cada um.
+     */
+    void percorrer(IntConsumer visitante) {
+        int limite = posicao;
+        int atual = 0;
+        int tamanho;
+        while ((tamanho = AuditCodec.validar(buffer, atual, limite)) > 0) {
+            visitante.accept(atual);
+            atual += tamanho;
+        }
+    }
+
+    /**
+     * Descarrega no disco o que foi escrito desde a última chamada.
+     */
+    void sincronizar() {
+        if(sujo) {
+            sujo = false;
+            buffer.force();
+        }
+    }
+
+    boolean contemUsuario(long usuario) {
+        return usuarios.contains(usuario);
+    }
+
+    boolean contemLancamento(long lancamento) {
+        return lancamentos.contains(lancamento);
+    }
+
+    int contar() {
+        return registros;
+    }
+
+    /**
+     * {@code true} quando o arquivo não tem espaço livre além dos registros.
+     */
+    boolean isCompacto() {
+        return posicao == buffer.capacity();
+    }
+
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    Path getArquivo() {
+        return arquivo;
+    }
+
+    int getPosicao() {
+        return posicao;
+    }
+
+    long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    long getUltimoInstante() {
+        return ultimoInstante;
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.com.pedrodavi.financesapi.audit;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Cópia imutável dos campos auditados de um lançamento. Precisa ser tirada antes da alteração,
+ * já que o lançamento recebido costuma ser a própria entidade gerenciada.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class LaunchSnapshot {
+
+    private final String descricao;
+    private final Integer mes;
+    private final Integer ano;
+    private final Money valor;
+    private final String moeda;
+    private final ReleaseType tipo;
+    private final LaunchStatus status;
+
+    public static LaunchSnapshot of(Launch lancamento) {
+        return new LaunchSnapshot(lancamento.getDescricao(), lancamento.getMes(), lancamento.getAno(), lancamento.getValor(),
+                lancamento.getMoeda(), lancamento.getTipo(), lancamento.getStatus());
+    }
+
+}
@@ -0,0 +1,69 @@
+package br.com.pedrodavi.financesapi.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Junta chamadas concorrentes com a mesma chave em uma única execução: a primeira thread
+ * calcula e as que chegam enquanto o cálculo está em andamento recebem o mesmo resultado
+ * (ou a mesma exceção). Nada fica guardado depois que o cálculo termina.
+ */
+public class SingleFlight<K, V> {
+
+    public static final String METRICA = "finances.singleflight.chamadas";
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emVoo = new ConcurrentHashMap<>();
+    private final Counter executadas;
+    private final Counter coalescidas;
+
+    public SingleFlight(String operacao, MeterRegistry registry) {
+        this.executadas = registry.counter(METRICA, "operacao", operacao, "resultado", "executada");
+        this.coalescidas = registry.counter(METRICA, "operacao", operacao, "resultado", "coalescida");
+    }
+
+    public V executar(K chave, Supplier<V> calculo) {
+        CompletableFuture<V> proprio = new CompletableFuture<>();
+        CompletableFuture<V> existente = emVoo.putIfAbsent(chave, proprio);
+        if(existente != null) {
+            coalescidas.increment();
+            return aguardar(existente);
+        }
+
+        executadas.increment();
+        try {
+            V resultado = calculo.get();
+            proprio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            proprio.completeExceptionally(e);
+            throw e;
+        } finally {
+            emVoo.remove(chave, proprio);
+        }
+    }
+
+    int emAndamento() {
+        return emVoo.size();
+    }
+
+    private V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if(causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if(causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.exception.AuthError;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Token das operações administrativas, enviado no cabeçalho {@value #CABECALHO}. Cada
+ * funcionalidade tem o seu token; sem token configurado, ninguém tem acesso.
+ */
+public final class AdminToken {
+
+    public static final String CABECALHO = "X-Admin-Token";
+
+    private final byte[] esperado;
+    private final String desabilitado;
+
+    /**
+     * @param esperado     token configurado; vazio ou {@code null} desabilita a funcionalidade
+     * @param desabilitado mensagem do {@link AuthError} quando não há token configurado
+     */
+    public AdminToken(String esperado, String desabilitado) {
+        this.esperado = esperado == null || esperado.isBlank() ? null : esperado.getBytes(StandardCharsets.UTF_8);
+        this.desabilitado = desabilitado;
+    }
+
+    /**
+     * Compara o token em tempo constante.
+     */
+    public void autorizar(String token) {
+        if(esperado == null) {
+            throw new AuthError(desabilitado);
+        }
+        if(token == null || !MessageDigest.isEqual(esperado, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AuthError("Token inválido.");
+        }
+    }
+
+}
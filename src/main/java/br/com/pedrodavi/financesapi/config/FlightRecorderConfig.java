@@ -0,0 +1,47 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.profiling.FlightRecorderInterceptor;
+import br.com.pedrodavi.financesapi.profiling.RecordingJackson2HttpMessageConverter;
+import br.com.pedrodavi.financesapi.profiling.ServiceCallEvent;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Eventos de JFR nos serviços e na conversão das respostas JSON. Os dos repositórios ficam no
+ * {@code ShardAwareRepositoryFactoryBean}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "finances.jfr.eventos", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderConfig implements WebMvcConfigurer {
+
+    /**
+     * Roda antes do advisor de transação, para que o evento inclua a espera pela conexão e o
+     * commit.
+     */
+    @Bean
+    public static Advisor servicosRegistrados() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class),
+                new FlightRecorderInterceptor(ServiceCallEvent::new));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(conversor -> conversor.getClass() == MappingJackson2HttpMessageConverter.class
+                ? new RecordingJackson2HttpMessageConverter(((MappingJackson2HttpMessageConverter) conversor).getObjectMapper())
+                : conversor);
+    }
+
+}
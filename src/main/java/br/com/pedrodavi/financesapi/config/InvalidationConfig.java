@@ -0,0 +1,34 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.invalidation.InvalidationTransport;
+import br.com.pedrodavi.financesapi.invalidation.LoopbackTransport;
+import br.com.pedrodavi.financesapi.invalidation.PostgresNotifyTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Transporte do barramento de invalidação, escolhido por {@code finances.invalidacao.transporte}:
+ * {@code postgres} (LISTEN/NOTIFY, entre nós) ou {@code loopback} (em processo).
+ */
+@Configuration
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "finances.invalidacao.transporte", havingValue = "postgres")
+    public InvalidationTransport postgresNotifyTransport(JdbcTemplate jdbcTemplate, DataSourceProperties dataSource,
+                                                         @Value("${finances.invalidacao.reconexao-ms:1000}") long reconexaoMs) {
+        return new PostgresNotifyTransport(jdbcTemplate, dataSource.determineUrl(),
+                dataSource.determineUsername(), dataSource.determinePassword(), reconexaoMs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "finances.invalidacao.transporte", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationTransport loopbackTransport() {
+        return new LoopbackTransport();
+    }
+
+}
@@ -0,0 +1,17 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.FinancesapiApplication;
+import br.com.pedrodavi.financesapi.sharding.ShardAwareRepositoryFactoryBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Fora da classe da aplicação para que os testes de fatia ({@code @WebMvcTest}) não tentem
+ * criar os repositórios.
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = FinancesapiApplication.class,
+        repositoryFactoryBeanClass = ShardAwareRepositoryFactoryBean.class)
+public class JpaRepositoriesConfig {
+
+}
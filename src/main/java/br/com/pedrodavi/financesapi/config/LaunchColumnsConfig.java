@@ -0,0 +1,25 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.model.converter.LaunchColumnsHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class LaunchColumnsConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper mapper;
+
+    public LaunchColumnsConfig(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new LaunchColumnsHttpMessageConverter(mapper.getFactory()));
+    }
+
+}
@@ -0,0 +1,34 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.ratelimit.RateLimitFilter;
+import br.com.pedrodavi.financesapi.ratelimit.RateLimitProperties;
+import br.com.pedrodavi.financesapi.ratelimit.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "finances.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties propriedades) {
+        return new RateLimiter(propriedades);
+    }
+
+    /**
+     * Roda antes dos demais filtros para que uma requisição rejeitada não custe nada além
+     * da consulta ao bucket. O IP vem de {@code getRemoteAddr}, que atrás do router do Heroku
+     * só é o do cliente com {@code server.forward-headers-strategy=native}.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter limiter) {
+        FilterRegistrationBean<RateLimitFilter> registro = new FilterRegistrationBean<>(new RateLimitFilter(limiter));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+}
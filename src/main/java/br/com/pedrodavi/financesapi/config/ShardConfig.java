@@ -0,0 +1,100 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.sharding.ShardContextFilter;
+import br.com.pedrodavi.financesapi.sharding.ShardProperties;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import br.com.pedrodavi.financesapi.sharding.ShardRoutingDataSource;
+import br.com.pedrodavi.financesapi.sharding.ShardSchema;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bancos particionados por usuário, com {@code finances.shards.habilitado=true}. O DataSource da
+ * aplicação passa a ser o {@link ShardRoutingDataSource}; o shard de cada operação vem dos
+ * repositórios ({@code ShardAwareRepositoryFactoryBean}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "finances.shards.habilitado", havingValue = "true")
+public class ShardConfig {
+
+    private final Path script = criarScript();
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardProperties propriedades) {
+        if(propriedades.getFontes().size() < 2 || propriedades.getFontes().size() > ShardRouter.MAXIMO_SHARDS) {
+            throw new IllegalStateException("Configure entre 2 e " + ShardRouter.MAXIMO_SHARDS + " shards em finances.shards.fontes.");
+        }
+        List<DataSource> fontes = propriedades.getFontes().stream()
+                .map(fonte -> DataSourceBuilder.create().type(HikariDataSource.class)
+                        .url(fonte.getUrl()).username(fonte.getUsuario()).password(fonte.getSenha()).build())
+                .collect(Collectors.toList());
+        return new ShardRoutingDataSource(fontes);
+    }
+
+    /**
+     * O Hibernate só cria o schema na conexão padrão. Com {@code ddl-auto} de criação o DDL vai
+     * para um script, que o {@link ShardSchema} roda em cada shard. As conexões são devolvidas
+     * ao fim de cada transação, para que a próxima abra no shard dela.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardHibernatePropertiesCustomizer() {
+        return propriedades -> {
+            propriedades.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+            Object ddl = propriedades.remove("hibernate.hbm2ddl.auto");
+            if("create".equals(ddl) || "create-drop".equals(ddl)) {
+                propriedades.put("javax.persistence.schema-generation.database.action", "none");
+                propriedades.put("javax.persistence.schema-generation.scripts.action", "create");
+                propriedades.put("javax.persistence.schema-generation.scripts.create-target", script.toString());
+                propriedades.put("hibernate.hbm2ddl.schema-generation.script.append", "false");
+                propriedades.put("hibernate.hbm2ddl.delimiter", ";");
+            }
+        };
+    }
+
+    @Bean
+    public ShardSchema shardSchema(EntityManagerFactory entityManagerFactory, ShardRoutingDataSource shards,
+                                   @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddl) {
+        ShardSchema schema = new ShardSchema(entityManagerFactory, shards);
+        if(ddl.startsWith("create")) {
+            schema.criar(script);
+        }
+        return schema;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShardContextFilter> shardContextFilter() {
+        FilterRegistrationBean<ShardContextFilter> registro = new FilterRegistrationBean<>(new ShardContextFilter());
+        registro.addUrlPatterns("/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    private static Path criarScript() {
+        try {
+            Path script = Files.createTempFile("finances-shards", ".sql");
+            script.toFile().deleteOnExit();
+            return script;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
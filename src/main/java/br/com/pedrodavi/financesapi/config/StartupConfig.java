@@ -0,0 +1,54 @@
+package br.com.pedrodavi.financesapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+@Slf4j
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Com {@code spring.main.lazy-initialization=true} os beans com métodos {@link Scheduled}
+     * nunca seriam criados, e os agendamentos não rodariam.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+
+    /**
+     * Execução de treino usada pelo profile Maven {@code cds}: sobe a aplicação, faz uma
+     * primeira requisição para carregar as classes do caminho HTTP e encerra a JVM, que então
+     * grava o arquivo CDS ({@code -XX:ArchiveClassesAtExit}).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "finances.startup.training", havingValue = "true")
+    ApplicationListener<ApplicationReadyEvent> trainingRunListener() {
+        return event -> {
+            String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port");
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/api/usuarios/0/saldo").openConnection();
+                log.info("Requisição de treino respondeu {}", connection.getResponseCode());
+                connection.disconnect();
+            } catch (Exception e) {
+                log.warn("Falha na requisição de treino", e);
+            }
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+
+}
@@ -1,5 +1,6 @@
 package br.com.pedrodavi.financesapi.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import springfox.documentation.builders.ApiInfoBuilder;
@@ -13,6 +14,7 @@ import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 @Configuration
 @EnableSwagger2
+@ConditionalOnProperty(name = "finances.swagger.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     @Bean
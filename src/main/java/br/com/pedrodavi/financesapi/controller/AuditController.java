@@ -0,0 +1,26 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.audit.AuditJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auditoria")
+@RequiredArgsConstructor
+@CrossOrigin("https://finances.pedrodavi.com.br")
+public class AuditController {
+
+    private final AuditJournal diario;
+
+    @GetMapping("usuarios/{id}")
+    public ResponseEntity historicoDoUsuario( @PathVariable("id") Long id ) {
+        return ResponseEntity.ok(diario.historicoDoUsuario(id));
+    }
+
+    @GetMapping("lancamentos/{id}")
+    public ResponseEntity historicoDoLancamento( @PathVariable("id") Long id ) {
+        return ResponseEntity.ok(diario.historicoDoLancamento(id));
+    }
+
+}
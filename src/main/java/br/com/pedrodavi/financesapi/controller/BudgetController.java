@@ -0,0 +1,85 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.BudgetDTO;
+import br.com.pedrodavi.financesapi.service.BudgetService;
+import br.com.pedrodavi.financesapi.service.TagService;
+import br.com.pedrodavi.financesapi.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/orcamentos")
+@RequiredArgsConstructor
+@CrossOrigin("https://finances.pedrodavi.com.br")
+public class BudgetController {
+
+    private final BudgetService service;
+    private final UserService usuarioService;
+    private final TagService tagService;
+
+    @PostMapping
+    public ResponseEntity salvar( @RequestBody BudgetDTO dto ) {
+        try {
+            Budget entidade = converter(dto);
+            entidade = service.salvar(entidade);
+            return new ResponseEntity(entidade, HttpStatus.CREATED);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity situacao(
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam(value = "mes", required = false) Integer mes,
+            @RequestParam(value = "ano", required = false) Integer ano
+    ) {
+        LocalDate hoje = LocalDate.now();
+        return ResponseEntity.ok(service.obterSituacao(idUsuario,
+                mes == null ? hoje.getMonthValue() : mes,
+                ano == null ? hoje.getYear() : ano));
+    }
+
+    @DeleteMapping("{id}")
+    public ResponseEntity deletar( @PathVariable("id") Long id ) {
+        return service.obterPorId(id).map( entidade -> {
+            service.deletar(entidade);
+            return new ResponseEntity( HttpStatus.NO_CONTENT );
+        }).orElseGet( () ->
+                new ResponseEntity("Orçamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST) );
+    }
+
+    private Budget converter(BudgetDTO dto) {
+        Budget orcamento = new Budget();
+        orcamento.setMes(dto.getMes());
+        orcamento.setAno(dto.getAno());
+        orcamento.setLimite(dto.getLimite());
+        orcamento.setPercentualAlerta(dto.getPercentualAlerta());
+
+        User usuario = usuarioService
+                .obterPorId(dto.getUsuario())
+                .orElseThrow( () -> new BusinessRuleException("Usuário não encontrado para o Id informado.") );
+
+        orcamento.setUsuario(usuario);
+
+        if(dto.getTipo() != null) {
+            orcamento.setTipo(ReleaseType.valueOf(dto.getTipo()));
+        }
+
+        if(dto.getTag() != null) {
+            orcamento.setTag(tagService.obterOuCriar(usuario, List.of(dto.getTag())).iterator().next());
+        }
+
+        return orcamento;
+    }
+
+}
@@ -0,0 +1,53 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.config.AdminToken;
+import br.com.pedrodavi.financesapi.exception.AuthError;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.BudgetRebuildJob;
+import br.com.pedrodavi.financesapi.service.BudgetRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Reconstrução dos gastos dos orçamentos, em segundo plano; o andamento é consultado pelo id
+ * devolvido. Todas as operações exigem o cabeçalho {@value AdminToken#CABECALHO} com o valor de
+ * {@code finances.reconstrucao.token}.
+ */
+@RestController
+@RequestMapping("/api/admin/reconstrucoes")
+@RequiredArgsConstructor
+public class BudgetRebuildController {
+
+    private final BudgetRebuildService service;
+
+    @PostMapping
+    public ResponseEntity iniciar( @RequestHeader(value = AdminToken.CABECALHO, required = false) String token,
+                                   @RequestParam(value = "simulacao", defaultValue = "true") boolean simulacao,
+                                   @RequestParam(value = "retomar", defaultValue = "false") boolean retomar ) {
+        try {
+            service.autorizar(token);
+            BudgetRebuildJob job = service.iniciar(simulacao, retomar);
+            return new ResponseEntity(job, HttpStatus.ACCEPTED);
+        }catch (AuthError e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity obter( @RequestHeader(value = AdminToken.CABECALHO, required = false) String token,
+                                 @PathVariable("id") String id ) {
+        try {
+            service.autorizar(token);
+        }catch (AuthError e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }
+        return service.obterPorId(id)
+                .map( job -> new ResponseEntity(job, HttpStatus.OK) )
+                .orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND) );
+    }
+
+}
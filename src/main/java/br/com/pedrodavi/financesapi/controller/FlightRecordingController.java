@@ -0,0 +1,98 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.config.AdminToken;
+import br.com.pedrodavi.financesapi.exception.AuthError;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.dto.RecordingDTO;
+import br.com.pedrodavi.financesapi.profiling.FlightRecordings;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Gravações de JFR sob demanda. Todas as operações exigem o cabeçalho
+ * {@value AdminToken#CABECALHO} com o valor de {@code finances.jfr.token}.
+ */
+@RestController
+@RequestMapping("/api/admin/gravacoes")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordings gravacoes;
+
+    @PostMapping
+    public ResponseEntity iniciar( @RequestHeader(value = AdminToken.CABECALHO, required = false) String token,
+                                   @RequestParam(value = "duracao", required = false) Long duracao,
+                                   @RequestParam(value = "tamanho", required = false) Long tamanho,
+                                   @RequestParam(value = "limiar", required = false) Long limiar,
+                                   @RequestParam(value = "configuracao", required = false) String configuracao ) {
+        try {
+            gravacoes.autorizar(token);
+            RecordingDTO gravacao = gravacoes.iniciar(duracao, tamanho, limiar, configuracao);
+            return new ResponseEntity(gravacao, HttpStatus.CREATED);
+        }catch (AuthError e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity obter( @RequestHeader(value = AdminToken.CABECALHO, required = false) String token ) {
+        try {
+            gravacoes.autorizar(token);
+        }catch (AuthError e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }
+        return gravacoes.obter()
+                .map( gravacao -> new ResponseEntity(gravacao, HttpStatus.OK) )
+                .orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND) );
+    }
+
+    @DeleteMapping
+    public ResponseEntity parar( @RequestHeader(value = AdminToken.CABECALHO, required = false) String token ) {
+        try {
+            gravacoes.autorizar(token);
+            return ResponseEntity.ok(gravacoes.parar());
+        }catch (AuthError e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Baixa o que foi gravado até agora; o arquivo temporário é apagado depois do envio.
+     */
+    @GetMapping("arquivo")
+    public ResponseEntity exportar( @RequestHeader(value = AdminToken.CABECALHO, required = false) String token ) {
+        Path arquivo;
+        try {
+            gravacoes.autorizar(token);
+            arquivo = gravacoes.exportar();
+        }catch (AuthError e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        StreamingResponseBody corpo = saida -> {
+            try {
+                Files.copy(arquivo, saida);
+            } finally {
+                Files.deleteIfExists(arquivo);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo.getFileName() + "\"")
+                .body(corpo);
+    }
+
+}
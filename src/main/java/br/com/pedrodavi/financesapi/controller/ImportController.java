@@ -0,0 +1,70 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.enums.ImportStatus;
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.ImportJob;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.service.StatementImportService;
+import br.com.pedrodavi.financesapi.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Optional;
+
+/**
+ * Upload de extratos. O arquivo vai cru no corpo (por exemplo {@code text/csv} ou
+ * {@code application/octet-stream}, nunca como formulário) e os parâmetros na URL, para
+ * que o corpo seja lido em fluxo.
+ */
+@RestController
+@RequestMapping("/api/importacoes")
+@RequiredArgsConstructor
+@CrossOrigin("https://finances.pedrodavi.com.br")
+public class ImportController {
+
+    private final StatementImportService service;
+    private final UserService usuarioService;
+
+    @PostMapping
+    public ResponseEntity importar(
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam("formato") StatementFormat formato,
+            @RequestParam(value = "charset", defaultValue = "UTF-8") String charset,
+            @RequestParam(value = "retomar", required = false) String retomar,
+            InputStream entrada
+    ) {
+        Optional<User> usuario = usuarioService.obterPorId(idUsuario);
+        if(usuario.isEmpty()) {
+            return ResponseEntity.badRequest().body("Não foi possível importar. Usuário não encontrado para o Id informado.");
+        }
+        Charset codificacao;
+        try {
+            codificacao = Charset.forName(charset);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return ResponseEntity.badRequest().body("Codificação não suportada: " + charset + ".");
+        }
+
+        try {
+            ImportJob job = service.importar(usuario.get(), formato, entrada, codificacao, retomar);
+            HttpStatus status = job.getStatus() == ImportStatus.CONCLUIDO ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
+            return new ResponseEntity(job, status);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity obterImportacao( @PathVariable("id") String id ) {
+        return service.obterPorId(id)
+                .map( job -> new ResponseEntity(job, HttpStatus.OK) )
+                .orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND) );
+    }
+
+}
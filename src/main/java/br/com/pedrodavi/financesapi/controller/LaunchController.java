@@ -3,20 +3,38 @@ package br.com.pedrodavi.financesapi.controller;
 import br.com.pedrodavi.financesapi.enums.LaunchStatus;
 import br.com.pedrodavi.financesapi.enums.ReleaseType;
 import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.exception.ExpiredChangeTokenException;
 import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.TagFilter;
 import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.converter.LaunchColumns;
 import br.com.pedrodavi.financesapi.model.dto.LaunchDTO;
 import br.com.pedrodavi.financesapi.model.dto.UpdateStatusDTO;
 import br.com.pedrodavi.financesapi.service.LaunchService;
+import br.com.pedrodavi.financesapi.service.LaunchSyncService;
 import br.com.pedrodavi.financesapi.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/lancamentos")
@@ -26,29 +44,79 @@ public class LaunchController {
 
     private final LaunchService service;
     private final UserService usuarioService;
+    private final LaunchSyncService sincronizacao;
 
     @GetMapping
     public ResponseEntity buscar(
             @RequestParam(value ="descricao" , required = false) String descricao,
+            @RequestParam(value = "descricaoExata", defaultValue = "false") boolean descricaoExata,
             @RequestParam(value = "mes", required = false) Integer mes,
             @RequestParam(value = "ano", required = false) Integer ano,
-            @RequestParam("usuario") Long idUsuario
+            @RequestParam(value = "de", required = false) YearMonth de,
+            @RequestParam(value = "ate", required = false) YearMonth ate,
+            @RequestParam(value = "cadastroDe", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cadastroDe,
+            @RequestParam(value = "cadastroAte", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cadastroAte,
+            @RequestParam(value = "valorMinimo", required = false) BigDecimal valorMinimo,
+            @RequestParam(value = "valorMaximo", required = false) BigDecimal valorMaximo,
+            @RequestParam(value = "tipo", required = false) Set<ReleaseType> tipos,
+            @RequestParam(value = "status", required = false) Set<LaunchStatus> status,
+            @RequestParam(value = "tags", required = false) List<String> tags,
+            @RequestParam(value = "algumaTag", required = false) List<String> algumaTag,
+            @RequestParam(value = "semTag", required = false) List<String> semTag,
+            @RequestParam(value = "ordem", required = false) List<String> ordem,
+            @RequestParam("usuario") Long idUsuario,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
 
-        Launch lancamentoFiltro = new Launch();
-        lancamentoFiltro.setDescricao(descricao);
-        lancamentoFiltro.setMes(mes);
-        lancamentoFiltro.setAno(ano);
-
         Optional<User> usuario = usuarioService.obterPorId(idUsuario);
         if(usuario.isEmpty()) {
             return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado.");
-        }else {
-            lancamentoFiltro.setUsuario(usuario.get());
         }
 
-        List<Launch> lancamentos = service.buscar(lancamentoFiltro);
-        return ResponseEntity.ok(lancamentos);
+        try {
+            LaunchFilter filtro = LaunchFilter.builder()
+                    .usuario(idUsuario)
+                    .descricao(descricao)
+                    .descricaoExata(descricaoExata)
+                    .mes(mes)
+                    .ano(ano)
+                    .periodoInicial(de)
+                    .periodoFinal(ate)
+                    .cadastroInicial(cadastroDe)
+                    .cadastroFinal(cadastroAte)
+                    .valorMinimo(Money.exato(valorMinimo))
+                    .valorMaximo(Money.exato(valorMaximo))
+                    .tipos(tipos == null ? Collections.emptySet() : tipos)
+                    .status(status == null ? Collections.emptySet() : status)
+                    .tags(new TagFilter(tags, algumaTag, semTag))
+                    .ordem(ordem == null ? Collections.emptyList() : ordem)
+                    .build();
+            List<Launch> lancamentos = service.buscar(filtro);
+            if(LaunchColumns.aceita(accept)) {
+                return ResponseEntity.ok().contentType(LaunchColumns.MEDIA_TYPE).body(new LaunchColumns(lancamentos));
+            }
+            return ResponseEntity.ok(lancamentos);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("changes")
+    public ResponseEntity alteracoes(
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limite", defaultValue = "1000") int limite
+    ) {
+        if(usuarioService.obterPorId(idUsuario).isEmpty()) {
+            return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado.");
+        }
+        try {
+            return ResponseEntity.ok(sincronizacao.alteracoes(idUsuario, since, limite));
+        }catch (ExpiredChangeTokenException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("{id}")
@@ -62,20 +130,50 @@ public class LaunchController {
     public ResponseEntity salvar( @RequestBody LaunchDTO dto ) {
         try {
             Launch entidade = converter(dto);
-            entidade = service.salvar(entidade);
+            entidade = service.salvar(entidade, dto.getTags());
             return new ResponseEntity(entidade, HttpStatus.CREATED);
         }catch (BusinessRuleException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    @PostMapping("importar")
+    public ResponseEntity importar( @RequestBody List<LaunchDTO> dtos ) {
+        try {
+            Map<Long, User> usuarios = new HashMap<>();
+            List<Launch> lancamentos = new ArrayList<>(dtos.size());
+            for(LaunchDTO dto : dtos) {
+                Launch lancamento = converter(dto, usuarios.computeIfAbsent(dto.getUsuario(), this::obterUsuario));
+                lancamentos.add(lancamento);
+            }
+            return ResponseEntity.ok(service.importar(lancamentos));
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("{id}")
     public ResponseEntity atualizar( @PathVariable("id") Long id, @RequestBody LaunchDTO dto ) {
         return service.obterPorId(id).map( entity -> {
             try {
                 Launch lancamento = converter(dto);
                 lancamento.setId(entity.getId());
-                service.atualizar(lancamento);
+                // o vínculo com a recorrência não é editável; sem ele as alterações em lote a ignorariam
+                lancamento.setIdRecorrencia(entity.getIdRecorrencia());
+                lancamento.setParcela(entity.getParcela());
+                // nem a origem da importação, que reconhece o lançamento num reenvio do extrato
+                lancamento.setHashConteudo(entity.getHashConteudo());
+                lancamento.setReferenciaImportacao(entity.getReferenciaImportacao());
+                if(dto.getTags() == null) {
+                    lancamento.setTags(entity.getTags());
+                }
+                if(dto.getMoeda() == null) {
+                    lancamento.setMoeda(entity.getMoeda());
+                }
+                if(dto.getVencimento() == null) {
+                    lancamento.setDataVencimento(entity.getDataVencimento());
+                }
+                service.atualizar(lancamento, dto.getTags());
                 return ResponseEntity.ok(lancamento);
             }catch (BusinessRuleException e) {
                 return ResponseEntity.badRequest().body(e.getMessage());
@@ -94,8 +192,7 @@ public class LaunchController {
             }
 
             try {
-                entity.setStatus(statusSelecionado);
-                service.atualizar(entity);
+                service.atualizarStatus(entity, statusSelecionado);
                 return ResponseEntity.ok(entity);
             }catch (BusinessRuleException e) {
                 return ResponseEntity.badRequest().body(e.getMessage());
@@ -118,27 +215,36 @@ public class LaunchController {
         return LaunchDTO.builder()
                 .descricao(lancamento.getDescricao())
                 .valor(lancamento.getValor())
+                .moeda(lancamento.getMoeda())
                 .mes(lancamento.getMes())
                 .ano(lancamento.getAno())
                 .status(lancamento.getStatus().name())
                 .tipo(lancamento.getTipo().name())
                 .usuario(lancamento.getUsuario().getId())
+                .vencimento(lancamento.getDataVencimento() == null ? null : lancamento.getDataVencimento().toString())
+                .tags(lancamento.getTags().stream().map(Tag::getNome).sorted().collect(Collectors.toList()))
                 .build();
 
     }
 
     private Launch converter(LaunchDTO dto) {
+        return converter(dto, obterUsuario(dto.getUsuario()));
+    }
+
+    private User obterUsuario(Long id) {
+        return usuarioService
+                .obterPorId(id)
+                .orElseThrow( () -> new BusinessRuleException("Usuário não encontrado para o Id informado.") );
+    }
+
+    private Launch converter(LaunchDTO dto, User usuario) {
         Launch lancamento = new Launch();
         lancamento.setDescricao(dto.getDescricao());
         lancamento.setAno(dto.getAno());
         lancamento.setMes(dto.getMes());
         lancamento.setValor(dto.getValor());
+        lancamento.setMoeda(dto.getMoeda());
         lancamento.setDataCadastro(LocalDate.now());
-
-        User usuario = usuarioService
-                .obterPorId(dto.getUsuario())
-                .orElseThrow( () -> new BusinessRuleException("Usuário não encontrado para o Id informado.") );
-
         lancamento.setUsuario(usuario);
 
         if(dto.getTipo() != null) {
@@ -149,6 +255,14 @@ public class LaunchController {
             lancamento.setStatus(LaunchStatus.valueOf(dto.getStatus()));
         }
 
+        if(dto.getVencimento() != null) {
+            try {
+                lancamento.setDataVencimento(LocalDate.parse(dto.getVencimento()));
+            } catch (DateTimeParseException e) {
+                throw new BusinessRuleException("Informe um Vencimento válido (aaaa-mm-dd).");
+            }
+        }
+
         return lancamento;
     }
 
@@ -0,0 +1,29 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.service.LaunchStreamService;
+import br.com.pedrodavi.financesapi.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/usuarios")
+@RequiredArgsConstructor
+@CrossOrigin("https://finances.pedrodavi.com.br")
+public class LaunchStreamController {
+
+    private final LaunchStreamService service;
+    private final UserService usuarioService;
+
+    @GetMapping(value = "{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> eventos( @PathVariable("id") Long id ) {
+        if(usuarioService.obterPorId(id).isEmpty()) {
+            return new ResponseEntity<>( HttpStatus.NOT_FOUND );
+        }
+        return ResponseEntity.ok(service.inscrever(id));
+    }
+
+}
@@ -0,0 +1,116 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Recurrence;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.RecurrenceDTO;
+import br.com.pedrodavi.financesapi.service.RecurrenceService;
+import br.com.pedrodavi.financesapi.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+@RequiredArgsConstructor
+@CrossOrigin("https://finances.pedrodavi.com.br")
+public class RecurrenceController {
+
+    private final RecurrenceService service;
+    private final UserService usuarioService;
+
+    @PostMapping
+    public ResponseEntity salvar( @RequestBody RecurrenceDTO dto ) {
+        try {
+            Recurrence entidade = converter(dto);
+            entidade = service.salvar(entidade);
+            return new ResponseEntity(entidade, HttpStatus.CREATED);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity obterRecorrencia( @PathVariable("id") Long id ) {
+        return service.obterPorId(id)
+                .map( recorrencia -> new ResponseEntity(recorrencia, HttpStatus.OK) )
+                .orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND) );
+    }
+
+    @PutMapping("{id}")
+    public ResponseEntity atualizar( @PathVariable("id") Long id, @RequestBody RecurrenceDTO dto ) {
+        return service.obterPorId(id).map( entity -> {
+            try {
+                // antes de alterar a entidade, que é a mesma instância que o serviço leria do banco
+                if(entity.isParcelado() && dto.getValor() != null && !dto.getValor().equals(entity.getValor())) {
+                    throw new BusinessRuleException("Não é possível alterar o Valor de uma recorrência parcelada. Cancele as parcelas futuras e cadastre uma nova.");
+                }
+                if(dto.getDescricao() != null) {
+                    entity.setDescricao(dto.getDescricao());
+                }
+                if(dto.getValor() != null) {
+                    entity.setValor(dto.getValor());
+                }
+                if(dto.getMoeda() != null) {
+                    entity.setMoeda(dto.getMoeda());
+                }
+                if(dto.getTipo() != null) {
+                    entity.setTipo(ReleaseType.valueOf(dto.getTipo()));
+                }
+                int atualizados = service.atualizar(entity, dto.getMes(), dto.getAno());
+                return ResponseEntity.ok(atualizados);
+            }catch (BusinessRuleException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }).orElseGet( () ->
+                new ResponseEntity("Recorrência não encontrada na base de Dados.", HttpStatus.BAD_REQUEST) );
+    }
+
+    @DeleteMapping("{id}")
+    public ResponseEntity cancelar(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "mes", required = false) Integer mes,
+            @RequestParam(value = "ano", required = false) Integer ano
+    ) {
+        return service.obterPorId(id).map( entity -> {
+            try {
+                int cancelados = service.cancelar(entity, mes, ano);
+                return ResponseEntity.ok(cancelados);
+            }catch (BusinessRuleException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }).orElseGet( () ->
+                new ResponseEntity("Recorrência não encontrada na base de Dados.", HttpStatus.BAD_REQUEST) );
+    }
+
+    private Recurrence converter(RecurrenceDTO dto) {
+        Recurrence recorrencia = new Recurrence();
+        recorrencia.setDescricao(dto.getDescricao());
+        recorrencia.setMesInicio(dto.getMes());
+        recorrencia.setAnoInicio(dto.getAno());
+        recorrencia.setValor(dto.getValor());
+        recorrencia.setValorTotal(dto.getValorTotal());
+        recorrencia.setMoeda(dto.getMoeda());
+        recorrencia.setQuantidade(dto.getQuantidade());
+
+        if(dto.getQuantidade() == null && dto.getMesFim() != null && dto.getAnoFim() != null
+                && dto.getMes() != null && dto.getAno() != null) {
+            recorrencia.setQuantidade((dto.getAnoFim() * 12 + dto.getMesFim()) - (dto.getAno() * 12 + dto.getMes()) + 1);
+        }
+
+        User usuario = usuarioService
+                .obterPorId(dto.getUsuario())
+                .orElseThrow( () -> new BusinessRuleException("Usuário não encontrado para o Id informado.") );
+
+        recorrencia.setUsuario(usuario);
+
+        if(dto.getTipo() != null) {
+            recorrencia.setTipo(ReleaseType.valueOf(dto.getTipo()));
+        }
+
+        return recorrencia;
+    }
+
+}
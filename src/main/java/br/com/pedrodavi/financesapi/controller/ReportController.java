@@ -0,0 +1,56 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.enums.ReportStatus;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.ReportJob;
+import br.com.pedrodavi.financesapi.model.dto.ReportRequestDTO;
+import br.com.pedrodavi.financesapi.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/relatorios")
+@RequiredArgsConstructor
+@CrossOrigin("https://finances.pedrodavi.com.br")
+public class ReportController {
+
+    private final ReportService service;
+
+    @PostMapping
+    public ResponseEntity solicitar( @RequestBody ReportRequestDTO dto ) {
+        try {
+            ReportJob job = service.solicitar(dto.getUsuario(), dto.getAno());
+            HttpStatus status = job.getStatus() == ReportStatus.CONCLUIDO ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return new ResponseEntity(job, status);
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity obterRelatorio( @PathVariable("id") String id ) {
+        return service.obterPorId(id)
+                .map( job -> new ResponseEntity(job, HttpStatus.OK) )
+                .orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND) );
+    }
+
+    @GetMapping("{id}/download")
+    public ResponseEntity download( @PathVariable("id") String id ) {
+        return service.obterPorId(id).map( job -> {
+            if(job.getStatus() == ReportStatus.PROCESSANDO) {
+                return new ResponseEntity(job, HttpStatus.ACCEPTED);
+            }
+            if(job.getStatus() == ReportStatus.ERRO) {
+                return ResponseEntity.badRequest().body(job.getErro());
+            }
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"relatorio-" + job.getUsuario() + "-" + job.getAno() + ".json\"")
+                    .body(job.getResultado());
+        }).orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND) );
+    }
+
+}
@@ -2,6 +2,7 @@ package br.com.pedrodavi.financesapi.controller;
 
 import br.com.pedrodavi.financesapi.exception.AuthError;
 import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Money;
 import br.com.pedrodavi.financesapi.model.User;
 import br.com.pedrodavi.financesapi.model.dto.UserAuthDTO;
 import br.com.pedrodavi.financesapi.model.dto.UserDTO;
@@ -12,7 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.Optional;
 
 @RestController
@@ -40,7 +41,8 @@ public class UserController {
         User usuario = User.builder()
                 .nome(dto.getNome())
                 .email(dto.getEmail())
-                .senha(dto.getSenha()).build();
+                .senha(dto.getSenha())
+                .moeda(dto.getMoeda()).build();
 
         try {
             User usuarioSalvo = service.salvarUsuario(usuario);
@@ -51,6 +53,17 @@ public class UserController {
 
     }
 
+    @PutMapping("{id}/moeda")
+    public ResponseEntity atualizarMoeda( @PathVariable("id") Long id, @RequestBody UserDTO dto ) {
+        return service.obterPorId(id).map( usuario -> {
+            try {
+                return ResponseEntity.ok(service.atualizarMoeda(usuario, dto.getMoeda()));
+            }catch (BusinessRuleException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }).orElseGet( () -> new ResponseEntity( HttpStatus.NOT_FOUND ) );
+    }
+
     @GetMapping("{id}/saldo")
     public ResponseEntity obterSaldo( @PathVariable("id") Long id ) {
         Optional<User> usuario = service.obterPorId(id);
@@ -59,8 +72,25 @@ public class UserController {
             return new ResponseEntity( HttpStatus.NOT_FOUND );
         }
 
-        BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
+        Money saldo = lancamentoService.obterSaldoPorUsuario(id);
         return ResponseEntity.ok(saldo);
     }
 
+    @GetMapping("{id}/saldo/evolucao")
+    public ResponseEntity obterEvolucaoSaldo( @PathVariable("id") Long id,
+                                              @RequestParam("de") YearMonth de,
+                                              @RequestParam("ate") YearMonth ate ) {
+        Optional<User> usuario = service.obterPorId(id);
+
+        if(usuario.isEmpty()) {
+            return new ResponseEntity( HttpStatus.NOT_FOUND );
+        }
+
+        try {
+            return ResponseEntity.ok(lancamentoService.obterEvolucaoSaldo(id, de, ate));
+        }catch (BusinessRuleException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
 }
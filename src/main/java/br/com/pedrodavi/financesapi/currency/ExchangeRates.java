@@ -0,0 +1,110 @@
+package br.com.pedrodavi.financesapi.currency;
+
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Tabela de câmbio carregada de um arquivo local na inicialização. As taxas entre todos os
+ * pares de moedas são calculadas uma única vez em uma matriz imutável, então a conversão é
+ * uma consulta e uma multiplicação, sem locks.
+ */
+@Component
+public class ExchangeRates {
+
+    private final String referencia;
+    private final Map<String, Integer> indices;
+    private final BigDecimal[][] taxas;
+
+    @Autowired
+    public ExchangeRates(@Value("${finances.cambio.arquivo:classpath:cotacoes.properties}") Resource arquivo,
+                         @Value("${finances.cambio.referencia:BRL}") String referencia) {
+        this(ler(arquivo), referencia);
+    }
+
+    public ExchangeRates(Map<String, BigDecimal> cotacoes, String referencia) {
+        if(!cotacoes.containsKey(referencia)) {
+            throw new IllegalStateException("Cotação da moeda de referência " + referencia + " não informada.");
+        }
+        Map<String, Integer> indices = new HashMap<>();
+        BigDecimal[] valores = new BigDecimal[cotacoes.size()];
+        for(Map.Entry<String, BigDecimal> cotacao : cotacoes.entrySet()) {
+            if(cotacao.getValue().signum() <= 0) {
+                throw new IllegalStateException("Cotação inválida para " + cotacao.getKey() + ".");
+            }
+            valores[indices.size()] = cotacao.getValue();
+            indices.put(cotacao.getKey(), indices.size());
+        }
+
+        BigDecimal[][] taxas = new BigDecimal[valores.length][valores.length];
+        for(int de = 0; de < valores.length; de++) {
+            for(int para = 0; para < valores.length; para++) {
+                taxas[de][para] = valores[de].divide(valores[para], MathContext.DECIMAL64);
+            }
+        }
+
+        this.referencia = referencia;
+        this.indices = Map.copyOf(indices);
+        this.taxas = taxas;
+    }
+
+    public boolean suporta(String moeda) {
+        return moeda != null && indices.containsKey(moeda);
+    }
+
+    /**
+     * Moeda em que os saldos e relatórios do usuário são apresentados.
+     */
+    public String moedaBase(User usuario) {
+        return usuario == null || usuario.getMoeda() == null ? referencia : usuario.getMoeda();
+    }
+
+    /**
+     * Converte o valor entre moedas; moeda nula é tratada como a moeda de referência
+     * (lançamentos anteriores à introdução da moeda).
+     */
+    public Money converter(Money valor, String de, String para) {
+        String origem = de == null ? referencia : de;
+        String destino = para == null ? referencia : para;
+        if(valor == null || origem.equals(destino) || valor.signum() == 0) {
+            return valor;
+        }
+        BigDecimal taxa = taxas[indice(origem)][indice(destino)];
+        return Money.of(valor.toBigDecimal().multiply(taxa));
+    }
+
+    private int indice(String moeda) {
+        Integer indice = indices.get(moeda);
+        if(indice == null) {
+            throw new IllegalArgumentException("Moeda sem cotação: " + moeda);
+        }
+        return indice;
+    }
+
+    private static Map<String, BigDecimal> ler(Resource arquivo) {
+        Properties propriedades = new Properties();
+        try (InputStream in = arquivo.getInputStream()) {
+            propriedades.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler as cotações de " + arquivo, e);
+        }
+        Map<String, BigDecimal> cotacoes = new HashMap<>();
+        for(String moeda : propriedades.stringPropertyNames()) {
+            cotacoes.put(moeda.trim().toUpperCase(), new BigDecimal(propriedades.getProperty(moeda).trim()));
+        }
+        return cotacoes;
+    }
+
+}
@@ -0,0 +1,11 @@
+package br.com.pedrodavi.financesapi.enums;
+
+public enum LaunchEventType {
+
+    CRIADO,
+    ATUALIZADO,
+    STATUS_ATUALIZADO,
+    REMOVIDO,
+    LOTE
+
+}
@@ -0,0 +1,9 @@
+package br.com.pedrodavi.financesapi.enums;
+
+public enum RebuildStatus {
+
+    PROCESSANDO,
+    CONCLUIDO,
+    INTERROMPIDO
+
+}
@@ -0,0 +1,9 @@
+package br.com.pedrodavi.financesapi.enums;
+
+public enum ReportStatus {
+
+    PROCESSANDO,
+    CONCLUIDO,
+    ERRO
+
+}
@@ -0,0 +1,8 @@
+package br.com.pedrodavi.financesapi.enums;
+
+public enum StatementFormat {
+
+    CSV,
+    OFX
+
+}
@@ -0,0 +1,21 @@
+package br.com.pedrodavi.financesapi.event;
+
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Um orçamento passou para uma situação mais grave (alerta ou excedido) após uma gravação.
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetAlertEvent {
+
+    private final Long usuario;
+    private final Long orcamento;
+    private final BudgetStatus situacao;
+    private final Money gasto;
+    private final Money limite;
+
+}
@@ -0,0 +1,29 @@
+package br.com.pedrodavi.financesapi.event;
+
+import br.com.pedrodavi.financesapi.audit.LaunchSnapshot;
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Alteração de um lançamento para o diário de auditoria, publicada pelo
+ * {@code LaunchServiceImpl} com o estado anterior já copiado e gravada somente após o commit.
+ */
+@Getter
+@AllArgsConstructor
+public class LaunchAuditEvent {
+
+    private final LaunchEventType tipo;
+    private final Long usuario;
+    private final Long lancamento;
+    private final LaunchSnapshot antes;
+    private final LaunchSnapshot depois;
+
+    public static LaunchAuditEvent of(LaunchEventType tipo, LaunchSnapshot antes, Launch lancamento) {
+        Long usuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+        LaunchSnapshot depois = tipo == LaunchEventType.REMOVIDO ? null : LaunchSnapshot.of(lancamento);
+        return new LaunchAuditEvent(tipo, usuario, lancamento.getId(), antes, depois);
+    }
+
+}
@@ -0,0 +1,36 @@
+package br.com.pedrodavi.financesapi.event;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Alteração de um lançamento, publicada pelo {@code LaunchServiceImpl} e entregue aos
+ * inscritos somente após o commit da transação.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LaunchEvent {
+
+    private final LaunchEventType tipo;
+    private final Long id;
+    private final Long usuario;
+    private final Launch lancamento;
+
+    public static LaunchEvent of(LaunchEventType tipo, Launch lancamento) {
+        Long usuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+        return new LaunchEvent(tipo, lancamento.getId(), usuario, tipo == LaunchEventType.REMOVIDO ? null : lancamento);
+    }
+
+    /**
+     * Vários lançamentos do usuário foram alterados de uma vez (ex.: geração de uma recorrência);
+     * o cliente deve recarregar a lista.
+     */
+    public static LaunchEvent lote(Long idUsuario) {
+        return new LaunchEvent(LaunchEventType.LOTE, null, idUsuario, null);
+    }
+
+}
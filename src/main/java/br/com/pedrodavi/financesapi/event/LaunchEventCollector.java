@@ -0,0 +1,68 @@
+package br.com.pedrodavi.financesapi.event;
+
+import br.com.pedrodavi.financesapi.service.LaunchStreamService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acumula os {@link LaunchEvent} da transação corrente e os repassa ao
+ * {@link LaunchStreamService} apenas no commit. Vários eventos do mesmo lançamento na
+ * mesma transação (ex.: {@code atualizarStatus} chamando {@code atualizar}) viram um só,
+ * prevalecendo o último.
+ */
+@Component
+public class LaunchEventCollector {
+
+    private final LaunchStreamService streamService;
+
+    public LaunchEventCollector(LaunchStreamService streamService) {
+        this.streamService = streamService;
+    }
+
+    @EventListener
+    public void aoAlterarLancamento(LaunchEvent evento) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            streamService.publicar(List.of(evento));
+            return;
+        }
+
+        Pendentes pendentes = (Pendentes) TransactionSynchronizationManager.getResource(this);
+        if(pendentes == null) {
+            pendentes = new Pendentes();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(pendentes);
+        }
+        Object chave = evento.getId() != null ? evento.getId() : evento.getTipo() + ":" + evento.getUsuario();
+        pendentes.eventos.remove(chave);
+        pendentes.eventos.put(chave, evento);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlertarOrcamento(BudgetAlertEvent alerta) {
+        streamService.alertar(alerta);
+    }
+
+    private class Pendentes implements TransactionSynchronization {
+
+        private final Map<Object, LaunchEvent> eventos = new LinkedHashMap<>();
+
+        @Override
+        public void afterCommit() {
+            streamService.publicar(eventos.values());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LaunchEventCollector.this);
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package br.com.pedrodavi.financesapi.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão dos dados de lançamento de cada usuário neste nó, incrementada após o commit de
+ * qualquer alteração local ou ao receber a invalidação de outro nó. Serve de chave para
+ * resultados derivados em cache.
+ */
+@Component
+public class UserDataVersions {
+
+    private final Map<Long, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    /**
+     * Versão atual; a entrada é criada na primeira consulta para que {@link #avancarTodas()}
+     * alcance todo usuário que já tenha resultado derivado em cache.
+     */
+    public long versao(Long idUsuario) {
+        return contador(idUsuario).get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLancamento(LaunchEvent evento) {
+        if(evento.getUsuario() != null) {
+            contador(evento.getUsuario()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Aplica a versão recebida de outro nó: sempre avança e nunca fica atrás dela.
+     */
+    public void avancar(Long idUsuario, long recebida) {
+        contador(idUsuario).accumulateAndGet(recebida, (atual, outra) -> Math.max(atual + 1, outra));
+    }
+
+    public void avancarTodas() {
+        versoes.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    private AtomicLong contador(Long idUsuario) {
+        return versoes.computeIfAbsent(idUsuario, id -> new AtomicLong());
+    }
+
+}
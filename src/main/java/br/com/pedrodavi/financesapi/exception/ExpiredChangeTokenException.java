@@ -0,0 +1,13 @@
+package br.com.pedrodavi.financesapi.exception;
+
+/**
+ * O token de sincronização é anterior a remoções que já saíram da retenção: o cliente precisa
+ * fazer uma sincronização completa.
+ */
+public class ExpiredChangeTokenException extends BusinessRuleException {
+
+    public ExpiredChangeTokenException(String msg) {
+        super(msg);
+    }
+
+}
@@ -0,0 +1,83 @@
+package br.com.pedrodavi.financesapi.index;
+
+/**
+ * Filtro de Bloom sobre um {@code long[]}. Os {@code k} índices de cada elemento saem de dois
+ * hashes de 64 bits ({@code h1 + i * h2}), então quem chama entrega um hash já bem
+ * distribuído e o filtro não calcula nenhum. Não é thread-safe.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long tamanho;
+    private final int funcoes;
+    private final int capacidade;
+    private int quantidade;
+
+    private BloomFilter(long tamanho, int funcoes, int capacidade) {
+        this.tamanho = tamanho;
+        this.funcoes = funcoes;
+        this.capacidade = capacidade;
+        this.bits = new long[(int) ((tamanho + 63) >>> 6)];
+    }
+
+    /**
+     * Dimensiona o filtro para {@code capacidade} elementos com a taxa de falso positivo
+     * informada: {@code m = -n ln p / (ln 2)²} bits e {@code k = m / n * ln 2} funções.
+     */
+    public static BloomFilter para(int capacidade, double taxaFalsoPositivo) {
+        if(capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidade);
+        }
+        if(taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Taxa de falso positivo inválida: " + taxaFalsoPositivo);
+        }
+        long tamanho = Math.max(64, (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2))));
+        int funcoes = Math.max(1, (int) Math.round((double) tamanho / capacidade * Math.log(2)));
+        return new BloomFilter(tamanho, funcoes, capacidade);
+    }
+
+    public void adicionar(long h1, long h2) {
+        long combinado = h1;
+        for(int i = 0; i < funcoes; i++) {
+            long indice = Long.remainderUnsigned(combinado, tamanho);
+            bits[(int) (indice >>> 6)] |= 1L << indice;
+            combinado += h2;
+        }
+        quantidade++;
+    }
+
+    /**
+     * {@code false} garante que o elemento nunca foi adicionado; {@code true} pode ser falso positivo.
+     */
+    public boolean talvezContenha(long h1, long h2) {
+        long combinado = h1;
+        for(int i = 0; i < funcoes; i++) {
+            long indice = Long.remainderUnsigned(combinado, tamanho);
+            if((bits[(int) (indice >>> 6)] & (1L << indice)) == 0) {
+                return false;
+            }
+            combinado += h2;
+        }
+        return true;
+    }
+
+    /**
+     * Acima da capacidade a taxa de falso positivo passa da configurada.
+     */
+    public boolean cheio() {
+        return quantidade > capacidade;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public int getFuncoes() {
+        return funcoes;
+    }
+
+    public long tamanhoEmBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+}
@@ -0,0 +1,73 @@
+package br.com.pedrodavi.financesapi.index;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Hash do conteúdo de um lançamento importado: SHA-256 de usuário, ano, mês, valor em
+ * centavos, descrição normalizada, tipo e, quando houver, a referência de importação, em
+ * hexadecimal (64 caracteres). A descrição normalizada ignora caixa, acentos e espaços
+ * repetidos, que costumam variar entre dois extratos do mesmo banco.
+ */
+public final class ContentHash {
+
+    public static final int TAMANHO = 64;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ContentHash() {
+    }
+
+    public static String de(Launch lancamento) {
+        String conteudo = lancamento.getUsuario().getId()
+                + "|" + lancamento.getAno()
+                + "|" + lancamento.getMes()
+                + "|" + lancamento.getValor().getCents()
+                + "|" + normalizar(lancamento.getDescricao())
+                + "|" + lancamento.getTipo().name()
+                + (lancamento.getReferenciaImportacao() == null ? "" : "|" + lancamento.getReferenciaImportacao());
+        byte[] digest = sha256().digest(conteudo.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[TAMANHO];
+        for(int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    public static String normalizar(String descricao) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(descricao, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Primeira metade de 64 bits do hash, usada como {@code h1} do filtro de Bloom.
+     */
+    static long h1(String hash) {
+        return Long.parseUnsignedLong(hash, 0, 16, 16);
+    }
+
+    /**
+     * Segunda metade de 64 bits do hash, usada como {@code h2} do filtro de Bloom.
+     */
+    static long h2(String hash) {
+        return Long.parseUnsignedLong(hash, 16, 32, 16);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
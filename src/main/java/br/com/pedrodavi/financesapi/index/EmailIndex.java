@@ -0,0 +1,323 @@
+package br.com.pedrodavi.financesapi.index;
+
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.projection.UserEmail;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória dos emails cadastrados, já normalizados. Um filtro de Bloom com todos os
+ * emails responde "não existe" sem consultar o banco (cadastro de email novo, login com email
+ * desconhecido); um mapa limitado guarda o id dos emails usados recentemente, e o login desses
+ * vira uma busca por id, que sai do cache de segundo nível.
+ *
+ * <p>O filtro é carregado na subida percorrendo a tabela {@code usuario} com um cursor, em
+ * todos os shards; até lá, e depois de um {@link #invalidar()}, toda consulta vai ao banco.
+ * Depois, cada usuário inserido pelo Hibernate entra no commit, e os cadastros de outros nós
+ * chegam pelo {@code InvalidationBus}; um insert feito fora da aplicação só aparece depois de
+ * uma invalidação geral. Um falso positivo só custa a
+ * consulta que já seria feita, e o índice único de email continua sendo a garantia final.
+ */
+@Slf4j
+@Component
+public class EmailIndex {
+
+    public static final String METRICA = "finances.usuarios.indice";
+
+    private final UserRepository repository;
+    private final ShardRouter router;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int capacidadeMinima;
+    private final double taxaFalsoPositivo;
+    private final Map<String, Long> recentes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean recarregando = new AtomicBoolean();
+    private final Counter ausentes;
+    private final Counter conhecidos;
+    private final Counter consultados;
+
+    private BloomFilter filtro;
+    private List<String> durante;
+
+    public EmailIndex(UserRepository repository, ShardRouter router, EntityManagerFactory entityManagerFactory,
+                      MeterRegistry registry,
+                      @Value("${finances.usuarios.indice.capacidade:100000}") int capacidadeMinima,
+                      @Value("${finances.usuarios.indice.falso-positivo:0.01}") double taxaFalsoPositivo,
+                      @Value("${finances.usuarios.indice.recentes:10000}") int recentes) {
+        this.repository = repository;
+        this.router = router;
+        this.entityManagerFactory = entityManagerFactory;
+        this.capacidadeMinima = capacidadeMinima;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.recentes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > recentes;
+            }
+        };
+        this.ausentes = registry.counter(METRICA, "resultado", "ausente");
+        this.conhecidos = registry.counter(METRICA, "resultado", "conhecido");
+        this.consultados = registry.counter(METRICA, "resultado", "banco");
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        entityManagerFactory.unwrap(SessionFactoryImpl.class).getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_INSERT, new AoInserirUsuario());
+    }
+
+    /**
+     * Forma canônica de um email: sem espaços nas pontas e em minúsculas.
+     */
+    public static String normalizar(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * {@code true} somente quando o email, já normalizado, com certeza não está cadastrado.
+     */
+    public boolean certamenteAusente(String email) {
+        if(email == null) {
+            return false;
+        }
+        long[] hash = hash(email);
+        lock.readLock().lock();
+        try {
+            if(filtro == null || filtro.talvezContenha(hash[0], hash[1])) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        ausentes.increment();
+        return true;
+    }
+
+    /**
+     * Id do usuário do email, se ele foi usado recentemente neste nó.
+     */
+    public Optional<Long> idConhecido(String email) {
+        Long id;
+        synchronized (recentes) {
+            id = recentes.get(email);
+        }
+        (id == null ? consultados : conhecidos).increment();
+        return Optional.ofNullable(id);
+    }
+
+    /**
+     * Lembra o id de um email confirmado no banco. Dentro de uma transação, só depois do
+     * commit: um cadastro desfeito não pode parecer existente.
+     */
+    public void registrar(String email, Long id) {
+        if(email == null || id == null) {
+            return;
+        }
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acrescentar(email, id);
+                }
+            });
+        } else {
+            acrescentar(email, id);
+        }
+    }
+
+    private void acrescentar(String email, Long id) {
+        synchronized (recentes) {
+            recentes.put(email, id);
+        }
+        long[] hash = hash(email);
+        boolean cheio = false;
+        lock.writeLock().lock();
+        try {
+            if(durante != null) {
+                durante.add(email);
+            }
+            if(filtro != null) {
+                filtro.adicionar(hash[0], hash[1]);
+                cheio = filtro.cheio();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if(cheio) {
+            // redimensiona para o novo volume; enquanto isso, o filtro cheio continua valendo
+            recarregarEmSegundoPlano();
+        }
+    }
+
+    /**
+     * Cadastro feito em outro nó: só se conhece o id, e o email sai do banco.
+     */
+    public void carregar(Long idUsuario) {
+        repository.findById(idUsuario).ifPresent(usuario -> acrescentar(normalizar(usuario.getEmail()), usuario.getId()));
+    }
+
+    /**
+     * Esquece tudo e recarrega do banco; até terminar, as consultas vão ao banco.
+     */
+    public void invalidar() {
+        lock.writeLock().lock();
+        try {
+            filtro = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        synchronized (recentes) {
+            recentes.clear();
+        }
+        recarregarEmSegundoPlano();
+    }
+
+    /**
+     * Carrega na thread da subida, com o servidor já aceitando requisições: o que chegar
+     * antes do fim vai ao banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if(recarregando.compareAndSet(false, true)) {
+            try {
+                recarregar();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao carregar o índice de emails; as consultas seguem no banco.", e);
+            } finally {
+                recarregando.set(false);
+            }
+        }
+    }
+
+    private void recarregarEmSegundoPlano() {
+        if(recarregando.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    recarregar();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao carregar o índice de emails; as consultas seguem no banco.", e);
+                } finally {
+                    recarregando.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Monta um filtro novo com os emails de todos os shards e troca o atual por ele. Os
+     * cadastros feitos durante a leitura entram no novo filtro antes da troca.
+     */
+    void recarregar() {
+        lock.writeLock().lock();
+        try {
+            durante = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long total = router.emTodos(shard -> repository.count()).stream().mapToLong(Long::longValue).sum();
+            BloomFilter novo = BloomFilter.para((int) Math.min(Integer.MAX_VALUE, Math.max(capacidadeMinima, total * 2)), taxaFalsoPositivo);
+            router.emTodos(shard -> {
+                try(Stream<UserEmail> emails = repository.obterEmails()) {
+                    emails.forEach(usuario -> adicionar(novo, normalizar(usuario.getEmail())));
+                }
+                return null;
+            });
+            lock.writeLock().lock();
+            try {
+                durante.forEach(email -> adicionar(novo, email));
+                filtro = novo;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice de emails carregado: {} usuário(s), {} bytes.", novo.getQuantidade(), novo.tamanhoEmBytes());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                durante = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static void adicionar(BloomFilter filtro, String email) {
+        if(email != null) {
+            long[] hash = hash(email);
+            filtro.adicionar(hash[0], hash[1]);
+        }
+    }
+
+    /**
+     * Os dois hashes de 64 bits do filtro, das duas metades iniciais do SHA-256 do email.
+     */
+    private static long[] hash(String email) {
+        byte[] digest = sha256().digest(email.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new long[] { buffer.getLong(), buffer.getLong() };
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class AoInserirUsuario implements PostCommitInsertEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent evento) {
+            if(evento.getEntity() instanceof User) {
+                User usuario = (User) evento.getEntity();
+                acrescentar(normalizar(usuario.getEmail()), usuario.getId());
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent evento) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return persister.getMappedClass() == User.class;
+        }
+
+    }
+
+}
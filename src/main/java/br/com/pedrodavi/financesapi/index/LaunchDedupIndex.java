@@ -0,0 +1,146 @@
+package br.com.pedrodavi.financesapi.index;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Descarta, na importação, lançamentos cujo conteúdo já existe para o usuário. Cada usuário
+ * tem um filtro de Bloom com os hashes de conteúdo já gravados: quando o filtro responde
+ * "não contém", o lançamento é novo sem consultar o banco; só os "talvez" vão para uma única
+ * consulta de confirmação por lote. O índice único {@code (id_usuario, hash_conteudo)}
+ * continua sendo a garantia final.
+ *
+ * <p>A memória por usuário é de cerca de {@code -ln(p) / (ln 2)²} bits por lançamento
+ * (≈ 9,6 bits com 1%), ajustável por {@code finances.importacao.bloom.*}.
+ */
+@Component
+public class LaunchDedupIndex {
+
+    public static final String METRICA = "finances.importacao.deduplicacao";
+
+    private final LaunchRepository repository;
+    private final int capacidadeMinima;
+    private final double taxaFalsoPositivo;
+    private final Map<Long, BloomFilter> filtros;
+    private final Counter novos;
+    private final Counter duplicados;
+    private final Counter falsosPositivos;
+
+    public LaunchDedupIndex(LaunchRepository repository, MeterRegistry registry,
+                            @Value("${finances.importacao.bloom.capacidade:10000}") int capacidadeMinima,
+                            @Value("${finances.importacao.bloom.falso-positivo:0.01}") double taxaFalsoPositivo,
+                            @Value("${finances.importacao.bloom.usuarios:1000}") int usuarios) {
+        this.repository = repository;
+        this.capacidadeMinima = capacidadeMinima;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.filtros = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BloomFilter> eldest) {
+                return size() > usuarios;
+            }
+        };
+        this.novos = registry.counter(METRICA, "resultado", "novo");
+        this.duplicados = registry.counter(METRICA, "resultado", "duplicado");
+        this.falsosPositivos = registry.counter(METRICA, "resultado", "falso_positivo");
+    }
+
+    /**
+     * Calcula o hash de conteúdo de cada lançamento e devolve, na ordem recebida, só os que
+     * ainda não existem para o usuário nem se repetem no próprio lote. Os devolvidos já
+     * entram no filtro: se a transação for desfeita, viram apenas falsos positivos.
+     */
+    public List<Launch> filtrarNovos(Long idUsuario, List<Launch> lancamentos) {
+        Set<String> doLote = new HashSet<>();
+        List<Launch> candidatos = new ArrayList<>(lancamentos.size());
+        for(Launch lancamento : lancamentos) {
+            String hash = ContentHash.de(lancamento);
+            lancamento.setHashConteudo(hash);
+            if(doLote.add(hash)) {
+                candidatos.add(lancamento);
+            }
+        }
+
+        BloomFilter filtro = obter(idUsuario);
+        List<Launch> novosDoLote = new ArrayList<>(candidatos.size());
+        synchronized (filtro) {
+            List<String> talvez = new ArrayList<>();
+            for(Launch lancamento : candidatos) {
+                String hash = lancamento.getHashConteudo();
+                if(filtro.talvezContenha(ContentHash.h1(hash), ContentHash.h2(hash))) {
+                    talvez.add(hash);
+                }
+            }
+            Set<String> existentes = talvez.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(repository.obterHashesExistentes(idUsuario, talvez));
+            falsosPositivos.increment(talvez.size() - existentes.size());
+
+            for(Launch lancamento : candidatos) {
+                String hash = lancamento.getHashConteudo();
+                if(!existentes.contains(hash)) {
+                    filtro.adicionar(ContentHash.h1(hash), ContentHash.h2(hash));
+                    novosDoLote.add(lancamento);
+                }
+            }
+            if(filtro.cheio()) {
+                // recarrega na próxima importação, dimensionado para o novo volume
+                invalidar(idUsuario);
+            }
+        }
+        novos.increment(novosDoLote.size());
+        duplicados.increment(lancamentos.size() - novosDoLote.size());
+        return novosDoLote;
+    }
+
+    /**
+     * Descarta o filtro do usuário (ou de todos, com {@code null}); a próxima importação recarrega.
+     */
+    public void invalidar(Long idUsuario) {
+        synchronized (filtros) {
+            if(idUsuario == null) {
+                filtros.clear();
+            } else {
+                filtros.remove(idUsuario);
+            }
+        }
+    }
+
+    /**
+     * Memória ocupada pelos filtros carregados, em bytes.
+     */
+    public long tamanhoEmBytes() {
+        synchronized (filtros) {
+            return filtros.values().stream().mapToLong(BloomFilter::tamanhoEmBytes).sum();
+        }
+    }
+
+    private BloomFilter obter(Long idUsuario) {
+        synchronized (filtros) {
+            BloomFilter filtro = filtros.get(idUsuario);
+            if(filtro != null) {
+                return filtro;
+            }
+        }
+
+        List<String> hashes = repository.obterHashes(idUsuario);
+        BloomFilter carregado = BloomFilter.para(Math.max(capacidadeMinima, hashes.size() * 2), taxaFalsoPositivo);
+        for(String hash : hashes) {
+            carregado.adicionar(ContentHash.h1(hash), ContentHash.h2(hash));
+        }
+        synchronized (filtros) {
+            return filtros.computeIfAbsent(idUsuario, id -> carregado);
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package br.com.pedrodavi.financesapi.index;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.TagFilter;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.projection.LaunchIndexEntry;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória, por usuário, dos ids de lançamento em bitmaps compactados (Roaring)
+ * por tag, tipo e status. O índice de um usuário é carregado com uma única consulta no
+ * primeiro uso e mantido após o commit de cada alteração; filtros AND/OR/NOT viram
+ * operações entre bitmaps.
+ */
+@Component
+public class LaunchTagIndex {
+
+    private final LaunchRepository repository;
+    private final Map<Long, IndiceUsuario> indices;
+    private final Map<Long, Long> alteracoes;
+    private long ultimaAlteracao;
+    private long alteracaoDescartada;
+
+    public LaunchTagIndex(LaunchRepository repository,
+                          @Value("${finances.tags.indice.usuarios:10000}") int usuarios) {
+        this.repository = repository;
+        this.indices = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, IndiceUsuario> eldest) {
+                return size() > usuarios;
+            }
+        };
+        // marca, por usuário, a última alteração; a marca de quem sai do mapa vira o piso
+        // dos ausentes, então uma carga em andamento ainda percebe a alteração descartada
+        this.alteracoes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                if(size() <= usuarios) {
+                    return false;
+                }
+                alteracaoDescartada = Math.max(alteracaoDescartada, eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Ids dos lançamentos do usuário que atendem ao filtro de tags e, quando informados,
+     * ao tipo e ao status.
+     */
+    public Roaring64NavigableMap consultar(Long idUsuario, ReleaseType tipo, LaunchStatus status, TagFilter filtro) {
+        return obter(idUsuario).consultar(tipo, status, filtro);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLancamento(LaunchEvent evento) {
+        Long idUsuario = evento.getUsuario();
+        if(idUsuario == null) {
+            return;
+        }
+        IndiceUsuario indice;
+        synchronized (indices) {
+            registrarAlteracao(idUsuario);
+            if(evento.getTipo() == LaunchEventType.LOTE) {
+                indices.remove(idUsuario);
+                return;
+            }
+            indice = indices.get(idUsuario);
+        }
+        if(indice == null) {
+            return;
+        }
+        if(evento.getTipo() == LaunchEventType.REMOVIDO) {
+            indice.remover(evento.getId());
+        } else {
+            indice.indexar(evento.getLancamento());
+        }
+    }
+
+    /**
+     * Descarta o índice do usuário (ou de todos, com {@code null}); a próxima consulta recarrega.
+     */
+    public void invalidar(Long idUsuario) {
+        synchronized (indices) {
+            if(idUsuario == null) {
+                alteracoes.clear();
+                alteracaoDescartada = ++ultimaAlteracao;
+                indices.clear();
+            } else {
+                registrarAlteracao(idUsuario);
+                indices.remove(idUsuario);
+            }
+        }
+    }
+
+    private IndiceUsuario obter(Long idUsuario) {
+        // uma alteração confirmada durante a carga pode não estar na consulta; nesse caso o
+        // índice serve só a esta busca e a próxima recarrega
+        long versao;
+        synchronized (indices) {
+            IndiceUsuario indice = indices.get(idUsuario);
+            if(indice != null) {
+                return indice;
+            }
+            versao = versao(idUsuario);
+        }
+
+        IndiceUsuario carregado = carregar(repository.obterEntradasIndice(idUsuario));
+        synchronized (indices) {
+            IndiceUsuario atual = indices.get(idUsuario);
+            if(atual != null) {
+                return atual;
+            }
+            if(versao(idUsuario) == versao) {
+                indices.put(idUsuario, carregado);
+            }
+        }
+        return carregado;
+    }
+
+    private void registrarAlteracao(Long idUsuario) {
+        alteracoes.put(idUsuario, ++ultimaAlteracao);
+    }
+
+    private long versao(Long idUsuario) {
+        return alteracoes.getOrDefault(idUsuario, alteracaoDescartada);
+    }
+
+    private static IndiceUsuario carregar(List<LaunchIndexEntry> entradas) {
+        IndiceUsuario indice = new IndiceUsuario();
+        for(LaunchIndexEntry entrada : entradas) {
+            indice.adicionar(entrada.getId(), entrada.getTipo(), entrada.getStatus());
+            if(entrada.getTag() != null) {
+                indice.porTag.computeIfAbsent(entrada.getTag(), t -> new Roaring64NavigableMap()).addLong(entrada.getId());
+            }
+        }
+        indice.todos.runOptimize();
+        indice.porTag.values().forEach(Roaring64NavigableMap::runOptimize);
+        return indice;
+    }
+
+    private static class IndiceUsuario {
+
+        private final Roaring64NavigableMap todos = new Roaring64NavigableMap();
+        private final Map<ReleaseType, Roaring64NavigableMap> porTipo = new EnumMap<>(ReleaseType.class);
+        private final Map<LaunchStatus, Roaring64NavigableMap> porStatus = new EnumMap<>(LaunchStatus.class);
+        private final Map<String, Roaring64NavigableMap> porTag = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        Roaring64NavigableMap consultar(ReleaseType tipo, LaunchStatus status, TagFilter filtro) {
+            lock.readLock().lock();
+            try {
+                Roaring64NavigableMap resultado = copia(todos);
+                if(filtro.getTodas() != null) {
+                    for(String tag : filtro.getTodas()) {
+                        resultado.and(porTag.getOrDefault(tag, new Roaring64NavigableMap()));
+                    }
+                }
+                if(filtro.getAlguma() != null && !filtro.getAlguma().isEmpty()) {
+                    resultado.and(uniao(filtro.getAlguma()));
+                }
+                if(filtro.getNenhuma() != null && !filtro.getNenhuma().isEmpty()) {
+                    resultado.andNot(uniao(filtro.getNenhuma()));
+                }
+                if(tipo != null) {
+                    resultado.and(porTipo.getOrDefault(tipo, new Roaring64NavigableMap()));
+                }
+                if(status != null) {
+                    resultado.and(porStatus.getOrDefault(status, new Roaring64NavigableMap()));
+                }
+                return resultado;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void indexar(Launch lancamento) {
+            lock.writeLock().lock();
+            try {
+                remover(lancamento.getId());
+                adicionar(lancamento.getId(), lancamento.getTipo(), lancamento.getStatus());
+                if(lancamento.getTags() != null) {
+                    for(Tag tag : lancamento.getTags()) {
+                        porTag.computeIfAbsent(tag.getNome(), t -> new Roaring64NavigableMap()).addLong(lancamento.getId());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remover(long id) {
+            lock.writeLock().lock();
+            try {
+                if(!todos.contains(id)) {
+                    return;
+                }
+                todos.removeLong(id);
+                porTipo.values().forEach(bitmap -> bitmap.removeLong(id));
+                porStatus.values().forEach(bitmap -> bitmap.removeLong(id));
+                Iterator<Roaring64NavigableMap> tags = porTag.values().iterator();
+                while (tags.hasNext()) {
+                    Roaring64NavigableMap bitmap = tags.next();
+                    bitmap.removeLong(id);
+                    if(bitmap.isEmpty()) {
+                        tags.remove();
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void adicionar(long id, ReleaseType tipo, LaunchStatus status) {
+            todos.addLong(id);
+            if(tipo != null) {
+                porTipo.computeIfAbsent(tipo, t -> new Roaring64NavigableMap()).addLong(id);
+            }
+            if(status != null) {
+                porStatus.computeIfAbsent(status, s -> new Roaring64NavigableMap()).addLong(id);
+            }
+        }
+
+        private Roaring64NavigableMap uniao(Collection<String> tags) {
+            Roaring64NavigableMap uniao = new Roaring64NavigableMap();
+            for(String tag : tags) {
+                Roaring64NavigableMap bitmap = porTag.get(tag);
+                if(bitmap != null) {
+                    uniao.or(bitmap);
+                }
+            }
+            return uniao;
+        }
+
+        private static Roaring64NavigableMap copia(Roaring64NavigableMap bitmap) {
+            Roaring64NavigableMap copia = new Roaring64NavigableMap();
+            copia.or(bitmap);
+            return copia;
+        }
+
+    }
+
+}
@@ -0,0 +1,204 @@
+package br.com.pedrodavi.financesapi.invalidation;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.event.UserDataVersions;
+import br.com.pedrodavi.financesapi.index.LaunchDedupIndex;
+import br.com.pedrodavi.financesapi.index.EmailIndex;
+import br.com.pedrodavi.financesapi.index.LaunchTagIndex;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Propaga para os outros nós, depois do commit, o que mudou neste nó, e aplica nos caches
+ * locais (segundo nível do Hibernate, versões por usuário, índices de tags e de emails) o que
+ * chega deles. As mensagens ficam em uma fila limitada e saem em lotes sem repetição a cada
+ * {@code finances.invalidacao.intervalo-ms}, o que limita o atraso entre os nós; se a fila
+ * enche, o próximo lote é um único {@code *} (invalidar tudo).
+ * <p>
+ * Cada lote leva o id do nó de origem, e o próprio nó ignora o que enviou. O bean não é
+ * preguiçoso: o nó precisa escutar os outros desde a subida.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class InvalidationBus implements InvalidationTransport.Receptor {
+
+    private static final String LANCAMENTO_TAGS = Launch.class.getName() + ".tags";
+
+    private final InvalidationTransport transporte;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserDataVersions versoes;
+    private final LaunchTagIndex indice;
+    private final LaunchDedupIndex deduplicacao;
+    private final EmailIndex emails;
+    private final BlockingQueue<InvalidationMessage> fila;
+    private final String origem = UUID.randomUUID().toString().substring(0, 8);
+    private volatile boolean transbordou;
+
+    public InvalidationBus(InvalidationTransport transporte, EntityManagerFactory entityManagerFactory,
+                           UserDataVersions versoes, LaunchTagIndex indice, LaunchDedupIndex deduplicacao,
+                           EmailIndex emails, @Value("${finances.invalidacao.fila:10000}") int capacidade) {
+        this.transporte = transporte;
+        this.entityManagerFactory = entityManagerFactory;
+        this.versoes = versoes;
+        this.indice = indice;
+        this.deduplicacao = deduplicacao;
+        this.emails = emails;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        transporte.iniciar(this);
+    }
+
+    @PreDestroy
+    public void parar() {
+        enviarPendentes();
+        transporte.parar();
+    }
+
+    /**
+     * Publica a mensagem após o commit da transação atual, ou já, quando não há transação.
+     */
+    public void publicar(InvalidationMessage mensagem) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enfileirar(mensagem);
+                }
+            });
+        } else {
+            enfileirar(mensagem);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLancamento(LaunchEvent evento) {
+        if(evento.getTipo() == LaunchEventType.LOTE) {
+            enfileirar(InvalidationMessage.LANCAMENTOS);
+        } else if(evento.getTipo() != LaunchEventType.CRIADO && evento.getId() != null) {
+            // um lançamento novo não está em cache em nenhum nó
+            enfileirar(InvalidationMessage.lancamento(evento.getId()));
+        }
+        if(evento.getUsuario() != null) {
+            enfileirar(InvalidationMessage.versao(evento.getUsuario(), versoes.versao(evento.getUsuario())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${finances.invalidacao.intervalo-ms:50}")
+    public void enviarPendentes() {
+        List<InvalidationMessage> pendentes = new ArrayList<>();
+        fila.drainTo(pendentes);
+        if(transbordou) {
+            transbordou = false;
+            pendentes = List.of(InvalidationMessage.TUDO);
+        }
+        if(pendentes.isEmpty()) {
+            return;
+        }
+
+        Set<String> distintas = new LinkedHashSet<>();
+        pendentes.forEach(mensagem -> distintas.add(mensagem.codificar()));
+        StringBuilder lote = new StringBuilder(origem);
+        for(String mensagem : distintas) {
+            if(lote.length() + 1 + mensagem.length() > transporte.tamanhoMaximo()) {
+                enviar(lote.toString());
+                lote.setLength(0);
+                lote.append(origem);
+            }
+            lote.append(',').append(mensagem);
+        }
+        enviar(lote.toString());
+    }
+
+    @Override
+    public void receber(String lote) {
+        String[] partes = lote.split(",");
+        if(partes[0].equals(origem)) {
+            return;
+        }
+        try {
+            for(int i = 1; i < partes.length; i++) {
+                aplicar(InvalidationMessage.decodificar(partes[i]));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Lote de invalidação inválido, invalidando tudo: {}", lote, e);
+            aplicar(InvalidationMessage.TUDO);
+        }
+    }
+
+    @Override
+    public void perdeuMensagens() {
+        aplicar(InvalidationMessage.TUDO);
+    }
+
+    void aplicar(InvalidationMessage mensagem) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        switch (mensagem.getTipo()) {
+            case LANCAMENTO:
+                cache.evictEntityData(Launch.class, mensagem.getId());
+                cache.evictCollectionData(LANCAMENTO_TAGS, mensagem.getId());
+                break;
+            case USUARIO:
+                cache.evictEntityData(User.class, mensagem.getId());
+                emails.carregar(mensagem.getId());
+                break;
+            case VERSAO:
+                versoes.avancar(mensagem.getId(), mensagem.getVersao());
+                indice.invalidar(mensagem.getId());
+                deduplicacao.invalidar(mensagem.getId());
+                break;
+            case LANCAMENTOS:
+                cache.evictEntityData(Launch.class);
+                cache.evictCollectionData(LANCAMENTO_TAGS);
+                break;
+            case TUDO:
+                cache.evictAllRegions();
+                versoes.avancarTodas();
+                indice.invalidar(null);
+                deduplicacao.invalidar(null);
+                emails.invalidar();
+                break;
+        }
+    }
+
+    private void enfileirar(InvalidationMessage mensagem) {
+        if(!fila.offer(mensagem)) {
+            transbordou = true;
+        }
+    }
+
+    private void enviar(String lote) {
+        try {
+            transporte.enviar(lote);
+        } catch (RuntimeException e) {
+            // os outros nós não ficam sabendo destas alterações: o próximo lote invalida tudo
+            log.warn("Falha ao enviar lote de invalidação.", e);
+            transbordou = true;
+        }
+    }
+
+}
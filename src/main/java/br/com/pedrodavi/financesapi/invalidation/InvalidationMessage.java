@@ -0,0 +1,83 @@
+package br.com.pedrodavi.financesapi.invalidation;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Mensagem de invalidação trocada entre os nós, codificada em texto curto:
+ * {@code L<id>} (lançamento), {@code U<id>} (usuário), {@code V<usuario>.<versao>} (dados
+ * do usuário), {@code R} (todos os lançamentos em cache) e {@code *} (tudo).
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InvalidationMessage {
+
+    public static final InvalidationMessage TUDO = new InvalidationMessage(Tipo.TUDO, null, 0L);
+    public static final InvalidationMessage LANCAMENTOS = new InvalidationMessage(Tipo.LANCAMENTOS, null, 0L);
+
+    public enum Tipo {
+        LANCAMENTO('L'), USUARIO('U'), VERSAO('V'), LANCAMENTOS('R'), TUDO('*');
+
+        private final char codigo;
+
+        Tipo(char codigo) {
+            this.codigo = codigo;
+        }
+    }
+
+    private final Tipo tipo;
+    private final Long id;
+    private final long versao;
+
+    public static InvalidationMessage lancamento(Long id) {
+        return new InvalidationMessage(Tipo.LANCAMENTO, id, 0L);
+    }
+
+    public static InvalidationMessage usuario(Long id) {
+        return new InvalidationMessage(Tipo.USUARIO, id, 0L);
+    }
+
+    public static InvalidationMessage versao(Long idUsuario, long versao) {
+        return new InvalidationMessage(Tipo.VERSAO, idUsuario, versao);
+    }
+
+    public String codificar() {
+        switch (tipo) {
+            case LANCAMENTO:
+            case USUARIO:
+                return tipo.codigo + id.toString();
+            case VERSAO:
+                return tipo.codigo + id.toString() + '.' + versao;
+            default:
+                return String.valueOf(tipo.codigo);
+        }
+    }
+
+    public static InvalidationMessage decodificar(String texto) {
+        char codigo = texto.charAt(0);
+        switch (codigo) {
+            case 'L':
+                return lancamento(Long.parseLong(texto.substring(1)));
+            case 'U':
+                return usuario(Long.parseLong(texto.substring(1)));
+            case 'V':
+                int ponto = texto.indexOf('.');
+                return versao(Long.parseLong(texto.substring(1, ponto)), Long.parseLong(texto.substring(ponto + 1)));
+            case 'R':
+                return LANCAMENTOS;
+            case '*':
+                return TUDO;
+            default:
+                throw new IllegalArgumentException("Mensagem de invalidação desconhecida: " + texto);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return codificar();
+    }
+
+}
@@ -0,0 +1,29 @@
+package br.com.pedrodavi.financesapi.invalidation;
+
+/**
+ * Meio de entrega dos lotes de invalidação entre os nós. Um lote é uma linha de texto
+ * opaca para o transporte; a entrega é no máximo uma vez, e o transporte avisa quando
+ * pode ter perdido lotes (ex.: reconexão) para o receptor invalidar tudo.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Tamanho máximo de um lote em caracteres.
+     */
+    int tamanhoMaximo();
+
+    void enviar(String lote);
+
+    void iniciar(Receptor receptor);
+
+    void parar();
+
+    interface Receptor {
+
+        void receber(String lote);
+
+        void perdeuMensagens();
+
+    }
+
+}
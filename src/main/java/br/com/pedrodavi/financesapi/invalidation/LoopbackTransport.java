@@ -0,0 +1,34 @@
+package br.com.pedrodavi.financesapi.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Transporte em processo: entrega cada lote, na própria thread, a todos os receptores
+ * iniciados nesta instância. Usado em testes e quando há um único nó.
+ */
+public class LoopbackTransport implements InvalidationTransport {
+
+    private final List<Receptor> receptores = new CopyOnWriteArrayList<>();
+
+    @Override
+    public int tamanhoMaximo() {
+        return 8000;
+    }
+
+    @Override
+    public void enviar(String lote) {
+        receptores.forEach(receptor -> receptor.receber(lote));
+    }
+
+    @Override
+    public void iniciar(Receptor receptor) {
+        receptores.add(receptor);
+    }
+
+    @Override
+    public void parar() {
+        receptores.clear();
+    }
+
+}
@@ -0,0 +1,105 @@
+package br.com.pedrodavi.financesapi.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Transporte sobre {@code LISTEN/NOTIFY} do Postgres. O envio usa o pool da aplicação; a
+ * escuta mantém uma conexão própria fora do pool, em uma thread daemon, e a recria quando
+ * cai. Notificações emitidas enquanto a conexão estava fora são perdidas, por isso cada
+ * reconexão é informada ao receptor.
+ */
+@Slf4j
+public class PostgresNotifyTransport implements InvalidationTransport {
+
+    public static final String CANAL = "finances_invalidacao";
+
+    // o Postgres recusa payloads a partir de 8000 bytes; os lotes são ASCII
+    private static final int TAMANHO_MAXIMO = 7900;
+    private static final int ESPERA_MS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String usuario;
+    private final String senha;
+    private final long reconexaoMs;
+    private volatile boolean ativo;
+    private Thread escuta;
+
+    public PostgresNotifyTransport(JdbcTemplate jdbcTemplate, String url, String usuario, String senha, long reconexaoMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.usuario = usuario;
+        this.senha = senha;
+        this.reconexaoMs = reconexaoMs;
+    }
+
+    @Override
+    public int tamanhoMaximo() {
+        return TAMANHO_MAXIMO;
+    }
+
+    @Override
+    public void enviar(String lote) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, CANAL, lote);
+    }
+
+    @Override
+    public synchronized void iniciar(Receptor receptor) {
+        ativo = true;
+        escuta = new Thread(() -> escutar(receptor), "invalidacao-escuta");
+        escuta.setDaemon(true);
+        escuta.start();
+    }
+
+    @Override
+    public synchronized void parar() {
+        ativo = false;
+        if(escuta != null) {
+            escuta.interrupt();
+        }
+    }
+
+    private void escutar(Receptor receptor) {
+        boolean reconexao = false;
+        while (ativo) {
+            try (Connection connection = DriverManager.getConnection(url, usuario, senha)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CANAL);
+                }
+                if(reconexao) {
+                    receptor.perdeuMensagens();
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (ativo) {
+                    PGNotification[] notificacoes = pg.getNotifications(ESPERA_MS);
+                    if(notificacoes != null) {
+                        for(PGNotification notificacao : notificacoes) {
+                            receptor.receber(notificacao.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if(!ativo) {
+                    return;
+                }
+                log.warn("Conexão de escuta de invalidações perdida; nova tentativa em {} ms.", reconexaoMs, e);
+                reconexao = true;
+                try {
+                    Thread.sleep(reconexaoMs);
+                } catch (InterruptedException interrompida) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.converter.MoneyAttributeConverter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Orçamento mensal do usuário por tipo e, opcionalmente, por tag. O valor {@code gasto}
+ * é mantido incrementalmente a cada gravação de lançamento, na moeda base do usuário.
+ */
+@Entity
+@Table(name = "orcamento", schema = "finances")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "id_usuario")
+    private User usuario;
+
+    @Column(name = "mes")
+    private Integer mes;
+
+    @Column(name = "ano")
+    private Integer ano;
+
+    @Column(name = "tipo")
+    @Enumerated(value = EnumType.STRING)
+    private ReleaseType tipo;
+
+    @ManyToOne
+    @JoinColumn(name = "id_tag")
+    private Tag tag;
+
+    @Column(name = "limite")
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money limite;
+
+    @Column(name = "gasto")
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money gasto;
+
+    @Column(name = "percentual_alerta")
+    private Integer percentualAlerta;
+
+    @Column(name = "situacao")
+    @Enumerated(value = EnumType.STRING)
+    private BudgetStatus situacao;
+
+    @Column(name = "data_cadastro")
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataCadastro;
+
+    /**
+     * Situação correspondente a um valor gasto, sem consultar o banco.
+     */
+    public BudgetStatus avaliar(Money valor) {
+        if(valor.compareTo(limite) > 0) {
+            return BudgetStatus.EXCEDIDO;
+        }
+        // gasto * 100 >= limite * percentual, em centavos para não depender de arredondamento
+        if(Math.multiplyExact(valor.getCents(), 100L) >= Math.multiplyExact(limite.getCents(), (long) percentualAlerta)) {
+            return BudgetStatus.ALERTA;
+        }
+        return BudgetStatus.DENTRO;
+    }
+
+}
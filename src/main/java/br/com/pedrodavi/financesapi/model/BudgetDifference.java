@@ -0,0 +1,23 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Orçamento cujo gasto gravado não bate com a soma dos seus lançamentos.
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetDifference {
+
+    private final Long orcamento;
+    private final Long usuario;
+    private final Integer ano;
+    private final Integer mes;
+    private final Money gastoAtual;
+    private final Money gastoCalculado;
+    private final BudgetStatus situacaoAtual;
+    private final BudgetStatus situacaoCalculada;
+
+}
@@ -0,0 +1,29 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Contribuição de um lançamento para os orçamentos do mês, já convertida para a moeda base
+ * do usuário. Capturada antes e depois de cada gravação para que só a diferença seja aplicada.
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetImpact {
+
+    private final Long usuario;
+    private final Integer ano;
+    private final Integer mes;
+    private final ReleaseType tipo;
+    private final List<Long> tags;
+    private final Money valor;
+
+    public boolean mesmoDestino(BudgetImpact outro) {
+        return usuario.equals(outro.usuario) && ano.equals(outro.ano) && mes.equals(outro.mes)
+                && tipo == outro.tipo && tags.equals(outro.tags);
+    }
+
+}
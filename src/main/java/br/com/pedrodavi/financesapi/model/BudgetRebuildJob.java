@@ -0,0 +1,63 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.RebuildStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Andamento de uma reconstrução dos gastos dos orçamentos. Mantido apenas em memória; só a
+ * thread que coordena a reconstrução altera os contadores. Na simulação, {@code divergentes}
+ * conta o que seria corrigido; fora dela, o que foi.
+ */
+@Getter
+public class BudgetRebuildJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final boolean simulacao;
+    private final boolean retomar;
+    private final LocalDateTime dataCriacao = LocalDateTime.now();
+    private final List<BudgetDifference> diferencas = new CopyOnWriteArrayList<>();
+
+    private volatile RebuildStatus status = RebuildStatus.PROCESSANDO;
+    private volatile int faixas;
+    private volatile int usuarios;
+    private volatile int orcamentos;
+    private volatile int divergentes;
+    private volatile String erro;
+
+    public BudgetRebuildJob(boolean simulacao, boolean retomar) {
+        this.simulacao = simulacao;
+        this.retomar = retomar;
+    }
+
+    /**
+     * Registra uma faixa de usuários concluída. Só as primeiras {@code maximoDiferencas}
+     * diferenças são guardadas; as demais entram apenas em {@code divergentes}.
+     */
+    public void confirmar(int usuariosDaFaixa, int orcamentosDaFaixa, List<BudgetDifference> diferencasDaFaixa, int maximoDiferencas) {
+        for(BudgetDifference diferenca : diferencasDaFaixa) {
+            if(diferencas.size() >= maximoDiferencas) {
+                break;
+            }
+            diferencas.add(diferenca);
+        }
+        divergentes += diferencasDaFaixa.size();
+        orcamentos += orcamentosDaFaixa;
+        usuarios += usuariosDaFaixa;
+        faixas++;
+    }
+
+    public void concluir() {
+        this.status = RebuildStatus.CONCLUIDO;
+    }
+
+    public void interromper(String erro) {
+        this.erro = erro;
+        this.status = RebuildStatus.INTERROMPIDO;
+    }
+
+}
@@ -0,0 +1,16 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Registro do extrato que não foi importado e o motivo.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportError {
+
+    private final int linha;
+    private final String mensagem;
+
+}
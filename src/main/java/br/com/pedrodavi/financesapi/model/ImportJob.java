@@ -0,0 +1,71 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.ImportStatus;
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Andamento de uma importação de extrato. Mantido apenas em memória; só a thread que
+ * processa o arquivo altera os contadores, e a consulta de andamento apenas lê.
+ *
+ * <p>{@code registrosConfirmados} conta os registros do arquivo (válidos ou não) cujo lote
+ * já foi gravado: ao retomar, esses registros são pulados.
+ */
+@Getter
+public class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long usuario;
+    private final StatementFormat formato;
+    private final LocalDateTime dataCriacao = LocalDateTime.now();
+    private final List<ImportError> erros = new CopyOnWriteArrayList<>();
+
+    private volatile ImportStatus status = ImportStatus.PROCESSANDO;
+    private volatile int registrosConfirmados;
+    private volatile int importados;
+    private volatile int duplicados;
+    private volatile int invalidos;
+    private volatile String erro;
+
+    public ImportJob(Long usuario, StatementFormat formato) {
+        this.usuario = usuario;
+        this.formato = formato;
+    }
+
+    /**
+     * Registra um lote gravado. Só os primeiros {@code maximoErros} erros são guardados; os
+     * demais entram apenas em {@code invalidos}.
+     */
+    public void confirmar(int registros, ImportResult resultado, List<ImportError> errosDoLote, int maximoErros) {
+        for(ImportError erroDoLote : errosDoLote) {
+            if(erros.size() >= maximoErros) {
+                break;
+            }
+            erros.add(erroDoLote);
+        }
+        invalidos += errosDoLote.size();
+        importados += resultado.getImportados();
+        duplicados += resultado.getDuplicados();
+        registrosConfirmados += registros;
+    }
+
+    public void retomar() {
+        this.erro = null;
+        this.status = ImportStatus.PROCESSANDO;
+    }
+
+    public void concluir() {
+        this.status = ImportStatus.CONCLUIDO;
+    }
+
+    public void interromper(String erro) {
+        this.erro = erro;
+        this.status = ImportStatus.INTERROMPIDO;
+    }
+
+}
@@ -0,0 +1,17 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de uma importação: quantos lançamentos foram gravados e quantos foram descartados
+ * por já existirem (ou por se repetirem no próprio lote).
+ */
+@Getter
+@AllArgsConstructor
+public class ImportResult {
+
+    private final int importados;
+    private final int duplicados;
+
+}
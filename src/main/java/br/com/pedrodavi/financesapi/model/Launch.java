@@ -1,30 +1,49 @@
 package br.com.pedrodavi.financesapi.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 import br.com.pedrodavi.financesapi.enums.LaunchStatus;
 import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.converter.MoneyAttributeConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "lancamento", schema = "finances")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "lancamento", schema = "finances", indexes = {
+        @Index(name = "idx_lancamento_usuario_periodo", columnList = "id_usuario, ano, mes"),
+        @Index(name = "idx_lancamento_usuario_cadastro", columnList = "id_usuario, data_cadastro"),
+        @Index(name = "idx_lancamento_usuario_seq", columnList = "id_usuario, seq_alteracao"),
+        @Index(name = "idx_lancamento_vencimento", columnList = "status, data_vencimento, id") },
+        uniqueConstraints = @UniqueConstraint(name = "uk_lancamento_usuario_hash", columnNames = { "id_usuario", "hash_conteudo" }))
 @Data
 @Builder
 @NoArgsConstructor
@@ -50,12 +69,24 @@ public class Launch {
     private User usuario;
 
     @Column(name = "valor")
-    private BigDecimal valor;
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money valor;
 
     @Column(name = "data_cadastro")
     @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
     private LocalDate dataCadastro;
 
+    @Column(name = "moeda")
+    private String moeda;
+
+    /**
+     * Quando preenchida, o lançamento pendente passa sozinho a efetivado a partir desta data
+     * ({@code LaunchEffectivationService}).
+     */
+    @Column(name = "data_vencimento")
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataVencimento;
+
     @Column(name = "tipo")
     @Enumerated(value = EnumType.STRING)
     private ReleaseType tipo;
@@ -64,4 +95,44 @@ public class Launch {
     @Enumerated(value = EnumType.STRING)
     private LaunchStatus status;
 
+    @Column(name = "id_recorrencia", updatable = false)
+    private Long idRecorrencia;
+
+    @Column(name = "parcela", updatable = false)
+    private Integer parcela;
+
+    /**
+     * Preenchido só em lançamentos importados, com o conteúdo original da importação; não
+     * muda quando o lançamento é editado, para que o reenvio do extrato continue reconhecendo-o.
+     * Ver {@link br.com.pedrodavi.financesapi.index.ContentHash}.
+     */
+    @JsonIgnore
+    @Column(name = "hash_conteudo", length = 64, updatable = false)
+    private String hashConteudo;
+
+    /**
+     * Identifica a transação no extrato de origem: {@code fitid:<FITID>} no OFX ou
+     * {@code <data>#<ocorrência>} no CSV. Entra no {@link #hashConteudo}.
+     */
+    @JsonIgnore
+    @Column(name = "referencia_importacao", length = 255, updatable = false)
+    private String referenciaImportacao;
+
+    /**
+     * Sequência da última escrita, por usuário; base do {@code GET /api/lancamentos/changes}.
+     */
+    @JsonIgnore
+    @Column(name = "seq_alteracao", columnDefinition = "bigint default 0 not null")
+    @Builder.Default
+    private Long sequencia = 0L;
+
+    @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "lancamento_tag", schema = "finances",
+            joinColumns = @JoinColumn(name = "id_lancamento"),
+            inverseJoinColumns = @JoinColumn(name = "id_tag"))
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @Builder.Default
+    private Set<Tag> tags = new HashSet<>();
+
 }
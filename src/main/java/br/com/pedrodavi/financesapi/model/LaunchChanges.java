@@ -0,0 +1,22 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página da sincronização incremental: lançamentos criados ou alterados e ids removidos desde o
+ * token informado. O {@code token} devolvido é o {@code since} da próxima chamada; com
+ * {@code temMais}, ainda há alterações a buscar.
+ */
+@Getter
+@AllArgsConstructor
+public class LaunchChanges {
+
+    private final String token;
+    private final boolean temMais;
+    private final List<Launch> alterados;
+    private final List<Long> removidos;
+
+}
@@ -0,0 +1,64 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filtro tipado da busca de lançamentos de um usuário. Campos nulos ou vazios não filtram;
+ * os intervalos são fechados e podem ser abertos em uma das pontas.
+ * <p>
+ * {@code descricao} compara sem diferenciar maiúsculas, pelo início do texto ou, com
+ * {@code descricaoExata}, pelo texto inteiro. {@code ordem} lista os campos de ordenação
+ * ({@code periodo}, {@code valor}, {@code dataCadastro}, {@code descricao}, {@code id}),
+ * com {@code -} na frente para ordem decrescente.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class LaunchFilter {
+
+    private Long usuario;
+
+    private String descricao;
+
+    private boolean descricaoExata;
+
+    private Integer mes;
+
+    private Integer ano;
+
+    private YearMonth periodoInicial;
+
+    private YearMonth periodoFinal;
+
+    private LocalDate cadastroInicial;
+
+    private LocalDate cadastroFinal;
+
+    private Money valorMinimo;
+
+    private Money valorMaximo;
+
+    @Builder.Default
+    private Set<ReleaseType> tipos = Collections.emptySet();
+
+    @Builder.Default
+    private Set<LaunchStatus> status = Collections.emptySet();
+
+    private TagFilter tags;
+
+    @Builder.Default
+    private List<String> ordem = Collections.emptyList();
+
+}
@@ -0,0 +1,43 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de um lançamento removido, mantido por {@code finances.sync.retencao-dias} para que
+ * a sincronização incremental informe a remoção. Gravado por
+ * {@code LaunchRepositoryCustom.registrarRemocao}.
+ */
+@Entity
+@Table(name = "lancamento_removido", schema = "finances", indexes = {
+        @Index(name = "idx_lancamento_removido_usuario_seq", columnList = "id_usuario, seq_alteracao"),
+        @Index(name = "idx_lancamento_removido_data", columnList = "data_remocao") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LaunchTombstone {
+
+    @Id
+    @Column(name = "id_lancamento")
+    private Long id;
+
+    @Column(name = "id_usuario", nullable = false)
+    private Long usuario;
+
+    @Column(name = "seq_alteracao", nullable = false)
+    private Long sequencia;
+
+    @Column(name = "data_remocao", nullable = false)
+    private LocalDateTime dataRemocao;
+
+}
@@ -0,0 +1,169 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.converter.MoneyJsonDeserializer;
+import br.com.pedrodavi.financesapi.model.converter.MoneyJsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário em ponto fixo com duas casas decimais, armazenado em centavos.
+ * Todas as operações aritméticas lançam {@link ArithmeticException} em caso de overflow.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0L);
+
+    private static final long CENTS_PER_UNIT = 100L;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    public static Money valueOf(long units) {
+        return ofCents(Math.multiplyExact(units, CENTS_PER_UNIT));
+    }
+
+    /**
+     * Valor calculado (câmbio, leitura do banco), arredondado para duas casas.
+     */
+    public static Money of(BigDecimal valor) {
+        if(valor == null) {
+            return null;
+        }
+        return ofCents(valor.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Valor informado pelo usuário: mais de duas casas decimais significativas é erro, não
+     * arredondamento.
+     */
+    public static Money exato(BigDecimal valor) {
+        if(valor == null) {
+            return null;
+        }
+        if(valor.stripTrailingZeros().scale() > SCALE) {
+            throw new BusinessRuleException("Informe um Valor com no máximo duas casas decimais.");
+        }
+        return of(valor);
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return other.cents == 0L ? this : ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return other.cents == 0L ? this : ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public Money times(long fator) {
+        return ofCents(Math.multiplyExact(cents, fator));
+    }
+
+    /**
+     * Divide o valor em {@code partes} parcelas que somam exatamente o total; os centavos
+     * restantes vão para as primeiras parcelas.
+     */
+    public Money[] dividir(int partes) {
+        if(partes < 1) {
+            throw new IllegalArgumentException("Quantidade de parcelas inválida: " + partes);
+        }
+        long base = cents / partes;
+        long resto = cents % partes;
+        Money[] parcelas = new Money[partes];
+        for(int i = 0; i < partes; i++) {
+            parcelas[i] = ofCents(i < Math.abs(resto) ? base + Long.signum(resto) : base);
+        }
+        return parcelas;
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public boolean isPositive() {
+        return cents > 0L;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Escreve a representação decimal (ex.: {@code -1234.05}) no buffer informado a partir
+     * de {@code offset} e retorna a quantidade de caracteres escritos. O buffer precisa de
+     * pelo menos 22 posições livres.
+     */
+    public int writeTo(char[] buffer, int offset) {
+        long abs = cents;
+        int pos = offset;
+        if(abs < 0L) {
+            buffer[pos++] = '-';
+        } else {
+            abs = -abs;
+        }
+        // trabalha com valores negativos para suportar Long.MIN_VALUE sem overflow
+        long units = abs / CENTS_PER_UNIT;
+        int fraction = (int) -(abs % CENTS_PER_UNIT);
+
+        int start = pos;
+        do {
+            buffer[pos++] = (char) ('0' - (units % 10));
+            units /= 10;
+        } while (units != 0L);
+        for(int i = start, j = pos - 1; i < j; i++, j--) {
+            char tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+
+        buffer[pos++] = '.';
+        buffer[pos++] = (char) ('0' + fraction / 10);
+        buffer[pos++] = (char) ('0' + fraction % 10);
+        return pos - offset;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money && ((Money) o).cents == cents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        char[] buffer = new char[22];
+        return new String(buffer, 0, writeTo(buffer, 0));
+    }
+
+}
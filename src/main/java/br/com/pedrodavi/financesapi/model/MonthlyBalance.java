@@ -0,0 +1,20 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.YearMonth;
+
+/**
+ * Saldo acumulado até o fim do mês: o {@code efetivo} só com lançamentos efetivados, o
+ * {@code projetado} somando também os pendentes.
+ */
+@Getter
+@AllArgsConstructor
+public class MonthlyBalance {
+
+    private final YearMonth mes;
+    private final Money efetivo;
+    private final Money projetado;
+
+}
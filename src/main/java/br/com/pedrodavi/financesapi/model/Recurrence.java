@@ -0,0 +1,79 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.converter.MoneyAttributeConverter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Definição de um lançamento recorrente (conta mensal) ou parcelado. Cada ocorrência é
+ * gravada como um {@link Launch} com {@code idRecorrencia} apontando para esta definição.
+ */
+@Entity
+@Table(name = "recorrencia", schema = "finances")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "descricao")
+    private String descricao;
+
+    @Column(name = "mes_inicio")
+    private Integer mesInicio;
+
+    @Column(name = "ano_inicio")
+    private Integer anoInicio;
+
+    @Column(name = "quantidade")
+    private Integer quantidade;
+
+    @Column(name = "parcelado")
+    private boolean parcelado;
+
+    @ManyToOne
+    @JoinColumn(name = "id_usuario")
+    private User usuario;
+
+    @Column(name = "valor")
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money valor;
+
+    @Column(name = "valor_total")
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money valorTotal;
+
+    @Column(name = "moeda")
+    private String moeda;
+
+    @Column(name = "tipo")
+    @Enumerated(value = EnumType.STRING)
+    private ReleaseType tipo;
+
+    @Column(name = "data_cadastro")
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataCadastro;
+
+}
@@ -0,0 +1,42 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.enums.ReportStatus;
+import br.com.pedrodavi.financesapi.model.dto.YearlyReportDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Processamento assíncrono de um relatório anual. Mantido apenas em memória.
+ */
+@Getter
+public class ReportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long usuario;
+    private final Integer ano;
+    private final long versao;
+    private final LocalDateTime dataCriacao = LocalDateTime.now();
+
+    private volatile ReportStatus status = ReportStatus.PROCESSANDO;
+    private volatile YearlyReportDTO resultado;
+    private volatile String erro;
+
+    public ReportJob(Long usuario, Integer ano, long versao) {
+        this.usuario = usuario;
+        this.ano = ano;
+        this.versao = versao;
+    }
+
+    public void concluir(YearlyReportDTO resultado) {
+        this.resultado = resultado;
+        this.status = ReportStatus.CONCLUIDO;
+    }
+
+    public void falhar(String erro) {
+        this.erro = erro;
+        this.status = ReportStatus.ERRO;
+    }
+
+}
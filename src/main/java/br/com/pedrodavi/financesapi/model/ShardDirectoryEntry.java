@@ -0,0 +1,30 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Shard de cada email, para o login e a validação de email, que ainda não conhecem o id do
+ * usuário. Fica só no shard principal.
+ */
+@Entity
+@Table(name = "diretorio_usuario", schema = "finances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardDirectoryEntry {
+
+    @Id
+    @Column(name = "email", length = 100)
+    private String email;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+}
@@ -0,0 +1,38 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Filtro de tags da busca de lançamentos: o lançamento precisa ter todas as tags de
+ * {@code todas}, ao menos uma de {@code alguma} e nenhuma de {@code nenhuma}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagFilter {
+
+    @Builder.Default
+    private List<String> todas = Collections.emptyList();
+
+    @Builder.Default
+    private List<String> alguma = Collections.emptyList();
+
+    @Builder.Default
+    private List<String> nenhuma = Collections.emptyList();
+
+    public boolean isVazio() {
+        return vazio(todas) && vazio(alguma) && vazio(nenhuma);
+    }
+
+    private static boolean vazio(List<String> nomes) {
+        return nomes == null || nomes.isEmpty();
+    }
+
+}
@@ -0,0 +1,41 @@
+package br.com.pedrodavi.financesapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Nó que detém uma tarefa agendada e até quando. Uma linha por tarefa em cada shard; a
+ * {@code posicao} é o ponto até onde uma tarefa retomável já confirmou o seu trabalho.
+ */
+@Entity
+@Table(name = "tarefa_agendada", schema = "finances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLeaseEntry {
+
+    @Id
+    @Column(name = "nome", length = 50)
+    private String nome;
+
+    @Column(name = "dono", length = 100, nullable = false)
+    private String dono;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "posicao")
+    private Long posicao;
+
+    public TaskLeaseEntry(String nome, String dono, LocalDateTime expiraEm) {
+        this(nome, dono, expiraEm, null);
+    }
+
+}
@@ -1,13 +1,17 @@
 package br.com.pedrodavi.financesapi.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,7 +19,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table( name = "usuario" , schema = "finances")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table( name = "usuario" , schema = "finances",
+        uniqueConstraints = @UniqueConstraint(name = "uk_usuario_email", columnNames = "email"))
 @Builder
 @Data
 @NoArgsConstructor
@@ -33,8 +40,30 @@ public class User {
     @Column(name = "email")
     private String email;
 
+    @Column(name = "moeda")
+    private String moeda;
+
     @Column(name = "senha")
     @JsonIgnore
     private String senha;
 
+    /**
+     * Contador das alterações de lançamentos do usuário, que dá a sequência de cada escrita.
+     * Só o banco altera (ver {@code LaunchRepositoryCustom.proximaSequencia}); o valor
+     * carregado na entidade pode estar desatualizado e não deve ser usado.
+     */
+    @JsonIgnore
+    @Column(name = "seq_lancamentos", insertable = false, updatable = false,
+            columnDefinition = "bigint default 0 not null")
+    private Long sequenciaLancamentos;
+
+    /**
+     * Maior sequência de remoção já descartada da retenção; tokens anteriores a ela expiraram.
+     * Mesmas regras de {@link #sequenciaLancamentos}.
+     */
+    @JsonIgnore
+    @Column(name = "seq_remocoes_expiradas", insertable = false, updatable = false,
+            columnDefinition = "bigint default 0 not null")
+    private Long sequenciaRemocoesExpiradas;
+
 }
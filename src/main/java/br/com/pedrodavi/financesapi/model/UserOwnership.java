@@ -0,0 +1,86 @@
+package br.com.pedrodavi.financesapi.model;
+
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Iterator;
+
+/**
+ * Usuário dono de uma chamada, a partir dos argumentos: um parâmetro {@code idUsuario}, ou a
+ * entidade (ou a primeira de uma coleção) e o seu usuário. Usado no roteamento de shards e na
+ * gravação das chamadas.
+ */
+public final class UserOwnership {
+
+    public static final String ID_USUARIO = "idUsuario";
+
+    private UserOwnership() {
+    }
+
+    /**
+     * @return o id do primeiro argumento que indica o usuário, ou {@code null} se nenhum indicar
+     */
+    public static Long daChamada(Method metodo, Object[] argumentos) {
+        Parameter[] parametros = metodo.getParameters();
+        for(int i = 0; i < argumentos.length; i++) {
+            Object argumento = argumentos[i];
+            Long id;
+            if(argumento instanceof Long) {
+                id = ID_USUARIO.equals(nome(parametros[i])) ? (Long) argumento : null;
+            } else {
+                id = daEntidade(entidade(argumento));
+            }
+            if(id != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    public static Long daEntidade(Object entidade) {
+        if(entidade instanceof User) {
+            return ((User) entidade).getId();
+        }
+        if(entidade instanceof Launch) {
+            return doUsuario(((Launch) entidade).getUsuario());
+        }
+        if(entidade instanceof Budget) {
+            return doUsuario(((Budget) entidade).getUsuario());
+        }
+        if(entidade instanceof Recurrence) {
+            return doUsuario(((Recurrence) entidade).getUsuario());
+        }
+        if(entidade instanceof Tag) {
+            return doUsuario(((Tag) entidade).getUsuario());
+        }
+        if(entidade instanceof LaunchTombstone) {
+            return ((LaunchTombstone) entidade).getUsuario();
+        }
+        if(entidade instanceof LaunchFilter) {
+            return ((LaunchFilter) entidade).getUsuario();
+        }
+        return null;
+    }
+
+    /**
+     * O próprio argumento ou, numa coleção, o seu primeiro elemento.
+     */
+    public static Object entidade(Object argumento) {
+        if(argumento instanceof Iterable) {
+            Iterator<?> iterator = ((Iterable<?>) argumento).iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+        return argumento;
+    }
+
+    private static Long doUsuario(User usuario) {
+        return usuario == null ? null : usuario.getId();
+    }
+
+    private static String nome(Parameter parametro) {
+        Param param = parametro.getAnnotation(Param.class);
+        return param != null ? param.value() : parametro.getName();
+    }
+
+}
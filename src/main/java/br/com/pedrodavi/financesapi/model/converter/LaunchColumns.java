@@ -0,0 +1,231 @@
+package br.com.pedrodavi.financesapi.model.converter;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.Getter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lista de lançamentos no formato compacto por colunas ({@value #TIPO}): um array por campo,
+ * com tipo, status, moeda, usuário e tags trocados por índices em dicionários.
+ *
+ * <pre>
+ * {"total":2,
+ *  "dicionarios":{"tipo":["DESPESA"],"status":["PENDENTE"],"moeda":["BRL"],"tag":["casa"],
+ *                 "usuario":[{"id":1,"nome":"...","email":"...","moeda":"BRL"}]},
+ *  "colunas":{"id":[1,2],"descricao":["a","b"],"mes":[1,2],"ano":[2021,2021],"valor":[10.00,5.50],
+ *             "moeda":[0,0],"tipo":[0,0],"status":[0,0],"usuario":[0,0],"dataCadastro":["2021-01-05",null],
+ *             "dataVencimento":[null,null],"idRecorrencia":[null,null],"parcela":[null,null],"tags":[[0],[]]}}
+ * </pre>
+ */
+@Getter
+public class LaunchColumns {
+
+    public static final String TIPO = "application/vnd.finances.colunas+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(TIPO);
+
+    private final List<Launch> lancamentos;
+
+    public LaunchColumns(List<Launch> lancamentos) {
+        this.lancamentos = lancamentos;
+    }
+
+    /**
+     * {@code true} quando o cabeçalho {@code Accept} pede explicitamente o formato por colunas;
+     * um cabeçalho malformado fica com o JSON padrão.
+     */
+    public static boolean aceita(String accept) {
+        if(accept == null || !accept.contains("colunas")) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(MEDIA_TYPE::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Escreve a lista no gerador: uma passada para montar os dicionários e uma por coluna,
+     * sem objetos intermediários por linha.
+     */
+    public void escrever(JsonGenerator gen) throws IOException {
+        Dicionario<String> tipos = new Dicionario<>();
+        Dicionario<String> status = new Dicionario<>();
+        Dicionario<String> moedas = new Dicionario<>();
+        Dicionario<String> tags = new Dicionario<>();
+        Dicionario<User> usuarios = new Dicionario<>();
+        for(Launch lancamento : lancamentos) {
+            tipos.indice(lancamento.getTipo() == null ? null : lancamento.getTipo().name());
+            status.indice(lancamento.getStatus() == null ? null : lancamento.getStatus().name());
+            moedas.indice(lancamento.getMoeda());
+            usuarios.indice(lancamento.getUsuario());
+            if(lancamento.getTags() != null) {
+                lancamento.getTags().forEach(tag -> tags.indice(tag.getNome()));
+            }
+        }
+
+        gen.writeStartObject();
+        gen.writeNumberField("total", lancamentos.size());
+
+        gen.writeObjectFieldStart("dicionarios");
+        escreverTextos(gen, "tipo", tipos);
+        escreverTextos(gen, "status", status);
+        escreverTextos(gen, "moeda", moedas);
+        escreverTextos(gen, "tag", tags);
+        gen.writeArrayFieldStart("usuario");
+        for(User usuario : usuarios.valores()) {
+            gen.writeStartObject();
+            gen.writeNumberField("id", usuario.getId());
+            gen.writeStringField("nome", usuario.getNome());
+            gen.writeStringField("email", usuario.getEmail());
+            gen.writeStringField("moeda", usuario.getMoeda());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("colunas");
+        gen.writeArrayFieldStart("id");
+        for(Launch lancamento : lancamentos) {
+            escreverNumero(gen, lancamento.getId());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("descricao");
+        for(Launch lancamento : lancamentos) {
+            gen.writeString(lancamento.getDescricao());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("mes");
+        for(Launch lancamento : lancamentos) {
+            escreverNumero(gen, lancamento.getMes());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("ano");
+        for(Launch lancamento : lancamentos) {
+            escreverNumero(gen, lancamento.getAno());
+        }
+        gen.writeEndArray();
+        escreverValores(gen);
+        escreverIndices(gen, "moeda", moedas, Launch::getMoeda);
+        escreverIndices(gen, "tipo", tipos, l -> l.getTipo() == null ? null : l.getTipo().name());
+        escreverIndices(gen, "status", status, l -> l.getStatus() == null ? null : l.getStatus().name());
+        escreverIndices(gen, "usuario", usuarios, Launch::getUsuario);
+        escreverDatas(gen, "dataCadastro", Launch::getDataCadastro);
+        escreverDatas(gen, "dataVencimento", Launch::getDataVencimento);
+        gen.writeArrayFieldStart("idRecorrencia");
+        for(Launch lancamento : lancamentos) {
+            escreverNumero(gen, lancamento.getIdRecorrencia());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("parcela");
+        for(Launch lancamento : lancamentos) {
+            escreverNumero(gen, lancamento.getParcela());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("tags");
+        for(Launch lancamento : lancamentos) {
+            gen.writeStartArray();
+            if(lancamento.getTags() != null) {
+                for(Tag tag : lancamento.getTags()) {
+                    gen.writeNumber(tags.indice(tag.getNome()));
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+    }
+
+    private void escreverDatas(JsonGenerator gen, String campo, Function<Launch, LocalDate> data) throws IOException {
+        gen.writeArrayFieldStart(campo);
+        for(Launch lancamento : lancamentos) {
+            LocalDate valor = data.apply(lancamento);
+            if(valor == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(valor.toString());
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private void escreverValores(JsonGenerator gen) throws IOException {
+        char[] buffer = new char[22];
+        gen.writeArrayFieldStart("valor");
+        for(Launch lancamento : lancamentos) {
+            Money valor = lancamento.getValor();
+            if(valor == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(buffer, 0, valor.writeTo(buffer, 0));
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private <T> void escreverIndices(JsonGenerator gen, String campo, Dicionario<T> dicionario,
+                                     Function<Launch, T> valor) throws IOException {
+        gen.writeArrayFieldStart(campo);
+        for(Launch lancamento : lancamentos) {
+            gen.writeNumber(dicionario.indice(valor.apply(lancamento)));
+        }
+        gen.writeEndArray();
+    }
+
+    private static void escreverTextos(JsonGenerator gen, String campo, Dicionario<String> dicionario) throws IOException {
+        gen.writeArrayFieldStart(campo);
+        for(String texto : dicionario.valores()) {
+            gen.writeString(texto);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void escreverNumero(JsonGenerator gen, Number numero) throws IOException {
+        if(numero == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(numero.longValue());
+        }
+    }
+
+    /**
+     * Índices na ordem da primeira ocorrência. Usuários são comparados pelo id, não pela
+     * igualdade da entidade inteira.
+     */
+    private static final class Dicionario<T> {
+
+        private final Map<Object, Integer> indices = new LinkedHashMap<>();
+        private final Map<Integer, T> valores = new LinkedHashMap<>();
+
+        int indice(T valor) {
+            Object chave = valor instanceof User ? ((User) valor).getId() : valor;
+            Integer indice = indices.get(chave);
+            if(indice == null) {
+                indice = indices.size();
+                indices.put(chave, indice);
+                valores.put(indice, valor);
+            }
+            return indice;
+        }
+
+        Iterable<T> valores() {
+            return valores.values();
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package br.com.pedrodavi.financesapi.model.converter;
+
+import br.com.pedrodavi.financesapi.profiling.ConversionEvent;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Escreve {@link LaunchColumns} direto no corpo da resposta. Somente escrita: o formato
+ * compacto não é aceito como entrada.
+ */
+public class LaunchColumnsHttpMessageConverter extends AbstractHttpMessageConverter<LaunchColumns> {
+
+    private final JsonFactory factory;
+
+    public LaunchColumnsHttpMessageConverter(JsonFactory factory) {
+        super(LaunchColumns.MEDIA_TYPE);
+        this.factory = factory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return LaunchColumns.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected LaunchColumns readInternal(Class<? extends LaunchColumns> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato por colunas é somente de saída.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(LaunchColumns colunas, HttpOutputMessage outputMessage) throws IOException {
+        ConversionEvent evento = new ConversionEvent();
+        evento.begin();
+        try(JsonGenerator gen = factory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+            colunas.escrever(gen);
+        } catch (IOException | RuntimeException e) {
+            evento.falhou();
+            throw e;
+        } finally {
+            evento.registrar(LaunchColumns.class.getSimpleName(), -1L, colunas.getLancamentos().size());
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package br.com.pedrodavi.financesapi.model.converter;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.math.BigDecimal;
+
+@Converter
+public class MoneyAttributeConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal valor) {
+        return Money.of(valor);
+    }
+
+}
@@ -0,0 +1,110 @@
+package br.com.pedrodavi.financesapi.model.converter;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Money;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Lê números (ou strings numéricas) direto do buffer do parser. Valores em notação exponencial
+ * caem no caminho via {@code BigDecimal}; mais de duas casas decimais significativas são
+ * recusadas, nunca arredondadas.
+ */
+public class MoneyJsonDeserializer extends StdDeserializer<Money> {
+
+    private static final long LIMITE = Long.MAX_VALUE / 1000;
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+
+        if(token == JsonToken.VALUE_NUMBER_INT) {
+            try {
+                return Money.valueOf(p.getLongValue());
+            } catch (ArithmeticException e) {
+                return (Money) ctxt.handleWeirdNumberValue(Money.class, p.getNumberValue(), "valor fora do intervalo suportado");
+            }
+        }
+
+        if(token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_STRING) {
+            long cents = parseCents(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if(cents != Long.MIN_VALUE) {
+                return Money.ofCents(cents);
+            }
+            if(token == JsonToken.VALUE_STRING && p.getTextLength() == 0) {
+                return null;
+            }
+            try {
+                return Money.exato(p.getDecimalValue());
+            } catch (BusinessRuleException e) {
+                return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), e.getMessage());
+            } catch (ArithmeticException | NumberFormatException | IOException e) {
+                return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), "valor monetário inválido");
+            }
+        }
+
+        return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+    }
+
+    /**
+     * Converte {@code [-]digitos[.d[d]]} em centavos. Retorna {@code Long.MIN_VALUE} quando o
+     * texto não está nesse formato ou não cabe em um {@code long}.
+     */
+    static long parseCents(char[] text, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+        boolean negativo = false;
+
+        if(pos < end && (text[pos] == '-' || text[pos] == '+')) {
+            negativo = text[pos] == '-';
+            pos++;
+        }
+
+        long units = 0L;
+        int digitos = 0;
+        while (pos < end && text[pos] >= '0' && text[pos] <= '9') {
+            if(units > LIMITE) {
+                return Long.MIN_VALUE;
+            }
+            units = units * 10 + (text[pos++] - '0');
+            digitos++;
+        }
+
+        int fraction = 0;
+        int casas = 0;
+        if(pos < end && text[pos] == '.') {
+            pos++;
+            while (pos < end && text[pos] >= '0' && text[pos] <= '9') {
+                if(casas == Money.SCALE) {
+                    return Long.MIN_VALUE;
+                }
+                fraction = fraction * 10 + (text[pos++] - '0');
+                casas++;
+            }
+        }
+
+        if(pos != end || digitos + casas == 0) {
+            return Long.MIN_VALUE;
+        }
+
+        if(casas == 1) {
+            fraction *= 10;
+        }
+
+        try {
+            long cents = Math.addExact(Math.multiplyExact(units, 100L), fraction);
+            return negativo ? -cents : cents;
+        } catch (ArithmeticException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+}
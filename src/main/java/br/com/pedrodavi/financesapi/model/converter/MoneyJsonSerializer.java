@@ -0,0 +1,28 @@
+package br.com.pedrodavi.financesapi.model.converter;
+
+import br.com.pedrodavi.financesapi.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Escreve o valor como número JSON com duas casas decimais, formatando direto em um
+ * buffer de caracteres por thread em vez de passar por {@code BigDecimal#toString()}.
+ */
+public class MoneyJsonSerializer extends StdSerializer<Money> {
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[22]);
+
+    public MoneyJsonSerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money valor, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = BUFFER.get();
+        gen.writeNumber(buffer, 0, valor.writeTo(buffer, 0));
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDTO {
+
+    private Long usuario;
+    private Integer mes;
+    private Integer ano;
+    private String tipo;
+    private String tag;
+    private Money limite;
+    private Integer percentualAlerta;
+
+}
@@ -0,0 +1,27 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusDTO {
+
+    private Long id;
+    private Integer mes;
+    private Integer ano;
+    private String tipo;
+    private String tag;
+    private Money limite;
+    private Money gasto;
+    private Money disponivel;
+    private Integer percentualAlerta;
+    private String situacao;
+
+}
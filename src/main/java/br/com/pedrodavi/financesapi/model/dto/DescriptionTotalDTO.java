@@ -0,0 +1,21 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DescriptionTotalDTO {
+
+    private String descricao;
+    private String tipo;
+    private Money total;
+    private Long quantidade;
+
+}
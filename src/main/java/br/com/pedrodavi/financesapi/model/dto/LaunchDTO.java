@@ -1,13 +1,14 @@
 package br.com.pedrodavi.financesapi.model.dto;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import br.com.pedrodavi.financesapi.model.Money;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,9 +18,12 @@ public class LaunchDTO {
     private String descricao;
     private Integer mes;
     private Integer ano;
-    private BigDecimal valor;
+    private Money valor;
+    private String moeda;
     private Long usuario;
     private String tipo;
     private String status;
+    private String vencimento;
+    private List<String> tags;
 
 }
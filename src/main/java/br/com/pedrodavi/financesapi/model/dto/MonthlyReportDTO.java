@@ -0,0 +1,22 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyReportDTO {
+
+    private Integer mes;
+    private Money receitas;
+    private Money despesas;
+    private Money saldo;
+    private Long quantidade;
+
+}
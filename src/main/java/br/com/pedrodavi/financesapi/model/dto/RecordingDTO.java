@@ -0,0 +1,26 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingDTO {
+
+    private Long id;
+    private String estado;
+    private String configuracao;
+    private Instant inicio;
+    private Instant fim;
+    private Long duracaoS;
+    private Long tamanhoMaximoMb;
+    private Long limiarMs;
+    private Long tamanho;
+
+}
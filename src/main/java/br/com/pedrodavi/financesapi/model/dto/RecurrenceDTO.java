@@ -0,0 +1,28 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurrenceDTO {
+
+    private String descricao;
+    private Integer mes;
+    private Integer ano;
+    private Integer quantidade;
+    private Integer mesFim;
+    private Integer anoFim;
+    private Money valor;
+    private Money valorTotal;
+    private String moeda;
+    private Long usuario;
+    private String tipo;
+
+}
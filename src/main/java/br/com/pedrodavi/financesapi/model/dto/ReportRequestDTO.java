@@ -0,0 +1,17 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRequestDTO {
+
+    private Long usuario;
+    private Integer ano;
+
+}
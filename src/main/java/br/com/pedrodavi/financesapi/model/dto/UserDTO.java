@@ -16,5 +16,6 @@ public class UserDTO {
     private String email;
     private String nome;
     private String senha;
+    private String moeda;
 
 }
@@ -0,0 +1,28 @@
+package br.com.pedrodavi.financesapi.model.dto;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class YearlyReportDTO {
+
+    private Long usuario;
+    private Integer ano;
+    private String moeda;
+    private Money receitas;
+    private Money despesas;
+    private Money saldo;
+    private List<MonthlyReportDTO> meses;
+    private List<DescriptionTotalDTO> maioresReceitas;
+    private List<DescriptionTotalDTO> maioresDespesas;
+
+}
@@ -0,0 +1,48 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base dos eventos de JFR da aplicação. Sem gravação ativa, {@link #isEnabled()} é constante
+ * e o custo por chamada se resume à instância do evento.
+ */
+@StackTrace(false)
+public abstract class CallEvent extends Event {
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("Usuário")
+    long idUsuario;
+
+    @Label("Linhas")
+    int linhas;
+
+    @Label("Falhou")
+    boolean falhou;
+
+    /**
+     * Fecha o evento e, se ele passou do limiar da gravação, preenche os campos e o grava.
+     * {@code idUsuario} e {@code linhas} usam {@code -1} quando não se aplicam.
+     */
+    public void registrar(String operacao, long idUsuario, int linhas) {
+        end();
+        if(shouldCommit()) {
+            preencher(operacao, idUsuario, linhas);
+            commit();
+        }
+    }
+
+    void preencher(String operacao, long idUsuario, int linhas) {
+        this.operacao = operacao;
+        this.idUsuario = idUsuario;
+        this.linhas = linhas;
+    }
+
+    public void falhou() {
+        this.falhou = true;
+    }
+
+}
@@ -0,0 +1,14 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Escrita do corpo da resposta pelos conversores HTTP; {@code linhas} é o tamanho da coleção escrita.
+ */
+@Name("br.com.pedrodavi.financesapi.Conversion")
+@Label("Conversão de Resposta")
+@Category({"Finances API", "Web"})
+public class ConversionEvent extends CallEvent {
+}
@@ -0,0 +1,95 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import br.com.pedrodavi.financesapi.model.UserOwnership;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Grava um {@link CallEvent} por chamada com a duração, o usuário ({@link UserOwnership}) e as
+ * linhas retornadas ou afetadas. Os argumentos só são inspecionados quando o evento passou do
+ * limiar da gravação.
+ */
+public class FlightRecorderInterceptor implements MethodInterceptor {
+
+    private final Supplier<? extends CallEvent> eventos;
+
+    private final Class<?> tipo;
+
+    public FlightRecorderInterceptor(Supplier<? extends CallEvent> eventos) {
+        this(eventos, null);
+    }
+
+    /**
+     * @param tipo nome usado nas operações no lugar da classe do alvo; nos repositórios, a
+     *             interface, já que o alvo é sempre o {@code SimpleJpaRepository}
+     */
+    public FlightRecorderInterceptor(Supplier<? extends CallEvent> eventos, Class<?> tipo) {
+        this.eventos = eventos;
+        this.tipo = tipo;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CallEvent evento = eventos.get();
+        if(!evento.isEnabled()) {
+            return invocation.proceed();
+        }
+        evento.begin();
+        Object resultado = null;
+        try {
+            resultado = invocation.proceed();
+            return resultado;
+        } catch (Throwable e) {
+            evento.falhou();
+            throw e;
+        } finally {
+            evento.end();
+            if(evento.shouldCommit()) {
+                evento.preencher(operacao(invocation), usuario(invocation.getMethod(), invocation.getArguments()), linhas(resultado));
+                evento.commit();
+            }
+        }
+    }
+
+    private String operacao(MethodInvocation invocation) {
+        Method metodo = invocation.getMethod();
+        Class<?> alvo = tipo;
+        if(alvo == null) {
+            alvo = invocation.getThis() == null ? metodo.getDeclaringClass() : AopUtils.getTargetClass(invocation.getThis());
+        }
+        return alvo.getSimpleName() + "." + metodo.getName();
+    }
+
+    static long usuario(Method metodo, Object[] argumentos) {
+        Long id = UserOwnership.daChamada(metodo, argumentos);
+        return id == null ? -1L : id;
+    }
+
+    /**
+     * Tamanho das coleções e páginas, presença do {@link Optional} e o retorno das consultas
+     * {@code @Modifying}; {@code -1} para os demais retornos.
+     */
+    static int linhas(Object resultado) {
+        if(resultado instanceof Collection) {
+            return ((Collection<?>) resultado).size();
+        }
+        if(resultado instanceof Slice) {
+            return ((Slice<?>) resultado).getNumberOfElements();
+        }
+        if(resultado instanceof Optional) {
+            return ((Optional<?>) resultado).isPresent() ? 1 : 0;
+        }
+        if(resultado instanceof Integer) {
+            return (Integer) resultado;
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Eventos de JFR ({@code finances.jfr.eventos}) e limites das gravações sob demanda. Sem
+ * {@code token}, o endpoint de gravações recusa todas as requisições.
+ */
+@Data
+@Component
+@ConfigurationProperties("finances.jfr")
+public class FlightRecorderProperties {
+
+    private boolean eventos = true;
+
+    private String token;
+
+    private long duracaoMaximaS = 1800L;
+
+    private long tamanhoMaximoMb = 256L;
+
+}
@@ -0,0 +1,148 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import br.com.pedrodavi.financesapi.config.AdminToken;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.dto.RecordingDTO;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Uma gravação de JFR por vez, sempre limitada em duração e tamanho: ao fim de
+ * {@code duracao} ela para sozinha, e em disco nunca passa de {@code tamanhoMaximo}. Os
+ * eventos da aplicação entram com o limiar pedido; os da JVM seguem a configuração escolhida.
+ */
+@Component
+public class FlightRecordings {
+
+    private static final List<String> CONFIGURACOES = List.of("default", "profile");
+    private static final List<Class<? extends CallEvent>> EVENTOS = List.of(ServiceCallEvent.class, RepositoryCallEvent.class, ConversionEvent.class);
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    private final FlightRecorderProperties propriedades;
+    private final AdminToken token;
+
+    private Recording gravacao;
+    private long limiarMs;
+    private String configuracao;
+
+    public FlightRecordings(FlightRecorderProperties propriedades) {
+        this.propriedades = propriedades;
+        this.token = new AdminToken(propriedades.getToken(), "Gravações desabilitadas.");
+    }
+
+    public void autorizar(String token) {
+        this.token.autorizar(token);
+    }
+
+    public synchronized RecordingDTO iniciar(Long duracaoS, Long tamanhoMaximoMb, Long limiarMs, String configuracao) {
+        long duracao = duracaoS == null ? propriedades.getDuracaoMaximaS() : duracaoS;
+        long tamanho = tamanhoMaximoMb == null ? propriedades.getTamanhoMaximoMb() : tamanhoMaximoMb;
+        long limiar = limiarMs == null ? 0L : limiarMs;
+        String nome = configuracao == null ? "default" : configuracao;
+        if(duracao < 1 || duracao > propriedades.getDuracaoMaximaS()) {
+            throw new BusinessRuleException("Informe uma duração entre 1 e " + propriedades.getDuracaoMaximaS() + " segundos.");
+        }
+        if(tamanho < 1 || tamanho > propriedades.getTamanhoMaximoMb()) {
+            throw new BusinessRuleException("Informe um tamanho entre 1 e " + propriedades.getTamanhoMaximoMb() + " MB.");
+        }
+        if(limiar < 0) {
+            throw new BusinessRuleException("Informe um limiar válido.");
+        }
+        if(!CONFIGURACOES.contains(nome)) {
+            throw new BusinessRuleException("Configuração inválida: " + nome + ".");
+        }
+        if(gravacao != null && gravacao.getState() == RecordingState.RUNNING) {
+            throw new BusinessRuleException("Já existe uma gravação em andamento.");
+        }
+        descartar();
+
+        Recording nova;
+        try {
+            nova = new Recording(Configuration.getConfiguration(nome));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Configuração de JFR indisponível: " + nome, e);
+        }
+        nova.setName("financesapi");
+        nova.setToDisk(true);
+        nova.setDuration(Duration.ofSeconds(duracao));
+        nova.setMaxAge(Duration.ofSeconds(duracao));
+        nova.setMaxSize(tamanho * MEGABYTE);
+        for(Class<? extends CallEvent> evento : EVENTOS) {
+            nova.enable(evento).withThreshold(Duration.ofMillis(limiar));
+        }
+        nova.start();
+        this.gravacao = nova;
+        this.limiarMs = limiar;
+        this.configuracao = nome;
+        return estado(nova);
+    }
+
+    public synchronized Optional<RecordingDTO> obter() {
+        return Optional.ofNullable(gravacao).map(this::estado);
+    }
+
+    public synchronized RecordingDTO parar() {
+        Recording atual = atual();
+        if(atual.getState() == RecordingState.RUNNING) {
+            atual.stop();
+        }
+        return estado(atual);
+    }
+
+    /**
+     * Copia o conteúdo gravado até agora para um arquivo temporário, que fica a cargo de quem
+     * chamou. A gravação continua, se ainda estiver ativa.
+     */
+    public synchronized Path exportar() {
+        Recording atual = atual();
+        try {
+            Path arquivo = Files.createTempFile("financesapi-", ".jfr");
+            atual.dump(arquivo);
+            return arquivo;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void descartar() {
+        if(gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+    }
+
+    private Recording atual() {
+        if(gravacao == null || gravacao.getState() == RecordingState.CLOSED) {
+            throw new BusinessRuleException("Nenhuma gravação iniciada.");
+        }
+        return gravacao;
+    }
+
+    private RecordingDTO estado(Recording recording) {
+        return RecordingDTO.builder()
+                .id(recording.getId())
+                .estado(recording.getState().name())
+                .configuracao(configuracao)
+                .inicio(recording.getStartTime())
+                .fim(recording.getStopTime())
+                .duracaoS(recording.getDuration() == null ? null : recording.getDuration().getSeconds())
+                .tamanhoMaximoMb(recording.getMaxSize() / MEGABYTE)
+                .limiarMs(limiarMs)
+                .tamanho(recording.getSize())
+                .build();
+    }
+
+}
@@ -0,0 +1,37 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON padrão com um {@link ConversionEvent} em volta de cada escrita.
+ */
+public class RecordingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public RecordingJackson2HttpMessageConverter(ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ConversionEvent evento = new ConversionEvent();
+        if(!evento.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        evento.begin();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            evento.falhou();
+            throw e;
+        } finally {
+            evento.registrar(object == null ? "null" : object.getClass().getSimpleName(), -1L, FlightRecorderInterceptor.linhas(object));
+        }
+    }
+
+}
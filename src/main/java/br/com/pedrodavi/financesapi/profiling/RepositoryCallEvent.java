@@ -0,0 +1,14 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Métodos dos repositórios, incluindo a espera por conexão e a transação do próprio repositório.
+ */
+@Name("br.com.pedrodavi.financesapi.RepositoryCall")
+@Label("Chamada de Repositório")
+@Category({"Finances API", "Repository"})
+public class RepositoryCallEvent extends CallEvent {
+}
@@ -0,0 +1,14 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Métodos públicos dos beans {@code @Service}.
+ */
+@Name("br.com.pedrodavi.financesapi.ServiceCall")
+@Label("Chamada de Serviço")
+@Category({"Finances API", "Service"})
+public class ServiceCallEvent extends CallEvent {
+}
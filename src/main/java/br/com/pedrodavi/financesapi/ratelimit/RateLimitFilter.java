@@ -0,0 +1,60 @@
+package br.com.pedrodavi.financesapi.ratelimit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Devolve 429 com {@code Retry-After} quando o IP ou o usuário (parâmetro {@code usuario})
+ * excede o limite do endpoint. Registrado pelo {@code RateLimitConfig}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter limiter;
+
+    public RateLimitFilter(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter.Limite limite = limiter.limite(request.getMethod(), request.getRequestURI());
+        if(limite == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long espera = limiter.consumir(limite, request.getRemoteAddr(), usuario(request));
+        if(espera > 0L) {
+            long segundos = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", Long.toString(segundos));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("Muitas requisições. Tente novamente em " + segundos + " segundo(s).");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static Long usuario(HttpServletRequest request) {
+        String usuario = request.getQueryString() == null ? null : request.getParameter("usuario");
+        if(usuario == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(usuario);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
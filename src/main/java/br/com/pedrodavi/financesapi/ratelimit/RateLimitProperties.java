@@ -0,0 +1,39 @@
+package br.com.pedrodavi.financesapi.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regras de limite por endpoint ({@code finances.rate-limit.regras[n].*}). A primeira regra
+ * cujo método e caminho combinam com a requisição é aplicada. O caminho é exato, ou um
+ * prefixo quando termina em {@code /**}; o método vazio vale para todos.
+ */
+@Data
+@Component
+@ConfigurationProperties("finances.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private long limpezaMs = 60_000L;
+
+    private List<Regra> regras = new ArrayList<>();
+
+    @Data
+    public static class Regra {
+
+        private String metodo;
+
+        private String caminho;
+
+        private double porSegundo;
+
+        private int rajada;
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package br.com.pedrodavi.financesapi.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Buckets por IP e por usuário para cada regra de {@link RateLimitProperties}. Os buckets
+ * ficam em {@link ConcurrentHashMap}s (leitura sem lock, escrita por bin) e são removidos
+ * quando ficam ociosos. Criado pelo {@code RateLimitConfig} só quando o limite está ligado.
+ */
+public class RateLimiter {
+
+    private final List<Limite> limites;
+
+    public RateLimiter(RateLimitProperties propriedades) {
+        this.limites = propriedades.getRegras().stream().map(Limite::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Limite aplicável à requisição, ou {@code null} quando nenhuma regra combina.
+     */
+    public Limite limite(String metodo, String caminho) {
+        for(Limite limite : limites) {
+            if(limite.combina(metodo, caminho)) {
+                return limite;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Consome um token do IP e, quando informado, do usuário. Retorna 0 quando a requisição
+     * pode seguir ou os nanossegundos até poder tentar de novo. Uma requisição rejeitada pelo
+     * usuário devolve o token do IP, para não punir os demais clientes atrás do mesmo IP.
+     */
+    public long consumir(Limite limite, String ip, Long usuario) {
+        long agora = System.nanoTime();
+        TokenBucket doIp = limite.porIp.computeIfAbsent(ip, k -> new TokenBucket(agora));
+        long espera = doIp.consumir(agora, limite.intervalo, limite.tolerancia);
+        if(espera > 0L || usuario == null) {
+            return espera;
+        }
+        espera = limite.porUsuario.computeIfAbsent(usuario, k -> new TokenBucket(agora))
+                .consumir(agora, limite.intervalo, limite.tolerancia);
+        if(espera > 0L) {
+            doIp.devolver(limite.intervalo);
+        }
+        return espera;
+    }
+
+    // um bucket removido enquanto outra thread o usa perde no máximo aquele consumo
+    @Scheduled(fixedDelayString = "${finances.rate-limit.limpeza-ms:60000}")
+    public void limpar() {
+        long agora = System.nanoTime();
+        for(Limite limite : limites) {
+            limite.porIp.values().removeIf(bucket -> bucket.ocioso(agora));
+            limite.porUsuario.values().removeIf(bucket -> bucket.ocioso(agora));
+        }
+    }
+
+    int quantidadeBuckets() {
+        return limites.stream().mapToInt(l -> l.porIp.size() + l.porUsuario.size()).sum();
+    }
+
+    public static final class Limite {
+
+        private final String metodo;
+        private final String caminho;
+        private final boolean prefixo;
+        private final long intervalo;
+        private final long tolerancia;
+
+        private final ConcurrentHashMap<String, TokenBucket> porIp = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, TokenBucket> porUsuario = new ConcurrentHashMap<>();
+
+        Limite(RateLimitProperties.Regra regra) {
+            if(regra.getPorSegundo() <= 0 || regra.getRajada() < 1) {
+                throw new IllegalStateException("Limite inválido para " + regra.getCaminho() + ".");
+            }
+            this.metodo = regra.getMetodo() == null || regra.getMetodo().isBlank() ? null : regra.getMetodo().toUpperCase();
+            this.prefixo = regra.getCaminho().endsWith("/**");
+            this.caminho = prefixo ? regra.getCaminho().substring(0, regra.getCaminho().length() - 3) : regra.getCaminho();
+            this.intervalo = (long) (1_000_000_000L / regra.getPorSegundo());
+            this.tolerancia = intervalo * regra.getRajada();
+        }
+
+        boolean combina(String metodoRequisicao, String caminhoRequisicao) {
+            if(metodo != null && !metodo.equals(metodoRequisicao)) {
+                return false;
+            }
+            if(!prefixo) {
+                return caminho.equals(caminhoRequisicao);
+            }
+            return caminhoRequisicao.startsWith(caminho)
+                    && (caminhoRequisicao.length() == caminho.length() || caminhoRequisicao.charAt(caminho.length()) == '/');
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package br.com.pedrodavi.financesapi.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock no formato GCRA: o estado é só o instante teórico da próxima chegada
+ * ({@code tat}), atualizado por CAS. Um bucket cujo {@code tat} já passou está cheio e é
+ * equivalente a um novo, por isso pode ser descartado sem perder informação.
+ */
+final class TokenBucket {
+
+    private final AtomicLong tat;
+
+    TokenBucket(long agora) {
+        this.tat = new AtomicLong(agora);
+    }
+
+    /**
+     * Consome um token. Retorna 0 quando permitido ou, quando não, quantos nanossegundos
+     * faltam para o próximo token.
+     *
+     * @param intervalo  nanossegundos por token
+     * @param tolerancia tamanho da rajada em nanossegundos ({@code rajada * intervalo})
+     */
+    long consumir(long agora, long intervalo, long tolerancia) {
+        for(;;) {
+            long atual = tat.get();
+            long novo = Math.max(atual, agora) + intervalo;
+            long espera = novo - agora - tolerancia;
+            if(espera > 0L) {
+                return espera;
+            }
+            if(tat.compareAndSet(atual, novo)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Devolve um token consumido por uma requisição que acabou rejeitada por outro bucket.
+     */
+    void devolver(long intervalo) {
+        tat.addAndGet(-intervalo);
+    }
+
+    boolean ocioso(long agora) {
+        return tat.get() - agora <= 0L;
+    }
+
+}
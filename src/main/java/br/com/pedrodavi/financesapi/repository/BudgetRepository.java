@@ -0,0 +1,99 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.repository.projection.BudgetSpend;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BudgetRepository extends JpaRepository<Budget, Long>, BudgetRepositoryCustom {
+
+    /**
+     * Soma {@code delta} ao gasto dos orçamentos afetados em uma única instrução; a linha fica
+     * bloqueada até o fim da transação, então gravações concorrentes não perdem incrementos.
+     * O espaço de consulta declarado evita que o Hibernate limpe todo o cache de segundo nível,
+     * como faz com instruções nativas sem tabelas conhecidas.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES, value = "finances.orcamento"))
+    @Query( nativeQuery = true, value =
+            " update finances.orcamento set gasto = gasto + :delta "
+                    + " where id_usuario = :idUsuario and ano = :ano and mes = :mes and tipo = :tipo "
+                    + " and (id_tag is null or id_tag in (:tags)) " )
+    int acumular(
+            @Param("idUsuario") Long idUsuario,
+            @Param("ano") Integer ano,
+            @Param("mes") Integer mes,
+            @Param("tipo") String tipo,
+            @Param("tags") Collection<Long> tags,
+            @Param("delta") BigDecimal delta);
+
+    @Query( value =
+            " select o from Budget o where o.usuario.id = :idUsuario and o.ano = :ano and o.mes = :mes "
+                    + " and o.tipo = :tipo and (o.tag is null or o.tag.id in :tags) " )
+    List<Budget> obterAfetados(
+            @Param("idUsuario") Long idUsuario,
+            @Param("ano") Integer ano,
+            @Param("mes") Integer mes,
+            @Param("tipo") ReleaseType tipo,
+            @Param("tags") Collection<Long> tags);
+
+    List<Budget> findByUsuarioIdAndAnoAndMesOrderById(Long idUsuario, Integer ano, Integer mes);
+
+    List<Budget> findByUsuarioId(Long idUsuario);
+
+    @Query( value =
+            " select o.id as orcamento, l.moeda as moeda, sum(l.valor) as total "
+                    + " from Budget o, Launch l where o.usuario.id = :idUsuario and l.usuario = o.usuario "
+                    + " and l.ano = o.ano and l.mes = o.mes and l.tipo = o.tipo and l.status <> :statusExcluido "
+                    + " and (o.tag is null or o.tag member of l.tags) "
+                    + " group by o.id, l.moeda " )
+    List<BudgetSpend> obterGastos(
+            @Param("idUsuario") Long idUsuario,
+            @Param("statusExcluido") LaunchStatus statusExcluido);
+
+    /**
+     * Próximos usuários com orçamento depois de {@code apos}, em ordem de id.
+     */
+    @Query( value = " select distinct o.usuario.id from Budget o where o.usuario.id > :apos order by o.usuario.id " )
+    List<Long> obterUsuariosComOrcamento(@Param("apos") Long apos, Pageable pagina);
+
+    List<Budget> findByUsuarioIdBetweenOrderById(Long de, Long ate);
+
+    /**
+     * Orçamentos dos usuários de {@code de} a {@code ate}, travados até o fim da transação.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query( value = " select o from Budget o where o.usuario.id between :de and :ate order by o.id " )
+    List<Budget> travarDaFaixa(@Param("de") Long de, @Param("ate") Long ate);
+
+    /**
+     * {@link #obterGastos} dos usuários de {@code de} a {@code ate}, lido aos poucos do cursor;
+     * precisa de uma transação aberta e deve ser fechado por quem chamou.
+     */
+    @Query( value =
+            " select o.id as orcamento, l.moeda as moeda, sum(l.valor) as total "
+                    + " from Budget o, Launch l where o.usuario.id between :de and :ate and l.usuario = o.usuario "
+                    + " and l.ano = o.ano and l.mes = o.mes and l.tipo = o.tipo and l.status <> :statusExcluido "
+                    + " and (o.tag is null or o.tag member of l.tags) "
+                    + " group by o.id, l.moeda " )
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BudgetSpend> obterGastosDaFaixa(
+            @Param("de") Long de,
+            @Param("ate") Long ate,
+            @Param("statusExcluido") LaunchStatus statusExcluido);
+
+}
@@ -0,0 +1,21 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetDifference;
+
+import java.util.List;
+
+public interface BudgetRepositoryCustom {
+
+    /**
+     * Grava o gasto e a situação calculados das diferenças em um único batch JDBC.
+     */
+    void corrigirGastos(List<BudgetDifference> diferencas);
+
+    /**
+     * Relê do banco o orçamento já gerenciado pela transação, depois de uma instrução que
+     * alterou a linha por fora do contexto de persistência.
+     */
+    void recarregar(Budget orcamento);
+
+}
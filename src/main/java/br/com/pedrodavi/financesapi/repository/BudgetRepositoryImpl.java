@@ -0,0 +1,42 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetDifference;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class BudgetRepositoryImpl implements BudgetRepositoryCustom {
+
+    private static final String CORRIGIR_GASTO =
+            " update finances.orcamento set gasto = ?, situacao = ? where id = ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BudgetRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void corrigirGastos(List<BudgetDifference> diferencas) {
+        if(diferencas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(CORRIGIR_GASTO, diferencas, diferencas.size(), (ps, diferenca) -> {
+            ps.setBigDecimal(1, diferenca.getGastoCalculado().toBigDecimal());
+            ps.setString(2, diferenca.getSituacaoCalculada().name());
+            ps.setLong(3, diferenca.getOrcamento());
+        });
+    }
+
+    @Override
+    public void recarregar(Budget orcamento) {
+        entityManager.refresh(orcamento);
+    }
+
+}
@@ -3,20 +3,181 @@ package br.com.pedrodavi.financesapi.repository;
 import br.com.pedrodavi.financesapi.enums.LaunchStatus;
 import br.com.pedrodavi.financesapi.enums.ReleaseType;
 import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.repository.projection.BalanceTotal;
+import br.com.pedrodavi.financesapi.repository.projection.DescriptionTotal;
+import br.com.pedrodavi.financesapi.repository.projection.DueLaunch;
+import br.com.pedrodavi.financesapi.repository.projection.LaunchIndexEntry;
+import br.com.pedrodavi.financesapi.repository.projection.MonthlyTotal;
+import br.com.pedrodavi.financesapi.repository.projection.PeriodBalance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
-public interface LaunchRepository extends JpaRepository<Launch, Long> {
+public interface LaunchRepository extends JpaRepository<Launch, Long>, JpaSpecificationExecutor<Launch>,
+        LaunchRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    List<Launch> findAll(Specification<Launch> spec, Sort sort);
 
     @Query( value =
-            " select sum(l.valor) from Launch l join l.usuario u "
-                    + " where u.id = :idUsuario and l.tipo =:tipo and l.status = :status group by u " )
-    BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatus(
+            " select l.moeda as moeda, l.tipo as tipo, sum(l.valor) as total, u.moeda as moedaBase "
+                    + " from Launch l join l.usuario u where u.id = :idUsuario and l.status = :status "
+                    + " group by l.moeda, l.tipo, u.moeda " )
+    List<BalanceTotal> obterSaldosPorMoeda(
             @Param("idUsuario") Long idUsuario,
-            @Param("tipo") ReleaseType tipo,
             @Param("status") LaunchStatus status);
 
+    /**
+     * Totais por mês, moeda, tipo e status até {@code mes}/{@code ano}, inclusive: uma linha por
+     * grupo. A agregação ainda lê todos os lançamentos do usuário até o mês final, pela faixa
+     * {@code (id_usuario, ano, mes)} do índice; só o que volta ao serviço cresce com os meses.
+     */
+    @Query( value =
+            " select l.ano as ano, l.mes as mes, l.moeda as moeda, l.tipo as tipo, l.status as status, "
+                    + " sum(l.valor) as total, u.moeda as moedaBase "
+                    + " from Launch l join l.usuario u where u.id = :idUsuario and l.status in :status "
+                    + " and (l.ano < :ano or (l.ano = :ano and l.mes <= :mes)) "
+                    + " group by l.ano, l.mes, l.moeda, l.tipo, l.status, u.moeda " )
+    List<PeriodBalance> obterSaldosMensais(
+            @Param("idUsuario") Long idUsuario,
+            @Param("ano") int ano,
+            @Param("mes") int mes,
+            @Param("status") Collection<LaunchStatus> status);
+
+    @Modifying
+    @Query( value =
+            " update Launch l set l.descricao = :descricao, l.valor = :valor, l.moeda = :moeda, l.tipo = :tipo, "
+                    + " l.sequencia = :sequencia "
+                    + " where l.idRecorrencia = :idRecorrencia and l.status = :status "
+                    + " and (l.ano * 12 + l.mes) >= :periodo " )
+    int atualizarOcorrenciasFuturas(
+            @Param("idRecorrencia") Long idRecorrencia,
+            @Param("periodo") int periodo,
+            @Param("status") LaunchStatus status,
+            @Param("descricao") String descricao,
+            @Param("valor") Money valor,
+            @Param("moeda") String moeda,
+            @Param("tipo") ReleaseType tipo,
+            @Param("sequencia") Long sequencia);
+
+    /**
+     * {@link #atualizarOcorrenciasFuturas} sem o valor: as parcelas mantêm a divisão do valor
+     * total, com os centavos restantes nas primeiras.
+     */
+    @Modifying
+    @Query( value =
+            " update Launch l set l.descricao = :descricao, l.moeda = :moeda, l.tipo = :tipo, l.sequencia = :sequencia "
+                    + " where l.idRecorrencia = :idRecorrencia and l.status = :status "
+                    + " and (l.ano * 12 + l.mes) >= :periodo " )
+    int atualizarParcelasFuturas(
+            @Param("idRecorrencia") Long idRecorrencia,
+            @Param("periodo") int periodo,
+            @Param("status") LaunchStatus status,
+            @Param("descricao") String descricao,
+            @Param("moeda") String moeda,
+            @Param("tipo") ReleaseType tipo,
+            @Param("sequencia") Long sequencia);
+
+    @Modifying
+    @Query( value =
+            " update Launch l set l.status = :novoStatus, l.sequencia = :sequencia "
+                    + " where l.idRecorrencia = :idRecorrencia and l.status = :status "
+                    + " and (l.ano * 12 + l.mes) >= :periodo " )
+    int atualizarStatusOcorrenciasFuturas(
+            @Param("idRecorrencia") Long idRecorrencia,
+            @Param("periodo") int periodo,
+            @Param("status") LaunchStatus status,
+            @Param("novoStatus") LaunchStatus novoStatus,
+            @Param("sequencia") Long sequencia);
+
+    @Query( value =
+            " select l.mes as mes, l.tipo as tipo, l.moeda as moeda, sum(l.valor) as total, count(l) as quantidade "
+                    + " from Launch l where l.usuario.id = :idUsuario and l.ano = :ano and l.status <> :statusExcluido "
+                    + " group by l.mes, l.tipo, l.moeda " )
+    List<MonthlyTotal> obterTotaisMensais(
+            @Param("idUsuario") Long idUsuario,
+            @Param("ano") Integer ano,
+            @Param("statusExcluido") LaunchStatus statusExcluido);
+
+    @Query( value =
+            " select l.descricao as descricao, l.tipo as tipo, l.moeda as moeda, sum(l.valor) as total, count(l) as quantidade "
+                    + " from Launch l where l.usuario.id = :idUsuario and l.ano = :ano and l.tipo = :tipo "
+                    + " and l.status <> :statusExcluido "
+                    + " group by l.descricao, l.tipo, l.moeda " )
+    List<DescriptionTotal> obterTotaisPorDescricao(
+            @Param("idUsuario") Long idUsuario,
+            @Param("ano") Integer ano,
+            @Param("tipo") ReleaseType tipo,
+            @Param("statusExcluido") LaunchStatus statusExcluido);
+
+    @Query( value =
+            " select l.id as id, l.tipo as tipo, l.status as status, t.nome as tag "
+                    + " from Launch l left join l.tags t where l.usuario.id = :idUsuario " )
+    List<LaunchIndexEntry> obterEntradasIndice(@Param("idUsuario") Long idUsuario);
+
+    @Query( value =
+            " select l.hashConteudo from Launch l where l.usuario.id = :idUsuario and l.hashConteudo is not null " )
+    List<String> obterHashes(@Param("idUsuario") Long idUsuario);
+
+    @Query( value =
+            " select l.hashConteudo from Launch l where l.usuario.id = :idUsuario and l.hashConteudo in :hashes " )
+    List<String> obterHashesExistentes(
+            @Param("idUsuario") Long idUsuario,
+            @Param("hashes") Collection<String> hashes);
+
+    @Query( value =
+            " select l from Launch l where l.usuario.id = :idUsuario and l.sequencia <= :horizonte "
+                    + " and (l.sequencia > :sequencia or (l.sequencia = :sequencia and l.id > :id)) "
+                    + " order by l.sequencia, l.id " )
+    List<Launch> obterAlteracoes(
+            @Param("idUsuario") Long idUsuario,
+            @Param("sequencia") Long sequencia,
+            @Param("id") Long id,
+            @Param("horizonte") Long horizonte,
+            Pageable pagina);
+
+    /**
+     * Próximo lote de lançamentos vencidos até {@code ate}, em ordem de vencimento e id, a partir
+     * da posição ({@code vencimento}, {@code id}) do último lote. A busca começa no índice já
+     * depois do que foi processado, em vez de varrer de novo as entradas dos lançamentos que
+     * acabaram de mudar de status.
+     */
+    @Query( value =
+            " select l.id as id, l.usuario.id as usuario, l.dataVencimento as vencimento from Launch l "
+                    + " where l.status = :status and l.dataVencimento <= :ate "
+                    + " and (l.dataVencimento > :vencimento or (l.dataVencimento = :vencimento and l.id > :id)) "
+                    + " order by l.dataVencimento, l.id " )
+    List<DueLaunch> obterVencidos(
+            @Param("status") LaunchStatus status,
+            @Param("ate") LocalDate ate,
+            @Param("vencimento") LocalDate vencimento,
+            @Param("id") Long id,
+            Pageable pagina);
+
+    /**
+     * Muda o status dos lançamentos que ainda estão em {@code status}, cada um com a sequência
+     * atual do seu usuário (ver {@code avancarSequencias}).
+     */
+    @Modifying
+    @Query( value =
+            " update Launch l set l.status = :novoStatus, "
+                    + " l.sequencia = (select u.sequenciaLancamentos from User u where u.id = l.usuario.id) "
+                    + " where l.id in :ids and l.status = :status " )
+    int atualizarStatusComSequencia(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") LaunchStatus status,
+            @Param("novoStatus") LaunchStatus novoStatus);
+
 }
@@ -0,0 +1,45 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LaunchRepositoryCustom {
+
+    /**
+     * Insere os lançamentos em um único batch JDBC. Os ids gerados não são devolvidos.
+     */
+    void inserirEmLote(List<Launch> lancamentos);
+
+    /**
+     * Incrementa e devolve a sequência de alterações de lançamentos do usuário. O incremento
+     * trava a linha do usuário até o fim da transação, então as sequências de um usuário
+     * ficam visíveis na ordem: quem leu a sequência {@code n} já vê tudo até {@code n}.
+     */
+    long proximaSequencia(Long idUsuario);
+
+    /**
+     * {@link #proximaSequencia} de vários usuários em uma instrução, sem devolver os valores:
+     * quem grava os lançamentos lê a sequência nova no próprio update.
+     */
+    void avancarSequencias(Collection<Long> usuarios);
+
+    /**
+     * Guarda a remoção do lançamento para a sincronização incremental.
+     */
+    void registrarRemocao(Launch lancamento, long sequencia);
+
+    /**
+     * Marca que as remoções do usuário até {@code sequencia} saíram da retenção.
+     */
+    void expirarRemocoes(Long idUsuario, long sequencia);
+
+    long obterRemocoesExpiradas(Long idUsuario);
+
+    /**
+     * Última sequência confirmada do usuário, lida direto do banco (o usuário em cache não a carrega).
+     */
+    long obterSequencia(Long idUsuario);
+
+}
@@ -0,0 +1,124 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class LaunchRepositoryImpl implements LaunchRepositoryCustom {
+
+    private static final String INSERT =
+            " insert into finances.lancamento "
+                    + " (descricao, mes, ano, valor, moeda, tipo, status, id_usuario, data_cadastro, id_recorrencia, parcela, hash_conteudo, seq_alteracao, data_vencimento, referencia_importacao) "
+                    + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ";
+
+    private static final String INCREMENTAR_SEQUENCIA =
+            " update finances.usuario set seq_lancamentos = seq_lancamentos + 1 where id = ? ";
+
+    private static final String AVANCAR_SEQUENCIAS =
+            " update finances.usuario set seq_lancamentos = seq_lancamentos + 1 where id in (%s) ";
+
+    private static final String OBTER_SEQUENCIA =
+            " select seq_lancamentos from finances.usuario where id = ? ";
+
+    private static final String REGISTRAR_REMOCAO =
+            " insert into finances.lancamento_removido (id_lancamento, id_usuario, seq_alteracao, data_remocao) "
+                    + " values (?, ?, ?, ?) ";
+
+    private static final String EXPIRAR_REMOCOES =
+            " update finances.usuario set seq_remocoes_expiradas = ? where id = ? and seq_remocoes_expiradas < ? ";
+
+    private static final String OBTER_REMOCOES_EXPIRADAS =
+            " select seq_remocoes_expiradas from finances.usuario where id = ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LaunchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void inserirEmLote(List<Launch> lancamentos) {
+        if(lancamentos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, lancamentos, lancamentos.size(), (ps, lancamento) -> {
+            ps.setString(1, lancamento.getDescricao());
+            ps.setInt(2, lancamento.getMes());
+            ps.setInt(3, lancamento.getAno());
+            ps.setBigDecimal(4, lancamento.getValor().toBigDecimal());
+            ps.setString(5, lancamento.getMoeda());
+            ps.setString(6, lancamento.getTipo().name());
+            ps.setString(7, lancamento.getStatus().name());
+            ps.setLong(8, lancamento.getUsuario().getId());
+            ps.setDate(9, Date.valueOf(lancamento.getDataCadastro()));
+            if(lancamento.getIdRecorrencia() == null) {
+                ps.setNull(10, Types.BIGINT);
+            } else {
+                ps.setLong(10, lancamento.getIdRecorrencia());
+            }
+            if(lancamento.getParcela() == null) {
+                ps.setNull(11, Types.INTEGER);
+            } else {
+                ps.setInt(11, lancamento.getParcela());
+            }
+            ps.setString(12, lancamento.getHashConteudo());
+            ps.setLong(13, lancamento.getSequencia());
+            if(lancamento.getDataVencimento() == null) {
+                ps.setNull(14, Types.DATE);
+            } else {
+                ps.setDate(14, Date.valueOf(lancamento.getDataVencimento()));
+            }
+            ps.setString(15, lancamento.getReferenciaImportacao());
+        });
+    }
+
+    @Override
+    public long proximaSequencia(Long idUsuario) {
+        if(jdbcTemplate.update(INCREMENTAR_SEQUENCIA, idUsuario) == 0) {
+            throw new IllegalArgumentException("Usuário inexistente: " + idUsuario);
+        }
+        return jdbcTemplate.queryForObject(OBTER_SEQUENCIA, Long.class, idUsuario);
+    }
+
+    @Override
+    public void avancarSequencias(Collection<Long> usuarios) {
+        if(usuarios.isEmpty()) {
+            return;
+        }
+        List<Long> distintos = usuarios.stream().distinct().collect(Collectors.toList());
+        String marcadores = String.join(",", Collections.nCopies(distintos.size(), "?"));
+        jdbcTemplate.update(String.format(AVANCAR_SEQUENCIAS, marcadores), distintos.toArray());
+    }
+
+    @Override
+    public long obterSequencia(Long idUsuario) {
+        Long sequencia = jdbcTemplate.queryForObject(OBTER_SEQUENCIA, Long.class, idUsuario);
+        return sequencia == null ? 0L : sequencia;
+    }
+
+    @Override
+    public void registrarRemocao(Launch lancamento, long sequencia) {
+        jdbcTemplate.update(REGISTRAR_REMOCAO, lancamento.getId(), lancamento.getUsuario().getId(), sequencia,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public void expirarRemocoes(Long idUsuario, long sequencia) {
+        jdbcTemplate.update(EXPIRAR_REMOCOES, sequencia, idUsuario, sequencia);
+    }
+
+    @Override
+    public long obterRemocoesExpiradas(Long idUsuario) {
+        Long sequencia = jdbcTemplate.queryForObject(OBTER_REMOCOES_EXPIRADAS, Long.class, idUsuario);
+        return sequencia == null ? 0L : sequencia;
+    }
+
+}
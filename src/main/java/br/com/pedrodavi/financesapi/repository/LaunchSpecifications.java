@@ -0,0 +1,189 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.TagFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Traduz um {@link LaunchFilter} em predicados sobre colunas simples, sem funções do lado
+ * da coluna (exceto {@code lower(descricao)}, coberto por índice funcional), para que o
+ * banco use os índices {@code (id_usuario, ano, mes)} e {@code (id_usuario, data_cadastro)}
+ * descritos em {@code schema.sql}.
+ */
+public final class LaunchSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private LaunchSpecifications() {
+    }
+
+    public static Specification<Launch> de(LaunchFilter filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if(filtro.getUsuario() != null) {
+                predicados.add(cb.equal(root.get("usuario").get("id"), filtro.getUsuario()));
+            }
+            descricao(root, cb, filtro, predicados);
+            if(filtro.getAno() != null) {
+                predicados.add(cb.equal(root.get("ano"), filtro.getAno()));
+            }
+            if(filtro.getMes() != null) {
+                predicados.add(cb.equal(root.get("mes"), filtro.getMes()));
+            }
+            periodo(root, cb, filtro.getPeriodoInicial(), filtro.getPeriodoFinal(), predicados);
+
+            Path<LocalDate> cadastro = root.get("dataCadastro");
+            if(filtro.getCadastroInicial() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(cadastro, filtro.getCadastroInicial()));
+            }
+            if(filtro.getCadastroFinal() != null) {
+                predicados.add(cb.lessThanOrEqualTo(cadastro, filtro.getCadastroFinal()));
+            }
+
+            Path<Money> valor = root.get("valor");
+            if(filtro.getValorMinimo() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(valor, filtro.getValorMinimo()));
+            }
+            if(filtro.getValorMaximo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(valor, filtro.getValorMaximo()));
+            }
+
+            emConjunto(root.get("tipo"), filtro.getTipos(), predicados);
+            emConjunto(root.get("status"), filtro.getStatus(), predicados);
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Launch> comIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * O filtro de tags como subconsultas {@code exists} em {@code lancamento_tag}, para
+     * quando a lista de ids vinda do índice seria grande demais para um {@code in}.
+     */
+    public static Specification<Launch> comTags(TagFilter filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if(filtro.getTodas() != null) {
+                for(String tag : filtro.getTodas()) {
+                    predicados.add(cb.exists(comAlgumaTag(root, query, cb, List.of(tag))));
+                }
+            }
+            if(filtro.getAlguma() != null && !filtro.getAlguma().isEmpty()) {
+                predicados.add(cb.exists(comAlgumaTag(root, query, cb, filtro.getAlguma())));
+            }
+            if(filtro.getNenhuma() != null && !filtro.getNenhuma().isEmpty()) {
+                predicados.add(cb.not(cb.exists(comAlgumaTag(root, query, cb, filtro.getNenhuma()))));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Ordenação pedida em {@link LaunchFilter#getOrdem()}; {@code periodo} ordena por ano e mês.
+     */
+    public static Sort ordenacao(List<String> campos) {
+        if(campos == null || campos.isEmpty()) {
+            return Sort.unsorted();
+        }
+        List<Sort.Order> ordens = new ArrayList<>();
+        for(String campo : campos) {
+            boolean decrescente = campo.startsWith("-");
+            String nome = decrescente ? campo.substring(1) : campo;
+            Sort.Direction direcao = decrescente ? Sort.Direction.DESC : Sort.Direction.ASC;
+            switch (nome) {
+                case "periodo":
+                    ordens.add(new Sort.Order(direcao, "ano"));
+                    ordens.add(new Sort.Order(direcao, "mes"));
+                    break;
+                case "valor":
+                case "dataCadastro":
+                case "descricao":
+                case "id":
+                    ordens.add(new Sort.Order(direcao, nome));
+                    break;
+                default:
+                    throw new BusinessRuleException("Ordenação inválida: " + campo + ".");
+            }
+        }
+        return Sort.by(ordens);
+    }
+
+    private static void descricao(Root<Launch> root, CriteriaBuilder cb, LaunchFilter filtro, List<Predicate> predicados) {
+        if(filtro.getDescricao() == null || filtro.getDescricao().isBlank()) {
+            return;
+        }
+        Expression<String> descricao = cb.lower(root.get("descricao"));
+        String texto = filtro.getDescricao().trim().toLowerCase(Locale.ROOT);
+        if(filtro.isDescricaoExata()) {
+            predicados.add(cb.equal(descricao, texto));
+        } else {
+            predicados.add(cb.like(descricao, escapar(texto) + "%", ESCAPE));
+        }
+    }
+
+    /**
+     * {@code (ano, mes) >= inicio} vira {@code ano >= a and (ano > a or mes >= m)}: a primeira
+     * parte delimita a faixa do índice e a segunda só descarta os meses da ponta.
+     */
+    private static void periodo(Root<Launch> root, CriteriaBuilder cb, YearMonth inicio, YearMonth fim,
+                                List<Predicate> predicados) {
+        Path<Integer> ano = root.get("ano");
+        Path<Integer> mes = root.get("mes");
+        if(inicio != null) {
+            predicados.add(cb.greaterThanOrEqualTo(ano, inicio.getYear()));
+            predicados.add(cb.or(cb.greaterThan(ano, inicio.getYear()), cb.greaterThanOrEqualTo(mes, inicio.getMonthValue())));
+        }
+        if(fim != null) {
+            predicados.add(cb.lessThanOrEqualTo(ano, fim.getYear()));
+            predicados.add(cb.or(cb.lessThan(ano, fim.getYear()), cb.lessThanOrEqualTo(mes, fim.getMonthValue())));
+        }
+    }
+
+    private static Subquery<Long> comAlgumaTag(Root<Launch> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                               Collection<String> tags) {
+        Subquery<Long> subconsulta = query.subquery(Long.class);
+        Root<Launch> lancamento = subconsulta.correlate(root);
+        Join<Launch, Tag> tag = lancamento.join("tags");
+        return subconsulta.select(tag.get("id")).where(tag.get("nome").in(tags));
+    }
+
+    private static <T> void emConjunto(Path<T> atributo, Collection<T> valores, List<Predicate> predicados) {
+        if(valores != null && !valores.isEmpty()) {
+            predicados.add(atributo.in(valores));
+        }
+    }
+
+    private static String escapar(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for(char c : texto.toCharArray()) {
+            if(c == '%' || c == '_' || c == ESCAPE) {
+                escapado.append(ESCAPE);
+            }
+            escapado.append(c);
+        }
+        return escapado.toString();
+    }
+
+}
@@ -0,0 +1,32 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.LaunchTombstone;
+import br.com.pedrodavi.financesapi.repository.projection.TombstoneHorizon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LaunchTombstoneRepository extends JpaRepository<LaunchTombstone, Long> {
+
+    @Query( value =
+            " select t.id from LaunchTombstone t where t.usuario = :idUsuario "
+                    + " and t.sequencia > :de and t.sequencia <= :ate order by t.sequencia, t.id " )
+    List<Long> obterRemovidos(
+            @Param("idUsuario") Long idUsuario,
+            @Param("de") Long de,
+            @Param("ate") Long ate);
+
+    @Query( value =
+            " select t.usuario as usuario, max(t.sequencia) as sequencia from LaunchTombstone t "
+                    + " where t.dataRemocao < :limite group by t.usuario " )
+    List<TombstoneHorizon> obterExpirados(@Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Query( value = " delete from LaunchTombstone t where t.dataRemocao < :limite " )
+    int removerExpirados(@Param("limite") LocalDateTime limite);
+
+}
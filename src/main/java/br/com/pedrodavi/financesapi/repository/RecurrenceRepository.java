@@ -0,0 +1,8 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.Recurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecurrenceRepository extends JpaRepository<Recurrence, Long> {
+
+}
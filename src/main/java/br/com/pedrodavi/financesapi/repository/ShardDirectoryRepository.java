@@ -0,0 +1,8 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.ShardDirectoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ShardDirectoryRepository extends JpaRepository<ShardDirectoryEntry, String> {
+
+}
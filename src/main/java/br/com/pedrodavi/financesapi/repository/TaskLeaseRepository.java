@@ -0,0 +1,46 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.model.TaskLeaseEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface TaskLeaseRepository extends JpaRepository<TaskLeaseEntry, String> {
+
+    /**
+     * Toma a tarefa se o lease expirou ou já é de {@code dono}; devolve 0 se outro nó a detém.
+     */
+    @Modifying
+    @Query( value =
+            " update TaskLeaseEntry t set t.dono = :dono, t.expiraEm = :expiraEm "
+                    + " where t.nome = :nome and (t.dono = :dono or t.expiraEm < :agora) " )
+    int adquirir(
+            @Param("nome") String nome,
+            @Param("dono") String dono,
+            @Param("agora") LocalDateTime agora,
+            @Param("expiraEm") LocalDateTime expiraEm);
+
+    /**
+     * Renova o lease de {@code dono} e guarda a posição confirmada; devolve 0 se o perdeu.
+     */
+    @Modifying
+    @Query( value =
+            " update TaskLeaseEntry t set t.posicao = :posicao, t.expiraEm = :expiraEm "
+                    + " where t.nome = :nome and t.dono = :dono " )
+    int avancar(
+            @Param("nome") String nome,
+            @Param("dono") String dono,
+            @Param("posicao") Long posicao,
+            @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Modifying
+    @Query( value = " update TaskLeaseEntry t set t.expiraEm = :agora where t.nome = :nome and t.dono = :dono " )
+    int liberar(
+            @Param("nome") String nome,
+            @Param("dono") String dono,
+            @Param("agora") LocalDateTime agora);
+
+}
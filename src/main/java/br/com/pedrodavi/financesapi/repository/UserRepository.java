@@ -1,14 +1,31 @@
 package br.com.pedrodavi.financesapi.repository;
 
 import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.projection.UserEmail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    boolean existsByEmail(String email);
+    /**
+     * O email é gravado normalizado, mas cadastros anteriores podem ter maiúsculas; por isso a
+     * comparação ignora a caixa.
+     */
+    boolean existsByEmailIgnoreCase(String email);
 
-    Optional<User> findByEmail(String email);
+    Optional<User> findByEmailIgnoreCase(String email);
+
+    /**
+     * Todos os emails, lidos aos poucos do cursor; precisa de uma transação aberta e deve ser
+     * fechado por quem chamou.
+     */
+    @Query("select u.id as id, u.email as email from User u")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserEmail> obterEmails();
 
 }
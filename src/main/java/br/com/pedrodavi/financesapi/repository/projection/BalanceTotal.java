@@ -0,0 +1,16 @@
+package br.com.pedrodavi.financesapi.repository.projection;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Money;
+
+public interface BalanceTotal {
+
+    String getMoeda();
+
+    ReleaseType getTipo();
+
+    Money getTotal();
+
+    String getMoedaBase();
+
+}
@@ -0,0 +1,13 @@
+package br.com.pedrodavi.financesapi.repository.projection;
+
+import br.com.pedrodavi.financesapi.model.Money;
+
+public interface BudgetSpend {
+
+    Long getOrcamento();
+
+    String getMoeda();
+
+    Money getTotal();
+
+}
@@ -0,0 +1,13 @@
+package br.com.pedrodavi.financesapi.repository.projection;
+
+import java.time.LocalDate;
+
+public interface DueLaunch {
+
+    Long getId();
+
+    Long getUsuario();
+
+    LocalDate getVencimento();
+
+}
@@ -0,0 +1,16 @@
+package br.com.pedrodavi.financesapi.repository.projection;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+
+public interface LaunchIndexEntry {
+
+    Long getId();
+
+    ReleaseType getTipo();
+
+    LaunchStatus getStatus();
+
+    String getTag();
+
+}
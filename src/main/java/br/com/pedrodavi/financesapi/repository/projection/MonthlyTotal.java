@@ -0,0 +1,18 @@
+package br.com.pedrodavi.financesapi.repository.projection;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Money;
+
+public interface MonthlyTotal {
+
+    Integer getMes();
+
+    ReleaseType getTipo();
+
+    String getMoeda();
+
+    Money getTotal();
+
+    Long getQuantidade();
+
+}
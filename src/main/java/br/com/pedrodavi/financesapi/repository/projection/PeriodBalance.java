@@ -0,0 +1,23 @@
+package br.com.pedrodavi.financesapi.repository.projection;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Money;
+
+public interface PeriodBalance {
+
+    Integer getAno();
+
+    Integer getMes();
+
+    String getMoeda();
+
+    ReleaseType getTipo();
+
+    LaunchStatus getStatus();
+
+    Money getTotal();
+
+    String getMoedaBase();
+
+}
@@ -0,0 +1,9 @@
+package br.com.pedrodavi.financesapi.repository.projection;
+
+public interface UserEmail {
+
+    Long getId();
+
+    String getEmail();
+
+}
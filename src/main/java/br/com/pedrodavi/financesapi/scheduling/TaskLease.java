@@ -0,0 +1,102 @@
+package br.com.pedrodavi.financesapi.scheduling;
+
+import br.com.pedrodavi.financesapi.model.TaskLeaseEntry;
+import br.com.pedrodavi.financesapi.repository.TaskLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Exclusão mútua entre nós para tarefas agendadas, por uma linha de
+ * {@code finances.tarefa_agendada} no shard corrente. Quem detém a linha roda a tarefa e a
+ * renova a cada passo; se o nó cair, outro a assume quando o lease expira. Cada operação tem
+ * transação própria, para que o lease valha para os outros nós antes do trabalho começar.
+ *
+ * <p>A expiração usa o relógio dos nós: a diferença entre eles precisa ser bem menor que
+ * {@code finances.tarefas.lease-s}.
+ *
+ * <p>Tarefas longas podem guardar na mesma linha a posição até onde já confirmaram o trabalho,
+ * para que a próxima execução, neste ou em outro nó, continue dali.
+ */
+@Component
+public class TaskLease {
+
+    private final TaskLeaseRepository repository;
+    private final TransactionTemplate transacao;
+    private final Duration duracao;
+    private final Clock relogio;
+    private final String dono = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    public TaskLease(TaskLeaseRepository repository, PlatformTransactionManager transactionManager,
+                     @Value("${finances.tarefas.lease-s:120}") long duracaoS) {
+        this(repository, transactionManager, Duration.ofSeconds(duracaoS), Clock.systemDefaultZone());
+    }
+
+    TaskLease(TaskLeaseRepository repository, PlatformTransactionManager transactionManager,
+              Duration duracao, Clock relogio) {
+        this.repository = repository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.duracao = duracao;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Toma ou renova o lease da tarefa. {@code false} se outro nó o detém.
+     */
+    public boolean adquirir(String tarefa) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        LocalDateTime expiraEm = agora.plus(duracao);
+        if(transacao.execute(status -> repository.adquirir(tarefa, dono, agora, expiraEm)) == 1) {
+            return true;
+        }
+        try {
+            // primeira execução da tarefa neste shard: quem inserir a linha primeiro fica com ela
+            return transacao.execute(status -> {
+                if(repository.existsById(tarefa)) {
+                    return false;
+                }
+                repository.saveAndFlush(new TaskLeaseEntry(tarefa, dono, expiraEm));
+                return true;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Renova o lease e guarda {@code posicao}. {@code false} se o lease passou para outro nó.
+     */
+    public boolean avancar(String tarefa, long posicao) {
+        LocalDateTime expiraEm = LocalDateTime.now(relogio).plus(duracao);
+        return transacao.execute(status -> repository.avancar(tarefa, dono, posicao, expiraEm)) == 1;
+    }
+
+    /**
+     * Última posição guardada da tarefa no shard corrente.
+     */
+    public Optional<Long> posicao(String tarefa) {
+        return transacao.execute(status -> repository.findById(tarefa).map(TaskLeaseEntry::getPosicao));
+    }
+
+    /**
+     * Devolve o lease antes de expirar, para que outro nó não espere à toa.
+     */
+    public void liberar(String tarefa) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        transacao.execute(status -> repository.liberar(tarefa, dono, agora));
+    }
+
+}
@@ -0,0 +1,25 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.model.BudgetRebuildJob;
+
+import java.util.Optional;
+
+public interface BudgetRebuildService {
+
+    /**
+     * Inicia a reconstrução em segundo plano e devolve o job para acompanhamento. Com
+     * {@code simulacao}, apenas lista as diferenças; com {@code retomar}, cada shard continua
+     * depois do último usuário confirmado pela reconstrução anterior.
+     */
+    BudgetRebuildJob iniciar(boolean simulacao, boolean retomar);
+
+    /**
+     * {@link #iniciar} na thread atual, devolvendo o job ao final.
+     */
+    BudgetRebuildJob reconstruir(boolean simulacao, boolean retomar);
+
+    Optional<BudgetRebuildJob> obterPorId(String id);
+
+    void autorizar(String token);
+
+}
@@ -0,0 +1,36 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetImpact;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.dto.BudgetStatusDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BudgetService {
+
+    Budget salvar(Budget orcamento);
+
+    void deletar(Budget orcamento);
+
+    Optional<Budget> obterPorId(Long id);
+
+    List<BudgetStatusDTO> obterSituacao(Long idUsuario, Integer mes, Integer ano);
+
+    BudgetImpact impacto(Launch lancamento);
+
+    void aplicar(BudgetImpact anterior, BudgetImpact atual);
+
+    /**
+     * Soma os impactos de um lote de lançamentos novos, com um único update por orçamento
+     * de destino em vez de um por lançamento.
+     */
+    void aplicarTodos(Collection<BudgetImpact> impactos);
+
+    void recalcular(Long idUsuario);
+
+    void validar(Budget orcamento);
+
+}
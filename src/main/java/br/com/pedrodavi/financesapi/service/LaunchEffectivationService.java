@@ -0,0 +1,19 @@
+package br.com.pedrodavi.financesapi.service;
+
+import java.time.LocalDate;
+
+public interface LaunchEffectivationService {
+
+    /**
+     * Efetiva os lançamentos pendentes vencidos até hoje; agendada a cada
+     * {@code finances.efetivacao.intervalo-ms}.
+     */
+    int efetivarVencidos();
+
+    /**
+     * Efetiva, em lotes, os lançamentos pendentes com vencimento até {@code ate}, em todos os
+     * shards cujo lease este nó conseguir. Devolve quantos foram efetivados.
+     */
+    int efetivarVencidos(LocalDate ate);
+
+}
@@ -1,9 +1,14 @@
 package br.com.pedrodavi.financesapi.service;
 
 import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.model.ImportResult;
 import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.MonthlyBalance;
 
-import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,9 +18,33 @@ public interface LaunchService {
 
     Launch atualizar(Launch lancamento);
 
+    /**
+     * {@link #salvar(Launch)} com as tags informadas, criadas na mesma transação e só depois
+     * de o lançamento ser validado; com {@code tags} nulo, mantém as do lançamento.
+     */
+    Launch salvar(Launch lancamento, Collection<String> tags);
+
+    /**
+     * {@link #atualizar(Launch)} com as tags informadas, nas mesmas condições de
+     * {@link #salvar(Launch, Collection)}.
+     */
+    Launch atualizar(Launch lancamento, Collection<String> tags);
+
+    /**
+     * Grava em lote lançamentos de um único usuário, descartando os que já foram importados
+     * antes com o mesmo conteúdo. Tags não são importadas.
+     */
+    ImportResult importar(List<Launch> lancamentos);
+
+    /**
+     * Como {@link #importar(List)}; sem {@code avisar}, não publica o {@code LaunchEvent}
+     * de lote, que fica a cargo de quem grava vários lotes da mesma importação.
+     */
+    ImportResult importar(List<Launch> lancamentos, boolean avisar);
+
     void deletar(Launch lancamento);
 
-    List<Launch> buscar(Launch lancamentoFiltro );
+    List<Launch> buscar(LaunchFilter filtro);
 
     void atualizarStatus(Launch lancamento, LaunchStatus status);
 
@@ -23,6 +52,12 @@ public interface LaunchService {
 
     Optional<Launch> obterPorId(Long id);
 
-    BigDecimal obterSaldoPorUsuario(Long id);
+    Money obterSaldoPorUsuario(Long id);
+
+    /**
+     * Saldo acumulado, efetivo e projetado, ao fim de cada mês de {@code inicio} a {@code fim}.
+     * O primeiro mês já inclui todo o histórico anterior.
+     */
+    List<MonthlyBalance> obterEvolucaoSaldo(Long idUsuario, YearMonth inicio, YearMonth fim);
 
 }
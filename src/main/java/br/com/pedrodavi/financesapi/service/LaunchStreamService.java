@@ -0,0 +1,19 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.event.BudgetAlertEvent;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+public interface LaunchStreamService {
+
+    SseEmitter inscrever(Long idUsuario);
+
+    void publicar(Collection<LaunchEvent> eventos);
+
+    void alertar(BudgetAlertEvent alerta);
+
+    int quantidadeInscritos();
+
+}
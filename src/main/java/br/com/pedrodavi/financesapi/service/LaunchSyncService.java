@@ -0,0 +1,18 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.model.LaunchChanges;
+
+public interface LaunchSyncService {
+
+    /**
+     * Devolve até {@code limite} lançamentos alterados depois de {@code token}, em ordem de
+     * sequência, e os removidos no mesmo intervalo. Sem token, devolve todos os lançamentos.
+     */
+    LaunchChanges alteracoes(Long idUsuario, String token, int limite);
+
+    /**
+     * Remove os registros de remoção mais antigos que a retenção configurada.
+     */
+    int expurgar();
+
+}
@@ -0,0 +1,23 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Recurrence;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RecurrenceService {
+
+    Recurrence salvar(Recurrence recorrencia);
+
+    int atualizar(Recurrence recorrencia, Integer mes, Integer ano);
+
+    int cancelar(Recurrence recorrencia, Integer mes, Integer ano);
+
+    List<Launch> gerarOcorrencias(Recurrence recorrencia);
+
+    void validar(Recurrence recorrencia);
+
+    Optional<Recurrence> obterPorId(Long id);
+
+}
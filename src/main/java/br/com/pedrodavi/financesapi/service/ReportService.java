@@ -0,0 +1,16 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.model.ReportJob;
+import br.com.pedrodavi.financesapi.model.dto.YearlyReportDTO;
+
+import java.util.Optional;
+
+public interface ReportService {
+
+    ReportJob solicitar(Long idUsuario, Integer ano);
+
+    Optional<ReportJob> obterPorId(String id);
+
+    YearlyReportDTO gerar(Long idUsuario, Integer ano);
+
+}
@@ -0,0 +1,25 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+import br.com.pedrodavi.financesapi.model.ImportJob;
+import br.com.pedrodavi.financesapi.model.User;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Optional;
+
+public interface StatementImportService {
+
+    /**
+     * Importa o extrato lido de {@code entrada} na thread atual e devolve o job ao final.
+     * Com {@code retomar}, continua a importação informada a partir do primeiro registro
+     * ainda não confirmado; o arquivo deve ser enviado de novo desde o início. O andamento
+     * fica na memória do nó que fez a importação, então só esse nó consegue retomá-la. Em
+     * outro nó basta reenviar o arquivo sem {@code retomar}: os registros já gravados têm o
+     * mesmo hash de conteúdo e voltam como duplicados.
+     */
+    ImportJob importar(User usuario, StatementFormat formato, InputStream entrada, Charset charset, String retomar);
+
+    Optional<ImportJob> obterPorId(String id);
+
+}
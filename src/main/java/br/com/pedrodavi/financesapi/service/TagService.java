@@ -0,0 +1,15 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.User;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface TagService {
+
+    Set<Tag> obterOuCriar(User usuario, Collection<String> nomes);
+
+    String normalizar(String nome);
+
+}
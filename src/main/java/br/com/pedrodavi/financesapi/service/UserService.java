@@ -12,6 +12,12 @@ public interface UserService {
 
     void validarEmail(String email);
 
+    /**
+     * Troca a moeda em que os saldos e orçamentos do usuário são apresentados; os gastos dos
+     * orçamentos são recalculados na nova moeda.
+     */
+    User atualizarMoeda(User usuario, String moeda);
+
     Optional<User> obterPorId(Long id);
 
 }
@@ -0,0 +1,309 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.config.AdminToken;
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.RebuildStatus;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetDifference;
+import br.com.pedrodavi.financesapi.model.BudgetRebuildJob;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.repository.BudgetRepository;
+import br.com.pedrodavi.financesapi.repository.projection.BudgetSpend;
+import br.com.pedrodavi.financesapi.scheduling.TaskLease;
+import br.com.pedrodavi.financesapi.service.BudgetRebuildService;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reconstrói o gasto e a situação de todos os orçamentos a partir dos lançamentos, para
+ * corrigir o valor mantido incrementalmente depois de um bug ou de uma migração. Em cada shard
+ * os usuários com orçamento são divididos em faixas de ids consecutivos; um pool processa as
+ * faixas em paralelo, cada uma na sua transação: trava os orçamentos da faixa, soma os
+ * lançamentos de todos eles numa consulta lida do cursor e grava as diferenças num batch.
+ * Com as linhas travadas antes da soma, uma gravação de lançamento concorrente espera e aplica
+ * o seu delta sobre o valor já reconstruído. No máximo {@code threads * 2} faixas ficam em
+ * andamento; o ganho com mais threads vai até o banco saturar.
+ *
+ * <p>A thread coordenadora confirma as faixas na ordem e, a cada uma, guarda no
+ * {@link TaskLease} da tarefa o último usuário confirmado, renovando o lease: uma reconstrução
+ * interrompida é retomada dali, e dois nós não reconstroem o mesmo shard ao mesmo tempo. A
+ * simulação não trava, não grava e não toma o lease; só lista as diferenças. Alertas de
+ * orçamento não são publicados por uma reconstrução.
+ */
+@Slf4j
+@Service
+public class BudgetRebuildServiceImpl implements BudgetRebuildService {
+
+    static final String TAREFA = "reconstrucao-orcamentos";
+
+    private static final int TENTATIVAS = 3;
+
+    private final BudgetRepository repository;
+    private final ShardRouter router;
+    private final TaskLease lease;
+    private final ExchangeRates cambio;
+    private final TransactionTemplate transacao;
+    private final ExecutorService coordenador;
+    private final ExecutorService executor;
+    private final int faixasEmVoo;
+    private final int tamanhoFaixa;
+    private final int maximoDiferencas;
+    private final AdminToken token;
+    private final Map<String, BudgetRebuildJob> porId;
+
+    private BudgetRebuildJob atual;
+
+    public BudgetRebuildServiceImpl(
+            BudgetRepository repository,
+            ShardRouter router,
+            TaskLease lease,
+            ExchangeRates cambio,
+            PlatformTransactionManager transactionManager,
+            @Value("${finances.reconstrucao.threads:0}") int threads,
+            @Value("${finances.reconstrucao.faixa:500}") int tamanhoFaixa,
+            @Value("${finances.reconstrucao.diferencas:1000}") int maximoDiferencas,
+            @Value("${finances.reconstrucao.token:}") String token) {
+        this.repository = repository;
+        this.router = router;
+        this.lease = lease;
+        this.cambio = cambio;
+        this.transacao = new TransactionTemplate(transactionManager);
+        // 0: uma thread por processador
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.faixasEmVoo = tamanhoPool * 2;
+        this.tamanhoFaixa = tamanhoFaixa;
+        this.maximoDiferencas = maximoDiferencas;
+        this.token = new AdminToken(token, "Reconstrução desabilitada.");
+        this.coordenador = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "reconstrucao-orcamentos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor = new ThreadPoolExecutor(tamanhoPool, tamanhoPool, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(tamanhoPool * 4), r -> {
+                    Thread thread = new Thread(r, "reconstrucao-faixa");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.porId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BudgetRebuildJob> eldest) {
+                return size() > 100;
+            }
+        };
+    }
+
+    @Override
+    public BudgetRebuildJob iniciar(boolean simulacao, boolean retomar) {
+        BudgetRebuildJob job = registrar(simulacao, retomar);
+        coordenador.execute(() -> executar(job));
+        return job;
+    }
+
+    @Override
+    public BudgetRebuildJob reconstruir(boolean simulacao, boolean retomar) {
+        BudgetRebuildJob job = registrar(simulacao, retomar);
+        executar(job);
+        return job;
+    }
+
+    @Override
+    public synchronized Optional<BudgetRebuildJob> obterPorId(String id) {
+        return Optional.ofNullable(porId.get(id));
+    }
+
+    @Override
+    public void autorizar(String token) {
+        this.token.autorizar(token);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        coordenador.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private synchronized BudgetRebuildJob registrar(boolean simulacao, boolean retomar) {
+        if(atual != null && atual.getStatus() == RebuildStatus.PROCESSANDO) {
+            throw new BusinessRuleException("Já existe uma reconstrução em andamento.");
+        }
+        atual = new BudgetRebuildJob(simulacao, retomar);
+        porId.put(atual.getId(), atual);
+        return atual;
+    }
+
+    private void executar(BudgetRebuildJob job) {
+        try {
+            for(int shard = 0; shard < router.quantidade(); shard++) {
+                int numero = shard;
+                router.executar(shard, () -> {
+                    reconstruirNoShard(job, numero);
+                    return null;
+                });
+            }
+            job.concluir();
+            log.info("Reconstrução {} concluída{}: {} usuário(s), {} orçamento(s), {} divergente(s).", job.getId(),
+                    job.isSimulacao() ? " (simulação)" : "", job.getUsuarios(), job.getOrcamentos(), job.getDivergentes());
+        } catch (BusinessRuleException e) {
+            job.interromper(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Falha na reconstrução {}", job.getId(), e);
+            job.interromper("Não foi possível concluir a reconstrução. Inicie outra informando retomar para continuar do último usuário confirmado.");
+        }
+    }
+
+    private void reconstruirNoShard(BudgetRebuildJob job, int shard) {
+        boolean simulacao = job.isSimulacao();
+        if(!simulacao && !lease.adquirir(TAREFA)) {
+            throw new BusinessRuleException("Há uma reconstrução em andamento em outro nó.");
+        }
+        Deque<Pendente> pendentes = new ArrayDeque<>();
+        try {
+            long apos = job.isRetomar() ? lease.posicao(TAREFA).orElse(0L) : 0L;
+            List<Long> usuarios;
+            do {
+                usuarios = repository.obterUsuariosComOrcamento(apos, PageRequest.of(0, tamanhoFaixa));
+                if(usuarios.isEmpty()) {
+                    break;
+                }
+                long de = usuarios.get(0);
+                long ate = usuarios.get(usuarios.size() - 1);
+                int quantidade = usuarios.size();
+                pendentes.add(new Pendente(ate, executor.submit(() ->
+                        router.executar(shard, () -> processar(de, ate, quantidade, simulacao)))));
+                apos = ate;
+                if(pendentes.size() >= faixasEmVoo) {
+                    confirmar(job, pendentes.poll());
+                }
+            } while (usuarios.size() == tamanhoFaixa);
+            while (!pendentes.isEmpty()) {
+                confirmar(job, pendentes.poll());
+            }
+        } finally {
+            pendentes.forEach(pendente -> pendente.futuro.cancel(true));
+            if(!simulacao) {
+                lease.liberar(TAREFA);
+            }
+        }
+    }
+
+    private void confirmar(BudgetRebuildJob job, Pendente pendente) {
+        Faixa faixa;
+        try {
+            faixa = pendente.futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new IllegalStateException(e.getCause());
+        }
+        job.confirmar(faixa.usuarios, faixa.orcamentos, faixa.diferencas, maximoDiferencas);
+        if(!job.isSimulacao() && !lease.avancar(TAREFA, pendente.ate)) {
+            throw new BusinessRuleException("A reconstrução passou para outro nó.");
+        }
+    }
+
+    private Faixa processar(long de, long ate, int usuarios, boolean simulacao) {
+        for(int tentativa = 1; ; tentativa++) {
+            try {
+                return transacao.execute(status -> calcular(de, ate, usuarios, simulacao));
+            } catch (PessimisticLockingFailureException e) {
+                // deadlock com uma gravação de lançamento: a faixa inteira é refeita
+                if(tentativa == TENTATIVAS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Faixa calcular(long de, long ate, int usuarios, boolean simulacao) {
+        List<Budget> orcamentos = simulacao
+                ? repository.findByUsuarioIdBetweenOrderById(de, ate)
+                : repository.travarDaFaixa(de, ate);
+        Map<Long, Budget> porOrcamento = new LinkedHashMap<>();
+        orcamentos.forEach(orcamento -> porOrcamento.put(orcamento.getId(), orcamento));
+
+        Map<Long, Money> gastos = new HashMap<>();
+        try(Stream<BudgetSpend> somas = repository.obterGastosDaFaixa(de, ate, LaunchStatus.CANCELADO)) {
+            somas.forEach(soma -> {
+                // orçamento criado depois da leitura: já foi calculado por quem o criou
+                Budget orcamento = porOrcamento.get(soma.getOrcamento());
+                if(orcamento != null) {
+                    Money valor = cambio.converter(soma.getTotal(), soma.getMoeda(), cambio.moedaBase(orcamento.getUsuario()));
+                    gastos.merge(orcamento.getId(), valor, Money::plus);
+                }
+            });
+        }
+
+        List<BudgetDifference> diferencas = new ArrayList<>();
+        for(Budget orcamento : porOrcamento.values()) {
+            Money gasto = gastos.getOrDefault(orcamento.getId(), Money.ZERO);
+            BudgetStatus situacao = orcamento.avaliar(gasto);
+            if(!gasto.equals(orcamento.getGasto()) || situacao != orcamento.getSituacao()) {
+                diferencas.add(new BudgetDifference(orcamento.getId(), orcamento.getUsuario().getId(),
+                        orcamento.getAno(), orcamento.getMes(), orcamento.getGasto(), gasto,
+                        orcamento.getSituacao(), situacao));
+            }
+        }
+        if(!simulacao) {
+            repository.corrigirGastos(diferencas);
+        }
+        return new Faixa(usuarios, orcamentos.size(), diferencas);
+    }
+
+    private static final class Pendente {
+
+        private final long ate;
+        private final Future<Faixa> futuro;
+
+        private Pendente(long ate, Future<Faixa> futuro) {
+            this.ate = ate;
+            this.futuro = futuro;
+        }
+
+    }
+
+    private static final class Faixa {
+
+        private final int usuarios;
+        private final int orcamentos;
+        private final List<BudgetDifference> diferencas;
+
+        private Faixa(int usuarios, int orcamentos, List<BudgetDifference> diferencas) {
+            this.usuarios = usuarios;
+            this.orcamentos = orcamentos;
+            this.diferencas = diferencas;
+        }
+
+    }
+
+}
@@ -0,0 +1,224 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.event.BudgetAlertEvent;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetImpact;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.dto.BudgetStatusDTO;
+import br.com.pedrodavi.financesapi.repository.BudgetRepository;
+import br.com.pedrodavi.financesapi.repository.projection.BudgetSpend;
+import br.com.pedrodavi.financesapi.service.BudgetService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém o gasto dos orçamentos a cada gravação de lançamento, na mesma transação: a
+ * contribuição anterior e a nova do lançamento viram no máximo duas instruções de update,
+ * sem somar novamente os lançamentos do mês.
+ */
+@Service
+public class BudgetServiceImpl implements BudgetService {
+
+    static final int PERCENTUAL_ALERTA_PADRAO = 80;
+
+    // "in ()" não é SQL válido; id inexistente para lançamentos sem tag
+    private static final List<Long> SEM_TAGS = List.of(-1L);
+
+    private BudgetRepository repository;
+    private ExchangeRates cambio;
+    private ApplicationEventPublisher publisher;
+
+    public BudgetServiceImpl(BudgetRepository repository, ExchangeRates cambio, ApplicationEventPublisher publisher) {
+        this.repository = repository;
+        this.cambio = cambio;
+        this.publisher = publisher;
+    }
+
+    @Override
+    @Transactional
+    public Budget salvar(Budget orcamento) {
+        if(orcamento.getPercentualAlerta() == null) {
+            orcamento.setPercentualAlerta(PERCENTUAL_ALERTA_PADRAO);
+        }
+        validar(orcamento);
+        orcamento.setGasto(Money.ZERO);
+        orcamento.setSituacao(BudgetStatus.DENTRO);
+        orcamento.setDataCadastro(LocalDate.now());
+        Budget salvo = repository.save(orcamento);
+        recalcular(salvo.getUsuario().getId());
+        return salvo;
+    }
+
+    @Override
+    @Transactional
+    public void deletar(Budget orcamento) {
+        Objects.requireNonNull(orcamento.getId());
+        repository.delete(orcamento);
+    }
+
+    @Override
+    public Optional<Budget> obterPorId(Long id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<BudgetStatusDTO> obterSituacao(Long idUsuario, Integer mes, Integer ano) {
+        return repository.findByUsuarioIdAndAnoAndMesOrderById(idUsuario, ano, mes).stream()
+                .map(orcamento -> BudgetStatusDTO.builder()
+                        .id(orcamento.getId())
+                        .mes(orcamento.getMes())
+                        .ano(orcamento.getAno())
+                        .tipo(orcamento.getTipo().name())
+                        .tag(orcamento.getTag() == null ? null : orcamento.getTag().getNome())
+                        .limite(orcamento.getLimite())
+                        .gasto(orcamento.getGasto())
+                        .disponivel(orcamento.getLimite().minus(orcamento.getGasto()))
+                        .percentualAlerta(orcamento.getPercentualAlerta())
+                        .situacao(orcamento.getSituacao().name())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public BudgetImpact impacto(Launch lancamento) {
+        if(lancamento == null || lancamento.getStatus() == LaunchStatus.CANCELADO || lancamento.getValor() == null) {
+            return null;
+        }
+        List<Long> tags = lancamento.getTags() == null || lancamento.getTags().isEmpty() ? SEM_TAGS
+                : lancamento.getTags().stream().map(Tag::getId).sorted().collect(Collectors.toList());
+        Money valor = cambio.converter(lancamento.getValor(), lancamento.getMoeda(), cambio.moedaBase(lancamento.getUsuario()));
+        return new BudgetImpact(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+                lancamento.getTipo(), tags, valor);
+    }
+
+    @Override
+    @Transactional
+    public void aplicar(BudgetImpact anterior, BudgetImpact atual) {
+        if(anterior != null && atual != null && anterior.mesmoDestino(atual)) {
+            acumular(atual, atual.getValor().minus(anterior.getValor()));
+            return;
+        }
+        if(anterior != null) {
+            acumular(anterior, anterior.getValor().negate());
+        }
+        if(atual != null) {
+            acumular(atual, atual.getValor());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void aplicarTodos(Collection<BudgetImpact> impactos) {
+        Map<List<Object>, BudgetImpact> somados = new LinkedHashMap<>();
+        for(BudgetImpact impacto : impactos) {
+            if(impacto == null) {
+                continue;
+            }
+            List<Object> destino = List.of(impacto.getUsuario(), impacto.getAno(), impacto.getMes(),
+                    impacto.getTipo(), impacto.getTags());
+            somados.merge(destino, impacto, (soma, outro) -> new BudgetImpact(soma.getUsuario(), soma.getAno(),
+                    soma.getMes(), soma.getTipo(), soma.getTags(), soma.getValor().plus(outro.getValor())));
+        }
+        for(BudgetImpact soma : somados.values()) {
+            acumular(soma, soma.getValor());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recalcular(Long idUsuario) {
+        List<Budget> orcamentos = repository.findByUsuarioId(idUsuario);
+        if(orcamentos.isEmpty()) {
+            return;
+        }
+        Map<Long, Money> gastos = new HashMap<>();
+        for(BudgetSpend gasto : repository.obterGastos(idUsuario, LaunchStatus.CANCELADO)) {
+            Budget orcamento = orcamentos.stream().filter(o -> o.getId().equals(gasto.getOrcamento())).findFirst().orElseThrow();
+            Money valor = cambio.converter(gasto.getTotal(), gasto.getMoeda(), cambio.moedaBase(orcamento.getUsuario()));
+            gastos.merge(gasto.getOrcamento(), valor, Money::plus);
+        }
+        for(Budget orcamento : orcamentos) {
+            orcamento.setGasto(gastos.getOrDefault(orcamento.getId(), Money.ZERO));
+            atualizarSituacao(orcamento);
+        }
+    }
+
+    @Override
+    public void validar(Budget orcamento) {
+
+        if(orcamento.getMes() == null || orcamento.getMes() < 1 || orcamento.getMes() > 12) {
+            throw new BusinessRuleException("Informe um Mês válido.");
+        }
+
+        if(orcamento.getAno() == null || orcamento.getAno().toString().length() != 4 ) {
+            throw new BusinessRuleException("Informe um Ano válido.");
+        }
+
+        if(orcamento.getUsuario() == null || orcamento.getUsuario().getId() == null) {
+            throw new BusinessRuleException("Informe um Usuário.");
+        }
+
+        if(orcamento.getTipo() == null) {
+            throw new BusinessRuleException("Informe um tipo de Lançamento.");
+        }
+
+        if(orcamento.getLimite() == null || !orcamento.getLimite().isPositive()) {
+            throw new BusinessRuleException("Informe um Limite válido.");
+        }
+
+        if(orcamento.getPercentualAlerta() == null || orcamento.getPercentualAlerta() < 1 || orcamento.getPercentualAlerta() > 100) {
+            throw new BusinessRuleException("Informe um Percentual de alerta entre 1 e 100.");
+        }
+
+    }
+
+    private void acumular(BudgetImpact impacto, Money delta) {
+        if(delta.signum() == 0) {
+            return;
+        }
+        int afetados = repository.acumular(impacto.getUsuario(), impacto.getAno(), impacto.getMes(),
+                impacto.getTipo().name(), impacto.getTags(), delta.toBigDecimal());
+        if(afetados == 0) {
+            return;
+        }
+        for(Budget orcamento : repository.obterAfetados(impacto.getUsuario(), impacto.getAno(), impacto.getMes(),
+                impacto.getTipo(), impacto.getTags())) {
+            // um orçamento já carregado nesta transação (ex.: segundo lançamento do mesmo mês)
+            // ainda tem o gasto anterior ao update, e o flush gravaria esse valor de volta
+            repository.recarregar(orcamento);
+            atualizarSituacao(orcamento);
+        }
+    }
+
+    private void atualizarSituacao(Budget orcamento) {
+        BudgetStatus situacao = orcamento.avaliar(orcamento.getGasto());
+        if(situacao == orcamento.getSituacao()) {
+            return;
+        }
+        boolean agravou = orcamento.getSituacao() == null || situacao.compareTo(orcamento.getSituacao()) > 0;
+        orcamento.setSituacao(situacao);
+        if(agravou && situacao != BudgetStatus.DENTRO) {
+            publisher.publishEvent(new BudgetAlertEvent(orcamento.getUsuario().getId(), orcamento.getId(),
+                    situacao, orcamento.getGasto(), orcamento.getLimite()));
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.coalescing.SingleFlight;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.event.UserDataVersions;
+import br.com.pedrodavi.financesapi.model.ImportResult;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.MonthlyBalance;
+import br.com.pedrodavi.financesapi.service.LaunchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link LaunchService} que junta consultas idênticas e simultâneas de saldo e de busca do
+ * mesmo usuário em uma só ida ao banco; as escritas passam direto para {@link LaunchServiceImpl}.
+ * <p>
+ * A chave inclui a versão dos dados do usuário ({@link UserDataVersions}), incrementada após
+ * o commit de cada alteração: quem chega depois de uma escrita confirmada nunca aproveita um
+ * cálculo iniciado antes dela. Chamadas dentro de uma transação já aberta não são coalescidas,
+ * porque precisam enxergar as alterações ainda não confirmadas da própria transação.
+ */
+@Service
+@Primary
+public class CoalescingLaunchService implements LaunchService {
+
+    private final LaunchServiceImpl delegate;
+    private final UserDataVersions versoes;
+    private final SingleFlight<ChaveSaldo, Money> saldos;
+    private final SingleFlight<ChaveBusca, List<Launch>> buscas;
+
+    public CoalescingLaunchService(LaunchServiceImpl delegate, UserDataVersions versoes, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.versoes = versoes;
+        this.saldos = new SingleFlight<>("saldo", registry);
+        this.buscas = new SingleFlight<>("busca", registry);
+    }
+
+    @Override
+    public Money obterSaldoPorUsuario(Long id) {
+        if(TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.obterSaldoPorUsuario(id);
+        }
+        return saldos.executar(new ChaveSaldo(id, versoes.versao(id)), () -> delegate.obterSaldoPorUsuario(id));
+    }
+
+    @Override
+    public List<MonthlyBalance> obterEvolucaoSaldo(Long idUsuario, YearMonth inicio, YearMonth fim) {
+        return delegate.obterEvolucaoSaldo(idUsuario, inicio, fim);
+    }
+
+    @Override
+    public List<Launch> buscar(LaunchFilter filtro) {
+        if(filtro.getUsuario() == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.buscar(filtro);
+        }
+        // o filtro é copiado para a chave não mudar se quem chamou alterar o objeto depois
+        ChaveBusca chave = new ChaveBusca(versoes.versao(filtro.getUsuario()), filtro.toBuilder().build());
+        // a mesma lista (e as mesmas entidades destacadas) vai para todas as chamadas coalescidas
+        return buscas.executar(chave, () -> Collections.unmodifiableList(delegate.buscar(filtro)));
+    }
+
+    @Override
+    public Launch salvar(Launch lancamento) {
+        return delegate.salvar(lancamento);
+    }
+
+    @Override
+    public Launch atualizar(Launch lancamento) {
+        return delegate.atualizar(lancamento);
+    }
+
+    @Override
+    public Launch salvar(Launch lancamento, Collection<String> tags) {
+        return delegate.salvar(lancamento, tags);
+    }
+
+    @Override
+    public Launch atualizar(Launch lancamento, Collection<String> tags) {
+        return delegate.atualizar(lancamento, tags);
+    }
+
+    @Override
+    public ImportResult importar(List<Launch> lancamentos) {
+        return delegate.importar(lancamentos);
+    }
+
+    @Override
+    public ImportResult importar(List<Launch> lancamentos, boolean avisar) {
+        return delegate.importar(lancamentos, avisar);
+    }
+
+    @Override
+    public void deletar(Launch lancamento) {
+        delegate.deletar(lancamento);
+    }
+
+    @Override
+    public void atualizarStatus(Launch lancamento, LaunchStatus status) {
+        delegate.atualizarStatus(lancamento, status);
+    }
+
+    @Override
+    public void validar(Launch lancamento) {
+        delegate.validar(lancamento);
+    }
+
+    @Override
+    public Optional<Launch> obterPorId(Long id) {
+        return delegate.obterPorId(id);
+    }
+
+    @Value
+    private static class ChaveSaldo {
+        Long idUsuario;
+        long versao;
+    }
+
+    @Value
+    private static class ChaveBusca {
+        long versao;
+        LaunchFilter filtro;
+    }
+
+}
@@ -0,0 +1,151 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.projection.DueLaunch;
+import br.com.pedrodavi.financesapi.scheduling.TaskLease;
+import br.com.pedrodavi.financesapi.service.LaunchEffectivationService;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Passa a efetivado todo lançamento pendente cujo vencimento chegou. Cada lote tem a sua
+ * transação e custa três instruções, qualquer que seja o tamanho: a busca pelo índice de
+ * vencimento a partir do último lote, o avanço da sequência dos usuários do lote e um único
+ * update dos lançamentos. Os eventos de lote dos usuários, depois do commit, invalidam caches,
+ * índices e versões como na geração de uma recorrência; o gasto dos orçamentos não muda,
+ * porque pendentes já contam nele.
+ *
+ * <p>Em cada shard só o nó que detém o {@link TaskLease} da tarefa trabalha, renovando-o a
+ * cada lote. O dia de hoje é o do fuso {@code finances.efetivacao.fuso}, e não o do servidor,
+ * para que nós em fusos diferentes efetivem os mesmos vencimentos.
+ *
+ * <p>Cada execução processa no máximo {@code finances.efetivacao.lotes-por-execucao} lotes por
+ * shard e devolve a thread do agendador, que as demais tarefas agendadas também usam; o que
+ * sobrar continua pendente e é retomado na execução seguinte.
+ */
+@Slf4j
+@Service
+public class LaunchEffectivationServiceImpl implements LaunchEffectivationService {
+
+    static final String TAREFA = "efetivacao-lancamentos";
+
+    private static final LocalDate INICIO = LocalDate.of(1, 1, 1);
+
+    private final LaunchRepository repository;
+    private final ShardRouter router;
+    private final TaskLease lease;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate transacao;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final int lotesPorExecucao;
+    private final Clock relogio;
+
+    @Autowired
+    public LaunchEffectivationServiceImpl(LaunchRepository repository, ShardRouter router, TaskLease lease,
+                                          ApplicationEventPublisher publisher, PlatformTransactionManager transactionManager,
+                                          @Value("${finances.efetivacao.habilitado:true}") boolean habilitado,
+                                          @Value("${finances.efetivacao.lote:1000}") int tamanhoLote,
+                                          @Value("${finances.efetivacao.lotes-por-execucao:20}") int lotesPorExecucao,
+                                          @Value("${finances.efetivacao.fuso:America/Sao_Paulo}") String fuso) {
+        this(repository, router, lease, publisher, transactionManager, habilitado, tamanhoLote, lotesPorExecucao,
+                Clock.system(ZoneId.of(fuso)));
+    }
+
+    public LaunchEffectivationServiceImpl(LaunchRepository repository, ShardRouter router, TaskLease lease,
+                                          ApplicationEventPublisher publisher, PlatformTransactionManager transactionManager,
+                                          boolean habilitado, int tamanhoLote, int lotesPorExecucao, Clock relogio) {
+        this.repository = repository;
+        this.router = router;
+        this.lease = lease;
+        this.publisher = publisher;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.lotesPorExecucao = lotesPorExecucao;
+        this.relogio = relogio;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${finances.efetivacao.intervalo-ms:60000}")
+    public int efetivarVencidos() {
+        return habilitado ? efetivarVencidos(LocalDate.now(relogio)) : 0;
+    }
+
+    @Override
+    public int efetivarVencidos(LocalDate ate) {
+        int total = 0;
+        for(int shard = 0; shard < router.quantidade(); shard++) {
+            total += router.executar(shard, () -> efetivarNoShard(ate));
+        }
+        return total;
+    }
+
+    private int efetivarNoShard(LocalDate ate) {
+        if(!lease.adquirir(TAREFA)) {
+            return 0;
+        }
+        try {
+            int[] total = { 0 };
+            LocalDate vencimento = INICIO;
+            long id = 0L;
+            for(int lotes = 1; lotes <= lotesPorExecucao; lotes++) {
+                LocalDate posicao = vencimento;
+                long ultimoId = id;
+                List<DueLaunch> lote = transacao.execute(status -> {
+                    List<DueLaunch> lidos = repository.obterVencidos(LaunchStatus.PENDENTE, ate, posicao, ultimoId,
+                            PageRequest.of(0, tamanhoLote));
+                    total[0] += efetivar(lidos);
+                    return lidos;
+                });
+                if(lote.isEmpty()) {
+                    break;
+                }
+                DueLaunch ultimo = lote.get(lote.size() - 1);
+                vencimento = ultimo.getVencimento();
+                id = ultimo.getId();
+                if(lote.size() < tamanhoLote || !lease.adquirir(TAREFA)) {
+                    break;
+                }
+            }
+            if(total[0] > 0) {
+                log.info("{} lançamento(s) vencido(s) até {} efetivado(s).", total[0], ate);
+            }
+            return total[0];
+        } finally {
+            lease.liberar(TAREFA);
+        }
+    }
+
+    private int efetivar(List<DueLaunch> lote) {
+        if(lote.isEmpty()) {
+            return 0;
+        }
+        Set<Long> usuarios = lote.stream().map(DueLaunch::getUsuario).collect(Collectors.toCollection(LinkedHashSet::new));
+        repository.avancarSequencias(usuarios);
+        // um lançamento alterado por outra requisição desde a busca não é mais pendente e fica de fora
+        int efetivados = repository.atualizarStatusComSequencia(lote.stream().map(DueLaunch::getId).collect(Collectors.toList()),
+                LaunchStatus.PENDENTE, LaunchStatus.EFETIVADO);
+        usuarios.forEach(usuario -> publisher.publishEvent(LaunchEvent.lote(usuario)));
+        return efetivados;
+    }
+
+}
@@ -1,44 +1,179 @@
 package br.com.pedrodavi.financesapi.service.impl;
 
+import br.com.pedrodavi.financesapi.audit.LaunchSnapshot;
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
 import br.com.pedrodavi.financesapi.enums.LaunchStatus;
 import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.event.LaunchAuditEvent;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
 import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.index.LaunchDedupIndex;
+import br.com.pedrodavi.financesapi.index.LaunchTagIndex;
+import br.com.pedrodavi.financesapi.model.BudgetImpact;
+import br.com.pedrodavi.financesapi.model.ImportResult;
 import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.MonthlyBalance;
+import br.com.pedrodavi.financesapi.model.TagFilter;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.profiling.ServiceCallEvent;
 import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchSpecifications;
+import br.com.pedrodavi.financesapi.repository.projection.BalanceTotal;
+import br.com.pedrodavi.financesapi.repository.projection.PeriodBalance;
+import br.com.pedrodavi.financesapi.service.BudgetService;
 import br.com.pedrodavi.financesapi.service.LaunchService;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
+import br.com.pedrodavi.financesapi.service.TagService;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class LaunchServiceImpl implements LaunchService {
 
+    static final int MAXIMO_MESES_EVOLUCAO = 1200;
+    static final int MAXIMO_IDS_CONSULTA = 1000;
+
     private LaunchRepository repository;
+    private ApplicationEventPublisher publisher;
+    private LaunchTagIndex indice;
+    private TagService tagService;
+    private ExchangeRates cambio;
+    private BudgetService orcamentoService;
+    private LaunchDedupIndex deduplicacao;
 
-    public LaunchServiceImpl(LaunchRepository repository) {
+    public LaunchServiceImpl(LaunchRepository repository, ApplicationEventPublisher publisher,
+                             LaunchTagIndex indice, TagService tagService, ExchangeRates cambio,
+                             BudgetService orcamentoService, LaunchDedupIndex deduplicacao) {
         this.repository = repository;
+        this.publisher = publisher;
+        this.indice = indice;
+        this.tagService = tagService;
+        this.cambio = cambio;
+        this.orcamentoService = orcamentoService;
+        this.deduplicacao = deduplicacao;
     }
 
     @Override
     @Transactional
     public Launch salvar(Launch lancamento) {
-        validar(lancamento);
+        validarRegistrando(lancamento);
+        definirMoeda(lancamento);
         lancamento.setStatus(LaunchStatus.PENDENTE);
-        return repository.save(lancamento);
+        lancamento.setSequencia(repository.proximaSequencia(lancamento.getUsuario().getId()));
+        Launch salvo = repository.save(lancamento);
+        orcamentoService.aplicar(null, orcamentoService.impacto(salvo));
+        publisher.publishEvent(LaunchEvent.of(LaunchEventType.CRIADO, salvo));
+        publisher.publishEvent(LaunchAuditEvent.of(LaunchEventType.CRIADO, null, salvo));
+        return salvo;
     }
 
     @Override
     @Transactional
     public Launch atualizar(Launch lancamento) {
         Objects.requireNonNull(lancamento.getId());
-        validar(lancamento);
-        return repository.save(lancamento);
+        Optional<Launch> existente = repository.findById(lancamento.getId());
+        BudgetImpact anterior = existente.map(orcamentoService::impacto).orElse(null);
+        LaunchSnapshot antes = existente.map(LaunchSnapshot::of).orElse(null);
+        Launch salvo = atualizar(lancamento, anterior);
+        publisher.publishEvent(LaunchAuditEvent.of(LaunchEventType.ATUALIZADO, antes, salvo));
+        return salvo;
+    }
+
+    @Override
+    @Transactional
+    public Launch salvar(Launch lancamento, Collection<String> tags) {
+        definirTags(lancamento, tags);
+        return salvar(lancamento);
+    }
+
+    @Override
+    @Transactional
+    public Launch atualizar(Launch lancamento, Collection<String> tags) {
+        definirTags(lancamento, tags);
+        return atualizar(lancamento);
+    }
+
+    private void definirTags(Launch lancamento, Collection<String> tags) {
+        if(tags != null) {
+            // um lançamento recusado não deixa tags novas para trás
+            validar(lancamento);
+            lancamento.setTags(tagService.obterOuCriar(lancamento.getUsuario(), tags));
+        }
+    }
+
+    private Launch atualizar(Launch lancamento, BudgetImpact anterior) {
+        validarRegistrando(lancamento);
+        definirMoeda(lancamento);
+        lancamento.setSequencia(repository.proximaSequencia(lancamento.getUsuario().getId()));
+        Launch salvo = repository.save(lancamento);
+        orcamentoService.aplicar(anterior, orcamentoService.impacto(salvo));
+        publisher.publishEvent(LaunchEvent.of(LaunchEventType.ATUALIZADO, salvo));
+        return salvo;
+    }
+
+    @Override
+    @Transactional
+    public ImportResult importar(List<Launch> lancamentos) {
+        return importar(lancamentos, true);
+    }
+
+    @Override
+    @Transactional
+    public ImportResult importar(List<Launch> lancamentos, boolean avisar) {
+        if(lancamentos.isEmpty()) {
+            return new ImportResult(0, 0);
+        }
+        Long idUsuario = lancamentos.get(0).getUsuario() == null ? null : lancamentos.get(0).getUsuario().getId();
+        for(Launch lancamento : lancamentos) {
+            validarRegistrando(lancamento);
+            if(!lancamento.getUsuario().getId().equals(idUsuario)) {
+                throw new BusinessRuleException("Todos os lançamentos importados devem ser do mesmo Usuário.");
+            }
+            definirMoeda(lancamento);
+            lancamento.setStatus(LaunchStatus.PENDENTE);
+            if(lancamento.getDataCadastro() == null) {
+                lancamento.setDataCadastro(LocalDate.now());
+            }
+        }
+
+        List<Launch> novos = deduplicacao.filtrarNovos(idUsuario, lancamentos);
+        if(!novos.isEmpty()) {
+            long sequencia = repository.proximaSequencia(idUsuario);
+            novos.forEach(lancamento -> lancamento.setSequencia(sequencia));
+            try {
+                repository.inserirEmLote(novos);
+            } catch (DataIntegrityViolationException e) {
+                // outra importação gravou o mesmo conteúdo depois que o filtro foi carregado
+                deduplicacao.invalidar(idUsuario);
+                throw new BusinessRuleException("Lançamentos importados ao mesmo tempo por outra requisição. Tente novamente.");
+            }
+            orcamentoService.aplicarTodos(novos.stream().map(orcamentoService::impacto).collect(Collectors.toList()));
+            if(avisar) {
+                publisher.publishEvent(LaunchEvent.lote(idUsuario));
+            }
+        }
+        return new ImportResult(novos.size(), lancamentos.size() - novos.size());
     }
 
     @Override
@@ -46,23 +181,112 @@ public class LaunchServiceImpl implements LaunchService {
     public void deletar(Launch lancamento) {
         Objects.requireNonNull(lancamento.getId());
         repository.delete(lancamento);
+        repository.registrarRemocao(lancamento, repository.proximaSequencia(lancamento.getUsuario().getId()));
+        orcamentoService.aplicar(orcamentoService.impacto(lancamento), null);
+        publisher.publishEvent(LaunchEvent.of(LaunchEventType.REMOVIDO, lancamento));
+        publisher.publishEvent(LaunchAuditEvent.of(LaunchEventType.REMOVIDO, LaunchSnapshot.of(lancamento), lancamento));
     }
 
     @Override
     @Transactional
-    public List<Launch> buscar(Launch lancamentoFiltro) {
-        Example example = Example.of( lancamentoFiltro,
-                ExampleMatcher.matching()
-                        .withIgnoreCase()
-                        .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING) );
+    public List<Launch> buscar(LaunchFilter filtro) {
+        validar(filtro);
+        Specification<Launch> especificacao = LaunchSpecifications.de(filtro);
+        Sort ordenacao = LaunchSpecifications.ordenacao(filtro.getOrdem());
+
+        TagFilter tags = filtro.getTags();
+        if(tags != null && !tags.isVazio()) {
+            TagFilter normalizado = TagFilter.builder()
+                    .todas(normalizar(tags.getTodas()))
+                    .alguma(normalizar(tags.getAlguma()))
+                    .nenhuma(normalizar(tags.getNenhuma()))
+                    .build();
+            // o índice filtra tipo e status só quando há um único valor; o resto fica no SQL
+            Roaring64NavigableMap ids = indice.consultar(filtro.getUsuario(),
+                    unico(filtro.getTipos()), unico(filtro.getStatus()), normalizado);
+            if(ids.isEmpty()) {
+                return Collections.emptyList();
+            }
+            if(ids.getLongCardinality() > MAXIMO_IDS_CONSULTA) {
+                // acima disso o in pesa mais que refazer o filtro no banco
+                return repository.findAll(especificacao.and(LaunchSpecifications.comTags(normalizado)), ordenacao);
+            }
+
+            List<Long> lista = new ArrayList<>((int) ids.getLongCardinality());
+            LongIterator iterator = ids.getLongIterator();
+            while (iterator.hasNext()) {
+                lista.add(iterator.next());
+            }
+            especificacao = especificacao.and(LaunchSpecifications.comIds(lista));
+        }
+
+        return repository.findAll(especificacao, ordenacao);
+    }
+
+    private void validar(LaunchFilter filtro) {
+        if(filtro.getUsuario() == null) {
+            throw new BusinessRuleException("Informe um Usuário.");
+        }
+        if(filtro.getPeriodoInicial() != null && filtro.getPeriodoFinal() != null
+                && filtro.getPeriodoInicial().isAfter(filtro.getPeriodoFinal())) {
+            throw new BusinessRuleException("O período inicial deve ser anterior ao final.");
+        }
+        if(filtro.getCadastroInicial() != null && filtro.getCadastroFinal() != null
+                && filtro.getCadastroInicial().isAfter(filtro.getCadastroFinal())) {
+            throw new BusinessRuleException("A data de cadastro inicial deve ser anterior à final.");
+        }
+        if(filtro.getValorMinimo() != null && filtro.getValorMaximo() != null
+                && filtro.getValorMinimo().compareTo(filtro.getValorMaximo()) > 0) {
+            throw new BusinessRuleException("O valor mínimo deve ser menor que o máximo.");
+        }
+    }
 
-        return repository.findAll(example);
+    private static <T> T unico(Set<T> valores) {
+        return valores != null && valores.size() == 1 ? valores.iterator().next() : null;
+    }
+
+    private void definirMoeda(Launch lancamento) {
+        if(lancamento.getMoeda() == null) {
+            lancamento.setMoeda(cambio.moedaBase(lancamento.getUsuario()));
+        }
+    }
+
+    private List<String> normalizar(List<String> nomes) {
+        if(nomes == null) {
+            return Collections.emptyList();
+        }
+        return nomes.stream().map(tagService::normalizar).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public void atualizarStatus(Launch lancamento, LaunchStatus status) {
+        Objects.requireNonNull(lancamento.getId());
+        // o lançamento recebido costuma ser a própria entidade gerenciada: captura antes de alterar
+        BudgetImpact anterior = orcamentoService.impacto(lancamento);
+        LaunchSnapshot antes = LaunchSnapshot.of(lancamento);
         lancamento.setStatus(status);
-        atualizar(lancamento);
+        atualizar(lancamento, anterior);
+        publisher.publishEvent(LaunchEvent.of(LaunchEventType.STATUS_ATUALIZADO, lancamento));
+        publisher.publishEvent(LaunchAuditEvent.of(LaunchEventType.STATUS_ATUALIZADO, antes, lancamento));
+    }
+
+    /**
+     * Chamadas internas não passam pelo proxy dos eventos de JFR; o evento aqui separa o tempo
+     * da validação do resto da operação.
+     */
+    private void validarRegistrando(Launch lancamento) {
+        ServiceCallEvent evento = new ServiceCallEvent();
+        evento.begin();
+        try {
+            validar(lancamento);
+        } catch (BusinessRuleException e) {
+            evento.falhou();
+            throw e;
+        } finally {
+            User usuario = lancamento.getUsuario();
+            evento.registrar("LaunchServiceImpl.validar", usuario == null || usuario.getId() == null ? -1L : usuario.getId(), -1);
+        }
     }
 
     @Override
@@ -84,7 +308,7 @@ public class LaunchServiceImpl implements LaunchService {
             throw new BusinessRuleException("Informe um Usuário.");
         }
 
-        if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1 ) {
+        if(lancamento.getValor() == null || !lancamento.getValor().isPositive() ) {
             throw new BusinessRuleException("Informe um Valor válido.");
         }
 
@@ -92,6 +316,10 @@ public class LaunchServiceImpl implements LaunchService {
             throw new BusinessRuleException("Informe um tipo de Lançamento.");
         }
 
+        if(lancamento.getMoeda() != null && !cambio.suporta(lancamento.getMoeda())) {
+            throw new BusinessRuleException("Moeda não suportada: " + lancamento.getMoeda() + ".");
+        }
+
     }
 
     @Override
@@ -101,21 +329,60 @@ public class LaunchServiceImpl implements LaunchService {
 
     @Override
     @Transactional
-    public BigDecimal obterSaldoPorUsuario(Long id) {
+    public Money obterSaldoPorUsuario(Long id) {
 
-        BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, ReleaseType.RECEITA, LaunchStatus.EFETIVADO);
-        BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, ReleaseType.DESPESA, LaunchStatus.EFETIVADO);
-
-        if(receitas == null) {
-            receitas = BigDecimal.ZERO;
+        // uma linha por moeda e tipo: a conversão acontece uma vez por grupo, não por lançamento
+        Money saldo = Money.ZERO;
+        for(BalanceTotal total : repository.obterSaldosPorMoeda(id, LaunchStatus.EFETIVADO)) {
+            Money valor = cambio.converter(total.getTotal(), total.getMoeda(), total.getMoedaBase());
+            saldo = total.getTipo() == ReleaseType.RECEITA ? saldo.plus(valor) : saldo.minus(valor);
         }
+        return saldo;
 
-        if(despesas == null) {
-            despesas = BigDecimal.ZERO;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MonthlyBalance> obterEvolucaoSaldo(Long idUsuario, YearMonth inicio, YearMonth fim) {
+        if(idUsuario == null) {
+            throw new BusinessRuleException("Informe um Usuário.");
+        }
+        if(inicio == null || fim == null || inicio.isAfter(fim)) {
+            throw new BusinessRuleException("Informe um período inicial anterior ao final.");
+        }
+        int primeiro = inicio.getYear() * 12 + inicio.getMonthValue();
+        int meses = fim.getYear() * 12 + fim.getMonthValue() - primeiro + 1;
+        if(meses > MAXIMO_MESES_EVOLUCAO) {
+            throw new BusinessRuleException("Informe um período de até " + MAXIMO_MESES_EVOLUCAO + " meses.");
         }
 
-        return receitas.subtract(despesas);
+        // variação de cada mês; o que vem antes do início entra no primeiro mês
+        Money[] efetivo = new Money[meses];
+        Money[] projetado = new Money[meses];
+        Arrays.fill(efetivo, Money.ZERO);
+        Arrays.fill(projetado, Money.ZERO);
+        for(PeriodBalance total : repository.obterSaldosMensais(idUsuario, fim.getYear(), fim.getMonthValue(),
+                EnumSet.of(LaunchStatus.EFETIVADO, LaunchStatus.PENDENTE))) {
+            Money valor = cambio.converter(total.getTotal(), total.getMoeda(), total.getMoedaBase());
+            if(total.getTipo() == ReleaseType.DESPESA) {
+                valor = valor.negate();
+            }
+            int i = Math.max(0, total.getAno() * 12 + total.getMes() - primeiro);
+            projetado[i] = projetado[i].plus(valor);
+            if(total.getStatus() == LaunchStatus.EFETIVADO) {
+                efetivo[i] = efetivo[i].plus(valor);
+            }
+        }
 
+        List<MonthlyBalance> evolucao = new ArrayList<>(meses);
+        Money acumuladoEfetivo = Money.ZERO;
+        Money acumuladoProjetado = Money.ZERO;
+        for(int i = 0; i < meses; i++) {
+            acumuladoEfetivo = acumuladoEfetivo.plus(efetivo[i]);
+            acumuladoProjetado = acumuladoProjetado.plus(projetado[i]);
+            evolucao.add(new MonthlyBalance(inicio.plusMonths(i), acumuladoEfetivo, acumuladoProjetado));
+        }
+        return evolucao;
     }
 
 }
@@ -0,0 +1,235 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.event.BudgetAlertEvent;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.service.LaunchService;
+import br.com.pedrodavi.financesapi.service.LaunchStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantém as conexões SSE por usuário. As conexões ociosas não ocupam thread (async do
+ * servlet); a escrita é feita por um pool pequeno que drena a fila limitada de cada
+ * conexão. Conexões que não acompanham o ritmo (fila cheia) são encerradas e o cliente
+ * reconecta e recarrega o estado. Cada mensagem é serializada uma única vez, independente
+ * do número de inscritos.
+ */
+@Slf4j
+@Service
+public class LaunchStreamServiceImpl implements LaunchStreamService {
+
+    private static final Mensagem PING = new Mensagem(null, "ping");
+
+    private final LaunchService lancamentoService;
+    private final ObjectMapper mapper;
+    private final long timeout;
+    private final int capacidadeFila;
+    private final ExecutorService executor;
+
+    private final Map<Long, Set<Inscrito>> inscritos = new ConcurrentHashMap<>();
+    private final AtomicInteger quantidade = new AtomicInteger();
+
+    public LaunchStreamServiceImpl(
+            LaunchService lancamentoService,
+            ObjectMapper mapper,
+            @Value("${finances.sse.timeout-ms:1800000}") long timeout,
+            @Value("${finances.sse.buffer-size:64}") int capacidadeFila,
+            @Value("${finances.sse.threads:4}") int threads) {
+        this.lancamentoService = lancamentoService;
+        this.mapper = mapper;
+        this.timeout = timeout;
+        this.capacidadeFila = capacidadeFila;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(10_000), r -> {
+                    Thread thread = new Thread(r, "sse-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public SseEmitter inscrever(Long idUsuario) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Inscrito inscrito = new Inscrito(idUsuario, emitter, new ArrayBlockingQueue<>(capacidadeFila));
+
+        inscritos.computeIfAbsent(idUsuario, id -> new CopyOnWriteArraySet<>()).add(inscrito);
+        quantidade.incrementAndGet();
+
+        emitter.onCompletion(() -> remover(inscrito));
+        emitter.onTimeout(() -> remover(inscrito));
+        emitter.onError(e -> remover(inscrito));
+
+        enviarSaldo(idUsuario, Set.of(inscrito));
+        return emitter;
+    }
+
+    @Override
+    public void publicar(Collection<LaunchEvent> eventos) {
+        Set<Long> usuarios = new LinkedHashSet<>();
+        for(LaunchEvent evento : eventos) {
+            Set<Inscrito> destino = inscritos.get(evento.getUsuario());
+            if(destino == null || destino.isEmpty()) {
+                continue;
+            }
+            Mensagem mensagem = new Mensagem("lancamento", json(evento));
+            destino.forEach(inscrito -> inscrito.enfileirar(mensagem));
+            usuarios.add(evento.getUsuario());
+        }
+
+        for(Long idUsuario : usuarios) {
+            executar(() -> enviarSaldo(idUsuario, inscritos.getOrDefault(idUsuario, Set.of())));
+        }
+    }
+
+    @Override
+    public void alertar(BudgetAlertEvent alerta) {
+        Set<Inscrito> destino = inscritos.get(alerta.getUsuario());
+        if(destino == null || destino.isEmpty()) {
+            return;
+        }
+        Mensagem mensagem = new Mensagem("orcamento", json(alerta));
+        destino.forEach(inscrito -> inscrito.enfileirar(mensagem));
+    }
+
+    @Override
+    public int quantidadeInscritos() {
+        return quantidade.get();
+    }
+
+    @Scheduled(fixedDelayString = "${finances.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        inscritos.values().forEach(destino -> destino.forEach(inscrito -> inscrito.enfileirar(PING)));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+        inscritos.values().forEach(destino -> destino.forEach(inscrito -> inscrito.emitter.complete()));
+    }
+
+    private void enviarSaldo(Long idUsuario, Set<Inscrito> destino) {
+        if(destino.isEmpty()) {
+            return;
+        }
+        Money saldo = lancamentoService.obterSaldoPorUsuario(idUsuario);
+        Mensagem mensagem = new Mensagem("saldo", json(saldo));
+        destino.forEach(inscrito -> inscrito.enfileirar(mensagem));
+    }
+
+    private void remover(Inscrito inscrito) {
+        Set<Inscrito> destino = inscritos.get(inscrito.idUsuario);
+        if(destino != null && destino.remove(inscrito)) {
+            quantidade.decrementAndGet();
+            if(destino.isEmpty()) {
+                inscritos.remove(inscrito.idUsuario, destino);
+            }
+        }
+    }
+
+    private boolean executar(Runnable tarefa) {
+        try {
+            executor.execute(tarefa);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de envio SSE cheia, tarefa descartada.");
+            return false;
+        }
+    }
+
+    private String json(Object valor) {
+        try {
+            return mapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Mensagem {
+
+        private final String nome;
+        private final String dados;
+
+        private Mensagem(String nome, String dados) {
+            this.nome = nome;
+            this.dados = dados;
+        }
+
+        private SseEmitter.SseEventBuilder evento() {
+            if(nome == null) {
+                return SseEmitter.event().comment(dados);
+            }
+            return SseEmitter.event().name(nome).data(dados, MediaType.APPLICATION_JSON);
+        }
+
+    }
+
+    private final class Inscrito {
+
+        private final Long idUsuario;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Mensagem> fila;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        private Inscrito(Long idUsuario, SseEmitter emitter, BlockingQueue<Mensagem> fila) {
+            this.idUsuario = idUsuario;
+            this.emitter = emitter;
+            this.fila = fila;
+        }
+
+        private void enfileirar(Mensagem mensagem) {
+            if(!fila.offer(mensagem)) {
+                remover(this);
+                emitter.complete();
+                return;
+            }
+            if(agendado.compareAndSet(false, true) && !executar(this::drenar)) {
+                agendado.set(false);
+            }
+        }
+
+        private void drenar() {
+            try {
+                Mensagem mensagem;
+                while ((mensagem = fila.poll()) != null) {
+                    emitter.send(mensagem.evento());
+                }
+            } catch (IOException | IllegalStateException e) {
+                remover(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                agendado.set(false);
+            }
+            if(!fila.isEmpty() && agendado.compareAndSet(false, true) && !executar(this::drenar)) {
+                agendado.set(false);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.exception.ExpiredChangeTokenException;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchChanges;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchTombstoneRepository;
+import br.com.pedrodavi.financesapi.repository.projection.TombstoneHorizon;
+import br.com.pedrodavi.financesapi.service.LaunchSyncService;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sincronização incremental por sequência de alteração. Cada escrita em lançamentos recebe a
+ * próxima sequência do usuário ({@code LaunchRepositoryCustom.proximaSequencia}); o token é a
+ * posição {@code sequencia.id} do último lançamento entregue, ou só {@code sequencia} quando
+ * tudo até ela já foi entregue.
+ */
+@Service
+public class LaunchSyncServiceImpl implements LaunchSyncService {
+
+    static final int LIMITE_MAXIMO = 5000;
+
+    private final LaunchRepository repository;
+    private final LaunchTombstoneRepository remocaoRepository;
+    private final ShardRouter router;
+    private final int retencaoDias;
+
+    public LaunchSyncServiceImpl(LaunchRepository repository, LaunchTombstoneRepository remocaoRepository,
+                                 ShardRouter router, @Value("${finances.sync.retencao-dias:30}") int retencaoDias) {
+        this.repository = repository;
+        this.remocaoRepository = remocaoRepository;
+        this.router = router;
+        this.retencaoDias = retencaoDias;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LaunchChanges alteracoes(Long idUsuario, String token, int limite) {
+        if(idUsuario == null) {
+            throw new BusinessRuleException("Informe um Usuário.");
+        }
+        if(limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessRuleException("Informe um limite entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+
+        long[] posicao = token == null ? new long[] { -1L, Long.MAX_VALUE } : ler(token);
+        if(token != null && posicao[0] < repository.obterRemocoesExpiradas(idUsuario)) {
+            throw new ExpiredChangeTokenException("Token de sincronização expirado. Faça uma sincronização completa.");
+        }
+
+        // lido antes dos lançamentos: o que for confirmado depois fica para a próxima chamada
+        long horizonte = repository.obterSequencia(idUsuario);
+        List<Launch> alterados = repository.obterAlteracoes(idUsuario, posicao[0], posicao[1], horizonte,
+                PageRequest.of(0, limite + 1));
+
+        boolean temMais = alterados.size() > limite;
+        long ate = horizonte;
+        String proximo = Long.toString(horizonte);
+        if(temMais) {
+            alterados = alterados.subList(0, limite);
+            Launch ultimo = alterados.get(limite - 1);
+            ate = ultimo.getSequencia();
+            proximo = ultimo.getSequencia() + "." + ultimo.getId();
+        }
+
+        // sem token o cliente não tem nada local para remover
+        List<Long> removidos = token == null || ate <= posicao[0] ? Collections.emptyList()
+                : remocaoRepository.obterRemovidos(idUsuario, posicao[0], ate);
+        return new LaunchChanges(proximo, temMais, alterados, removidos);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${finances.sync.limpeza-ms:3600000}")
+    public int expurgar() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(retencaoDias);
+        return router.emTodos(shard -> expurgar(limite)).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int expurgar(LocalDateTime limite) {
+        for(TombstoneHorizon horizonte : remocaoRepository.obterExpirados(limite)) {
+            repository.expirarRemocoes(horizonte.getUsuario(), horizonte.getSequencia());
+        }
+        return remocaoRepository.removerExpirados(limite);
+    }
+
+    private static long[] ler(String token) {
+        try {
+            int ponto = token.indexOf('.');
+            if(ponto < 0) {
+                return new long[] { Long.parseLong(token), Long.MAX_VALUE };
+            }
+            return new long[] { Long.parseLong(token.substring(0, ponto)), Long.parseLong(token.substring(ponto + 1)) };
+        } catch (NumberFormatException e) {
+            throw new BusinessRuleException("Token de sincronização inválido.");
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Recurrence;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.RecurrenceRepository;
+import br.com.pedrodavi.financesapi.service.BudgetService;
+import br.com.pedrodavi.financesapi.service.LaunchService;
+import br.com.pedrodavi.financesapi.service.RecurrenceService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+public class RecurrenceServiceImpl implements RecurrenceService {
+
+    static final int MAXIMO_OCORRENCIAS = 600;
+
+    private RecurrenceRepository repository;
+    private LaunchRepository lancamentoRepository;
+    private LaunchService lancamentoService;
+    private ApplicationEventPublisher publisher;
+    private ExchangeRates cambio;
+    private BudgetService orcamentoService;
+
+    public RecurrenceServiceImpl(RecurrenceRepository repository, LaunchRepository lancamentoRepository,
+                                 LaunchService lancamentoService, ApplicationEventPublisher publisher,
+                                 ExchangeRates cambio, BudgetService orcamentoService) {
+        this.repository = repository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.lancamentoService = lancamentoService;
+        this.publisher = publisher;
+        this.cambio = cambio;
+        this.orcamentoService = orcamentoService;
+    }
+
+    @Override
+    @Transactional
+    public Recurrence salvar(Recurrence recorrencia) {
+        if(recorrencia.getValorTotal() != null) {
+            recorrencia.setParcelado(true);
+            if(recorrencia.getQuantidade() != null && recorrencia.getQuantidade() > 0) {
+                recorrencia.setValor(recorrencia.getValorTotal().dividir(recorrencia.getQuantidade())[0]);
+            }
+        }
+        validar(recorrencia);
+        if(recorrencia.getMoeda() == null) {
+            recorrencia.setMoeda(cambio.moedaBase(recorrencia.getUsuario()));
+        }
+        recorrencia.setDataCadastro(LocalDate.now());
+
+        Recurrence salva = repository.save(recorrencia);
+        List<Launch> ocorrencias = gerarOcorrencias(salva);
+        long sequencia = lancamentoRepository.proximaSequencia(salva.getUsuario().getId());
+        ocorrencias.forEach(ocorrencia -> ocorrencia.setSequencia(sequencia));
+        lancamentoRepository.inserirEmLote(ocorrencias);
+        orcamentoService.recalcular(salva.getUsuario().getId());
+        publisher.publishEvent(LaunchEvent.lote(salva.getUsuario().getId()));
+        return salva;
+    }
+
+    @Override
+    @Transactional
+    public int atualizar(Recurrence recorrencia, Integer mes, Integer ano) {
+        Objects.requireNonNull(recorrencia.getId());
+        validar(recorrencia);
+        repository.save(recorrencia);
+        long sequencia = lancamentoRepository.proximaSequencia(recorrencia.getUsuario().getId());
+        int atualizados = recorrencia.isParcelado()
+                ? lancamentoRepository.atualizarParcelasFuturas(recorrencia.getId(), periodo(mes, ano), LaunchStatus.PENDENTE,
+                        recorrencia.getDescricao(), recorrencia.getMoeda(), recorrencia.getTipo(), sequencia)
+                : lancamentoRepository.atualizarOcorrenciasFuturas(recorrencia.getId(), periodo(mes, ano), LaunchStatus.PENDENTE,
+                        recorrencia.getDescricao(), recorrencia.getValor(), recorrencia.getMoeda(), recorrencia.getTipo(), sequencia);
+        orcamentoService.recalcular(recorrencia.getUsuario().getId());
+        publisher.publishEvent(LaunchEvent.lote(recorrencia.getUsuario().getId()));
+        return atualizados;
+    }
+
+    @Override
+    @Transactional
+    public int cancelar(Recurrence recorrencia, Integer mes, Integer ano) {
+        Objects.requireNonNull(recorrencia.getId());
+        int cancelados = lancamentoRepository.atualizarStatusOcorrenciasFuturas(recorrencia.getId(), periodo(mes, ano),
+                LaunchStatus.PENDENTE, LaunchStatus.CANCELADO,
+                lancamentoRepository.proximaSequencia(recorrencia.getUsuario().getId()));
+        orcamentoService.recalcular(recorrencia.getUsuario().getId());
+        publisher.publishEvent(LaunchEvent.lote(recorrencia.getUsuario().getId()));
+        return cancelados;
+    }
+
+    @Override
+    public List<Launch> gerarOcorrencias(Recurrence recorrencia) {
+        int quantidade = recorrencia.getQuantidade();
+        Money[] valores = recorrencia.isParcelado() ? recorrencia.getValorTotal().dividir(quantidade) : null;
+        int inicio = recorrencia.getAnoInicio() * 12 + recorrencia.getMesInicio() - 1;
+
+        List<Launch> ocorrencias = new ArrayList<>(quantidade);
+        for(int i = 0; i < quantidade; i++) {
+            int periodo = inicio + i;
+            ocorrencias.add(Launch.builder()
+                    .descricao(recorrencia.getDescricao())
+                    .mes(periodo % 12 + 1)
+                    .ano(periodo / 12)
+                    .valor(valores == null ? recorrencia.getValor() : valores[i])
+                    .moeda(recorrencia.getMoeda())
+                    .tipo(recorrencia.getTipo())
+                    .status(LaunchStatus.PENDENTE)
+                    .usuario(recorrencia.getUsuario())
+                    .dataCadastro(recorrencia.getDataCadastro())
+                    .idRecorrencia(recorrencia.getId())
+                    .parcela(i + 1)
+                    .build());
+        }
+        return ocorrencias;
+    }
+
+    @Override
+    public void validar(Recurrence recorrencia) {
+
+        if(recorrencia.getQuantidade() == null || recorrencia.getQuantidade() < 1
+                || recorrencia.getQuantidade() > MAXIMO_OCORRENCIAS) {
+            throw new BusinessRuleException("Informe uma Quantidade de ocorrências entre 1 e " + MAXIMO_OCORRENCIAS + ".");
+        }
+
+        // as demais ocorrências só diferem no mês/ano, que é sempre válido quando o início é
+        Launch primeira = Launch.builder()
+                .descricao(recorrencia.getDescricao())
+                .mes(recorrencia.getMesInicio())
+                .ano(recorrencia.getAnoInicio())
+                .valor(recorrencia.getValor())
+                .moeda(recorrencia.getMoeda())
+                .tipo(recorrencia.getTipo())
+                .usuario(recorrencia.getUsuario())
+                .build();
+        lancamentoService.validar(primeira);
+
+        if(recorrencia.isParcelado() && recorrencia.getValorTotal().getCents() < recorrencia.getQuantidade()) {
+            throw new BusinessRuleException("Informe um Valor válido.");
+        }
+
+        int ultimoAno = (recorrencia.getAnoInicio() * 12 + recorrencia.getMesInicio() - 1 + recorrencia.getQuantidade() - 1) / 12;
+        if(ultimoAno > 9999) {
+            throw new BusinessRuleException("Informe um Ano válido.");
+        }
+
+    }
+
+    @Override
+    public Optional<Recurrence> obterPorId(Long id) {
+        return repository.findById(id);
+    }
+
+    /**
+     * Mês a partir do qual as ocorrências são alteradas; sem mês e ano, o atual. Só um dos dois
+     * é recusado: completar com o ano corrente poderia apontar para meses já passados.
+     */
+    private int periodo(Integer mes, Integer ano) {
+        if(mes == null && ano == null) {
+            LocalDate hoje = LocalDate.now();
+            return hoje.getYear() * 12 + hoje.getMonthValue();
+        }
+        if(mes == null || ano == null) {
+            throw new BusinessRuleException("Informe o Mês e o Ano juntos.");
+        }
+        if(mes < 1 || mes > 12) {
+            throw new BusinessRuleException("Informe um Mês válido.");
+        }
+        return ano * 12 + mes;
+    }
+
+}
@@ -0,0 +1,224 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.enums.ReportStatus;
+import br.com.pedrodavi.financesapi.event.UserDataVersions;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.ReportJob;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.DescriptionTotalDTO;
+import br.com.pedrodavi.financesapi.model.dto.MonthlyReportDTO;
+import br.com.pedrodavi.financesapi.model.dto.YearlyReportDTO;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.projection.DescriptionTotal;
+import br.com.pedrodavi.financesapi.repository.projection.MonthlyTotal;
+import br.com.pedrodavi.financesapi.service.ReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Relatórios anuais processados em um pool limitado. O resultado fica em cache pela chave
+ * (usuário, ano, versão dos dados); enquanto a versão do usuário não mudar, novas
+ * solicitações devolvem o mesmo job sem consultar o banco.
+ */
+@Slf4j
+@Service
+public class ReportServiceImpl implements ReportService {
+
+    private static final int MAIORES_DESCRICOES = 10;
+
+    private final LaunchRepository repository;
+    private final UserRepository usuarioRepository;
+    private final UserDataVersions versoes;
+    private final ExchangeRates cambio;
+    private final ExecutorService executor;
+
+    private final Map<String, ReportJob> porChave;
+    private final Map<String, ReportJob> porId;
+
+    public ReportServiceImpl(
+            LaunchRepository repository,
+            UserRepository usuarioRepository,
+            UserDataVersions versoes,
+            ExchangeRates cambio,
+            @Value("${finances.relatorios.threads:2}") int threads,
+            @Value("${finances.relatorios.fila:100}") int fila,
+            @Value("${finances.relatorios.cache:1000}") int tamanhoCache) {
+        this.repository = repository;
+        this.usuarioRepository = usuarioRepository;
+        this.versoes = versoes;
+        this.cambio = cambio;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), r -> {
+                    Thread thread = new Thread(r, "relatorio-anual");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.porChave = lru(tamanhoCache);
+        this.porId = lru(tamanhoCache);
+    }
+
+    @Override
+    public ReportJob solicitar(Long idUsuario, Integer ano) {
+        if(idUsuario == null) {
+            throw new BusinessRuleException("Informe um Usuário.");
+        }
+        if(ano == null || ano.toString().length() != 4) {
+            throw new BusinessRuleException("Informe um Ano válido.");
+        }
+
+        long versao = versoes.versao(idUsuario);
+        String chave = idUsuario + ":" + ano + ":" + versao;
+
+        ReportJob job;
+        synchronized (this) {
+            job = porChave.get(chave);
+            if(job != null && job.getStatus() != ReportStatus.ERRO) {
+                return job;
+            }
+            job = new ReportJob(idUsuario, ano, versao);
+            porChave.put(chave, job);
+            porId.put(job.getId(), job);
+        }
+
+        ReportJob novo = job;
+        try {
+            executor.execute(() -> processar(novo));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                porChave.remove(chave);
+                porId.remove(novo.getId());
+            }
+            throw new BusinessRuleException("Fila de relatórios cheia, tente novamente em instantes.");
+        }
+        return novo;
+    }
+
+    @Override
+    public synchronized Optional<ReportJob> obterPorId(String id) {
+        return Optional.ofNullable(porId.get(id));
+    }
+
+    @Override
+    public YearlyReportDTO gerar(Long idUsuario, Integer ano) {
+        User usuario = usuarioRepository.findById(idUsuario)
+                .orElseThrow( () -> new BusinessRuleException("Usuário não encontrado para o Id informado.") );
+        String moeda = cambio.moedaBase(usuario);
+
+        Money[] receitas = new Money[12];
+        Money[] despesas = new Money[12];
+        long[] quantidades = new long[12];
+        for(MonthlyTotal total : repository.obterTotaisMensais(idUsuario, ano, LaunchStatus.CANCELADO)) {
+            int i = total.getMes() - 1;
+            Money valor = cambio.converter(total.getTotal(), total.getMoeda(), moeda);
+            if(total.getTipo() == ReleaseType.RECEITA) {
+                receitas[i] = receitas[i] == null ? valor : receitas[i].plus(valor);
+            } else {
+                despesas[i] = despesas[i] == null ? valor : despesas[i].plus(valor);
+            }
+            quantidades[i] += total.getQuantidade();
+        }
+
+        Money totalReceitas = Money.ZERO;
+        Money totalDespesas = Money.ZERO;
+        List<MonthlyReportDTO> meses = new ArrayList<>(12);
+        for(int i = 0; i < 12; i++) {
+            Money receita = receitas[i] == null ? Money.ZERO : receitas[i];
+            Money despesa = despesas[i] == null ? Money.ZERO : despesas[i];
+            totalReceitas = totalReceitas.plus(receita);
+            totalDespesas = totalDespesas.plus(despesa);
+            meses.add(MonthlyReportDTO.builder()
+                    .mes(i + 1)
+                    .receitas(receita)
+                    .despesas(despesa)
+                    .saldo(receita.minus(despesa))
+                    .quantidade(quantidades[i])
+                    .build());
+        }
+
+        return YearlyReportDTO.builder()
+                .usuario(idUsuario)
+                .ano(ano)
+                .moeda(moeda)
+                .receitas(totalReceitas)
+                .despesas(totalDespesas)
+                .saldo(totalReceitas.minus(totalDespesas))
+                .meses(meses)
+                .maioresReceitas(maioresDescricoes(idUsuario, ano, ReleaseType.RECEITA, moeda))
+                .maioresDespesas(maioresDescricoes(idUsuario, ano, ReleaseType.DESPESA, moeda))
+                .build();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private void processar(ReportJob job) {
+        try {
+            job.concluir(gerar(job.getUsuario(), job.getAno()));
+        } catch (BusinessRuleException e) {
+            job.falhar(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Falha ao gerar relatório anual {}", job.getId(), e);
+            job.falhar("Não foi possível gerar o relatório.");
+        }
+    }
+
+    /**
+     * A mesma descrição pode aparecer em várias moedas, então o ranking só é montado depois
+     * de converter e somar os grupos retornados pelo banco.
+     */
+    private List<DescriptionTotalDTO> maioresDescricoes(Long idUsuario, Integer ano, ReleaseType tipo, String moeda) {
+        Map<String, DescriptionTotalDTO> porDescricao = new HashMap<>();
+        for(DescriptionTotal total : repository.obterTotaisPorDescricao(idUsuario, ano, tipo, LaunchStatus.CANCELADO)) {
+            Money valor = cambio.converter(total.getTotal(), total.getMoeda(), moeda);
+            porDescricao.merge(total.getDescricao(),
+                    DescriptionTotalDTO.builder()
+                            .descricao(total.getDescricao())
+                            .tipo(total.getTipo().name())
+                            .total(valor)
+                            .quantidade(total.getQuantidade())
+                            .build(),
+                    (atual, novo) -> {
+                        atual.setTotal(atual.getTotal().plus(novo.getTotal()));
+                        atual.setQuantidade(atual.getQuantidade() + novo.getQuantidade());
+                        return atual;
+                    });
+        }
+        return porDescricao.values().stream()
+                .sorted(Comparator.comparing(DescriptionTotalDTO::getTotal).reversed())
+                .limit(MAIORES_DESCRICOES)
+                .collect(Collectors.toList());
+    }
+
+    private static <V> Map<String, V> lru(int tamanho) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > tamanho;
+            }
+        };
+    }
+
+}
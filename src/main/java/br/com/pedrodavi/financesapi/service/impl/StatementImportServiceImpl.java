@@ -0,0 +1,234 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.enums.ImportStatus;
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.ImportError;
+import br.com.pedrodavi.financesapi.model.ImportJob;
+import br.com.pedrodavi.financesapi.model.ImportResult;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.service.LaunchService;
+import br.com.pedrodavi.financesapi.service.StatementImportService;
+import br.com.pedrodavi.financesapi.statement.StatementMapper;
+import br.com.pedrodavi.financesapi.statement.StatementReader;
+import br.com.pedrodavi.financesapi.statement.StatementRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação de extratos em pipeline: a thread da requisição lê o arquivo e monta lotes,
+ * um pool converte e valida os lotes em paralelo e a própria thread da requisição grava,
+ * na ordem do arquivo, um lote por transação. No máximo {@code threads * 2} lotes ficam em
+ * memória; com o pool ocupado a validação roda na thread da requisição, o que também
+ * segura a leitura. Os lotes não avisam os ouvintes um a um: um único {@link LaunchEvent} de
+ * lote é publicado ao final, mesmo quando a importação é interrompida.
+ */
+@Slf4j
+@Service
+public class StatementImportServiceImpl implements StatementImportService {
+
+    private final LaunchService lancamentoService;
+    private final ApplicationEventPublisher publisher;
+    private final ExecutorService executor;
+    private final int tamanhoLote;
+    private final int lotesEmVoo;
+    private final int maximoErros;
+    private final Map<String, ImportJob> porId;
+
+    public StatementImportServiceImpl(
+            LaunchService lancamentoService,
+            ApplicationEventPublisher publisher,
+            @Value("${finances.importacao.threads:2}") int threads,
+            @Value("${finances.importacao.lote:1000}") int tamanhoLote,
+            @Value("${finances.importacao.erros:1000}") int maximoErros,
+            @Value("${finances.importacao.cache:1000}") int tamanhoCache) {
+        this.lancamentoService = lancamentoService;
+        this.publisher = publisher;
+        this.tamanhoLote = tamanhoLote;
+        this.lotesEmVoo = threads * 2;
+        this.maximoErros = maximoErros;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4), r -> {
+                    Thread thread = new Thread(r, "importacao-extrato");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.porId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > tamanhoCache;
+            }
+        };
+    }
+
+    @Override
+    public ImportJob importar(User usuario, StatementFormat formato, InputStream entrada, Charset charset, String retomar) {
+        ImportJob job = iniciar(usuario.getId(), formato, retomar);
+        int importados = job.getImportados();
+        try(StatementReader leitor = StatementReader.de(formato, entrada, charset)) {
+            processar(job, usuario, leitor);
+            job.concluir();
+        } catch (BusinessRuleException e) {
+            job.interromper(e.getMessage());
+        } catch (IOException e) {
+            log.warn("Leitura do extrato interrompida na importação {}", job.getId(), e);
+            job.interromper("Leitura do arquivo interrompida. Envie o arquivo de novo informando a importação a retomar.");
+        } catch (RuntimeException e) {
+            log.error("Falha na importação {}", job.getId(), e);
+            job.interromper("Não foi possível concluir a importação. Envie o arquivo de novo informando a importação a retomar.");
+        }
+        if(job.getImportados() > importados) {
+            publisher.publishEvent(LaunchEvent.lote(usuario.getId()));
+        }
+        return job;
+    }
+
+    @Override
+    public synchronized Optional<ImportJob> obterPorId(String id) {
+        return Optional.ofNullable(porId.get(id));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private synchronized ImportJob iniciar(Long idUsuario, StatementFormat formato, String retomar) {
+        if(retomar == null) {
+            ImportJob job = new ImportJob(idUsuario, formato);
+            porId.put(job.getId(), job);
+            return job;
+        }
+
+        ImportJob job = porId.get(retomar);
+        if(job == null) {
+            throw new BusinessRuleException("Importação não encontrada para o Id informado.");
+        }
+        if(!job.getUsuario().equals(idUsuario) || job.getFormato() != formato) {
+            throw new BusinessRuleException("A importação informada é de outro usuário ou formato.");
+        }
+        if(job.getStatus() != ImportStatus.INTERROMPIDO) {
+            throw new BusinessRuleException("Só é possível retomar uma importação interrompida.");
+        }
+        job.retomar();
+        return job;
+    }
+
+    private void processar(ImportJob job, User usuario, StatementReader leitor) throws IOException {
+        int pular = job.getRegistrosConfirmados();
+        Deque<Future<Lote>> pendentes = new ArrayDeque<>();
+        // contadas desde o início do arquivo, também nos registros pulados, para que a
+        // ocorrência de cada registro seja a mesma ao retomar ou reenviar o arquivo
+        Map<String, Integer> ocorrencias = new HashMap<>();
+        try {
+            List<StatementRecord> registros = new ArrayList<>(tamanhoLote);
+            List<Integer> ordens = new ArrayList<>(tamanhoLote);
+            StatementRecord registro;
+            int lidos = 0;
+            while ((registro = leitor.proximo()) != null) {
+                int ocorrencia = ocorrencias.merge(chave(registro), 1, Integer::sum);
+                if(++lidos <= pular) {
+                    continue;
+                }
+                registros.add(registro);
+                ordens.add(ocorrencia);
+                if(registros.size() == tamanhoLote) {
+                    pendentes.add(submeter(registros, ordens, usuario));
+                    registros = new ArrayList<>(tamanhoLote);
+                    ordens = new ArrayList<>(tamanhoLote);
+                    if(pendentes.size() >= lotesEmVoo) {
+                        gravar(job, pendentes.poll());
+                    }
+                }
+            }
+            if(!registros.isEmpty()) {
+                pendentes.add(submeter(registros, ordens, usuario));
+            }
+            while (!pendentes.isEmpty()) {
+                gravar(job, pendentes.poll());
+            }
+        } finally {
+            pendentes.forEach(pendente -> pendente.cancel(true));
+        }
+    }
+
+    private static String chave(StatementRecord registro) {
+        return registro.getData() + "|" + registro.getValor() + "|" + registro.getDescricao() + "|" + registro.getTipo();
+    }
+
+    private Future<Lote> submeter(List<StatementRecord> registros, List<Integer> ordens, User usuario) {
+        return executor.submit(() -> validar(registros, ordens, usuario));
+    }
+
+    private Lote validar(List<StatementRecord> registros, List<Integer> ordens, User usuario) {
+        List<Launch> validos = new ArrayList<>(registros.size());
+        List<ImportError> erros = new ArrayList<>();
+        for(int i = 0; i < registros.size(); i++) {
+            StatementRecord registro = registros.get(i);
+            try {
+                Launch lancamento = StatementMapper.converter(registro, usuario, ordens.get(i));
+                lancamentoService.validar(lancamento);
+                validos.add(lancamento);
+            } catch (BusinessRuleException e) {
+                erros.add(new ImportError(registro.getLinha(), e.getMessage()));
+            }
+        }
+        return new Lote(registros.size(), validos, erros);
+    }
+
+    private void gravar(ImportJob job, Future<Lote> pendente) {
+        Lote lote;
+        try {
+            lote = pendente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new IllegalStateException(e.getCause());
+        }
+        ImportResult resultado = lote.validos.isEmpty()
+                ? new ImportResult(0, 0)
+                : lancamentoService.importar(lote.validos, false);
+        job.confirmar(lote.registros, resultado, lote.erros, maximoErros);
+    }
+
+    private static final class Lote {
+
+        private final int registros;
+        private final List<Launch> validos;
+        private final List<ImportError> erros;
+
+        private Lote(int registros, List<Launch> validos, List<ImportError> erros) {
+            this.registros = registros;
+            this.validos = validos;
+            this.erros = erros;
+        }
+
+    }
+
+}
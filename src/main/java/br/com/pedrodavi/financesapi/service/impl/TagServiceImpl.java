@@ -0,0 +1,61 @@
+package br.com.pedrodavi.financesapi.service.impl;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.TagRepository;
+import br.com.pedrodavi.financesapi.service.TagService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+public class TagServiceImpl implements TagService {
+
+    private static final int TAMANHO_MAXIMO = 50;
+
+    private TagRepository repository;
+
+    public TagServiceImpl(TagRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @Transactional
+    public Set<Tag> obterOuCriar(User usuario, Collection<String> nomes) {
+        Set<String> normalizados = new LinkedHashSet<>();
+        for(String nome : nomes) {
+            normalizados.add(normalizar(nome));
+        }
+        if(normalizados.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<Tag> tags = new HashSet<>(repository.findByUsuarioIdAndNomeIn(usuario.getId(), normalizados));
+        for(Tag tag : tags) {
+            normalizados.remove(tag.getNome());
+        }
+        for(String nome : normalizados) {
+            tags.add(repository.save(Tag.builder().nome(nome).usuario(usuario).build()));
+        }
+        return tags;
+    }
+
+    @Override
+    public String normalizar(String nome) {
+        if(nome == null || nome.trim().isEmpty()) {
+            throw new BusinessRuleException("Informe uma Tag válida.");
+        }
+        String normalizado = nome.trim().toLowerCase(Locale.ROOT);
+        if(normalizado.length() > TAMANHO_MAXIMO) {
+            throw new BusinessRuleException("A Tag deve ter no máximo " + TAMANHO_MAXIMO + " caracteres.");
+        }
+        return normalizado;
+    }
+
+}
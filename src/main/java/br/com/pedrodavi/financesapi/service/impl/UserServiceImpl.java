@@ -1,28 +1,71 @@
 package br.com.pedrodavi.financesapi.service.impl;
 
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
 import br.com.pedrodavi.financesapi.exception.AuthError;
 import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.index.EmailIndex;
+import br.com.pedrodavi.financesapi.invalidation.InvalidationBus;
+import br.com.pedrodavi.financesapi.invalidation.InvalidationMessage;
 import br.com.pedrodavi.financesapi.model.User;
 import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.service.BudgetService;
 import br.com.pedrodavi.financesapi.service.UserService;
+import br.com.pedrodavi.financesapi.sharding.ShardDirectory;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final String INDICE_EMAIL = "uk_usuario_email";
+
     private UserRepository repository;
+    private InvalidationBus invalidacao;
+    private ShardRouter router;
+    private ShardDirectory diretorio;
+    private EmailIndex emails;
+    private ExchangeRates cambio;
+    private BudgetService orcamentoService;
+    private ApplicationEventPublisher publisher;
 
-    public UserServiceImpl(UserRepository repository) {
+    public UserServiceImpl(UserRepository repository, InvalidationBus invalidacao,
+                           ShardRouter router, ShardDirectory diretorio, EmailIndex emails,
+                           ExchangeRates cambio, BudgetService orcamentoService,
+                           ApplicationEventPublisher publisher) {
         super();
         this.repository = repository;
+        this.invalidacao = invalidacao;
+        this.router = router;
+        this.diretorio = diretorio;
+        this.emails = emails;
+        this.cambio = cambio;
+        this.orcamentoService = orcamentoService;
+        this.publisher = publisher;
     }
 
     @Override
     public User autenticar(String email, String senha) {
-        Optional<User> usuario = repository.findByEmail(email);
+        String normalizado = EmailIndex.normalizar(email);
+        if(emails.certamenteAusente(normalizado)) {
+            throw new AuthError("Usuário não encontrado para o email informado.");
+        }
+
+        // login recente: a busca por id sai do cache de segundo nível
+        Optional<User> usuario = emails.idConhecido(normalizado)
+                .flatMap(repository::findById)
+                .filter(encontrado -> normalizado.equalsIgnoreCase(encontrado.getEmail()));
+        if(usuario.isEmpty()) {
+            usuario = diretorio.localizar(normalizado)
+                    .flatMap(shard -> router.executar(shard, () -> repository.findByEmailIgnoreCase(normalizado)));
+        }
 
         if(usuario.isEmpty()) {
             throw new AuthError("Usuário não encontrado para o email informado.");
@@ -32,24 +75,90 @@ public class UserServiceImpl implements UserService {
             throw new AuthError("Senha inválida.");
         }
 
+        emails.registrar(normalizado, usuario.get().getId());
         return usuario.get();
     }
 
+    /**
+     * Com o índice carregado, um email novo vai direto para o insert; quem barra um cadastro
+     * concorrente com o mesmo email é o índice único.
+     */
     @Override
     @Transactional
     public User salvarUsuario(User usuario) {
+        usuario.setEmail(EmailIndex.normalizar(usuario.getEmail()));
+        usuario.setMoeda(validarMoeda(usuario.getMoeda()));
         validarEmail(usuario.getEmail());
-        return repository.save(usuario);
+        if(!diretorio.registrar(usuario.getEmail(), router.shardDoUsuario(usuario))) {
+            throw new BusinessRuleException("Já existe um usuário cadastrado com este email.");
+        }
+        User salvo;
+        try {
+            salvo = repository.save(usuario);
+        } catch (DataIntegrityViolationException e) {
+            diretorio.remover(usuario.getEmail());
+            if(violouIndiceDeEmail(e)) {
+                throw new BusinessRuleException("Já existe um usuário cadastrado com este email.");
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            diretorio.remover(usuario.getEmail());
+            throw e;
+        }
+        invalidacao.publicar(InvalidationMessage.usuario(salvo.getId()));
+        return salvo;
+    }
+
+    @Override
+    @Transactional
+    public User atualizarMoeda(User usuario, String moeda) {
+        String validada = validarMoeda(moeda);
+        if(validada == null) {
+            throw new BusinessRuleException("Informe uma Moeda.");
+        }
+        usuario.setMoeda(validada);
+        User salvo = repository.save(usuario);
+        // gastos dos orçamentos e saldos em cache estão na moeda anterior
+        orcamentoService.recalcular(salvo.getId());
+        publisher.publishEvent(LaunchEvent.lote(salvo.getId()));
+        invalidacao.publicar(InvalidationMessage.usuario(salvo.getId()));
+        return salvo;
+    }
+
+    private String validarMoeda(String moeda) {
+        if(moeda == null) {
+            return null;
+        }
+        String normalizada = moeda.trim().toUpperCase();
+        if(!cambio.suporta(normalizada)) {
+            throw new BusinessRuleException("Moeda não suportada: " + moeda + ".");
+        }
+        return normalizada;
     }
 
     @Override
     public void validarEmail(String email) {
-        boolean existe = repository.existsByEmail(email);
+        String normalizado = EmailIndex.normalizar(email);
+        if(emails.certamenteAusente(normalizado)) {
+            return;
+        }
+        boolean existe = diretorio.localizar(normalizado)
+                .map(shard -> router.executar(shard, () -> repository.existsByEmailIgnoreCase(normalizado)))
+                .orElse(false);
         if(existe) {
             throw new BusinessRuleException("Já existe um usuário cadastrado com este email.");
         }
     }
 
+    private static boolean violouIndiceDeEmail(DataIntegrityViolationException e) {
+        for(Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if(causa instanceof ConstraintViolationException && ((ConstraintViolationException) causa).getConstraintName() != null) {
+                return ((ConstraintViolationException) causa).getConstraintName().toLowerCase(Locale.ROOT).contains(INDICE_EMAIL);
+            }
+        }
+        return e.getMessage() != null && e.getMessage().toLowerCase(Locale.ROOT).contains(INDICE_EMAIL);
+    }
+
     @Override
     public Optional<User> obterPorId(Long id) {
         return repository.findById(id);
@@ -0,0 +1,53 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import br.com.pedrodavi.financesapi.profiling.FlightRecorderInterceptor;
+import br.com.pedrodavi.financesapi.profiling.RepositoryCallEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Repositórios JPA com o {@link ShardRoutingInterceptor} à frente da transação, quando há mais
+ * de um shard. Com um só, ou sem roteador (testes {@code @DataJpaTest}), os repositórios ficam
+ * como os do Spring Data. Com {@code finances.jfr.eventos}, cada chamada também gera um
+ * {@link RepositoryCallEvent}, medido por fora de tudo.
+ */
+public class ShardAwareRepositoryFactoryBean<T extends Repository<S, ID>, S, ID> extends JpaRepositoryFactoryBean<T, S, ID> {
+
+    private ShardRouter router;
+
+    private boolean eventos = true;
+
+    public ShardAwareRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+        super(repositoryInterface);
+    }
+
+    @Autowired(required = false)
+    public void setRouter(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Value("${finances.jfr.eventos:true}")
+    public void setEventos(boolean eventos) {
+        this.eventos = eventos;
+    }
+
+    @Override
+    protected RepositoryFactorySupport createRepositoryFactory(EntityManager entityManager) {
+        RepositoryFactorySupport factory = super.createRepositoryFactory(entityManager);
+        if(eventos) {
+            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                    new FlightRecorderInterceptor(RepositoryCallEvent::new, repositoryInformation.getRepositoryInterface())));
+        }
+        if(router != null && router.isParticionado()) {
+            ShardRoutingInterceptor interceptor = new ShardRoutingInterceptor(router);
+            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(interceptor));
+        }
+        return factory;
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+/**
+ * Shard da thread atual. O {@code atual} é o que o {@link ShardRoutingDataSource} usa ao abrir
+ * uma conexão e continua valendo depois da operação que o definiu, para que carregamentos lazy
+ * fora da transação caiam no mesmo banco; o {@link ShardContextFilter} o limpa ao fim da
+ * requisição. O {@code vinculado} é o shard da transação em andamento.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> VINCULADO = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static Integer atual() {
+        return ATUAL.get();
+    }
+
+    static void definir(Integer shard) {
+        if(shard == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(shard);
+        }
+    }
+
+    static Integer vinculado() {
+        return VINCULADO.get();
+    }
+
+    static void vincular(Integer shard) {
+        if(shard == null) {
+            VINCULADO.remove();
+        } else {
+            VINCULADO.set(shard);
+        }
+    }
+
+    static void limpar() {
+        ATUAL.remove();
+        VINCULADO.remove();
+    }
+
+}
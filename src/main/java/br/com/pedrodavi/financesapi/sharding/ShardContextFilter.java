@@ -0,0 +1,27 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Limpa o shard da thread ao fim da requisição, para que a próxima requisição atendida pela
+ * mesma thread não herde o banco da anterior.
+ */
+public class ShardContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ShardContext.limpar();
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import br.com.pedrodavi.financesapi.model.ShardDirectoryEntry;
+import br.com.pedrodavi.financesapi.repository.ShardDirectoryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Diretório email → shard, gravado no shard principal em transação própria (a do chamador está
+ * no shard do usuário). Com um só shard não há diretório: todo email está no principal.
+ */
+@Component
+public class ShardDirectory {
+
+    private final ShardRouter router;
+    private final ShardDirectoryRepository repository;
+    private final TransactionTemplate transacao;
+
+    public ShardDirectory(ShardRouter router, ShardDirectoryRepository repository,
+                          PlatformTransactionManager transactionManager) {
+        this.router = router;
+        this.repository = repository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Optional<Integer> localizar(String email) {
+        if(!router.isParticionado()) {
+            return Optional.of(ShardRouter.PRINCIPAL);
+        }
+        if(email == null) {
+            return Optional.empty();
+        }
+        return router.executar(ShardRouter.PRINCIPAL,
+                () -> transacao.execute(status -> repository.findById(email).map(ShardDirectoryEntry::getShard)));
+    }
+
+    /**
+     * Reserva o email para o shard. Retorna {@code false}, sem alterar nada, se o email já
+     * estiver no diretório.
+     */
+    public boolean registrar(String email, int shard) {
+        if(!router.isParticionado()) {
+            return true;
+        }
+        return router.executar(ShardRouter.PRINCIPAL, () -> transacao.execute(status -> {
+            if(repository.existsById(email)) {
+                return false;
+            }
+            repository.save(new ShardDirectoryEntry(email, shard));
+            return true;
+        }));
+    }
+
+    public void remover(String email) {
+        if(router.isParticionado()) {
+            router.executar(ShardRouter.PRINCIPAL, () -> transacao.execute(status -> {
+                repository.findById(email).ifPresent(repository::delete);
+                return null;
+            }));
+        }
+    }
+
+}
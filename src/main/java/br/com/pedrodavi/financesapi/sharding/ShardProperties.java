@@ -0,0 +1,39 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bancos de cada shard ({@code finances.shards.fontes[n].*}), na ordem do número do shard.
+ * Com {@code habilitado=false} (o padrão) a aplicação usa só o {@code spring.datasource}.
+ * A ordem não pode mudar depois que houver dados: o shard faz parte dos ids gerados.
+ */
+@Data
+@Component
+@ConfigurationProperties("finances.shards")
+public class ShardProperties {
+
+    private boolean habilitado = false;
+
+    private List<Fonte> fontes = new ArrayList<>();
+
+    public int quantidade() {
+        return habilitado ? fontes.size() : 1;
+    }
+
+    @Data
+    public static class Fonte {
+
+        private String url;
+
+        private String usuario;
+
+        private String senha;
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import br.com.pedrodavi.financesapi.model.User;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Roteamento por usuário. Um usuário novo vai para o shard do hash do seu email; o banco desse
+ * shard gera ids a partir de {@link #primeiroId(int)}, então o id do usuário, e o de tudo que é
+ * dele, carrega o shard nos bits altos e é roteado sem consulta ao diretório. Com 47 bits por
+ * shard e até {@value #MAXIMO_SHARDS} shards os ids ficam abaixo de 2^53 e continuam exatos no
+ * JavaScript.
+ */
+@Component
+public class ShardRouter {
+
+    public static final int BITS_POR_SHARD = 47;
+    public static final int MAXIMO_SHARDS = 64;
+
+    /** Shard do diretório de emails e dos dados anteriores ao particionamento. */
+    public static final int PRINCIPAL = 0;
+
+    private final int quantidade;
+    private final TransactionTemplate transacao;
+    private final ExecutorService executor;
+
+    public ShardRouter(ShardProperties propriedades, PlatformTransactionManager transactionManager) {
+        this.quantidade = propriedades.quantidade();
+        if(quantidade < 1 || quantidade > MAXIMO_SHARDS) {
+            throw new IllegalStateException("Quantidade de shards inválida: " + quantidade);
+        }
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = quantidade == 1 ? null : Executors.newFixedThreadPool(quantidade, r -> {
+            Thread thread = new Thread(r, "shard-consulta");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int quantidade() {
+        return quantidade;
+    }
+
+    public boolean isParticionado() {
+        return quantidade > 1;
+    }
+
+    public static long primeiroId(int shard) {
+        return ((long) shard << BITS_POR_SHARD) + 1L;
+    }
+
+    public int shardDoId(long id) {
+        int shard = (int) (id >>> BITS_POR_SHARD);
+        if(shard >= quantidade) {
+            throw new IllegalArgumentException("Id fora dos shards configurados: " + id);
+        }
+        return shard;
+    }
+
+    public int shardDoEmail(String email) {
+        if(quantidade == 1) {
+            return PRINCIPAL;
+        }
+        int hash = email.trim().toLowerCase(Locale.ROOT).hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), quantidade);
+    }
+
+    public int shardDoUsuario(User usuario) {
+        return usuario.getId() != null ? shardDoId(usuario.getId()) : shardDoEmail(usuario.getEmail());
+    }
+
+    /**
+     * Executa {@code acao} com o shard informado, restaurando o anterior ao final. Uma transação
+     * aberta dentro da ação usa esse shard; uma já em andamento continua no dela.
+     */
+    public <T> T executar(int shard, Supplier<T> acao) {
+        Integer anterior = ShardContext.atual();
+        ShardContext.definir(shard);
+        try {
+            return acao.get();
+        } finally {
+            ShardContext.definir(anterior);
+        }
+    }
+
+    /**
+     * Scatter-gather para consultas administrativas: executa {@code consulta} em todos os shards,
+     * em paralelo e cada uma na sua transação, e devolve os resultados na ordem dos shards.
+     */
+    public <T> List<T> emTodos(Function<Integer, T> consulta) {
+        if(quantidade == 1) {
+            T resultado = executar(PRINCIPAL, () -> transacao.execute(status -> consulta.apply(PRINCIPAL)));
+            return Collections.singletonList(resultado);
+        }
+        List<CompletableFuture<T>> futuros = new ArrayList<>(quantidade);
+        for(int i = 0; i < quantidade; i++) {
+            int shard = i;
+            futuros.add(CompletableFuture.supplyAsync(() -> executar(shard,
+                    () -> transacao.execute(status -> consulta.apply(shard))), executor));
+        }
+        List<T> resultados = new ArrayList<>(quantidade);
+        try {
+            futuros.forEach(futuro -> resultados.add(futuro.join()));
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return resultados;
+    }
+
+    /**
+     * Define o shard de uma operação de repositório. Dentro de uma transação o primeiro shard
+     * usado fica vinculado a ela até o fim, e usar outro é erro: a conexão já foi aberta.
+     */
+    void vincular(int shard) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            Integer vinculado = ShardContext.vinculado();
+            if(vinculado == null) {
+                ShardContext.vincular(shard);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        ShardContext.vincular(null);
+                    }
+                });
+            } else if(vinculado != shard) {
+                throw new IllegalStateException("Operação no shard " + shard + " dentro de uma transação do shard " + vinculado + ".");
+            }
+        }
+        ShardContext.definir(shard);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+}
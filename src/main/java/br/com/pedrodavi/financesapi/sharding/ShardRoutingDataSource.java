@@ -0,0 +1,52 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escolhe o banco pelo shard da thread no momento em que a conexão física é aberta. A conexão
+ * é lazy: a transação começa sem ela e a abre no primeiro SQL, quando o repositório já definiu
+ * o shard.
+ */
+public class ShardRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private final List<DataSource> fontes;
+
+    public ShardRoutingDataSource(List<DataSource> fontes) {
+        this.fontes = List.copyOf(fontes);
+        Roteador roteador = new Roteador();
+        Map<Object, Object> alvos = new HashMap<>();
+        for(int i = 0; i < fontes.size(); i++) {
+            alvos.put(i, fontes.get(i));
+        }
+        roteador.setTargetDataSources(alvos);
+        roteador.setDefaultTargetDataSource(fontes.get(0));
+        roteador.setLenientFallback(false);
+        roteador.afterPropertiesSet();
+        setTargetDataSource(roteador);
+        afterPropertiesSet();
+    }
+
+    public DataSource fonte(int shard) {
+        return fontes.get(shard);
+    }
+
+    public int quantidade() {
+        return fontes.size();
+    }
+
+    private static class Roteador extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return ShardContext.atual();
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.UserOwnership;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Define o shard de cada chamada de repositório a partir dos argumentos: o id nos métodos por
+ * id ou, nos demais, o usuário dono da chamada ({@link UserOwnership}), pelo e-mail se ainda
+ * não tiver id. Chamadas sem nenhum deles, como as consultas por {@code Specification}, usam o
+ * shard já definido na thread.
+ */
+class ShardRoutingInterceptor implements MethodInterceptor {
+
+    private static final Set<String> POR_ID = Set.of("findById", "existsById", "deleteById", "getById", "getOne");
+
+    private final ShardRouter router;
+
+    ShardRoutingInterceptor(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Integer shard = inferir(invocation.getMethod(), invocation.getArguments());
+        if(shard != null) {
+            router.vincular(shard);
+        }
+        return invocation.proceed();
+    }
+
+    private Integer inferir(Method metodo, Object[] argumentos) {
+        if(argumentos.length == 0) {
+            return null;
+        }
+        if(POR_ID.contains(metodo.getName())) {
+            return argumentos[0] instanceof Long ? router.shardDoId((Long) argumentos[0]) : null;
+        }
+        Long usuario = UserOwnership.daChamada(metodo, argumentos);
+        if(usuario != null) {
+            return router.shardDoId(usuario);
+        }
+        // um usuário ainda sem id, no cadastro, vai para o shard do e-mail
+        for(Object argumento : argumentos) {
+            Object entidade = UserOwnership.entidade(argumento);
+            if(entidade instanceof User && ((User) entidade).getEmail() != null) {
+                return router.shardDoEmail(((User) entidade).getEmail());
+            }
+        }
+        return null;
+    }
+
+}
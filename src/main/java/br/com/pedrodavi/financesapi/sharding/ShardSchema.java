@@ -0,0 +1,75 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cria o schema gerado pelo Hibernate em todos os shards e reinicia as colunas de identidade
+ * de cada shard em {@link ShardRouter#primeiroId(int)}. Só roda com {@code ddl-auto} de
+ * criação (testes e ambientes locais); em produção o {@code schema.sql} faz o mesmo.
+ */
+@Slf4j
+public class ShardSchema {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRoutingDataSource shards;
+
+    public ShardSchema(EntityManagerFactory entityManagerFactory, ShardRoutingDataSource shards) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.shards = shards;
+    }
+
+    public void criar(Path script) {
+        List<String> tabelas = tabelasComIdentidade();
+        for(int shard = 0; shard < shards.quantidade(); shard++) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new FileSystemResource(script));
+            populator.setSeparator(";");
+            DatabasePopulatorUtils.execute(populator, shards.fonte(shard));
+
+            if(shard != ShardRouter.PRINCIPAL) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.fonte(shard));
+                for(String tabela : tabelas) {
+                    jdbcTemplate.execute("alter table " + tabela + " alter column id restart with " + ShardRouter.primeiroId(shard));
+                }
+            }
+        }
+        log.info("Schema criado em {} shards", shards.quantidade());
+    }
+
+    private List<String> tabelasComIdentidade() {
+        List<String> tabelas = new ArrayList<>();
+        for(EntityType<?> entidade : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> classe = entidade.getJavaType();
+            Table tabela = classe.getAnnotation(Table.class);
+            if(tabela != null && usaIdentidade(classe)) {
+                tabelas.add(tabela.schema().isEmpty() ? tabela.name() : tabela.schema() + "." + tabela.name());
+            }
+        }
+        return tabelas;
+    }
+
+    private static boolean usaIdentidade(Class<?> classe) {
+        for(Field campo : classe.getDeclaredFields()) {
+            GeneratedValue geracao = campo.getAnnotation(GeneratedValue.class);
+            if(campo.isAnnotationPresent(Id.class) && geracao != null && geracao.strategy() == GenerationType.IDENTITY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
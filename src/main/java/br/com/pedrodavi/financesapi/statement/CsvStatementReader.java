@@ -0,0 +1,138 @@
+package br.com.pedrodavi.financesapi.statement;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.index.ContentHash;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV com cabeçalho. As colunas são localizadas pelo nome (sem diferenciar caixa e acentos):
+ * {@code data}, {@code descricao} (ou {@code historico}) e {@code valor} são obrigatórias;
+ * {@code tipo} e {@code moeda} são opcionais. O separador é {@code ;} ou {@code ,},
+ * o que aparecer mais no cabeçalho. Campos entre aspas não podem ter quebra de linha.
+ */
+class CsvStatementReader implements StatementReader {
+
+    private static final Map<String, String> COLUNAS = Map.of(
+            "data", "data",
+            "descricao", "descricao",
+            "historico", "descricao",
+            "valor", "valor",
+            "tipo", "tipo",
+            "moeda", "moeda");
+
+    private final BufferedReader leitor;
+    private final char separador;
+    private int data = -1;
+    private int descricao = -1;
+    private int valor = -1;
+    private int tipo = -1;
+    private int moeda = -1;
+    private int linha;
+
+    CsvStatementReader(BufferedReader leitor) throws IOException {
+        this.leitor = leitor;
+        String cabecalho = proximaLinha();
+        if(cabecalho == null) {
+            throw new BusinessRuleException("Arquivo CSV vazio.");
+        }
+        if(cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        separador = contar(cabecalho, ';') >= contar(cabecalho, ',') ? ';' : ',';
+
+        List<String> nomes = dividir(cabecalho);
+        for(int i = 0; i < nomes.size(); i++) {
+            String coluna = COLUNAS.get(ContentHash.normalizar(nomes.get(i)));
+            if(coluna == null) {
+                continue;
+            }
+            switch (coluna) {
+                case "data": data = i; break;
+                case "descricao": descricao = i; break;
+                case "valor": valor = i; break;
+                case "tipo": tipo = i; break;
+                default: moeda = i;
+            }
+        }
+        if(data < 0 || descricao < 0 || valor < 0) {
+            throw new BusinessRuleException("O cabeçalho do CSV deve ter as colunas data, descricao e valor.");
+        }
+    }
+
+    @Override
+    public StatementRecord proximo() throws IOException {
+        String texto = proximaLinha();
+        if(texto == null) {
+            return null;
+        }
+        List<String> campos = dividir(texto);
+        return new StatementRecord(linha, campo(campos, data), campo(campos, descricao), campo(campos, valor),
+                campo(campos, tipo), campo(campos, moeda), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        leitor.close();
+    }
+
+    private String proximaLinha() throws IOException {
+        String texto;
+        do {
+            texto = leitor.readLine();
+            linha++;
+        } while (texto != null && texto.isBlank());
+        return texto;
+    }
+
+    private List<String> dividir(String texto) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean aspas = false;
+        for(int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if(aspas) {
+                if(c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if(c == '"') {
+                    aspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if(c == '"') {
+                aspas = true;
+            } else if(c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static String campo(List<String> campos, int indice) {
+        if(indice < 0 || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static int contar(String texto, char c) {
+        int quantidade = 0;
+        for(int i = 0; i < texto.length(); i++) {
+            if(texto.charAt(i) == c) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+
+}
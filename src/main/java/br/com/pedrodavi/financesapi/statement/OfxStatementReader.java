@@ -0,0 +1,143 @@
+package br.com.pedrodavi.financesapi.statement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * OFX 1.x (SGML, sem fechamento nos campos) ou 2.x (XML). O arquivo é lido como uma sequência
+ * de {@code <TAG>valor}; cada {@code STMTTRN} vira um registro com {@code DTPOSTED},
+ * {@code TRNAMT}, {@code FITID} e {@code MEMO} (ou {@code NAME}). A moeda vem do {@code CURDEF}
+ * do extrato.
+ */
+class OfxStatementReader implements StatementReader {
+
+    private final BufferedReader leitor;
+    private final StringBuilder buffer = new StringBuilder();
+    private String moeda;
+    private int transacoes;
+    private boolean fim;
+
+    OfxStatementReader(BufferedReader leitor) {
+        this.leitor = leitor;
+    }
+
+    @Override
+    public StatementRecord proximo() throws IOException {
+        Transacao atual = null;
+        String tag;
+        while ((tag = proximaTag()) != null) {
+            switch (tag) {
+                case "CURDEF":
+                    moeda = valor();
+                    break;
+                case "STMTTRN":
+                    atual = new Transacao();
+                    break;
+                case "/STMTTRN":
+                    if(atual != null) {
+                        return atual.registro(++transacoes, moeda);
+                    }
+                    break;
+                case "DTPOSTED":
+                    if(atual != null) {
+                        atual.data = valor();
+                    }
+                    break;
+                case "TRNAMT":
+                    if(atual != null) {
+                        atual.valor = valor();
+                    }
+                    break;
+                case "FITID":
+                    if(atual != null) {
+                        atual.identificador = valor();
+                    }
+                    break;
+                case "MEMO":
+                    if(atual != null) {
+                        atual.memo = valor();
+                    }
+                    break;
+                case "NAME":
+                    if(atual != null) {
+                        atual.nome = valor();
+                    }
+                    break;
+                default:
+                    // demais tags e fechamentos do XML são ignorados
+            }
+        }
+        return atual == null ? null : atual.registro(++transacoes, moeda);
+    }
+
+    @Override
+    public void close() throws IOException {
+        leitor.close();
+    }
+
+    /**
+     * Avança até a próxima tag e devolve o nome em maiúsculas; o texto depois dela fica
+     * disponível em {@link #valor()}.
+     */
+    private String proximaTag() throws IOException {
+        int c;
+        while ((c = ler()) != -1 && c != '<') {
+            // texto fora de tag (cabeçalho OFXHEADER ou valor já consumido)
+        }
+        if(c == -1) {
+            return null;
+        }
+        buffer.setLength(0);
+        while ((c = ler()) != -1 && c != '>') {
+            buffer.append((char) c);
+        }
+        return buffer.toString().trim().toUpperCase();
+    }
+
+    private String valor() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = espiar()) != -1 && c != '<') {
+            buffer.append((char) ler());
+        }
+        String texto = buffer.toString().trim()
+                .replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+        return texto.isEmpty() ? null : texto;
+    }
+
+    private int ler() throws IOException {
+        return fim ? -1 : marcarFim(leitor.read());
+    }
+
+    private int espiar() throws IOException {
+        if(fim) {
+            return -1;
+        }
+        leitor.mark(1);
+        int c = leitor.read();
+        leitor.reset();
+        return c;
+    }
+
+    private int marcarFim(int c) {
+        if(c == -1) {
+            fim = true;
+        }
+        return c;
+    }
+
+    private static final class Transacao {
+
+        private String data;
+        private String valor;
+        private String memo;
+        private String nome;
+        private String identificador;
+
+        private StatementRecord registro(int linha, String moeda) {
+            return new StatementRecord(linha, data, memo != null ? memo : nome, valor, null, moeda, identificador);
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package br.com.pedrodavi.financesapi.statement;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.HashSet;
+import java.util.Locale;
+
+/**
+ * Converte um {@link StatementRecord} em {@link Launch}. Valores negativos viram despesa e
+ * positivos receita, a menos que o registro traga o tipo; o lançamento guarda o valor absoluto.
+ * A referência de importação (o {@code FITID} ou o dia com a ocorrência) distingue transações
+ * iguais no mesmo mês, que o lançamento sozinho não separa.
+ */
+public final class StatementMapper {
+
+    private static final int TAMANHO_DESCRICAO = 100;
+    private static final DateTimeFormatter BRASIL = DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter OFX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private StatementMapper() {
+    }
+
+    /**
+     * @param ocorrencia posição do registro entre os registros idênticos do arquivo (mesma
+     *                   data, descrição, valor e tipo), começando em 1; ignorada com {@code FITID}
+     */
+    public static Launch converter(StatementRecord registro, User usuario, int ocorrencia) {
+        if(registro.getDescricao() == null) {
+            throw new BusinessRuleException("Informe uma Descrição válida.");
+        }
+        LocalDate data = data(registro.getData());
+        BigDecimal valor = valor(registro.getValor());
+        ReleaseType tipo = registro.getTipo() != null
+                ? tipo(registro.getTipo())
+                : valor.signum() < 0 ? ReleaseType.DESPESA : ReleaseType.RECEITA;
+        String descricao = registro.getDescricao();
+
+        return Launch.builder()
+                .descricao(descricao.length() > TAMANHO_DESCRICAO ? descricao.substring(0, TAMANHO_DESCRICAO) : descricao)
+                .mes(data.getMonthValue())
+                .ano(data.getYear())
+                .valor(Money.exato(valor.abs()))
+                .moeda(registro.getMoeda() == null ? null : registro.getMoeda().toUpperCase(Locale.ROOT))
+                .tipo(tipo)
+                .usuario(usuario)
+                .dataCadastro(LocalDate.now())
+                .referenciaImportacao(registro.getIdentificador() != null
+                        ? "fitid:" + registro.getIdentificador()
+                        : data + "#" + ocorrencia)
+                .tags(new HashSet<>())
+                .build();
+    }
+
+    /**
+     * Aceita {@code dd/MM/aaaa}, {@code aaaa-MM-dd} e o {@code aaaaMMdd[hhmmss...]} do OFX.
+     */
+    static LocalDate data(String texto) {
+        if(texto == null) {
+            throw new BusinessRuleException("Informe uma Data válida.");
+        }
+        try {
+            if(texto.indexOf('/') > 0) {
+                return LocalDate.parse(texto, BRASIL);
+            }
+            if(texto.indexOf('-') > 0) {
+                return LocalDate.parse(texto);
+            }
+            return LocalDate.parse(texto.length() > 8 ? texto.substring(0, 8) : texto, OFX);
+        } catch (DateTimeParseException e) {
+            throw new BusinessRuleException("Data inválida: " + texto + ".");
+        }
+    }
+
+    /**
+     * Aceita {@code 1234.56}, {@code 1.234,56}, {@code -45,00} e {@code R$ 10,00}: o último
+     * separador é o decimal.
+     */
+    static BigDecimal valor(String texto) {
+        if(texto == null) {
+            throw new BusinessRuleException("Informe um Valor válido.");
+        }
+        String limpo = texto.replace("R$", "").replace(" ", "");
+        int virgula = limpo.lastIndexOf(',');
+        int ponto = limpo.lastIndexOf('.');
+        if(virgula > ponto) {
+            limpo = limpo.replace(".", "").replace(',', '.');
+        } else if(virgula >= 0) {
+            limpo = limpo.replace(",", "");
+        }
+        try {
+            return new BigDecimal(limpo);
+        } catch (NumberFormatException e) {
+            throw new BusinessRuleException("Valor inválido: " + texto + ".");
+        }
+    }
+
+    private static ReleaseType tipo(String texto) {
+        try {
+            return ReleaseType.valueOf(texto.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Tipo de Lançamento inválido: " + texto + ".");
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package br.com.pedrodavi.financesapi.statement;
+
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * Lê um extrato registro a registro, sem carregar o arquivo em memória.
+ */
+public interface StatementReader extends Closeable {
+
+    /**
+     * Próximo registro, ou {@code null} no fim do arquivo.
+     */
+    StatementRecord proximo() throws IOException;
+
+    static StatementReader de(StatementFormat formato, InputStream entrada, Charset charset) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, charset), 64 * 1024);
+        switch (formato) {
+            case CSV:
+                return new CsvStatementReader(leitor);
+            case OFX:
+                return new OfxStatementReader(leitor);
+            default:
+                throw new IllegalArgumentException("Formato não suportado: " + formato);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package br.com.pedrodavi.financesapi.statement;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Um registro do extrato como texto, do jeito que veio no arquivo. A conversão dos campos
+ * fica para {@link StatementMapper}, fora da thread que lê o arquivo.
+ */
+@Getter
+@AllArgsConstructor
+public class StatementRecord {
+
+    /**
+     * Linha do CSV ou posição da transação no OFX, começando em 1; é a referência dos erros.
+     */
+    private final int linha;
+    private final String data;
+    private final String descricao;
+    private final String valor;
+    private final String tipo;
+    private final String moeda;
+    /**
+     * {@code FITID} da transação no OFX; o CSV não tem.
+     */
+    private final String identificador;
+
+}
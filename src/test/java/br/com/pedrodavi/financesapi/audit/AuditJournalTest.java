@@ -0,0 +1,168 @@
+package br.com.pedrodavi.financesapi.audit;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AuditJournalTest {
+
+    @TempDir
+    Path diretorio;
+
+    Relogio relogio = new Relogio(Instant.parse("2021-05-01T10:00:00Z"));
+
+    AuditJournal diario;
+
+    @AfterEach
+    public void fechar() {
+        if(diario != null) {
+            diario.fechar();
+        }
+    }
+
+    @Test
+    public void deveExigirODiretorioQuandoHabilitado() {
+        assertThatThrownBy(() -> new AuditJournal(true, "", 64, 0)).isInstanceOf(IllegalStateException.class);
+        assertThat(new AuditJournal(false, "", 64, 0).historicoDoUsuario(1L)).isEmpty();
+    }
+
+    @Test
+    public void deveReproduzirOHistoricoDoUsuarioEDoLancamentoEntreSegmentos() throws IOException {
+        //cenário
+        diario = new AuditJournal(true, diretorio, 256, 0, relogio);
+        LaunchSnapshot criado = snapshot("Aluguel", 1500, LaunchStatus.PENDENTE);
+        LaunchSnapshot efetivado = snapshot("Aluguel", 1500, LaunchStatus.EFETIVADO);
+
+        //execucao
+        diario.registrar(LaunchEventType.CRIADO, 1l, 10l, null, criado);
+        diario.registrar(LaunchEventType.CRIADO, 2l, 20l, null, snapshot("Mercado", 300, LaunchStatus.PENDENTE));
+        diario.registrar(LaunchEventType.STATUS_ATUALIZADO, 1l, 10l, criado, efetivado);
+        long ultima = diario.registrar(LaunchEventType.REMOVIDO, 1l, 10l, efetivado, null);
+
+        //verificacao
+        List<AuditEntry> doUsuario = diario.historicoDoUsuario(1l);
+        assertThat(doUsuario).extracting(AuditEntry::getTipo)
+                .containsExactly(LaunchEventType.CRIADO, LaunchEventType.STATUS_ATUALIZADO, LaunchEventType.REMOVIDO);
+        assertThat(doUsuario.get(1).getAntes()).isEqualTo(criado);
+        assertThat(doUsuario.get(1).getDepois()).isEqualTo(efetivado);
+        assertThat(doUsuario.get(2).getDepois()).isNull();
+        assertThat(doUsuario.get(0).getInstante()).isEqualTo(relogio.instant());
+        assertThat(diario.historicoDoLancamento(20l)).extracting(AuditEntry::getUsuario).containsExactly(2l);
+        assertThat(diario.historicoDoUsuario(3l)).isEmpty();
+        assertThat(ultima).isEqualTo(3l);
+        assertThat(segmentos()).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    public void deveContinuarAposReabrirIgnorandoUmaEscritaInterrompida() throws IOException {
+        //cenário
+        diario = new AuditJournal(true, diretorio, 4096, 0, relogio);
+        diario.registrar(LaunchEventType.CRIADO, 1l, 10l, null, snapshot("Aluguel", 1500, LaunchStatus.PENDENTE));
+        diario.fechar();
+        Path segmento = segmentos().get(0);
+        try(RandomAccessFile arquivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            // registro pela metade: cabeçalho com CRC que não confere
+            long fim = 8 + lerInt(arquivo, 0);
+            arquivo.seek(fim);
+            arquivo.writeInt(60);
+            arquivo.writeInt(12345);
+        }
+
+        //execucao
+        diario = new AuditJournal(true, diretorio, 4096, 0, relogio);
+        long sequencia = diario.registrar(LaunchEventType.ATUALIZADO, 1l, 10l, null, null);
+
+        //verificacao
+        assertThat(sequencia).isEqualTo(1l);
+        assertThat(diario.historicoDoLancamento(10l)).extracting(AuditEntry::getSequencia).containsExactly(0l, 1l);
+    }
+
+    @Test
+    public void deveCompactarOsSegmentosSeladosDescartandoOsVencidos() throws IOException {
+        //cenário
+        diario = new AuditJournal(true, diretorio, 256, 1, relogio);
+        for(int i = 0; i < 4; i++) {
+            diario.registrar(LaunchEventType.CRIADO, 1l, (long) i, null, snapshot("Antigo " + i, 10, LaunchStatus.PENDENTE));
+        }
+        relogio.avancar(Duration.ofDays(2));
+        for(int i = 4; i < 8; i++) {
+            diario.registrar(LaunchEventType.CRIADO, 1l, (long) i, null, snapshot("Novo " + i, 10, LaunchStatus.PENDENTE));
+        }
+        int antes = segmentos().size();
+
+        //execucao
+        diario.compactar();
+
+        //verificacao
+        assertThat(diario.historicoDoUsuario(1l)).extracting(AuditEntry::getLancamento).containsExactly(4l, 5l, 6l, 7l);
+        List<Path> depois = segmentos();
+        assertThat(depois.size()).isLessThan(antes);
+        for(Path selado : depois.subList(0, depois.size() - 1)) {
+            assertThat(Files.size(selado)).isLessThan(256);
+        }
+    }
+
+    private LaunchSnapshot snapshot(String descricao, long valor, LaunchStatus status) {
+        return new LaunchSnapshot(descricao, 5, 2021, Money.valueOf(valor), "BRL", ReleaseType.DESPESA, status);
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try(Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(JournalSegment.EXTENSAO)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static int lerInt(RandomAccessFile arquivo, long posicao) throws IOException {
+        arquivo.seek(posicao);
+        return arquivo.readInt();
+    }
+
+    static class Relogio extends Clock {
+
+        private Instant agora;
+
+        Relogio(Instant agora) {
+            this.agora = agora;
+        }
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+
+    }
+
+}
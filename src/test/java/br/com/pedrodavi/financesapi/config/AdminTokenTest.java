@@ -0,0 +1,29 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.exception.AuthError;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AdminTokenTest {
+
+    @Test
+    public void deveAceitarSomenteOTokenConfigurado() {
+        //cenário
+        AdminToken token = new AdminToken("segredo", "Desabilitado.");
+
+        //execucao e verificacao
+        assertThatCode(() -> token.autorizar("segredo")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> token.autorizar("segred")).isInstanceOf(AuthError.class).hasMessage("Token inválido.");
+        assertThatThrownBy(() -> token.autorizar(null)).isInstanceOf(AuthError.class).hasMessage("Token inválido.");
+    }
+
+    @Test
+    public void deveRecusarTudoSemTokenConfigurado() {
+        assertThatThrownBy(() -> new AdminToken(null, "Desabilitado.").autorizar("segredo"))
+                .isInstanceOf(AuthError.class).hasMessage("Desabilitado.");
+        assertThatThrownBy(() -> new AdminToken(" ", "Desabilitado.").autorizar(" "))
+                .isInstanceOf(AuthError.class).hasMessage("Desabilitado.");
+    }
+
+}
@@ -0,0 +1,60 @@
+package br.com.pedrodavi.financesapi.config;
+
+import br.com.pedrodavi.financesapi.ratelimit.RateLimitProperties;
+import br.com.pedrodavi.financesapi.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "finances.rate-limit.regras[0].caminho=/api/usuarios/**",
+        "finances.rate-limit.regras[0].por-segundo=0.001",
+        "finances.rate-limit.regras[0].rajada=1" })
+@ActiveProfiles("test")
+public class RateLimitConfigTest {
+
+    static final String SALDO = "/api/usuarios/999999/saldo";
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Test
+    public void deveLimitarCadaClientePeloIpEncaminhadoPeloProxy() {
+        //execucao
+        int primeiroCliente = obterSaldo("203.0.113.1");
+        int segundoCliente = obterSaldo("203.0.113.2");
+        int primeiroNovamente = obterSaldo("203.0.113.1");
+
+        //verificacao
+        assertThat(primeiroCliente).isEqualTo(404);
+        assertThat(segundoCliente).isEqualTo(404);
+        assertThat(primeiroNovamente).isEqualTo(429);
+    }
+
+    @Test
+    public void naoDeveCriarOLimitadorQuandoDesligado() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(RateLimitConfig.class)
+                .withBean(RateLimitProperties.class)
+                .withPropertyValues("finances.rate-limit.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(RateLimiter.class));
+    }
+
+    private int obterSaldo(String cliente) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.set("X-Forwarded-For", cliente);
+        return rest.exchange(SALDO, HttpMethod.GET, new HttpEntity<>(cabecalhos), String.class).getStatusCodeValue();
+    }
+
+}
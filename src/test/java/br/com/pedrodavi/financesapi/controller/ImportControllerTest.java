@@ -0,0 +1,143 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.LaunchDTO;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ImportControllerTest {
+
+    static final String API = "/api/importacoes";
+    static final String CSV = "data;descricao;valor\n"
+            + "05/01/2021;Mercado;-150,00\n"
+            + "06/01/2021;Salario;5000,00\n"
+            + "07/01/2021;Sem valor;\n";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    User usuario;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        launchRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void deveImportarCsvEnviadoNoCorpoEIgnorarReenvio() throws Exception {
+        //execucao
+        mvc.perform(upload(CSV))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("CONCLUIDO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importados").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.erros[0].linha").value(4));
+        mvc.perform(upload(CSV))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importados").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.duplicados").value(2));
+
+        //verificacao
+        assertThat(launchRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void deveImportarLancamentosIguaisEmDiasOuPosicoesDiferentes() throws Exception {
+        //cenário
+        String csv = "data;descricao;valor\n"
+                + "05/01/2021;Cafe;-5,00\n"
+                + "06/01/2021;Cafe;-5,00\n"
+                + "06/01/2021;Cafe;-5,00\n";
+
+        //execucao
+        mvc.perform(upload(csv))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importados").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.duplicados").value(0));
+        mvc.perform(upload(csv))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importados").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.duplicados").value(3));
+
+        //verificacao
+        assertThat(launchRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void deveIgnorarReenvioDeLancamentoImportadoJaEditado() throws Exception {
+        //cenário
+        mvc.perform(upload(CSV))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importados").value(2));
+        Launch importado = launchRepository.findAll().get(0);
+        LaunchDTO edicao = LaunchDTO.builder().descricao("editado").mes(importado.getMes()).ano(importado.getAno())
+                .valor(importado.getValor()).usuario(usuario.getId()).tipo(importado.getTipo().name())
+                .status(importado.getStatus().name()).build();
+        mvc.perform(MockMvcRequestBuilders.put("/api/lancamentos/" + importado.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(new ObjectMapper().writeValueAsString(edicao)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //execucao
+        mvc.perform(upload(CSV))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importados").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.duplicados").value(2));
+
+        //verificacao
+        assertThat(launchRepository.count()).isEqualTo(2);
+        Launch editado = launchRepository.findById(importado.getId()).orElseThrow();
+        assertThat(editado.getDescricao()).isEqualTo("editado");
+        assertThat(editado.getHashConteudo()).isEqualTo(importado.getHashConteudo());
+        assertThat(editado.getReferenciaImportacao()).isEqualTo(importado.getReferenciaImportacao());
+    }
+
+    @Test
+    public void deveRecusarRetomadaDeImportacaoInexistente() throws Exception {
+        mvc.perform(upload(CSV).param("retomar", "inexistente"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder upload(String conteudo) {
+        return MockMvcRequestBuilders.post(API)
+                .param("usuario", usuario.getId().toString())
+                .param("formato", "CSV")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .content(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
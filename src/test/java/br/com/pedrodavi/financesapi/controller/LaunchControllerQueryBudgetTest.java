@@ -0,0 +1,159 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.jdbc.SqlStatementCounter;
+import br.com.pedrodavi.financesapi.jdbc.StatementCountingConfiguration;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.converter.LaunchColumns;
+import br.com.pedrodavi.financesapi.model.dto.LaunchDTO;
+import br.com.pedrodavi.financesapi.model.dto.UpdateStatusDTO;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.LaunchTombstoneRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Orçamento de instruções SQL por endpoint do {@link LaunchController}. Se um teste falhar,
+ * a mensagem lista as instruções executadas; só aumente o orçamento quando a instrução a
+ * mais for intencional.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementCountingConfiguration.class)
+public class LaunchControllerQueryBudgetTest {
+
+    static final String API = "/api/lancamentos";
+    static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    @Autowired
+    LaunchTombstoneRepository tombstoneRepository;
+
+    User usuario;
+    Launch lancamento;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+        lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento = launchRepository.save(lancamento);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        launchRepository.deleteAllInBatch();
+        tombstoneRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void buscarDeveExecutarNoMaximo2Instrucoes() throws Exception {
+        SqlStatementCounter.assertAtMost(2, () -> mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", usuario.getId().toString()).accept(JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    public void buscarPorColunasDeveExecutarNoMaximo2Instrucoes() throws Exception {
+        SqlStatementCounter.assertAtMost(2, () -> mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", usuario.getId().toString()).accept(LaunchColumns.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(LaunchColumns.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.colunas.id[0]").value(lancamento.getId())));
+    }
+
+    @Test
+    public void obterLancamentoDeveExecutarNoMaximo1Instrucao() throws Exception {
+        SqlStatementCounter.assertAtMost(1, () -> mvc
+                .perform(MockMvcRequestBuilders.get(API + "/" + lancamento.getId()).accept(JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    public void salvarDeveExecutarNoMaximo5Instrucoes() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(criarDTO());
+
+        // usuário, sequência de alteração (update e select), insert e o incremento dos orçamentos do mês
+        SqlStatementCounter.assertAtMost(5, () -> mvc
+                .perform(MockMvcRequestBuilders.post(API).accept(JSON).contentType(JSON).content(json))
+                .andExpect(MockMvcResultMatchers.status().isCreated()));
+    }
+
+    @Test
+    public void atualizarDeveExecutarNoMaximo6Instrucoes() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(criarDTO());
+
+        // o DTO muda o ano: o gasto sai dos orçamentos do mês antigo e entra nos do novo;
+        // mais as duas instruções da sequência de alteração
+        SqlStatementCounter.assertAtMost(6, () -> mvc
+                .perform(MockMvcRequestBuilders.put(API + "/" + lancamento.getId()).accept(JSON).contentType(JSON).content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    public void atualizarStatusDeveExecutarNoMaximo4Instrucoes() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(new UpdateStatusDTO(LaunchStatus.EFETIVADO.name()));
+
+        // select, sequência de alteração (update e select) e update
+        SqlStatementCounter.assertAtMost(4, () -> mvc
+                .perform(MockMvcRequestBuilders.put(API + "/" + lancamento.getId() + "/atualiza-status").accept(JSON).contentType(JSON).content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    public void deletarDeveExecutarNoMaximo6Instrucoes() throws Exception {
+        // além do select, delete e orçamento: sequência de alteração e o registro da remoção
+        SqlStatementCounter.assertAtMost(6, () -> mvc
+                .perform(MockMvcRequestBuilders.delete(API + "/" + lancamento.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent()));
+    }
+
+    @Test
+    public void alteracoesDeveExecutarNoMaximo5Instrucoes() throws Exception {
+        // usuário, remoções expiradas, sequência, lançamentos e removidos
+        SqlStatementCounter.assertAtMost(5, () -> mvc
+                .perform(MockMvcRequestBuilders.get(API + "/changes").param("usuario", usuario.getId().toString())
+                        .param("since", "0").accept(JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    private LaunchDTO criarDTO() {
+        return LaunchDTO.builder()
+                .descricao("lancamento")
+                .mes(1)
+                .ano(2021)
+                .valor(lancamento.getValor())
+                .usuario(usuario.getId())
+                .tipo("RECEITA")
+                .build();
+    }
+
+}
@@ -0,0 +1,127 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.LaunchDTO;
+import br.com.pedrodavi.financesapi.model.dto.RecurrenceDTO;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchTombstoneRepository;
+import br.com.pedrodavi.financesapi.repository.RecurrenceRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class LaunchControllerTest {
+
+    static final String API = "/api/lancamentos";
+    static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    @Autowired
+    RecurrenceRepository recurrenceRepository;
+
+    @Autowired
+    LaunchTombstoneRepository tombstoneRepository;
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    User usuario;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        launchRepository.deleteAllInBatch();
+        recurrenceRepository.deleteAllInBatch();
+        tombstoneRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void deveManterOVinculoComARecorrenciaAoEditarUmaParcela() throws Exception {
+        //cenário
+        RecurrenceDTO recorrencia = RecurrenceDTO.builder().descricao("notebook").mes(1).ano(2030).quantidade(3)
+                .valorTotal(Money.valueOf(300)).usuario(usuario.getId()).tipo("DESPESA").build();
+        mvc.perform(MockMvcRequestBuilders.post("/api/recorrencias").contentType(JSON).content(mapper.writeValueAsString(recorrencia)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        Launch primeira = parcelas().get(0);
+        LaunchDTO edicao = LaunchDTO.builder().descricao("notebook editado").mes(1).ano(2030).valor(Money.valueOf(100))
+                .usuario(usuario.getId()).tipo("DESPESA").status("PENDENTE").build();
+
+        //execucao
+        mvc.perform(MockMvcRequestBuilders.put(API + "/" + primeira.getId()).contentType(JSON).content(mapper.writeValueAsString(edicao)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        RecurrenceDTO alteracao = RecurrenceDTO.builder().descricao("notebook novo").mes(1).ano(2030).build();
+        mvc.perform(MockMvcRequestBuilders.put("/api/recorrencias/" + primeira.getIdRecorrencia())
+                        .contentType(JSON).content(mapper.writeValueAsString(alteracao)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("3"));
+
+        //verificacao
+        Launch editada = launchRepository.findById(primeira.getId()).orElseThrow();
+        assertThat(editada.getIdRecorrencia()).isEqualTo(primeira.getIdRecorrencia());
+        assertThat(editada.getParcela()).isEqualTo(1);
+        assertThat(parcelas()).extracting(Launch::getDescricao).containsOnly("notebook novo");
+    }
+
+    @Test
+    public void deveManterOVencimentoQuandoAEdicaoNaoOInforma() throws Exception {
+        //cenário
+        LaunchDTO cadastro = LaunchDTO.builder().descricao("aluguel").mes(1).ano(2030).valor(Money.valueOf(100))
+                .usuario(usuario.getId()).tipo("DESPESA").vencimento("2030-01-10").build();
+        mvc.perform(MockMvcRequestBuilders.post(API).contentType(JSON).content(mapper.writeValueAsString(cadastro)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        Launch salvo = launchRepository.findAll().get(0);
+        LaunchDTO edicao = LaunchDTO.builder().descricao("aluguel reajustado").mes(1).ano(2030).valor(Money.valueOf(110))
+                .usuario(usuario.getId()).tipo("DESPESA").status("PENDENTE").build();
+
+        //execucao
+        mvc.perform(MockMvcRequestBuilders.put(API + "/" + salvo.getId()).contentType(JSON).content(mapper.writeValueAsString(edicao)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //verificacao
+        Launch editado = launchRepository.findById(salvo.getId()).orElseThrow();
+        assertThat(editado.getDescricao()).isEqualTo("aluguel reajustado");
+        assertThat(editado.getDataVencimento()).isEqualTo(LocalDate.of(2030, 1, 10));
+    }
+
+    private List<Launch> parcelas() {
+        return launchRepository.findAll(Sort.by("parcela"));
+    }
+
+}
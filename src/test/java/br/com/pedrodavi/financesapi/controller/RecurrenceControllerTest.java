@@ -0,0 +1,120 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Recurrence;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.RecurrenceDTO;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.RecurrenceRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RecurrenceControllerTest {
+
+    static final String API = "/api/recorrencias";
+    static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    @Autowired
+    RecurrenceRepository recurrenceRepository;
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    User usuario;
+    Recurrence parcelada;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+        RecurrenceDTO dto = RecurrenceDTO.builder().descricao("notebook").mes(1).ano(2030).quantidade(3)
+                .valorTotal(Money.valueOf(300)).usuario(usuario.getId()).tipo("DESPESA").build();
+        mvc.perform(MockMvcRequestBuilders.post(API).contentType(JSON).content(mapper.writeValueAsString(dto)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        parcelada = recurrenceRepository.findAll().get(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        launchRepository.deleteAllInBatch();
+        recurrenceRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void naoDeveAlterarOValorDeUmaRecorrenciaParcelada() throws Exception {
+        //cenário
+        RecurrenceDTO alteracao = RecurrenceDTO.builder().valor(Money.valueOf(999)).mes(1).ano(2030).build();
+
+        //execucao
+        mvc.perform(MockMvcRequestBuilders.put(API + "/" + parcelada.getId()).contentType(JSON).content(mapper.writeValueAsString(alteracao)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        //verificacao
+        Recurrence gravada = recurrenceRepository.findById(parcelada.getId()).orElseThrow();
+        assertThat(gravada.getValor()).isEqualTo(Money.valueOf(100));
+        assertThat(gravada.getValorTotal()).isEqualTo(Money.valueOf(300));
+        assertThat(launchRepository.findAll()).extracting(Launch::getValor).containsOnly(Money.valueOf(100));
+    }
+
+    @Test
+    public void deveExigirMesEAnoJuntos() throws Exception {
+        //cenário
+        RecurrenceDTO soMes = RecurrenceDTO.builder().descricao("notebook novo").mes(3).build();
+
+        //execucao
+        mvc.perform(MockMvcRequestBuilders.put(API + "/" + parcelada.getId()).contentType(JSON).content(mapper.writeValueAsString(soMes)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string("Informe o Mês e o Ano juntos."));
+        mvc.perform(MockMvcRequestBuilders.delete(API + "/" + parcelada.getId()).param("mes", "3"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        //verificacao
+        assertThat(launchRepository.findAll()).extracting(Launch::getDescricao).containsOnly("notebook");
+        assertThat(launchRepository.findAll()).extracting(Launch::getStatus).containsOnly(LaunchStatus.PENDENTE);
+    }
+
+    @Test
+    public void deveAceitarOMesmoValorAoAlterarOutrosCamposDaParcelada() throws Exception {
+        //cenário
+        RecurrenceDTO alteracao = RecurrenceDTO.builder().descricao("notebook novo").valor(Money.valueOf(100)).mes(1).ano(2030).build();
+
+        //execucao
+        mvc.perform(MockMvcRequestBuilders.put(API + "/" + parcelada.getId()).contentType(JSON).content(mapper.writeValueAsString(alteracao)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("3"));
+
+        //verificacao
+        assertThat(launchRepository.findAll()).extracting(Launch::getDescricao).containsOnly("notebook novo");
+    }
+
+}
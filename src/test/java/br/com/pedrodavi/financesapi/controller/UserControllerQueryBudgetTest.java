@@ -0,0 +1,87 @@
+package br.com.pedrodavi.financesapi.controller;
+
+import br.com.pedrodavi.financesapi.jdbc.SqlStatementCounter;
+import br.com.pedrodavi.financesapi.jdbc.StatementCountingConfiguration;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.UserAuthDTO;
+import br.com.pedrodavi.financesapi.model.dto.UserDTO;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Orçamento de instruções SQL por endpoint do {@link UserController}.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementCountingConfiguration.class)
+public class UserControllerQueryBudgetTest {
+
+    static final String API = "/api/usuarios";
+    static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    User usuario;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        launchRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void autenticarDeveExecutarNoMaximo1Instrucao() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(new UserAuthDTO(usuario.getEmail(), usuario.getSenha()));
+
+        SqlStatementCounter.assertAtMost(1, () -> mvc
+                .perform(MockMvcRequestBuilders.post(API + "/autenticar").accept(JSON).contentType(JSON).content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    public void salvarDeveExecutarNoMaximo2Instrucoes() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(new UserDTO("outro@email.com", "outro", "senha", null));
+
+        SqlStatementCounter.assertAtMost(2, () -> mvc
+                .perform(MockMvcRequestBuilders.post(API).accept(JSON).contentType(JSON).content(json))
+                .andExpect(MockMvcResultMatchers.status().isCreated()));
+    }
+
+    @Test
+    public void obterSaldoDeveExecutarNoMaximo2Instrucoes() throws Exception {
+        SqlStatementCounter.assertAtMost(2, () -> mvc
+                .perform(MockMvcRequestBuilders.get(API + "/" + usuario.getId() + "/saldo").accept(JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+}
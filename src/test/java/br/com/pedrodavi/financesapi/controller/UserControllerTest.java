@@ -2,6 +2,8 @@ package br.com.pedrodavi.financesapi.controller;
 
 import br.com.pedrodavi.financesapi.exception.AuthError;
 import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.MonthlyBalance;
 import br.com.pedrodavi.financesapi.model.User;
 import br.com.pedrodavi.financesapi.model.dto.UserDTO;
 import br.com.pedrodavi.financesapi.service.LaunchService;
@@ -22,7 +24,8 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
-import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
 import java.util.Optional;
 
 @ExtendWith(SpringExtension.class)
@@ -163,7 +166,7 @@ public class UserControllerTest {
 
         //cenário
 
-        BigDecimal saldo = BigDecimal.valueOf(10);
+        Money saldo = Money.valueOf(10);
         User usuario = User.builder().id(1l).email("usuario@email.com").senha( "123").build();
         Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(usuario));
         Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(saldo);
@@ -177,7 +180,7 @@ public class UserControllerTest {
         mvc
                 .perform(request)
                 .andExpect( MockMvcResultMatchers.status().isOk() )
-                .andExpect( MockMvcResultMatchers.content().string("10") );
+                .andExpect( MockMvcResultMatchers.content().string("10.00") );
 
     }
 
@@ -199,4 +202,72 @@ public class UserControllerTest {
 
     }
 
+    @Test
+    public void deveObterAEvolucaoDoSaldoDoUsuario() throws Exception {
+
+        //cenário
+        User usuario = User.builder().id(1l).email("usuario@email.com").senha( "123").build();
+        Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(usuario));
+        Mockito.when(lancamentoService.obterEvolucaoSaldo(1l, YearMonth.of(2021, 1), YearMonth.of(2021, 2)))
+                .thenReturn(Arrays.asList(
+                        new MonthlyBalance(YearMonth.of(2021, 1), Money.valueOf(10), Money.valueOf(15)),
+                        new MonthlyBalance(YearMonth.of(2021, 2), Money.valueOf(12), Money.valueOf(20))));
+
+        //execucao e verificacao
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get( API.concat("/1/saldo/evolucao")  )
+                .param("de", "2021-01")
+                .param("ate", "2021-02")
+                .accept( JSON );
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.jsonPath("$[1].mes").value("2021-02") )
+                .andExpect( MockMvcResultMatchers.jsonPath("$[1].efetivo").value(12.0) )
+                .andExpect( MockMvcResultMatchers.jsonPath("$[1].projetado").value(20.0) );
+
+    }
+
+    @Test
+    public void deveAtualizarAMoedaDoUsuario() throws Exception {
+        //cenario
+        User usuario = User.builder().id(1l).email("usuario@email.com").build();
+        User atualizado = User.builder().id(1l).email("usuario@email.com").moeda("USD").build();
+        Mockito.when( service.obterPorId(1l) ).thenReturn(Optional.of(usuario));
+        Mockito.when( service.atualizarMoeda(usuario, "USD") ).thenReturn(atualizado);
+        String json = new ObjectMapper().writeValueAsString(UserDTO.builder().moeda("USD").build());
+
+        //execucao e verificacao
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .put( API.concat("/1/moeda") )
+                .accept( JSON )
+                .contentType( JSON )
+                .content(json);
+
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isOk() )
+                .andExpect( MockMvcResultMatchers.jsonPath("moeda").value("USD") );
+    }
+
+    @Test
+    public void deveRecusarUmaMoedaSemCotacao() throws Exception {
+        //cenario
+        User usuario = User.builder().id(1l).email("usuario@email.com").build();
+        Mockito.when( service.obterPorId(1l) ).thenReturn(Optional.of(usuario));
+        Mockito.when( service.atualizarMoeda(usuario, "XYZ") ).thenThrow(new BusinessRuleException("Moeda não suportada: XYZ."));
+        String json = new ObjectMapper().writeValueAsString(UserDTO.builder().moeda("XYZ").build());
+
+        //execucao e verificacao
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .put( API.concat("/1/moeda") )
+                .accept( JSON )
+                .contentType( JSON )
+                .content(json);
+
+        mvc
+                .perform(request)
+                .andExpect( MockMvcResultMatchers.status().isBadRequest() );
+    }
+
 }
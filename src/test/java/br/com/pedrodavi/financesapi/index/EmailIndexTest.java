@@ -0,0 +1,108 @@
+package br.com.pedrodavi.financesapi.index;
+
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.projection.UserEmail;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EmailIndexTest {
+
+    UserRepository repository = mock(UserRepository.class);
+    ShardRouter router = mock(ShardRouter.class);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    EmailIndex indice = new EmailIndex(repository, router, mock(EntityManagerFactory.class), registry, 1000, 0.0001, 2);
+
+    @Test
+    public void deveResponderPeloFiltroDepoisDeCarregarATabela() {
+        //cenário
+        emUmShard();
+        when(repository.count()).thenReturn(2L);
+        when(repository.obterEmails()).thenReturn(Stream.of(email(1L, " Usuario@Email.com"), email(2L, "outro@email.com")));
+
+        //execucao
+        boolean antesDeCarregar = indice.certamenteAusente("novo@email.com");
+        indice.aoIniciar();
+
+        //verificacao
+        assertThat(antesDeCarregar).isFalse();
+        assertThat(indice.certamenteAusente("usuario@email.com")).isFalse();
+        assertThat(indice.certamenteAusente("outro@email.com")).isFalse();
+        assertThat(indice.certamenteAusente("novo@email.com")).isTrue();
+        assertThat(registry.counter(EmailIndex.METRICA, "resultado", "ausente").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void deveGuardarOsIdsDosEmailsRecentesComLimite() {
+        //cenário
+        emUmShard();
+        when(repository.count()).thenReturn(0L);
+        when(repository.obterEmails()).thenReturn(Stream.empty());
+        indice.aoIniciar();
+
+        //execucao
+        indice.registrar("a@email.com", 1L);
+        indice.registrar("b@email.com", 2L);
+        indice.registrar("c@email.com", 3L);
+
+        //verificacao
+        assertThat(indice.idConhecido("a@email.com")).isEmpty();
+        assertThat(indice.idConhecido("c@email.com")).contains(3L);
+        assertThat(indice.certamenteAusente("a@email.com")).isFalse();
+    }
+
+    @Test
+    public void deveAcrescentarOsCadastrosDeOutrosNos() {
+        //cenário
+        emUmShard();
+        when(repository.count()).thenReturn(0L);
+        when(repository.obterEmails()).thenReturn(Stream.empty());
+        when(repository.findById(7L)).thenReturn(Optional.of(User.builder().id(7L).email("remoto@email.com").build()));
+        indice.aoIniciar();
+
+        //execucao
+        indice.carregar(7L);
+
+        //verificacao
+        assertThat(indice.certamenteAusente("remoto@email.com")).isFalse();
+        assertThat(indice.idConhecido("remoto@email.com")).contains(7L);
+    }
+
+    @Test
+    public void deveNormalizarOEmail() {
+        assertThat(EmailIndex.normalizar("  Usuario@EMAIL.com ")).isEqualTo("usuario@email.com");
+        assertThat(EmailIndex.normalizar(null)).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emUmShard() {
+        when(router.emTodos(any())).thenAnswer(i -> Collections.singletonList(((Function<Integer, Object>) i.getArgument(0)).apply(ShardRouter.PRINCIPAL)));
+    }
+
+    private static UserEmail email(Long id, String email) {
+        return new UserEmail() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,120 @@
+package br.com.pedrodavi.financesapi.index;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LaunchDedupIndexTest {
+
+    LaunchRepository repository = mock(LaunchRepository.class);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void deveDescartarConteudoJaImportadoSemConsultarOBancoParaOsNovos() {
+        //cenário
+        Launch existente = lancamento("Mercado", 1000);
+        when(repository.obterHashes(1L)).thenReturn(List.of(ContentHash.de(existente)));
+        when(repository.obterHashesExistentes(eq(1L), anyCollection())).thenAnswer(i -> List.copyOf(i.getArgument(1)));
+        LaunchDedupIndex indice = new LaunchDedupIndex(repository, registry, 1000, 0.0001, 10);
+
+        Launch repetido = lancamento("  MERCADO ", 1000);
+        Launch novo = lancamento("Farmácia", 2500);
+
+        //execucao
+        List<Launch> novos = indice.filtrarNovos(1L, Arrays.asList(repetido, novo));
+
+        //verificacao
+        assertThat(novos).containsExactly(novo);
+        assertThat(novo.getHashConteudo()).hasSize(ContentHash.TAMANHO);
+        verify(repository).obterHashesExistentes(1L, List.of(repetido.getHashConteudo()));
+        assertThat(registry.counter(LaunchDedupIndex.METRICA, "resultado", "duplicado").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void deveDescartarRepeticoesDoProprioLoteEDeLotesAnteriores() {
+        //cenário
+        when(repository.obterHashes(1L)).thenReturn(Collections.emptyList());
+        LaunchDedupIndex indice = new LaunchDedupIndex(repository, registry, 1000, 0.0001, 10);
+
+        //execucao
+        List<Launch> primeiro = indice.filtrarNovos(1L, Arrays.asList(lancamento("Aluguel", 150000), lancamento("aluguel", 150000)));
+        when(repository.obterHashesExistentes(eq(1L), anyCollection())).thenAnswer(i -> List.copyOf(i.getArgument(1)));
+        List<Launch> segundo = indice.filtrarNovos(1L, Collections.singletonList(lancamento("Aluguel", 150000)));
+
+        //verificacao
+        assertThat(primeiro).hasSize(1);
+        assertThat(segundo).isEmpty();
+        verify(repository, times(1)).obterHashes(1L);
+    }
+
+    @Test
+    public void deveRecarregarOFiltroQuandoPassarDaCapacidade() {
+        //cenário
+        when(repository.obterHashes(1L)).thenReturn(Collections.emptyList());
+        when(repository.obterHashesExistentes(eq(1L), anyCollection())).thenReturn(Collections.emptyList());
+        LaunchDedupIndex indice = new LaunchDedupIndex(repository, registry, 1, 0.01, 10);
+        indice.filtrarNovos(1L, Arrays.asList(lancamento("a", 1), lancamento("b", 2)));
+
+        //execucao
+        List<Launch> novos = indice.filtrarNovos(1L, Collections.singletonList(lancamento("c", 3)));
+
+        //verificacao
+        assertThat(novos).hasSize(1);
+        verify(repository, times(2)).obterHashes(1L);
+    }
+
+    @Test
+    public void deveRespeitarATaxaDeFalsoPositivoConfigurada() {
+        //cenário
+        BloomFilter filtro = BloomFilter.para(10_000, 0.01);
+        Random random = new Random(42);
+        for(int i = 0; i < 10_000; i++) {
+            filtro.adicionar(random.nextLong(), random.nextLong());
+        }
+
+        //execucao
+        int falsosPositivos = 0;
+        for(int i = 0; i < 100_000; i++) {
+            if(filtro.talvezContenha(random.nextLong(), random.nextLong())) {
+                falsosPositivos++;
+            }
+        }
+
+        //verificacao
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.015);
+        assertThat(filtro.tamanhoEmBytes()).isLessThan(13_000);
+        assertThat(filtro.cheio()).isFalse();
+    }
+
+    @Test
+    public void deveNormalizarADescricao() {
+        assertThat(ContentHash.normalizar("  Pão   de AÇÚCAR ")).isEqualTo("pao de acucar");
+        assertThat(ContentHash.de(lancamento("Pão de Açúcar", 100))).isEqualTo(ContentHash.de(lancamento("pao  de acucar", 100)));
+        assertThat(ContentHash.de(lancamento("Pão de Açúcar", 100))).isNotEqualTo(ContentHash.de(lancamento("Pão de Açúcar", 101)));
+    }
+
+    private static Launch lancamento(String descricao, long centavos) {
+        return Launch.builder()
+                .usuario(User.builder().id(1L).build())
+                .ano(2021)
+                .mes(3)
+                .descricao(descricao)
+                .valor(Money.ofCents(centavos))
+                .tipo(ReleaseType.DESPESA)
+                .build();
+    }
+
+}
@@ -0,0 +1,138 @@
+package br.com.pedrodavi.financesapi.index;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.TagFilter;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.projection.LaunchIndexEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class LaunchTagIndexTest {
+
+    @MockBean
+    LaunchRepository repository;
+
+    @Test
+    public void deveCombinarFiltrosDeTagsTipoEStatus() {
+        //cenário
+        when(repository.obterEntradasIndice(1L)).thenReturn(entradas());
+        LaunchTagIndex indice = new LaunchTagIndex(repository, 10);
+
+        //execucao
+        long[] todas = indice.consultar(1L, null, null, filtro(Arrays.asList("casa", "fixo"), null, null)).toArray();
+        long[] alguma = indice.consultar(1L, null, null, filtro(null, Arrays.asList("lazer", "fixo"), null)).toArray();
+        long[] semTag = indice.consultar(1L, ReleaseType.DESPESA, null, filtro(null, null, Collections.singletonList("casa"))).toArray();
+        long[] status = indice.consultar(1L, null, LaunchStatus.EFETIVADO, filtro(Collections.singletonList("casa"), null, null)).toArray();
+
+        //verificacao
+        assertThat(todas).containsExactly(1L);
+        assertThat(alguma).containsExactly(1L, 3L);
+        assertThat(semTag).containsExactly(3L);
+        assertThat(status).containsExactly(2L);
+        verify(repository, times(1)).obterEntradasIndice(1L);
+    }
+
+    @Test
+    public void deveAtualizarOIndiceAposAlteracoesDoLancamento() {
+        //cenário
+        when(repository.obterEntradasIndice(1L)).thenReturn(entradas());
+        LaunchTagIndex indice = new LaunchTagIndex(repository, 10);
+        TagFilter lazer = filtro(Collections.singletonList("lazer"), null, null);
+        indice.consultar(1L, null, null, lazer);
+
+        Launch lancamento = Launch.builder().id(1L).usuario(User.builder().id(1L).build())
+                .tipo(ReleaseType.DESPESA).status(LaunchStatus.PENDENTE)
+                .tags(new HashSet<>(Collections.singletonList(Tag.builder().nome("lazer").build())))
+                .build();
+
+        //execucao
+        indice.aoAlterarLancamento(LaunchEvent.of(LaunchEventType.ATUALIZADO, lancamento));
+        long[] aposAtualizar = indice.consultar(1L, null, null, lazer).toArray();
+        long[] casaAposAtualizar = indice.consultar(1L, null, null, filtro(Collections.singletonList("casa"), null, null)).toArray();
+        indice.aoAlterarLancamento(LaunchEvent.of(LaunchEventType.REMOVIDO, lancamento));
+        long[] aposRemover = indice.consultar(1L, null, null, lazer).toArray();
+
+        //verificacao
+        assertThat(aposAtualizar).containsExactly(1L, 3L);
+        assertThat(casaAposAtualizar).containsExactly(2L);
+        assertThat(aposRemover).containsExactly(3L);
+        verify(repository, times(1)).obterEntradasIndice(1L);
+    }
+
+    @Test
+    public void deveRecarregarOIndiceAposAlteracaoEmLote() {
+        //cenário
+        when(repository.obterEntradasIndice(1L)).thenReturn(entradas());
+        LaunchTagIndex indice = new LaunchTagIndex(repository, 10);
+        indice.consultar(1L, null, null, new TagFilter());
+
+        //execucao
+        indice.aoAlterarLancamento(LaunchEvent.lote(1L));
+        indice.consultar(1L, null, null, new TagFilter());
+
+        //verificacao
+        verify(repository, times(2)).obterEntradasIndice(1L);
+    }
+
+    @Test
+    public void naoDeveGuardarCargaAlteradaMesmoComAMarcaDescartada() {
+        //cenário
+        LaunchTagIndex indice = new LaunchTagIndex(repository, 1);
+        when(repository.obterEntradasIndice(1L)).thenAnswer(invocacao -> {
+            // alterações de dois usuários durante a carga descartam a marca do primeiro
+            indice.aoAlterarLancamento(LaunchEvent.lote(1L));
+            indice.aoAlterarLancamento(LaunchEvent.lote(2L));
+            return entradas();
+        }).thenReturn(entradas());
+
+        //execucao
+        indice.consultar(1L, null, null, new TagFilter());
+        indice.consultar(1L, null, null, new TagFilter());
+        indice.consultar(1L, null, null, new TagFilter());
+
+        //verificacao
+        verify(repository, times(2)).obterEntradasIndice(1L);
+    }
+
+    private static TagFilter filtro(List<String> todas, List<String> alguma, List<String> nenhuma) {
+        return new TagFilter(todas, alguma, nenhuma);
+    }
+
+    private static List<LaunchIndexEntry> entradas() {
+        return Arrays.asList(
+                entrada(1L, ReleaseType.DESPESA, LaunchStatus.PENDENTE, "casa"),
+                entrada(1L, ReleaseType.DESPESA, LaunchStatus.PENDENTE, "fixo"),
+                entrada(2L, ReleaseType.DESPESA, LaunchStatus.EFETIVADO, "casa"),
+                entrada(3L, ReleaseType.DESPESA, LaunchStatus.PENDENTE, "lazer"),
+                entrada(4L, ReleaseType.RECEITA, LaunchStatus.EFETIVADO, null));
+    }
+
+    private static LaunchIndexEntry entrada(Long id, ReleaseType tipo, LaunchStatus status, String tag) {
+        return new LaunchIndexEntry() {
+            public Long getId() { return id; }
+            public ReleaseType getTipo() { return tipo; }
+            public LaunchStatus getStatus() { return status; }
+            public String getTag() { return tag; }
+        };
+    }
+
+}
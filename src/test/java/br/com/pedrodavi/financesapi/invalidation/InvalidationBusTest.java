@@ -0,0 +1,163 @@
+package br.com.pedrodavi.financesapi.invalidation;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.event.UserDataVersions;
+import br.com.pedrodavi.financesapi.index.EmailIndex;
+import br.com.pedrodavi.financesapi.index.LaunchDedupIndex;
+import br.com.pedrodavi.financesapi.index.LaunchTagIndex;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class InvalidationBusTest {
+
+    LoopbackTransport transporte = spy(new LoopbackTransport());
+    List<String> lotes = new ArrayList<>();
+
+    No local = new No();
+    No remoto = new No();
+
+    @BeforeEach
+    public void setUp() {
+        local.bus.iniciar();
+        remoto.bus.iniciar();
+        transporte.iniciar(new InvalidationTransport.Receptor() {
+            @Override
+            public void receber(String lote) {
+                lotes.add(lote);
+            }
+
+            @Override
+            public void perdeuMensagens() {
+            }
+        });
+    }
+
+    @Test
+    public void deveInvalidarOLancamentoEAVersaoDoUsuarioNosOutrosNos() {
+        //cenário
+        long versaoAnterior = remoto.versoes.versao(7l);
+
+        //execucao
+        local.bus.aoAlterarLancamento(LaunchEvent.of(LaunchEventType.ATUALIZADO, lancamento(5l, 7l)));
+        local.bus.enviarPendentes();
+
+        //verificacao
+        verify(remoto.cache).evictEntityData(Launch.class, 5l);
+        verify(remoto.cache).evictCollectionData(Launch.class.getName() + ".tags", 5l);
+        verify(remoto.indice).invalidar(7l);
+        verify(remoto.deduplicacao).invalidar(7l);
+        assertThat(remoto.versoes.versao(7l)).isGreaterThan(versaoAnterior);
+        verifyNoInteractions(local.cache, local.indice);
+    }
+
+    @Test
+    public void deveEnviarAsMensagensEmLoteSemRepeticao() {
+        //execucao
+        for(int i = 0; i < 3; i++) {
+            local.bus.aoAlterarLancamento(LaunchEvent.of(LaunchEventType.STATUS_ATUALIZADO, lancamento(5l, 7l)));
+        }
+        local.bus.publicar(InvalidationMessage.usuario(7l));
+        local.bus.enviarPendentes();
+        local.bus.enviarPendentes();
+
+        //verificacao
+        assertThat(lotes).hasSize(1);
+        assertThat(lotes.get(0)).endsWith(",L5,V7.0,U7");
+        verify(remoto.cache, times(1)).evictEntityData(Launch.class, 5l);
+        verify(remoto.cache).evictEntityData(User.class, 7l);
+        verify(remoto.emails).carregar(7l);
+    }
+
+    @Test
+    public void deveDividirLotesMaioresQueOLimiteDoTransporte() {
+        //cenário
+        doReturn(40).when(transporte).tamanhoMaximo();
+
+        //execucao
+        for(long id = 100; id < 120; id++) {
+            local.bus.publicar(InvalidationMessage.lancamento(id));
+        }
+        local.bus.enviarPendentes();
+
+        //verificacao
+        assertThat(lotes).hasSizeGreaterThan(1).allMatch(lote -> lote.length() <= 40);
+        verify(remoto.cache, times(20)).evictEntityData(eq(Launch.class), anyLong());
+    }
+
+    @Test
+    public void deveInvalidarTudoQuandoAFilaTransborda() {
+        //cenário
+        No pequeno = new No(2);
+        pequeno.bus.iniciar();
+
+        //execucao
+        for(long id = 1; id <= 3; id++) {
+            pequeno.bus.publicar(InvalidationMessage.lancamento(id));
+        }
+        pequeno.bus.enviarPendentes();
+
+        //verificacao
+        assertThat(lotes).hasSize(1);
+        assertThat(lotes.get(0)).endsWith(",*");
+        verify(remoto.cache).evictAllRegions();
+        verify(remoto.indice).invalidar(null);
+        verify(remoto.deduplicacao).invalidar(null);
+        verify(remoto.emails).invalidar();
+    }
+
+    @Test
+    public void deveInvalidarTudoQuandoOTransportePerdeMensagens() {
+        //cenário
+        long versaoAnterior = remoto.versoes.versao(7l);
+
+        //execucao
+        remoto.bus.perdeuMensagens();
+
+        //verificacao
+        verify(remoto.cache).evictAllRegions();
+        assertThat(remoto.versoes.versao(7l)).isEqualTo(versaoAnterior + 1);
+    }
+
+    private static Launch lancamento(Long id, Long idUsuario) {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setId(id);
+        lancamento.setUsuario(User.builder().id(idUsuario).build());
+        return lancamento;
+    }
+
+    class No {
+
+        final Cache cache = mock(Cache.class);
+        final LaunchTagIndex indice = mock(LaunchTagIndex.class);
+        final LaunchDedupIndex deduplicacao = mock(LaunchDedupIndex.class);
+        final EmailIndex emails = mock(EmailIndex.class);
+        final UserDataVersions versoes = new UserDataVersions();
+        final InvalidationBus bus;
+
+        No() {
+            this(100);
+        }
+
+        No(int capacidade) {
+            EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+            javax.persistence.Cache jpa = mock(javax.persistence.Cache.class);
+            when(entityManagerFactory.getCache()).thenReturn(jpa);
+            when(jpa.unwrap(Cache.class)).thenReturn(cache);
+            bus = new InvalidationBus(transporte, entityManagerFactory, versoes, indice, deduplicacao, emails, capacidade);
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package br.com.pedrodavi.financesapi.jdbc;
+
+import org.assertj.core.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Contador global das instruções SQL executadas pelo {@link StatementCountingDataSource}.
+ * Um {@code executeBatch} conta como uma instrução (uma ida ao banco).
+ *
+ * <pre>
+ * SqlStatementCounter.assertAtMost(2, () -> mvc.perform(post("/api/lancamentos")...));
+ * </pre>
+ */
+public final class SqlStatementCounter {
+
+    private static final List<String> EXECUTADAS = Collections.synchronizedList(new ArrayList<>());
+
+    private SqlStatementCounter() {
+    }
+
+    public static void reset() {
+        EXECUTADAS.clear();
+    }
+
+    static void registrar(String sql) {
+        EXECUTADAS.add(sql == null ? "" : sql.trim());
+    }
+
+    public static int total() {
+        return EXECUTADAS.size();
+    }
+
+    public static int selects() {
+        return contar("select");
+    }
+
+    public static int inserts() {
+        return contar("insert");
+    }
+
+    public static int updates() {
+        return contar("update");
+    }
+
+    public static int deletes() {
+        return contar("delete");
+    }
+
+    public static List<String> executadas() {
+        synchronized (EXECUTADAS) {
+            return new ArrayList<>(EXECUTADAS);
+        }
+    }
+
+    /**
+     * Executa a operação e falha se ela emitir mais de {@code maximo} instruções SQL,
+     * listando as instruções na mensagem. Retorna a quantidade executada.
+     */
+    public static int assertAtMost(int maximo, Operacao operacao) throws Exception {
+        reset();
+        operacao.executar();
+        List<String> executadas = executadas();
+        Assertions.assertThat(executadas)
+                .as("instruções SQL executadas (orçamento %d)", maximo)
+                .hasSizeLessThanOrEqualTo(maximo);
+        return executadas.size();
+    }
+
+    private static int contar(String prefixo) {
+        synchronized (EXECUTADAS) {
+            return (int) EXECUTADAS.stream().filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith(prefixo)).count();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operacao {
+
+        void executar() throws Exception;
+
+    }
+
+}
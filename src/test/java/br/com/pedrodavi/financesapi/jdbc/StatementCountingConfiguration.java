@@ -0,0 +1,29 @@
+package br.com.pedrodavi.financesapi.jdbc;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Importe nos testes de integração para envolver o {@link DataSource} da aplicação no
+ * {@link StatementCountingDataSource}.
+ */
+@TestConfiguration
+public class StatementCountingConfiguration {
+
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,82 @@
+package br.com.pedrodavi.financesapi.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@link DataSource} que registra no {@link SqlStatementCounter} cada execução de
+ * {@link Statement}, {@link PreparedStatement} e {@link CallableStatement}.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conexao(super.getConnection(username, password));
+    }
+
+    private static Connection conexao(Connection alvo) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object resultado = invocar(alvo, method, args);
+                    if(resultado instanceof Statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        return instrucao((Statement) resultado, sql);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Statement instrucao(Statement alvo, String sqlPreparado) {
+        Class<?> tipo = alvo instanceof CallableStatement ? CallableStatement.class
+                : alvo instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+
+        InvocationHandler handler = new InvocationHandler() {
+
+            private String lote;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String nome = method.getName();
+                if(nome.equals("addBatch") && lote == null) {
+                    lote = args != null && args.length > 0 ? (String) args[0] : sqlPreparado;
+                } else if(nome.equals("executeBatch") || nome.equals("executeLargeBatch")) {
+                    SqlStatementCounter.registrar(lote != null ? lote : sqlPreparado);
+                    lote = null;
+                } else if(nome.startsWith("execute")) {
+                    SqlStatementCounter.registrar(args != null && args.length > 0 ? (String) args[0] : sqlPreparado);
+                }
+                return invocar(alvo, method, args);
+            }
+
+        };
+        return (Statement) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+}
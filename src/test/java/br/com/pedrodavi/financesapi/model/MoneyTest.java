@@ -0,0 +1,70 @@
+package br.com.pedrodavi.financesapi.model;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.dto.LaunchDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    public void deveSomarESubtrairEmCentavos() {
+        Money valor = Money.valueOf(10).plus(Money.ofCents(5)).minus(Money.ofCents(1));
+
+        assertThat(valor.getCents()).isEqualTo(1004);
+        assertThat(valor.toBigDecimal()).isEqualTo(new BigDecimal("10.04"));
+        assertThat(valor.toString()).isEqualTo("10.04");
+        assertThat(Money.ofCents(-5).toString()).isEqualTo("-0.05");
+        assertThat(Money.ofCents(Long.MIN_VALUE).toString()).isEqualTo("-92233720368547758.08");
+    }
+
+    @Test
+    public void deveLancarErroEmOverflow() {
+        Money maximo = Money.ofCents(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> maximo.plus(Money.ofCents(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofCents(Long.MIN_VALUE).negate()).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.valueOf(Long.MAX_VALUE)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void deveConverterDeBigDecimalComArredondamento() {
+        assertThat(Money.of(new BigDecimal("1.005")).getCents()).isEqualTo(100);
+        assertThat(Money.of(new BigDecimal("1.015")).getCents()).isEqualTo(102);
+        assertThat(Money.of(null)).isNull();
+    }
+
+    @Test
+    public void deveRecusarValorInformadoComMaisDeDuasCasas() {
+        assertThat(Money.exato(new BigDecimal("1.50")).getCents()).isEqualTo(150);
+        assertThat(Money.exato(new BigDecimal("1.500")).getCents()).isEqualTo(150);
+        assertThat(Money.exato(null)).isNull();
+        assertThatThrownBy(() -> Money.exato(new BigDecimal("1.005")))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("Informe um Valor com no máximo duas casas decimais.");
+    }
+
+    @Test
+    public void deveSerializarEDesserializarEmJson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        LaunchDTO dto = LaunchDTO.builder().valor(Money.ofCents(123456)).build();
+
+        String json = mapper.writeValueAsString(dto);
+        assertThat(json).contains("\"valor\":1234.56");
+
+        assertThat(mapper.readValue("{\"valor\":1234.56}", LaunchDTO.class).getValor()).isEqualTo(Money.ofCents(123456));
+        assertThat(mapper.readValue("{\"valor\":10}", LaunchDTO.class).getValor()).isEqualTo(Money.valueOf(10));
+        assertThat(mapper.readValue("{\"valor\":\"-7.5\"}", LaunchDTO.class).getValor()).isEqualTo(Money.ofCents(-750));
+        assertThat(mapper.readValue("{\"valor\":1.500}", LaunchDTO.class).getValor()).isEqualTo(Money.ofCents(150));
+        assertThatThrownBy(() -> mapper.readValue("{\"valor\":1.005}", LaunchDTO.class))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessageContaining("no máximo duas casas decimais");
+        assertThat(mapper.readValue("{\"valor\":1e2}", LaunchDTO.class).getValor()).isEqualTo(Money.valueOf(100));
+    }
+
+}
@@ -0,0 +1,37 @@
+package br.com.pedrodavi.financesapi.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class UserOwnershipTest {
+
+    interface Chamadas {
+        void porParametro(@Param("id") Long id, @Param("idUsuario") Long idUsuario);
+
+        void porEntidades(Object entidades);
+    }
+
+    @Test
+    public void deveIdentificarOUsuarioPeloParametroOuPelaEntidade() throws Exception {
+        //cenário
+        Method porParametro = Chamadas.class.getMethod("porParametro", Long.class, Long.class);
+        Method porEntidades = Chamadas.class.getMethod("porEntidades", Object.class);
+        User usuario = User.builder().id(7L).build();
+        Launch lancamento = new Launch();
+        lancamento.setUsuario(usuario);
+
+        //execucao e verificacao
+        assertThat(UserOwnership.daChamada(porParametro, new Object[] { 1L, 7L })).isEqualTo(7L);
+        assertThat(UserOwnership.daChamada(porEntidades, new Object[] { lancamento })).isEqualTo(7L);
+        assertThat(UserOwnership.daChamada(porEntidades, new Object[] { List.of(lancamento) })).isEqualTo(7L);
+        assertThat(UserOwnership.daChamada(porEntidades, new Object[] { LaunchTombstone.builder().usuario(7L).build() })).isEqualTo(7L);
+        assertThat(UserOwnership.daChamada(porEntidades, new Object[] { List.of() })).isNull();
+        assertThat(UserOwnership.daChamada(porEntidades, new Object[] { new Launch() })).isNull();
+    }
+
+}
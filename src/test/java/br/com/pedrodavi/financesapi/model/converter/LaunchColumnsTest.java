@@ -0,0 +1,110 @@
+package br.com.pedrodavi.financesapi.model.converter;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LaunchColumnsTest {
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void deveEscreverColunasComDicionarios() throws Exception {
+        //cenário
+        User usuario = UserRepositoryTest.criarUsuario();
+        usuario.setId(7L);
+        Tag casa = Tag.builder().id(1L).nome("casa").build();
+        Launch receita = LaunchRepositoryTest.criarLancamento();
+        receita.setId(1L);
+        receita.setUsuario(usuario);
+        receita.setDataCadastro(LocalDate.of(2021, 1, 5));
+        receita.setTags(new HashSet<>(Collections.singletonList(casa)));
+        Launch despesa = LaunchRepositoryTest.criarLancamento();
+        despesa.setId(2L);
+        despesa.setUsuario(usuario);
+        despesa.setTipo(ReleaseType.DESPESA);
+        despesa.setValor(Money.ofCents(-550));
+        despesa.setDataCadastro(null);
+        despesa.setParcela(2);
+        despesa.setDataVencimento(LocalDate.of(2021, 2, 10));
+        Launch outra = LaunchRepositoryTest.criarLancamento();
+        outra.setId(3L);
+        outra.setUsuario(usuario);
+        outra.setStatus(LaunchStatus.EFETIVADO);
+
+        //execucao
+        String texto = escrever(new LaunchColumns(Arrays.asList(receita, despesa, outra)));
+        JsonNode json = mapper.readTree(texto);
+
+        //verificacao
+        assertThat(json.get("total").asInt()).isEqualTo(3);
+        JsonNode dicionarios = json.get("dicionarios");
+        assertThat(dicionarios.get("tipo").toString()).isEqualTo("[\"RECEITA\",\"DESPESA\"]");
+        assertThat(dicionarios.get("status").toString()).isEqualTo("[\"PENDENTE\",\"EFETIVADO\"]");
+        assertThat(dicionarios.get("tag").toString()).isEqualTo("[\"casa\"]");
+        assertThat(dicionarios.get("usuario")).hasSize(1);
+        assertThat(dicionarios.get("usuario").get(0).get("id").asLong()).isEqualTo(7L);
+        assertThat(dicionarios.get("usuario").get(0).has("senha")).isFalse();
+
+        JsonNode colunas = json.get("colunas");
+        assertThat(colunas.get("id").toString()).isEqualTo("[1,2,3]");
+        assertThat(texto).contains("\"valor\":[10.00,-5.50,10.00]");
+        assertThat(colunas.get("tipo").toString()).isEqualTo("[0,1,0]");
+        assertThat(colunas.get("status").toString()).isEqualTo("[0,0,1]");
+        assertThat(colunas.get("usuario").toString()).isEqualTo("[0,0,0]");
+        assertThat(colunas.get("dataCadastro").get(0).asText()).isEqualTo("2021-01-05");
+        assertThat(colunas.get("dataCadastro").get(1).isNull()).isTrue();
+        assertThat(colunas.get("dataVencimento").toString()).isEqualTo("[null,\"2021-02-10\",null]");
+        assertThat(colunas.get("parcela").toString()).isEqualTo("[null,2,null]");
+        assertThat(colunas.get("tags").toString()).isEqualTo("[[0],[],[]]");
+    }
+
+    @Test
+    public void deveEscreverListaVazia() throws Exception {
+        //execucao
+        JsonNode json = mapper.readTree(escrever(new LaunchColumns(Collections.emptyList())));
+
+        //verificacao
+        assertThat(json.get("total").asInt()).isZero();
+        assertThat(json.get("dicionarios").get("usuario")).isEmpty();
+        assertThat(json.get("colunas").get("id")).isEmpty();
+    }
+
+    @Test
+    public void deveAceitarSomenteQuandoPedidoExplicitamente() {
+        assertThat(LaunchColumns.aceita(LaunchColumns.TIPO)).isTrue();
+        assertThat(LaunchColumns.aceita("application/json, " + LaunchColumns.TIPO + ";q=0.9")).isTrue();
+        assertThat(LaunchColumns.aceita("*/*")).isFalse();
+        assertThat(LaunchColumns.aceita("application/*")).isFalse();
+        assertThat(LaunchColumns.aceita("application/json")).isFalse();
+        assertThat(LaunchColumns.aceita(null)).isFalse();
+        assertThat(LaunchColumns.aceita(LaunchColumns.TIPO + ";q=")).isFalse();
+        assertThat(LaunchColumns.aceita("colunas")).isFalse();
+    }
+
+    private String escrever(LaunchColumns colunas) throws Exception {
+        StringWriter saida = new StringWriter();
+        try(JsonGenerator gen = mapper.getFactory().createGenerator(saida)) {
+            colunas.escrever(gen);
+        }
+        return saida.toString();
+    }
+
+}
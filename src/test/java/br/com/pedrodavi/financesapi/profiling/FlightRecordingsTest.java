@@ -0,0 +1,111 @@
+package br.com.pedrodavi.financesapi.profiling;
+
+import br.com.pedrodavi.financesapi.exception.AuthError;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.dto.RecordingDTO;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.query.Param;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class FlightRecordingsTest {
+
+    FlightRecordings gravacoes = new FlightRecordings(propriedades());
+
+    @AfterEach
+    public void descartar() {
+        gravacoes.descartar();
+    }
+
+    @Test
+    public void deveGravarAsChamadasComUsuarioELinhas() throws Exception {
+        //cenário
+        Consulta consulta = proxy((idUsuario, quantidade) -> List.of("a", "b", "c").subList(0, quantidade));
+        gravacoes.iniciar(60L, 16L, 0L, "default");
+
+        //execucao
+        consulta.buscar(7L, 2);
+        RecordingDTO parada = gravacoes.parar();
+        consulta.buscar(8L, 1);
+        Path arquivo = gravacoes.exportar();
+
+        //verificacao
+        List<RecordedEvent> eventos;
+        try {
+            eventos = RecordingFile.readAllEvents(arquivo).stream()
+                    .filter(evento -> evento.getEventType().getName().equals("br.com.pedrodavi.financesapi.RepositoryCall"))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+        assertThat(parada.getEstado()).isEqualTo("STOPPED");
+        assertThat(eventos).hasSize(1);
+        RecordedEvent evento = eventos.get(0);
+        assertThat(evento.getString("operacao")).isEqualTo("Consulta.buscar");
+        assertThat(evento.getLong("idUsuario")).isEqualTo(7L);
+        assertThat(evento.getInt("linhas")).isEqualTo(2);
+        assertThat(evento.getBoolean("falhou")).isFalse();
+    }
+
+    @Test
+    public void naoDeveIniciarForaDosLimitesOuComOutraGravacaoAtiva() {
+        //execucao
+        Throwable duracao = catchThrowable(() -> gravacoes.iniciar(3600L, null, null, null));
+        Throwable tamanho = catchThrowable(() -> gravacoes.iniciar(null, 1024L, null, null));
+        Throwable configuracao = catchThrowable(() -> gravacoes.iniciar(null, null, null, "tudo"));
+        RecordingDTO iniciada = gravacoes.iniciar(null, null, null, null);
+        Throwable segunda = catchThrowable(() -> gravacoes.iniciar(null, null, null, null));
+
+        //verificacao
+        assertThat(duracao).isInstanceOf(BusinessRuleException.class);
+        assertThat(tamanho).isInstanceOf(BusinessRuleException.class);
+        assertThat(configuracao).isInstanceOf(BusinessRuleException.class);
+        assertThat(iniciada.getEstado()).isEqualTo("RUNNING");
+        assertThat(iniciada.getDuracaoS()).isEqualTo(120L);
+        assertThat(iniciada.getTamanhoMaximoMb()).isEqualTo(16L);
+        assertThat(segunda).isInstanceOf(BusinessRuleException.class).hasMessage("Já existe uma gravação em andamento.");
+    }
+
+    @Test
+    public void deveExigirOTokenConfigurado() {
+        //cenário
+        FlightRecordings semToken = new FlightRecordings(new FlightRecorderProperties());
+
+        //execucao e verificacao
+        assertThatCode(() -> gravacoes.autorizar("segredo")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> gravacoes.autorizar("outro")).isInstanceOf(AuthError.class);
+        assertThatThrownBy(() -> gravacoes.autorizar(null)).isInstanceOf(AuthError.class);
+        assertThatThrownBy(() -> semToken.autorizar("segredo")).isInstanceOf(AuthError.class);
+    }
+
+    public interface Consulta {
+
+        List<String> buscar(@Param("idUsuario") Long idUsuario, int quantidade);
+
+    }
+
+    private static Consulta proxy(Consulta alvo) {
+        ProxyFactory factory = new ProxyFactory(alvo);
+        factory.addInterface(Consulta.class);
+        factory.addAdvice(new FlightRecorderInterceptor(RepositoryCallEvent::new, Consulta.class));
+        return (Consulta) factory.getProxy();
+    }
+
+    private static FlightRecorderProperties propriedades() {
+        FlightRecorderProperties propriedades = new FlightRecorderProperties();
+        propriedades.setToken("segredo");
+        propriedades.setDuracaoMaximaS(120L);
+        propriedades.setTamanhoMaximoMb(16L);
+        return propriedades;
+    }
+
+}
@@ -0,0 +1,124 @@
+package br.com.pedrodavi.financesapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    RateLimiter limiter = new RateLimiter(propriedades());
+    RateLimitFilter filter = new RateLimitFilter(limiter);
+
+    @Test
+    public void deveBloquearAposARajadaEInformarRetryAfter() throws Exception {
+        //execucao
+        int primeira = executar("GET", "/api/lancamentos", "10.0.0.1", "1").getStatus();
+        int segunda = executar("GET", "/api/lancamentos", "10.0.0.1", "1").getStatus();
+        MockHttpServletResponse bloqueada = executar("GET", "/api/lancamentos", "10.0.0.1", "1");
+
+        //verificacao
+        assertThat(primeira).isEqualTo(200);
+        assertThat(segunda).isEqualTo(200);
+        assertThat(bloqueada.getStatus()).isEqualTo(429);
+        assertThat(bloqueada.getHeader("Retry-After")).isEqualTo("60");
+    }
+
+    @Test
+    public void deveLimitarOUsuarioMesmoVindoDeIpsDiferentes() throws Exception {
+        //execucao
+        executar("GET", "/api/lancamentos", "10.0.0.1", "7");
+        executar("GET", "/api/lancamentos", "10.0.0.2", "7");
+        int mesmoUsuario = executar("GET", "/api/lancamentos", "10.0.0.3", "7").getStatus();
+        int outroUsuario = executar("GET", "/api/lancamentos", "10.0.0.3", "8").getStatus();
+
+        //verificacao
+        assertThat(mesmoUsuario).isEqualTo(429);
+        assertThat(outroUsuario).isEqualTo(200);
+    }
+
+    @Test
+    public void naoDeveGastarOTokenDoIpQuandoOUsuarioForRejeitado() throws Exception {
+        //cenário
+        executar("GET", "/api/lancamentos", "10.0.0.1", "7");
+        executar("GET", "/api/lancamentos", "10.0.0.2", "7");
+
+        //execucao
+        executar("GET", "/api/lancamentos", "10.0.0.3", "7");
+        executar("GET", "/api/lancamentos", "10.0.0.3", "7");
+        int primeiroVizinho = executar("GET", "/api/lancamentos", "10.0.0.3", "8").getStatus();
+        int segundoVizinho = executar("GET", "/api/lancamentos", "10.0.0.3", "9").getStatus();
+
+        //verificacao
+        assertThat(primeiroVizinho).isEqualTo(200);
+        assertThat(segundoVizinho).isEqualTo(200);
+    }
+
+    @Test
+    public void deveAplicarARegraDoEndpointOuAGeral() throws Exception {
+        //execucao
+        executar("GET", "/api/lancamentos", "10.0.0.1", null);
+        executar("GET", "/api/lancamentos", "10.0.0.1", null);
+        int buscaBloqueada = executar("GET", "/api/lancamentos", "10.0.0.1", null).getStatus();
+        int obterPorId = executar("GET", "/api/lancamentos/1", "10.0.0.1", null).getStatus();
+        int foraDaApi = executar("GET", "/swagger-ui.html", "10.0.0.1", null).getStatus();
+
+        //verificacao
+        assertThat(buscaBloqueada).isEqualTo(429);
+        assertThat(obterPorId).isEqualTo(200);
+        assertThat(foraDaApi).isEqualTo(200);
+        assertThat(limiter.limite("GET", "/api")).isNotNull();
+        assertThat(limiter.limite("GET", "/apix")).isNull();
+    }
+
+    @Test
+    public void deveDescartarBucketsOciosos() throws Exception {
+        //cenário
+        RateLimitProperties.Regra rapida = regra(null, "/api/**", 1_000_000, 1);
+        RateLimitProperties propriedades = new RateLimitProperties();
+        propriedades.setRegras(List.of(rapida));
+        RateLimiter limiterRapido = new RateLimiter(propriedades);
+        limiterRapido.consumir(limiterRapido.limite("GET", "/api/x"), "10.0.0.1", 1L);
+
+        //execucao
+        Thread.sleep(5);
+        limiterRapido.limpar();
+
+        //verificacao
+        assertThat(limiterRapido.quantidadeBuckets()).isZero();
+    }
+
+    private MockHttpServletResponse executar(String metodo, String caminho, String ip, String usuario) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, caminho);
+        request.setRemoteAddr(ip);
+        if(usuario != null) {
+            request.setParameter("usuario", usuario);
+            request.setQueryString("usuario=" + usuario);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RateLimitProperties propriedades() {
+        RateLimitProperties propriedades = new RateLimitProperties();
+        propriedades.setRegras(List.of(
+                regra("GET", "/api/lancamentos", 1.0 / 60, 2),
+                regra(null, "/api/**", 100, 100)));
+        return propriedades;
+    }
+
+    private static RateLimitProperties.Regra regra(String metodo, String caminho, double porSegundo, int rajada) {
+        RateLimitProperties.Regra regra = new RateLimitProperties.Regra();
+        regra.setMetodo(metodo);
+        regra.setCaminho(caminho);
+        regra.setPorSegundo(porSegundo);
+        regra.setRajada(rajada);
+        return regra;
+    }
+
+}
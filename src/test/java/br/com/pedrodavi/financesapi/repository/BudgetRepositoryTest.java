@@ -0,0 +1,129 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetImpact;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.projection.BudgetSpend;
+import br.com.pedrodavi.financesapi.service.impl.BudgetServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class BudgetRepositoryTest {
+
+    @Autowired
+    BudgetRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveAcumularOGastoApenasNosOrcamentosAfetados() {
+        User usuario = entityManager.persist(UserRepositoryTest.criarUsuario());
+        Tag casa = entityManager.persist(Tag.builder().nome("casa").usuario(usuario).build());
+        Tag lazer = entityManager.persist(Tag.builder().nome("lazer").usuario(usuario).build());
+        Budget geral = entityManager.persist(criarOrcamento(usuario, null));
+        Budget deCasa = entityManager.persist(criarOrcamento(usuario, casa));
+        Budget deLazer = entityManager.persist(criarOrcamento(usuario, lazer));
+
+        int comTag = repository.acumular(usuario.getId(), 2019, 1, ReleaseType.DESPESA.name(),
+                List.of(casa.getId()), Money.valueOf(30).toBigDecimal());
+        int semTag = repository.acumular(usuario.getId(), 2019, 1, ReleaseType.DESPESA.name(),
+                List.of(-1L), Money.valueOf(5).toBigDecimal());
+        entityManager.clear();
+
+        assertThat(comTag).isEqualTo(2);
+        assertThat(semTag).isEqualTo(1);
+        assertThat(repository.obterAfetados(usuario.getId(), 2019, 1, ReleaseType.DESPESA, List.of(casa.getId())))
+                .extracting(Budget::getId, Budget::getGasto)
+                .containsExactlyInAnyOrder(tuple(geral.getId(), Money.valueOf(35)), tuple(deCasa.getId(), Money.valueOf(30)));
+        assertThat(repository.findById(deLazer.getId()).get().getGasto()).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    public void deveAvaliarOGastoAtualizadoQuandoDoisLancamentosAtingemOMesmoOrcamentoNaTransacao() {
+        User usuario = entityManager.persist(UserRepositoryTest.criarUsuario());
+        Budget geral = entityManager.persist(criarOrcamento(usuario, null));
+        BudgetServiceImpl service = new BudgetServiceImpl(repository,
+                new ExchangeRates(Map.of("BRL", BigDecimal.ONE), "BRL"), mock(ApplicationEventPublisher.class));
+
+        service.aplicar(null, new BudgetImpact(usuario.getId(), 2019, 1, ReleaseType.DESPESA, List.of(-1L), Money.valueOf(50)));
+        service.aplicar(null, new BudgetImpact(usuario.getId(), 2019, 1, ReleaseType.DESPESA, List.of(-1L), Money.valueOf(40)));
+        entityManager.flush();
+        entityManager.clear();
+
+        Budget atualizado = repository.findById(geral.getId()).get();
+        assertThat(atualizado.getGasto()).isEqualTo(Money.valueOf(90));
+        assertThat(atualizado.getSituacao()).isEqualTo(BudgetStatus.ALERTA);
+    }
+
+    @Test
+    public void deveSomarOGastoDosOrcamentosAPartirDosLancamentos() {
+        User usuario = entityManager.persist(UserRepositoryTest.criarUsuario());
+        Tag casa = entityManager.persist(Tag.builder().nome("casa").usuario(usuario).build());
+        Budget geral = entityManager.persist(criarOrcamento(usuario, null));
+        Budget deCasa = entityManager.persist(criarOrcamento(usuario, casa));
+
+        persistirLancamento(usuario, Money.valueOf(40), LaunchStatus.PENDENTE, Set.of(casa));
+        persistirLancamento(usuario, Money.valueOf(15), LaunchStatus.EFETIVADO, Collections.emptySet());
+        persistirLancamento(usuario, Money.valueOf(99), LaunchStatus.CANCELADO, Set.of(casa));
+
+        List<BudgetSpend> gastos = repository.obterGastos(usuario.getId(), LaunchStatus.CANCELADO);
+
+        assertThat(gastos).extracting(BudgetSpend::getOrcamento, BudgetSpend::getTotal)
+                .containsExactlyInAnyOrder(tuple(geral.getId(), Money.valueOf(55)), tuple(deCasa.getId(), Money.valueOf(40)));
+    }
+
+    private void persistirLancamento(User usuario, Money valor, LaunchStatus status, Set<Tag> tags) {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setTipo(ReleaseType.DESPESA);
+        lancamento.setValor(valor);
+        lancamento.setStatus(status);
+        lancamento.setTags(new HashSet<>(tags));
+        entityManager.persist(lancamento);
+    }
+
+    public static Budget criarOrcamento(User usuario, Tag tag) {
+        return Budget.builder()
+                .usuario(usuario)
+                .mes(1)
+                .ano(2019)
+                .tipo(ReleaseType.DESPESA)
+                .tag(tag)
+                .limite(Money.valueOf(100))
+                .gasto(Money.ZERO)
+                .percentualAlerta(80)
+                .situacao(BudgetStatus.DENTRO)
+                .build();
+    }
+
+}
@@ -3,20 +3,39 @@ package br.com.pedrodavi.financesapi.repository;
 import br.com.pedrodavi.financesapi.enums.LaunchStatus;
 import br.com.pedrodavi.financesapi.enums.ReleaseType;
 import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Tag;
+import br.com.pedrodavi.financesapi.model.TagFilter;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.projection.BalanceTotal;
+import br.com.pedrodavi.financesapi.repository.projection.DescriptionTotal;
+import br.com.pedrodavi.financesapi.repository.projection.LaunchIndexEntry;
+import br.com.pedrodavi.financesapi.repository.projection.MonthlyTotal;
+import br.com.pedrodavi.financesapi.repository.projection.PeriodBalance;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -78,6 +97,201 @@ public class LaunchRepositoryTest {
         assertThat(lancamentoEncontrado.isPresent()).isTrue();
     }
 
+    @Test
+    public void deveSomarOsValoresPorTipoEStatus() {
+        User usuario = entityManager.persist(UserRepositoryTest.criarUsuario());
+
+        Launch lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setStatus(LaunchStatus.EFETIVADO);
+        entityManager.persist(lancamento);
+
+        Launch outro = criarLancamento();
+        outro.setUsuario(usuario);
+        outro.setStatus(LaunchStatus.EFETIVADO);
+        outro.setValor(Money.ofCents(1050));
+        entityManager.persist(outro);
+
+        List<BalanceTotal> totais = repository.obterSaldosPorMoeda(usuario.getId(), LaunchStatus.EFETIVADO);
+
+        assertThat(totais).extracting(BalanceTotal::getTipo, BalanceTotal::getTotal)
+                .containsExactly(tuple(ReleaseType.RECEITA, Money.ofCents(2050)));
+    }
+
+    @Test
+    public void deveInserirEmLoteEAtualizarAsOcorrenciasFuturas() {
+        User usuario = entityManager.persist(UserRepositoryTest.criarUsuario());
+
+        List<Launch> lancamentos = new ArrayList<>();
+        for(int mes = 1; mes <= 4; mes++) {
+            Launch lancamento = criarLancamento();
+            lancamento.setUsuario(usuario);
+            lancamento.setMes(mes);
+            lancamento.setIdRecorrencia(99l);
+            lancamento.setParcela(mes);
+            lancamentos.add(lancamento);
+        }
+        repository.inserirEmLote(lancamentos);
+
+        int atualizados = repository.atualizarOcorrenciasFuturas(99l, 2019 * 12 + 3, LaunchStatus.PENDENTE,
+                "novo", Money.valueOf(20), "BRL", ReleaseType.DESPESA, 1l);
+
+        assertThat(atualizados).isEqualTo(2);
+        entityManager.clear();
+        assertThat(repository.findAll()).extracting(Launch::getValor)
+                .containsExactlyInAnyOrder(Money.valueOf(10), Money.valueOf(10), Money.valueOf(20), Money.valueOf(20));
+    }
+
+    @Test
+    public void deveRecusarHashDeConteudoRepetidoParaOMesmoUsuario() {
+        User usuario = entityManager.persist(UserRepositoryTest.criarUsuario());
+        Launch importado = criarLancamento();
+        importado.setUsuario(usuario);
+        importado.setHashConteudo("a".repeat(64));
+        Launch manual = criarLancamento();
+        manual.setUsuario(usuario);
+        repository.inserirEmLote(Arrays.asList(importado, manual, manual));
+
+        assertThat(repository.obterHashes(usuario.getId())).containsExactly(importado.getHashConteudo());
+        assertThat(repository.obterHashesExistentes(usuario.getId(), Arrays.asList("a".repeat(64), "b".repeat(64))))
+                .containsExactly(importado.getHashConteudo());
+        assertThatThrownBy(() -> repository.inserirEmLote(Arrays.asList(importado)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    public void deveObterOsTotaisMensaisEAsMaioresDescricoes() {
+        User usuario = entityManager.persist(UserRepositoryTest.criarUsuario());
+
+        for(int i = 1; i <= 3; i++) {
+            Launch lancamento = criarLancamento();
+            lancamento.setUsuario(usuario);
+            lancamento.setDescricao(i == 3 ? "bonus" : "salario");
+            lancamento.setMes(i == 3 ? 2 : 1);
+            entityManager.persist(lancamento);
+        }
+        Launch cancelado = criarLancamento();
+        cancelado.setUsuario(usuario);
+        cancelado.setStatus(LaunchStatus.CANCELADO);
+        entityManager.persist(cancelado);
+
+        List<MonthlyTotal> totais = repository.obterTotaisMensais(usuario.getId(), 2019, LaunchStatus.CANCELADO);
+        List<DescriptionTotal> descricoes = repository.obterTotaisPorDescricao(usuario.getId(), 2019,
+                ReleaseType.RECEITA, LaunchStatus.CANCELADO);
+
+        assertThat(totais).extracting(MonthlyTotal::getMes, MonthlyTotal::getTotal)
+                .containsExactlyInAnyOrder(tuple(1, Money.valueOf(20)), tuple(2, Money.valueOf(10)));
+        assertThat(descricoes).extracting(DescriptionTotal::getDescricao, DescriptionTotal::getTotal)
+                .containsExactlyInAnyOrder(tuple("salario", Money.valueOf(20)), tuple("bonus", Money.valueOf(10)));
+    }
+
+    @Test
+    public void deveAgruparOSaldoPorMoeda() {
+        User usuario = UserRepositoryTest.criarUsuario();
+        usuario.setMoeda("BRL");
+        usuario = entityManager.persist(usuario);
+
+        for(String moeda : new String[] {"BRL", "BRL", "USD"}) {
+            Launch lancamento = criarLancamento();
+            lancamento.setUsuario(usuario);
+            lancamento.setMoeda(moeda);
+            lancamento.setStatus(LaunchStatus.EFETIVADO);
+            entityManager.persist(lancamento);
+        }
+
+        List<BalanceTotal> saldos = repository.obterSaldosPorMoeda(usuario.getId(), LaunchStatus.EFETIVADO);
+
+        assertThat(saldos).extracting(BalanceTotal::getMoeda, BalanceTotal::getTipo, BalanceTotal::getTotal, BalanceTotal::getMoedaBase)
+                .containsExactlyInAnyOrder(
+                        tuple("BRL", ReleaseType.RECEITA, Money.valueOf(20), "BRL"),
+                        tuple("USD", ReleaseType.RECEITA, Money.valueOf(10), "BRL"));
+    }
+
+    @Test
+    public void deveAgruparOSaldoPorMesAteOPeriodoInformado() {
+        User usuario = UserRepositoryTest.criarUsuario();
+        usuario.setMoeda("BRL");
+        usuario = entityManager.persist(usuario);
+
+        // dezembro do ano anterior entra; março do mesmo ano e fevereiro do seguinte não
+        int[][] periodos = { {2018, 12}, {2019, 1}, {2019, 1}, {2019, 2}, {2019, 3}, {2020, 2} };
+        for(int[] periodo : periodos) {
+            Launch lancamento = criarLancamento();
+            lancamento.setUsuario(usuario);
+            lancamento.setAno(periodo[0]);
+            lancamento.setMes(periodo[1]);
+            lancamento.setMoeda("BRL");
+            lancamento.setStatus(LaunchStatus.EFETIVADO);
+            entityManager.persist(lancamento);
+        }
+        Launch cancelado = criarLancamento();
+        cancelado.setUsuario(usuario);
+        cancelado.setStatus(LaunchStatus.CANCELADO);
+        entityManager.persist(cancelado);
+
+        List<PeriodBalance> saldos = repository.obterSaldosMensais(usuario.getId(), 2019, 2,
+                EnumSet.of(LaunchStatus.EFETIVADO, LaunchStatus.PENDENTE));
+
+        assertThat(saldos).extracting(PeriodBalance::getMes, PeriodBalance::getStatus, PeriodBalance::getTotal, PeriodBalance::getMoedaBase)
+                .containsExactlyInAnyOrder(
+                        tuple(12, LaunchStatus.EFETIVADO, Money.valueOf(10), "BRL"),
+                        tuple(1, LaunchStatus.EFETIVADO, Money.valueOf(20), "BRL"),
+                        tuple(2, LaunchStatus.EFETIVADO, Money.valueOf(10), "BRL"));
+    }
+
+    @Test
+    public void deveBuscarLancamentosComSuasTagsSemDuplicarResultados() {
+        User usuario = entityManager.persist(User.builder().nome("usuario").email("tags@email.com").senha("123").build());
+        Tag casa = entityManager.persist(Tag.builder().nome("casa").usuario(usuario).build());
+        Tag fixo = entityManager.persist(Tag.builder().nome("fixo").usuario(usuario).build());
+        Launch lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setTags(new HashSet<>(Arrays.asList(casa, fixo)));
+        entityManager.persist(lancamento);
+        entityManager.flush();
+        entityManager.clear();
+
+        LaunchFilter filtro = LaunchFilter.builder().usuario(usuario.getId()).build();
+        List<Launch> lancamentos = repository.findAll(LaunchSpecifications.de(filtro), Sort.unsorted());
+        List<LaunchIndexEntry> entradas = repository.obterEntradasIndice(usuario.getId());
+
+        assertThat(lancamentos).hasSize(1);
+        assertThat(lancamentos.get(0).getTags()).extracting(Tag::getNome).containsExactlyInAnyOrder("casa", "fixo");
+        assertThat(entradas).extracting(LaunchIndexEntry::getTag).containsExactlyInAnyOrder("casa", "fixo");
+    }
+
+    @Test
+    public void deveFiltrarAsTagsPorSubconsultas() {
+        User usuario = entityManager.persist(User.builder().nome("usuario").email("subconsulta@email.com").senha("123").build());
+        Tag casa = entityManager.persist(Tag.builder().nome("casa").usuario(usuario).build());
+        Tag fixo = entityManager.persist(Tag.builder().nome("fixo").usuario(usuario).build());
+        Tag lazer = entityManager.persist(Tag.builder().nome("lazer").usuario(usuario).build());
+        Launch casaFixo = persistirComTags(usuario, casa, fixo);
+        Launch soCasa = persistirComTags(usuario, casa);
+        Launch soLazer = persistirComTags(usuario, lazer);
+        entityManager.flush();
+        entityManager.clear();
+
+        Specification<Launch> doUsuario = LaunchSpecifications.de(LaunchFilter.builder().usuario(usuario.getId()).build());
+        List<Launch> todas = repository.findAll(doUsuario.and(LaunchSpecifications.comTags(
+                TagFilter.builder().todas(List.of("casa", "fixo")).build())), Sort.unsorted());
+        List<Launch> alguma = repository.findAll(doUsuario.and(LaunchSpecifications.comTags(
+                TagFilter.builder().alguma(List.of("fixo", "lazer")).build())), Sort.unsorted());
+        List<Launch> nenhuma = repository.findAll(doUsuario.and(LaunchSpecifications.comTags(
+                TagFilter.builder().nenhuma(List.of("fixo")).build())), Sort.unsorted());
+
+        assertThat(todas).extracting(Launch::getId).containsExactly(casaFixo.getId());
+        assertThat(alguma).extracting(Launch::getId).containsExactlyInAnyOrder(casaFixo.getId(), soLazer.getId());
+        assertThat(nenhuma).extracting(Launch::getId).containsExactlyInAnyOrder(soCasa.getId(), soLazer.getId());
+    }
+
+    private Launch persistirComTags(User usuario, Tag... tags) {
+        Launch lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setTags(new HashSet<>(Arrays.asList(tags)));
+        return entityManager.persist(lancamento);
+    }
+
     private Launch criarEPersistirUmLancamento() {
         Launch lancamento = criarLancamento();
         entityManager.persist(lancamento);
@@ -89,7 +303,7 @@ public class LaunchRepositoryTest {
                 .ano(2019)
                 .mes(1)
                 .descricao("lancamento qualquer")
-                .valor(BigDecimal.valueOf(10))
+                .valor(Money.valueOf(10))
                 .tipo(ReleaseType.RECEITA)
                 .status(LaunchStatus.PENDENTE)
                 .dataCadastro(LocalDate.now())
@@ -0,0 +1,130 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache de segundo nível de {@link Launch}: sem a transação de teste, para que cada chamada
+ * ao repositório confirme e alimente o cache como em produção.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class LaunchSecondLevelCacheTest {
+
+    static final String REGIAO = Launch.class.getName();
+
+    @Autowired
+    LaunchRepository repository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    BudgetRepository budgetRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    SessionFactory sessionFactory;
+    Statistics estatisticas;
+    Launch lancamento;
+
+    @BeforeEach
+    public void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        estatisticas = sessionFactory.getStatistics();
+
+        User usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+        lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setIdRecorrencia(1l);
+        lancamento = repository.save(lancamento);
+
+        sessionFactory.getCache().evictAllRegions();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void deveLerOLancamentoPorIdDoCacheAPartirDaSegundaConsulta() {
+        //execucao
+        repository.findById(lancamento.getId());
+        long instrucoes = estatisticas.getPrepareStatementCount();
+        Launch doCache = repository.findById(lancamento.getId()).get();
+
+        //verificacao
+        CacheRegionStatistics regiao = estatisticas.getDomainDataRegionStatistics(REGIAO);
+        assertThat(regiao.getMissCount()).isEqualTo(1);
+        assertThat(regiao.getHitCount()).isEqualTo(1);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(instrucoes);
+        assertThat(doCache.getDescricao()).isEqualTo(lancamento.getDescricao());
+        assertThat(doCache.getUsuario().getEmail()).isEqualTo("usuario@email.com");
+    }
+
+    @Test
+    public void deveInvalidarOCacheNaAtualizacaoEmLote() {
+        //cenário
+        repository.findById(lancamento.getId());
+
+        //execucao
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                repository.atualizarOcorrenciasFuturas(1l, 0, LaunchStatus.PENDENTE,
+                        "nova descricao", Money.valueOf(99), "BRL", ReleaseType.DESPESA, 1l));
+        Launch atualizado = repository.findById(lancamento.getId()).get();
+
+        //verificacao
+        assertThat(atualizado.getDescricao()).isEqualTo("nova descricao");
+        assertThat(atualizado.getValor()).isEqualTo(Money.valueOf(99));
+    }
+
+    @Test
+    public void naoDeveLimparOCacheDeLancamentosAoAcumularOrcamentos() {
+        //cenário
+        repository.findById(lancamento.getId());
+
+        //execucao
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                budgetRepository.acumular(lancamento.getUsuario().getId(), 2019, 1, ReleaseType.RECEITA.name(),
+                        List.of(-1L), Money.valueOf(10).toBigDecimal()));
+        repository.findById(lancamento.getId());
+
+        //verificacao
+        assertThat(estatisticas.getDomainDataRegionStatistics(REGIAO).getHitCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,177 @@
+package br.com.pedrodavi.financesapi.repository;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.jdbc.SqlStatementCounter;
+import br.com.pedrodavi.financesapi.jdbc.StatementCountingConfiguration;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Resultado e plano de execução (EXPLAIN do H2) de cada forma de filtro: as formas com
+ * intervalo de período ou de data de cadastro precisam usar o índice correspondente.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(StatementCountingConfiguration.class)
+public class LaunchSpecificationsTest {
+
+    static final String INDICE_PERIODO = "IDX_LANCAMENTO_USUARIO_PERIODO";
+    static final String INDICE_CADASTRO = "IDX_LANCAMENTO_USUARIO_CADASTRO";
+    // qualquer índice que comece por id_usuario (o H2 pode preferir o da chave estrangeira)
+    static final String BUSCA_POR_USUARIO = "/\\* FINANCES\\.\\w+: ID_USUARIO = ";
+
+    @Autowired
+    LaunchRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    User usuario;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = entityManager.persist(User.builder().nome("usuario").email("filtro@email.com").senha("123").build());
+        User outro = entityManager.persist(User.builder().nome("outro").email("outro@email.com").senha("123").build());
+        for(int i = 0; i < 24; i++) {
+            YearMonth periodo = YearMonth.of(2020, 1).plusMonths(i);
+            entityManager.persist(lancamento(usuario, "Aluguel " + periodo, periodo, Money.valueOf(1000 + i),
+                    i % 2 == 0 ? ReleaseType.DESPESA : ReleaseType.RECEITA, i % 3 == 0 ? LaunchStatus.EFETIVADO : LaunchStatus.PENDENTE));
+            entityManager.persist(lancamento(outro, "Aluguel " + periodo, periodo, Money.valueOf(1000 + i),
+                    ReleaseType.DESPESA, LaunchStatus.PENDENTE));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void deveFiltrarPorIntervaloDePeriodoUsandoOIndiceDePeriodo() {
+        LaunchFilter filtro = filtro().periodoInicial(YearMonth.of(2020, 11)).periodoFinal(YearMonth.of(2021, 2)).build();
+
+        List<Launch> lancamentos = buscar(filtro);
+
+        assertThat(lancamentos).extracting(Launch::getAno, Launch::getMes)
+                .containsExactly(tuple(2020, 11), tuple(2020, 12),
+                        tuple(2021, 1), tuple(2021, 2));
+        assertThat(plano()).contains(INDICE_PERIODO);
+    }
+
+    @Test
+    public void deveFiltrarPorAnoExatoUsandoOIndiceDePeriodo() {
+        LaunchFilter filtro = filtro().ano(2021).build();
+
+        assertThat(buscar(filtro)).hasSize(12).allMatch(l -> l.getAno() == 2021);
+        assertThat(plano()).contains(INDICE_PERIODO);
+    }
+
+    @Test
+    public void deveFiltrarPorIntervaloDeCadastroUsandoOIndiceDeCadastro() {
+        LaunchFilter filtro = filtro().cadastroInicial(LocalDate.of(2020, 3, 1)).cadastroFinal(LocalDate.of(2020, 5, 31)).build();
+
+        assertThat(buscar(filtro)).extracting(Launch::getMes).containsExactly(3, 4, 5);
+        assertThat(plano()).contains(INDICE_CADASTRO);
+    }
+
+    @Test
+    public void deveFiltrarPorFaixaDeValorETiposEStatusSemVarrerATabela() {
+        LaunchFilter filtro = filtro()
+                .valorMinimo(Money.valueOf(1005))
+                .valorMaximo(Money.valueOf(1012))
+                .tipos(Set.of(ReleaseType.DESPESA))
+                .status(Set.of(LaunchStatus.EFETIVADO, LaunchStatus.PENDENTE))
+                .build();
+
+        assertThat(buscar(filtro)).extracting(Launch::getValor)
+                .containsExactly(Money.valueOf(1006), Money.valueOf(1008), Money.valueOf(1010), Money.valueOf(1012));
+        assertThat(plano()).containsPattern(BUSCA_POR_USUARIO).doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveFiltrarPeloInicioOuPelaDescricaoExataSemDiferenciarMaiusculas() {
+        List<Launch> porInicio = buscar(filtro().descricao("aluguel 2021-0").build());
+        List<Launch> exata = buscar(filtro().descricao("ALUGUEL 2020-07").descricaoExata(true).build());
+        List<Launch> curingas = buscar(filtro().descricao("%").build());
+
+        assertThat(porInicio).hasSize(9);
+        assertThat(exata).extracting(Launch::getMes).containsExactly(7);
+        assertThat(curingas).isEmpty();
+        assertThat(plano()).containsPattern(BUSCA_POR_USUARIO).doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveOrdenarPelosCamposPedidos() {
+        LaunchFilter filtro = filtro().ano(2020).ordem(List.of("-valor")).build();
+
+        assertThat(buscar(filtro)).extracting(Launch::getMes).containsExactly(12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1);
+    }
+
+    private LaunchFilter.LaunchFilterBuilder filtro() {
+        return LaunchFilter.builder().usuario(usuario.getId()).ordem(List.of("periodo"));
+    }
+
+    private List<Launch> buscar(LaunchFilter filtro) {
+        SqlStatementCounter.reset();
+        return repository.findAll(LaunchSpecifications.de(filtro), LaunchSpecifications.ordenacao(filtro.getOrdem()));
+    }
+
+    /**
+     * Plano da última consulta de {@link #buscar}, com os parâmetros em branco: o H2 escolhe o
+     * índice pelas colunas comparadas, não pelos valores.
+     */
+    private String plano() {
+        String sql = SqlStatementCounter.executadas().get(0);
+        return jdbcTemplate.query("explain " + sql, ps -> {
+            for(int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                ps.setObject(i, null);
+            }
+        }, rs -> {
+            StringBuilder plano = new StringBuilder();
+            while (rs.next()) {
+                plano.append(rs.getString(1));
+            }
+            return plano.toString();
+        });
+    }
+
+    private static Launch lancamento(User usuario, String descricao, YearMonth periodo, Money valor,
+                                     ReleaseType tipo, LaunchStatus status) {
+        return Launch.builder()
+                .usuario(usuario)
+                .descricao(descricao)
+                .ano(periodo.getYear())
+                .mes(periodo.getMonthValue())
+                .valor(valor)
+                .moeda("BRL")
+                .tipo(tipo)
+                .status(status)
+                .dataCadastro(periodo.atDay(10))
+                .build();
+    }
+
+}
@@ -32,7 +32,7 @@ public class UserRepositoryTest {
         entityManager.persist(usuario);
 
         //ação/ execução
-        boolean result = repository.existsByEmail("usuario@email.com");
+        boolean result = repository.existsByEmailIgnoreCase("usuario@email.com");
 
         //verificacao
         Assertions.assertThat(result).isTrue();
@@ -44,7 +44,7 @@ public class UserRepositoryTest {
         //cenário
 
         //acao
-        boolean result = repository.existsByEmail("usuario@email.com");
+        boolean result = repository.existsByEmailIgnoreCase("usuario@email.com");
 
         //verificacao
         Assertions.assertThat(result).isFalse();
@@ -69,17 +69,29 @@ public class UserRepositoryTest {
         entityManager.persist(usuario);
 
         //verificacao
-        Optional<User> result = repository.findByEmail("usuario@email.com");
+        Optional<User> result = repository.findByEmailIgnoreCase("usuario@email.com");
 
         Assertions.assertThat( result.isPresent() ).isTrue();
 
     }
 
+    @Test
+    public void deveBuscarUsuarioGravadoComMaiusculasPeloEmailNormalizado() {
+        //cenario
+        User usuario = criarUsuario();
+        usuario.setEmail("Usuario@Email.com");
+        entityManager.persist(usuario);
+
+        //verificacao
+        Assertions.assertThat(repository.findByEmailIgnoreCase("usuario@email.com")).contains(usuario);
+        Assertions.assertThat(repository.existsByEmailIgnoreCase("usuario@email.com")).isTrue();
+    }
+
     @Test
     public void deveRetornarVazioAoBuscarUsuarioPorEmailQuandoNaoExisteNaBase() {
 
         //verificacao
-        Optional<User> result = repository.findByEmail("usuario@email.com");
+        Optional<User> result = repository.findByEmailIgnoreCase("usuario@email.com");
 
         Assertions.assertThat( result.isPresent() ).isFalse();
 
@@ -0,0 +1,197 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.RebuildStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.exception.AuthError;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetDifference;
+import br.com.pedrodavi.financesapi.model.BudgetRebuildJob;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.TaskLeaseEntry;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.BudgetRepository;
+import br.com.pedrodavi.financesapi.repository.BudgetRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.TaskLeaseRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import br.com.pedrodavi.financesapi.scheduling.TaskLease;
+import br.com.pedrodavi.financesapi.service.impl.BudgetRebuildServiceImpl;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class BudgetRebuildServiceTest {
+
+    static final String TAREFA = "reconstrucao-orcamentos";
+
+    @Autowired
+    BudgetRepository budgetRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskLeaseRepository leaseRepository;
+
+    @Autowired
+    ShardRouter router;
+
+    @Autowired
+    TaskLease lease;
+
+    @Autowired
+    ExchangeRates cambio;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    BudgetRebuildServiceImpl service;
+
+    User usuario;
+    User outro;
+    Budget doUsuario;
+    Budget doOutro;
+
+    @BeforeEach
+    public void setUp() {
+        // faixas de um usuário para passar por várias transações em paralelo
+        service = new BudgetRebuildServiceImpl(budgetRepository, router, lease, cambio, transactionManager, 2, 1, 10, "segredo");
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+        User segundo = UserRepositoryTest.criarUsuario();
+        segundo.setEmail("outro@email.com");
+        outro = userRepository.save(segundo);
+
+        // gasto gravado zerado, mas os lançamentos somam 90
+        doUsuario = budgetRepository.save(BudgetRepositoryTest.criarOrcamento(usuario, null));
+        salvarDespesa(usuario, Money.valueOf(40), LaunchStatus.PENDENTE);
+        salvarDespesa(usuario, Money.valueOf(50), LaunchStatus.EFETIVADO);
+        salvarDespesa(usuario, Money.valueOf(70), LaunchStatus.CANCELADO);
+
+        // gasto gravado de 85 sem nenhum lançamento
+        Budget orcamento = BudgetRepositoryTest.criarOrcamento(outro, null);
+        orcamento.setGasto(Money.valueOf(85));
+        orcamento.setSituacao(BudgetStatus.ALERTA);
+        doOutro = budgetRepository.save(orcamento);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.encerrar();
+        budgetRepository.deleteAllInBatch();
+        launchRepository.deleteAllInBatch();
+        leaseRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void deveListarAsDiferencasSemGravarNaSimulacao() {
+        //execucao
+        BudgetRebuildJob job = service.reconstruir(true, false);
+
+        //verificacao
+        assertThat(job.getStatus()).isEqualTo(RebuildStatus.CONCLUIDO);
+        assertThat(job.getFaixas()).isEqualTo(2);
+        assertThat(job.getUsuarios()).isEqualTo(2);
+        assertThat(job.getOrcamentos()).isEqualTo(2);
+        assertThat(job.getDivergentes()).isEqualTo(2);
+        assertThat(job.getDiferencas())
+                .extracting(BudgetDifference::getOrcamento, BudgetDifference::getGastoAtual, BudgetDifference::getGastoCalculado,
+                        BudgetDifference::getSituacaoCalculada)
+                .containsExactly(
+                        tuple(doUsuario.getId(), Money.ZERO, Money.valueOf(90), BudgetStatus.ALERTA),
+                        tuple(doOutro.getId(), Money.valueOf(85), Money.ZERO, BudgetStatus.DENTRO));
+        assertThat(budgetRepository.findById(doUsuario.getId()).orElseThrow().getGasto()).isEqualTo(Money.ZERO);
+        assertThat(leaseRepository.findById(TAREFA)).isEmpty();
+    }
+
+    @Test
+    public void deveCorrigirOsGastosEmFaixasParalelasGuardandoAPosicao() {
+        //execucao
+        BudgetRebuildJob job = service.reconstruir(false, false);
+        BudgetRebuildJob novamente = service.reconstruir(false, false);
+
+        //verificacao
+        assertThat(job.getStatus()).isEqualTo(RebuildStatus.CONCLUIDO);
+        assertThat(job.getDivergentes()).isEqualTo(2);
+        assertThat(novamente.getDivergentes()).isZero();
+        Budget corrigido = budgetRepository.findById(doUsuario.getId()).orElseThrow();
+        assertThat(corrigido.getGasto()).isEqualTo(Money.valueOf(90));
+        assertThat(corrigido.getSituacao()).isEqualTo(BudgetStatus.ALERTA);
+        Budget zerado = budgetRepository.findById(doOutro.getId()).orElseThrow();
+        assertThat(zerado.getGasto()).isEqualTo(Money.ZERO);
+        assertThat(zerado.getSituacao()).isEqualTo(BudgetStatus.DENTRO);
+        TaskLeaseEntry entrada = leaseRepository.findById(TAREFA).orElseThrow();
+        assertThat(entrada.getPosicao()).isEqualTo(outro.getId());
+        assertThat(entrada.getExpiraEm()).isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    public void deveRetomarDepoisDoUltimoUsuarioConfirmado() {
+        //cenário
+        leaseRepository.save(new TaskLeaseEntry(TAREFA, "outro-no", LocalDateTime.now().minusMinutes(1), usuario.getId()));
+
+        //execucao
+        BudgetRebuildJob job = service.reconstruir(false, true);
+
+        //verificacao
+        assertThat(job.getStatus()).isEqualTo(RebuildStatus.CONCLUIDO);
+        assertThat(job.getUsuarios()).isEqualTo(1);
+        assertThat(job.getDiferencas()).extracting(BudgetDifference::getOrcamento).containsExactly(doOutro.getId());
+        assertThat(budgetRepository.findById(doUsuario.getId()).orElseThrow().getGasto()).isEqualTo(Money.ZERO);
+        assertThat(budgetRepository.findById(doOutro.getId()).orElseThrow().getGasto()).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    public void naoDeveReconstruirEnquantoOutroNoDetemOLease() {
+        //cenário
+        leaseRepository.save(new TaskLeaseEntry(TAREFA, "outro-no", LocalDateTime.now().plusHours(1)));
+
+        //execucao
+        BudgetRebuildJob job = service.reconstruir(false, false);
+
+        //verificacao
+        assertThat(job.getStatus()).isEqualTo(RebuildStatus.INTERROMPIDO);
+        assertThat(job.getErro()).isEqualTo("Há uma reconstrução em andamento em outro nó.");
+        assertThat(budgetRepository.findById(doOutro.getId()).orElseThrow().getGasto()).isEqualTo(Money.valueOf(85));
+    }
+
+    @Test
+    public void deveExigirOToken() {
+        assertThatThrownBy(() -> service.autorizar("errado")).isInstanceOf(AuthError.class);
+        assertThatThrownBy(() -> service.autorizar(null)).isInstanceOf(AuthError.class);
+        service.autorizar("segredo");
+    }
+
+    private void salvarDespesa(User dono, Money valor, LaunchStatus status) {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(dono);
+        lancamento.setTipo(ReleaseType.DESPESA);
+        lancamento.setValor(valor);
+        lancamento.setStatus(status);
+        launchRepository.save(lancamento);
+    }
+
+}
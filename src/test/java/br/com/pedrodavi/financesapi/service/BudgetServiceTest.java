@@ -0,0 +1,142 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.BudgetStatus;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.event.BudgetAlertEvent;
+import br.com.pedrodavi.financesapi.model.Budget;
+import br.com.pedrodavi.financesapi.model.BudgetImpact;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.BudgetRepository;
+import br.com.pedrodavi.financesapi.repository.BudgetRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.service.impl.BudgetServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BudgetServiceTest {
+
+    BudgetRepository repository = mock(BudgetRepository.class);
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    ExchangeRates cambio = new ExchangeRates(Map.of("BRL", BigDecimal.ONE, "USD", new BigDecimal("5.00")), "BRL");
+    BudgetServiceImpl service = new BudgetServiceImpl(repository, cambio, publisher);
+
+    User usuario = User.builder().id(1l).moeda("BRL").build();
+
+    @Test
+    public void deveAplicarApenasADiferencaQuandoOLancamentoMudaDeValor() {
+        //cenário
+        Launch lancamento = criarDespesa(Money.valueOf(10), "USD");
+        BudgetImpact anterior = service.impacto(lancamento);
+        lancamento.setValor(Money.valueOf(12));
+
+        //execucao
+        service.aplicar(anterior, service.impacto(lancamento));
+
+        //verificacao
+        verify(repository, times(1)).acumular(1l, 2019, 1, "DESPESA", List.of(-1L), Money.valueOf(10).toBigDecimal());
+        verify(repository, never()).obterAfetados(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void deveMoverOGastoQuandoOLancamentoMudaDeMes() {
+        //cenário
+        Launch lancamento = criarDespesa(Money.valueOf(10), "BRL");
+        BudgetImpact anterior = service.impacto(lancamento);
+        lancamento.setMes(2);
+
+        //execucao
+        service.aplicar(anterior, service.impacto(lancamento));
+
+        //verificacao
+        verify(repository).acumular(1l, 2019, 1, "DESPESA", List.of(-1L), Money.valueOf(-10).toBigDecimal());
+        verify(repository).acumular(1l, 2019, 2, "DESPESA", List.of(-1L), Money.valueOf(10).toBigDecimal());
+    }
+
+    @Test
+    public void naoDeveContarLancamentosCancelados() {
+        //cenário
+        Launch lancamento = criarDespesa(Money.valueOf(10), "BRL");
+        BudgetImpact anterior = service.impacto(lancamento);
+        lancamento.setStatus(LaunchStatus.CANCELADO);
+
+        //execucao
+        service.aplicar(anterior, service.impacto(lancamento));
+
+        //verificacao
+        verify(repository).acumular(1l, 2019, 1, "DESPESA", List.of(-1L), Money.valueOf(-10).toBigDecimal());
+    }
+
+    @Test
+    public void deveAlertarUmaUnicaVezAoCruzarOLimiar() {
+        //cenário
+        Budget orcamento = BudgetRepositoryTest.criarOrcamento(usuario, null);
+        orcamento.setId(5l);
+        orcamento.setGasto(Money.valueOf(85));
+        when(repository.acumular(anyLong(), anyInt(), anyInt(), anyString(), anyList(), any())).thenReturn(1);
+        when(repository.obterAfetados(anyLong(), anyInt(), anyInt(), any(ReleaseType.class), anyList())).thenReturn(List.of(orcamento));
+
+        //execucao
+        service.aplicar(null, service.impacto(criarDespesa(Money.valueOf(85), "BRL")));
+        service.aplicar(null, service.impacto(criarDespesa(Money.valueOf(1), "BRL")));
+
+        //verificacao
+        ArgumentCaptor<BudgetAlertEvent> alerta = ArgumentCaptor.forClass(BudgetAlertEvent.class);
+        verify(publisher, times(1)).publishEvent(alerta.capture());
+        assertThat(alerta.getValue().getSituacao()).isEqualTo(BudgetStatus.ALERTA);
+        assertThat(orcamento.getSituacao()).isEqualTo(BudgetStatus.ALERTA);
+    }
+
+    @Test
+    public void deveSomarOLoteComUmUpdatePorDestino() {
+        //cenário
+        Launch fevereiro = criarDespesa(Money.valueOf(7), "BRL");
+        fevereiro.setMes(2);
+        Launch cancelado = criarDespesa(Money.valueOf(100), "BRL");
+        cancelado.setStatus(LaunchStatus.CANCELADO);
+
+        //execucao
+        service.aplicarTodos(Arrays.asList(
+                service.impacto(criarDespesa(Money.valueOf(10), "BRL")),
+                service.impacto(criarDespesa(Money.valueOf(2), "USD")),
+                service.impacto(fevereiro),
+                service.impacto(cancelado)));
+
+        //verificacao
+        verify(repository).acumular(1l, 2019, 1, "DESPESA", List.of(-1L), Money.valueOf(20).toBigDecimal());
+        verify(repository).acumular(1l, 2019, 2, "DESPESA", List.of(-1L), Money.valueOf(7).toBigDecimal());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    public void deveAvaliarASituacaoPeloLimite() {
+        Budget orcamento = BudgetRepositoryTest.criarOrcamento(usuario, null);
+
+        assertThat(orcamento.avaliar(Money.valueOf(79))).isEqualTo(BudgetStatus.DENTRO);
+        assertThat(orcamento.avaliar(Money.valueOf(80))).isEqualTo(BudgetStatus.ALERTA);
+        assertThat(orcamento.avaliar(Money.valueOf(100))).isEqualTo(BudgetStatus.ALERTA);
+        assertThat(orcamento.avaliar(Money.ofCents(10001))).isEqualTo(BudgetStatus.EXCEDIDO);
+    }
+
+    private Launch criarDespesa(Money valor, String moeda) {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setTipo(ReleaseType.DESPESA);
+        lancamento.setValor(valor);
+        lancamento.setMoeda(moeda);
+        return lancamento;
+    }
+
+}
@@ -0,0 +1,125 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.coalescing.SingleFlight;
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.event.UserDataVersions;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.service.impl.CoalescingLaunchService;
+import br.com.pedrodavi.financesapi.service.impl.LaunchServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CoalescingLaunchServiceTest {
+
+    LaunchServiceImpl delegate = mock(LaunchServiceImpl.class);
+    UserDataVersions versoes = new UserDataVersions();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    CoalescingLaunchService service = new CoalescingLaunchService(delegate, versoes, registry);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void deveJuntarConsultasDeSaldoSimultaneas() throws Exception {
+        //cenário
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(delegate.obterSaldoPorUsuario(1l)).thenAnswer(i -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return Money.valueOf(10);
+        });
+
+        //execucao
+        Future<Money> primeira = executor.submit(() -> service.obterSaldoPorUsuario(1l));
+        Future<Money> segunda = executor.submit(() -> service.obterSaldoPorUsuario(1l));
+        aguardarCoalescidas("saldo", 1);
+        liberar.countDown();
+
+        //verificacao
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo(Money.valueOf(10));
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo(Money.valueOf(10));
+        verify(delegate, times(1)).obterSaldoPorUsuario(1l);
+        assertThat(contador("saldo", "executada")).isEqualTo(1d);
+    }
+
+    @Test
+    public void naoDeveAproveitarCalculoIniciadoAntesDeUmaEscritaConfirmada() throws Exception {
+        //cenário
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(delegate.obterSaldoPorUsuario(1l))
+                .thenAnswer(i -> {
+                    liberar.await(5, TimeUnit.SECONDS);
+                    return Money.valueOf(10);
+                })
+                .thenReturn(Money.valueOf(25));
+
+        //execucao
+        Future<Money> antes = executor.submit(() -> service.obterSaldoPorUsuario(1l));
+        verify(delegate, timeout(5000)).obterSaldoPorUsuario(1l);
+        versoes.aoAlterarLancamento(LaunchEvent.of(LaunchEventType.CRIADO, lancamentoDoUsuario(1l)));
+        Money depois = service.obterSaldoPorUsuario(1l);
+        liberar.countDown();
+
+        //verificacao
+        assertThat(antes.get(5, TimeUnit.SECONDS)).isEqualTo(Money.valueOf(10));
+        assertThat(depois).isEqualTo(Money.valueOf(25));
+        assertThat(contador("saldo", "coalescida")).isEqualTo(0d);
+    }
+
+    @Test
+    public void deveRepassarOErroParaTodasAsChamadasCoalescidas() throws Exception {
+        //cenário
+        CountDownLatch liberar = new CountDownLatch(1);
+        LaunchFilter filtro = LaunchFilter.builder().usuario(1l).mes(1).ano(2019).build();
+        when(delegate.buscar(filtro)).thenAnswer(i -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("falha");
+        });
+
+        //execucao
+        Future<?> primeira = executor.submit(() -> service.buscar(filtro));
+        Future<?> segunda = executor.submit(() -> service.buscar(filtro));
+        aguardarCoalescidas("busca", 1);
+        liberar.countDown();
+
+        //verificacao
+        assertThatThrownBy(() -> primeira.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> segunda.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        verify(delegate, times(1)).buscar(filtro);
+    }
+
+    private Launch lancamentoDoUsuario(Long idUsuario) {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(User.builder().id(idUsuario).build());
+        return lancamento;
+    }
+
+    private double contador(String operacao, String resultado) {
+        return registry.counter(SingleFlight.METRICA, "operacao", operacao, "resultado", resultado).count();
+    }
+
+    private void aguardarCoalescidas(String operacao, int quantidade) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (contador(operacao, "coalescida") < quantidade && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+}
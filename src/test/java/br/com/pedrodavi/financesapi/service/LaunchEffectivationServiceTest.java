@@ -0,0 +1,189 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.TaskLeaseEntry;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.TaskLeaseRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import br.com.pedrodavi.financesapi.scheduling.TaskLease;
+import br.com.pedrodavi.financesapi.service.impl.LaunchEffectivationServiceImpl;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class LaunchEffectivationServiceTest {
+
+    static final LocalDate HOJE = LocalDate.of(2021, 5, 10);
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskLeaseRepository leaseRepository;
+
+    @Autowired
+    ShardRouter router;
+
+    @Autowired
+    TaskLease lease;
+
+    @Autowired
+    ApplicationEventPublisher publisher;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    LaunchEffectivationService service;
+
+    User usuario;
+    User outro;
+
+    @BeforeEach
+    public void setUp() {
+        // lotes de 2 para passar por várias transações com poucos lançamentos
+        service = new LaunchEffectivationServiceImpl(launchRepository, router, lease, publisher, transactionManager, true, 2, 20, "America/Sao_Paulo");
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+        User segundo = UserRepositoryTest.criarUsuario();
+        segundo.setEmail("outro@email.com");
+        outro = userRepository.save(segundo);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        launchRepository.deleteAllInBatch();
+        leaseRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void deveEfetivarOsVencidosEmLotesAvancandoASequenciaDosUsuarios() {
+        //cenário
+        Launch venceuAntes = salvar(usuario, HOJE.minusMonths(1), LaunchStatus.PENDENTE);
+        Launch venceHoje = salvar(usuario, HOJE, LaunchStatus.PENDENTE);
+        Launch doOutro = salvar(outro, HOJE.minusDays(3), LaunchStatus.PENDENTE);
+        Launch mesmoDia = salvar(outro, HOJE.minusDays(3), LaunchStatus.PENDENTE);
+        Launch futuro = salvar(usuario, HOJE.plusDays(1), LaunchStatus.PENDENTE);
+        Launch semVencimento = salvar(usuario, null, LaunchStatus.PENDENTE);
+        Launch cancelado = salvar(outro, HOJE.minusDays(1), LaunchStatus.CANCELADO);
+        long sequenciaAnterior = launchRepository.obterSequencia(usuario.getId());
+        launchRepository.findById(venceHoje.getId());
+
+        //execucao
+        int efetivados = service.efetivarVencidos(HOJE);
+        int novamente = service.efetivarVencidos(HOJE);
+
+        //verificacao
+        assertThat(efetivados).isEqualTo(4);
+        assertThat(novamente).isZero();
+        for(Launch lancamento : new Launch[] { venceuAntes, venceHoje, doOutro, mesmoDia }) {
+            Launch atual = launchRepository.findById(lancamento.getId()).orElseThrow();
+            assertThat(atual.getStatus()).isEqualTo(LaunchStatus.EFETIVADO);
+            assertThat(atual.getSequencia()).isPositive()
+                    .isLessThanOrEqualTo(launchRepository.obterSequencia(atual.getUsuario().getId()));
+        }
+        assertThat(launchRepository.obterSequencia(usuario.getId())).isGreaterThan(sequenciaAnterior);
+        assertThat(launchRepository.findById(futuro.getId()).orElseThrow().getStatus()).isEqualTo(LaunchStatus.PENDENTE);
+        assertThat(launchRepository.findById(semVencimento.getId()).orElseThrow().getStatus()).isEqualTo(LaunchStatus.PENDENTE);
+        assertThat(launchRepository.findById(cancelado.getId()).orElseThrow().getStatus()).isEqualTo(LaunchStatus.CANCELADO);
+    }
+
+    @Test
+    public void devePararNoLimiteDeLotesERetomarNaExecucaoSeguinte() {
+        //cenário
+        service = new LaunchEffectivationServiceImpl(launchRepository, router, lease, publisher, transactionManager, true, 2, 1, "America/Sao_Paulo");
+        for(int dia = 1; dia <= 3; dia++) {
+            salvar(usuario, HOJE.minusDays(dia), LaunchStatus.PENDENTE);
+        }
+
+        //execucao
+        int primeira = service.efetivarVencidos(HOJE);
+        int segunda = service.efetivarVencidos(HOJE);
+
+        //verificacao
+        assertThat(primeira).isEqualTo(2);
+        assertThat(segunda).isEqualTo(1);
+        assertThat(launchRepository.findAll()).extracting(Launch::getStatus).containsOnly(LaunchStatus.EFETIVADO);
+    }
+
+    @Test
+    public void naoDeveEfetivarEnquantoOutroNoDetemOLease() {
+        //cenário
+        Launch vencido = salvar(usuario, HOJE.minusDays(1), LaunchStatus.PENDENTE);
+        leaseRepository.save(new TaskLeaseEntry("efetivacao-lancamentos", "outro-no", LocalDateTime.now().plusHours(1)));
+
+        //execucao
+        int efetivados = service.efetivarVencidos(HOJE);
+
+        //verificacao
+        assertThat(efetivados).isZero();
+        assertThat(launchRepository.findById(vencido.getId()).orElseThrow().getStatus()).isEqualTo(LaunchStatus.PENDENTE);
+    }
+
+    @Test
+    public void deveAssumirOLeaseExpiradoDeOutroNo() {
+        //cenário
+        Launch vencido = salvar(usuario, HOJE.minusDays(1), LaunchStatus.PENDENTE);
+        leaseRepository.save(new TaskLeaseEntry("efetivacao-lancamentos", "outro-no", LocalDateTime.now().minusMinutes(1)));
+
+        //execucao
+        int efetivados = service.efetivarVencidos(HOJE);
+
+        //verificacao
+        assertThat(efetivados).isEqualTo(1);
+        assertThat(launchRepository.findById(vencido.getId()).orElseThrow().getStatus()).isEqualTo(LaunchStatus.EFETIVADO);
+        assertThat(leaseRepository.findById("efetivacao-lancamentos").orElseThrow().getDono()).isNotEqualTo("outro-no");
+    }
+
+    @Test
+    public void deveUsarODiaDoFusoConfiguradoENaoODoServidor() {
+        //cenário
+        // 01h UTC do dia 10 ainda é dia 9 em São Paulo
+        Clock relogio = Clock.fixed(Instant.parse("2021-05-10T01:00:00Z"), ZoneId.of("America/Sao_Paulo"));
+        service = new LaunchEffectivationServiceImpl(launchRepository, router, lease, publisher, transactionManager, true, 2, 20, relogio);
+        Launch ontem = salvar(usuario, HOJE.minusDays(1), LaunchStatus.PENDENTE);
+        Launch hoje = salvar(usuario, HOJE, LaunchStatus.PENDENTE);
+
+        //execucao
+        int efetivados = service.efetivarVencidos();
+
+        //verificacao
+        assertThat(efetivados).isEqualTo(1);
+        assertThat(launchRepository.findById(ontem.getId()).orElseThrow().getStatus()).isEqualTo(LaunchStatus.EFETIVADO);
+        assertThat(launchRepository.findById(hoje.getId()).orElseThrow().getStatus()).isEqualTo(LaunchStatus.PENDENTE);
+    }
+
+    private Launch salvar(User dono, LocalDate vencimento, LaunchStatus status) {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(dono);
+        lancamento.setDataVencimento(vencimento);
+        lancamento.setStatus(status);
+        return launchRepository.save(lancamento);
+    }
+
+}
@@ -1,24 +1,36 @@
 package br.com.pedrodavi.financesapi.service;
 
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
 import br.com.pedrodavi.financesapi.enums.LaunchStatus;
 import br.com.pedrodavi.financesapi.enums.ReleaseType;
 import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.index.LaunchDedupIndex;
+import br.com.pedrodavi.financesapi.index.LaunchTagIndex;
+import br.com.pedrodavi.financesapi.model.ImportResult;
 import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchFilter;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.MonthlyBalance;
 import br.com.pedrodavi.financesapi.model.User;
 import br.com.pedrodavi.financesapi.repository.LaunchRepository;
 import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.projection.BalanceTotal;
+import br.com.pedrodavi.financesapi.repository.projection.PeriodBalance;
 import br.com.pedrodavi.financesapi.service.impl.LaunchServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,12 +45,23 @@ public class LaunchServiceTest {
     LaunchServiceImpl service;
     @MockBean
     LaunchRepository repository;
+    @MockBean
+    LaunchTagIndex indice;
+    @MockBean
+    LaunchDedupIndex deduplicacao;
+    @MockBean
+    TagService tagService;
+    @MockBean
+    ExchangeRates cambio;
+    @MockBean
+    BudgetService orcamentoService;
 
     @Test
     public void deveSalvarUmLancamento() {
         //cenário
-        Launch lancamentoASalvar = LaunchRepositoryTest.criarLancamento();
+        Launch lancamentoASalvar = lancamentoDoUsuario(1l);
         doNothing().when(service).validar(lancamentoASalvar);
+        when(repository.proximaSequencia(1l)).thenReturn(7l);
 
         Launch lancamentoSalvo = LaunchRepositoryTest.criarLancamento();
         lancamentoSalvo.setId(1l);
@@ -51,6 +74,7 @@ public class LaunchServiceTest {
         //verificação
         assertThat( lancamento.getId() ).isEqualTo(lancamentoSalvo.getId());
         assertThat(lancamento.getStatus()).isEqualTo(LaunchStatus.PENDENTE);
+        assertThat(lancamentoASalvar.getSequencia()).isEqualTo(7l);
     }
 
     @Test
@@ -64,10 +88,66 @@ public class LaunchServiceTest {
         verify(repository, never()).save(lancamentoASalvar);
     }
 
+    @Test
+    public void naoDeveCriarTagsQuandoHouverErroDeValidacao() {
+        //cenário
+        Launch lancamentoASalvar = lancamentoDoUsuario(1L);
+        doThrow( BusinessRuleException.class ).when(service).validar(lancamentoASalvar);
+
+        //execucao e verificacao
+        catchThrowableOfType( () -> service.salvar(lancamentoASalvar, List.of("casa")), BusinessRuleException.class );
+        verify(tagService, never()).obterOuCriar(any(), any());
+        verify(repository, never()).save(lancamentoASalvar);
+    }
+
+    @Test
+    public void deveImportarSomenteOsLancamentosNovos() {
+        //cenário
+        Launch novo = lancamentoDoUsuario(1L);
+        Launch repetido = lancamentoDoUsuario(1L);
+        doNothing().when(service).validar(any(Launch.class));
+        when(deduplicacao.filtrarNovos(1L, Arrays.asList(novo, repetido))).thenReturn(List.of(novo));
+
+        //execucao
+        ImportResult resultado = service.importar(Arrays.asList(novo, repetido));
+
+        //verificacao
+        assertThat(resultado.getImportados()).isEqualTo(1);
+        assertThat(resultado.getDuplicados()).isEqualTo(1);
+        assertThat(novo.getStatus()).isEqualTo(LaunchStatus.PENDENTE);
+        verify(repository).inserirEmLote(List.of(novo));
+        verify(orcamentoService).aplicarTodos(any());
+        verify(orcamentoService, never()).recalcular(any());
+    }
+
+    @Test
+    public void naoDeveImportarLancamentosDeUsuariosDiferentes() {
+        //cenário
+        doNothing().when(service).validar(any(Launch.class));
+
+        //execucao e verificacao
+        assertThatThrownBy(() -> service.importar(Arrays.asList(lancamentoDoUsuario(1L), lancamentoDoUsuario(2L))))
+                .isInstanceOf(BusinessRuleException.class);
+        verify(repository, never()).inserirEmLote(any());
+    }
+
+    @Test
+    public void deveDescartarOFiltroQuandoOIndiceUnicoRecusarAImportacao() {
+        //cenário
+        Launch lancamento = lancamentoDoUsuario(1L);
+        doNothing().when(service).validar(any(Launch.class));
+        when(deduplicacao.filtrarNovos(1L, List.of(lancamento))).thenReturn(List.of(lancamento));
+        doThrow(DuplicateKeyException.class).when(repository).inserirEmLote(List.of(lancamento));
+
+        //execucao e verificacao
+        assertThatThrownBy(() -> service.importar(List.of(lancamento))).isInstanceOf(BusinessRuleException.class);
+        verify(deduplicacao).invalidar(1L);
+    }
+
     @Test
     public void deveAtualizarUmLancamento() {
         //cenário
-        Launch lancamentoSalvo = LaunchRepositoryTest.criarLancamento();
+        Launch lancamentoSalvo = lancamentoDoUsuario(1l);
         lancamentoSalvo.setId(1l);
         lancamentoSalvo.setStatus(LaunchStatus.PENDENTE);
 
@@ -96,14 +176,16 @@ public class LaunchServiceTest {
     @Test
     public void deveDeletarUmLancamento() {
         //cenário
-        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        Launch lancamento = lancamentoDoUsuario(1l);
         lancamento.setId(1l);
+        when(repository.proximaSequencia(1l)).thenReturn(8l);
 
         //execucao
         service.deletar(lancamento);
 
         //verificacao
         verify( repository ).delete(lancamento);
+        verify( repository ).registrarRemocao(lancamento, 8l);
     }
 
     @Test
@@ -127,10 +209,10 @@ public class LaunchServiceTest {
         lancamento.setId(1l);
 
         List<Launch> lista = Arrays.asList(lancamento);
-        when( repository.findAll(any(Example.class)) ).thenReturn(lista);
+        when( repository.findAll(any(Specification.class), any(Sort.class)) ).thenReturn(lista);
 
         //execucao
-        List<Launch> resultado = service.buscar(lancamento);
+        List<Launch> resultado = service.buscar(LaunchFilter.builder().usuario(1l).build());
 
         //verificacoes
         assertThat(resultado)
@@ -140,22 +222,40 @@ public class LaunchServiceTest {
 
     }
 
+    @Test
+    public void naoDeveBuscarComPeriodoInicialPosteriorAoFinal() {
+        //cenário
+        LaunchFilter filtro = LaunchFilter.builder()
+                .usuario(1l)
+                .periodoInicial(YearMonth.of(2021, 6))
+                .periodoFinal(YearMonth.of(2021, 1))
+                .build();
+
+        //execucao e verificacao
+        catchThrowableOfType( () -> service.buscar(filtro), BusinessRuleException.class );
+        verifyNoInteractions(repository);
+    }
+
     @Test
     public void deveAtualizarOStatusDeUmLancamento() {
         //cenário
-        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        Launch lancamento = lancamentoDoUsuario(1l);
         lancamento.setId(1l);
         lancamento.setStatus(LaunchStatus.PENDENTE);
 
         LaunchStatus novoStatus = LaunchStatus.EFETIVADO;
-        doReturn(lancamento).when(service).atualizar(lancamento);
+        doNothing().when(service).validar(lancamento);
+        when(repository.save(lancamento)).thenReturn(lancamento);
 
         //execucao
         service.atualizarStatus(lancamento, novoStatus);
 
         //verificacoes
         assertThat(lancamento.getStatus()).isEqualTo(novoStatus);
-        verify(service).atualizar(lancamento);
+        verify(repository).save(lancamento);
+        // o impacto anterior é capturado antes da troca de status, sem nova consulta
+        verify(repository, never()).findById(anyLong());
+        verify(orcamentoService, times(2)).impacto(lancamento);
 
     }
 
@@ -245,36 +345,96 @@ public class LaunchServiceTest {
         erro = catchThrowable( () -> service.validar(lancamento) );
         assertThat(erro).isInstanceOf(BusinessRuleException.class).hasMessage("Informe um Valor válido.");
 
-        lancamento.setValor(BigDecimal.ZERO);
+        lancamento.setValor(Money.ZERO);
 
         erro = catchThrowable( () -> service.validar(lancamento) );
         assertThat(erro).isInstanceOf(BusinessRuleException.class).hasMessage("Informe um Valor válido.");
 
-        lancamento.setValor(BigDecimal.valueOf(1));
+        lancamento.setValor(Money.valueOf(1));
 
         erro = catchThrowable( () -> service.validar(lancamento) );
         assertThat(erro).isInstanceOf(BusinessRuleException.class).hasMessage("Informe um tipo de Lançamento.");
 
     }
 
+    private static Launch lancamentoDoUsuario(Long idUsuario) {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(User.builder().id(idUsuario).build());
+        lancamento.setMoeda("BRL");
+        return lancamento;
+    }
+
     @Test
     public void deveObterSaldoPorUsuario() {
         //cenario
         Long idUsuario = 1l;
 
-        when( repository
-                .obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, ReleaseType.RECEITA, LaunchStatus.EFETIVADO))
-                .thenReturn(BigDecimal.valueOf(100));
+        when( repository.obterSaldosPorMoeda(idUsuario, LaunchStatus.EFETIVADO) ).thenReturn(Arrays.asList(
+                saldo("BRL", ReleaseType.RECEITA, Money.valueOf(100)),
+                saldo("USD", ReleaseType.RECEITA, Money.valueOf(10)),
+                saldo("BRL", ReleaseType.DESPESA, Money.valueOf(50))));
+        when( cambio.converter(Money.valueOf(100), "BRL", "BRL") ).thenReturn(Money.valueOf(100));
+        when( cambio.converter(Money.valueOf(10), "USD", "BRL") ).thenReturn(Money.valueOf(54));
+        when( cambio.converter(Money.valueOf(50), "BRL", "BRL") ).thenReturn(Money.valueOf(50));
 
-        when( repository
-                .obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, ReleaseType.DESPESA, LaunchStatus.EFETIVADO))
-                .thenReturn(BigDecimal.valueOf(50));
+        //execucao
+        Money saldo = service.obterSaldoPorUsuario(idUsuario);
+
+        //verificacao
+        assertThat(saldo).isEqualTo(Money.valueOf(104));
+        verify(repository, times(1)).obterSaldosPorMoeda(idUsuario, LaunchStatus.EFETIVADO);
+    }
+
+    @Test
+    public void deveAcumularOSaldoEfetivoEProjetadoPorMes() {
+        //cenario
+        Long idUsuario = 1l;
+        when( repository.obterSaldosMensais(idUsuario, 2021, 3, EnumSet.of(LaunchStatus.EFETIVADO, LaunchStatus.PENDENTE)) )
+                .thenReturn(Arrays.asList(
+                        saldoMensal(2020, 6, "BRL", ReleaseType.RECEITA, LaunchStatus.EFETIVADO, Money.valueOf(100)),
+                        saldoMensal(2021, 1, "BRL", ReleaseType.DESPESA, LaunchStatus.EFETIVADO, Money.valueOf(30)),
+                        saldoMensal(2021, 1, "USD", ReleaseType.RECEITA, LaunchStatus.PENDENTE, Money.valueOf(10)),
+                        saldoMensal(2021, 3, "BRL", ReleaseType.DESPESA, LaunchStatus.PENDENTE, Money.valueOf(5))));
+        when( cambio.converter(any(Money.class), eq("BRL"), eq("BRL")) ).thenAnswer(i -> i.getArgument(0));
+        when( cambio.converter(Money.valueOf(10), "USD", "BRL") ).thenReturn(Money.valueOf(54));
 
         //execucao
-        BigDecimal saldo = service.obterSaldoPorUsuario(idUsuario);
+        List<MonthlyBalance> evolucao = service.obterEvolucaoSaldo(idUsuario, YearMonth.of(2021, 1), YearMonth.of(2021, 3));
 
         //verificacao
-        assertThat(saldo).isEqualTo(BigDecimal.valueOf(50));
+        assertThat(evolucao).extracting(MonthlyBalance::getMes, MonthlyBalance::getEfetivo, MonthlyBalance::getProjetado)
+                .containsExactly(
+                        tuple(YearMonth.of(2021, 1), Money.valueOf(70), Money.valueOf(124)),
+                        tuple(YearMonth.of(2021, 2), Money.valueOf(70), Money.valueOf(124)),
+                        tuple(YearMonth.of(2021, 3), Money.valueOf(70), Money.valueOf(119)));
+    }
+
+    @Test
+    public void naoDeveCalcularAEvolucaoComPeriodoInvertido() {
+        assertThatThrownBy(() -> service.obterEvolucaoSaldo(1l, YearMonth.of(2021, 2), YearMonth.of(2021, 1)))
+                .isInstanceOf(BusinessRuleException.class);
+        verify(repository, never()).obterSaldosMensais(anyLong(), anyInt(), anyInt(), any());
+    }
+
+    private static PeriodBalance saldoMensal(int ano, int mes, String moeda, ReleaseType tipo, LaunchStatus status, Money total) {
+        return new PeriodBalance() {
+            public Integer getAno() { return ano; }
+            public Integer getMes() { return mes; }
+            public String getMoeda() { return moeda; }
+            public ReleaseType getTipo() { return tipo; }
+            public LaunchStatus getStatus() { return status; }
+            public Money getTotal() { return total; }
+            public String getMoedaBase() { return "BRL"; }
+        };
+    }
+
+    private static BalanceTotal saldo(String moeda, ReleaseType tipo, Money total) {
+        return new BalanceTotal() {
+            public String getMoeda() { return moeda; }
+            public ReleaseType getTipo() { return tipo; }
+            public Money getTotal() { return total; }
+            public String getMoedaBase() { return "BRL"; }
+        };
 
     }
 
@@ -0,0 +1,57 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.enums.LaunchEventType;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.service.impl.LaunchStreamServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LaunchStreamServiceTest {
+
+    LaunchService lancamentoService = mock(LaunchService.class);
+    LaunchStreamServiceImpl service = new LaunchStreamServiceImpl(lancamentoService, new ObjectMapper(), 60_000, 4, 1);
+
+    @Test
+    public void deveEnviarOSaldoApenasParaUsuariosComInscritos() {
+        //cenário
+        when(lancamentoService.obterSaldoPorUsuario(anyLong())).thenReturn(Money.valueOf(10));
+        service.inscrever(1l);
+
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setId(5l);
+        lancamento.setUsuario(User.builder().id(2l).build());
+
+        //execucao
+        service.publicar(List.of(LaunchEvent.of(LaunchEventType.CRIADO, lancamento)));
+
+        //verificacao
+        verify(lancamentoService, timeout(1000).times(1)).obterSaldoPorUsuario(1l);
+        verify(lancamentoService, after(200).never()).obterSaldoPorUsuario(2l);
+    }
+
+    @Test
+    public void naoDeveEnviarOLancamentoNoEventoDeRemocao() {
+        //cenário
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setId(5l);
+        lancamento.setUsuario(User.builder().id(2l).build());
+
+        //execucao
+        LaunchEvent evento = LaunchEvent.of(LaunchEventType.REMOVIDO, lancamento);
+
+        //verificacao
+        assertThat(evento.getId()).isEqualTo(5l);
+        assertThat(evento.getUsuario()).isEqualTo(2l);
+        assertThat(evento.getLancamento()).isNull();
+    }
+
+}
@@ -0,0 +1,130 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.exception.ExpiredChangeTokenException;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.LaunchChanges;
+import br.com.pedrodavi.financesapi.model.LaunchTombstone;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.LaunchTombstoneRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepositoryTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class LaunchSyncServiceTest {
+
+    @Autowired
+    LaunchSyncService service;
+
+    @Autowired
+    LaunchService lancamentoService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    @Autowired
+    LaunchTombstoneRepository tombstoneRepository;
+
+    User usuario;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = userRepository.save(UserRepositoryTest.criarUsuario());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        launchRepository.deleteAllInBatch();
+        tombstoneRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void deveDevolverSoAsAlteracoesERemocoesPosterioresAoToken() {
+        //cenário
+        Launch alterado = salvar();
+        Launch removido = salvar();
+        LaunchChanges completa = service.alteracoes(usuario.getId(), null, 10);
+
+        alterado.setDescricao("alterado");
+        lancamentoService.atualizar(alterado);
+        lancamentoService.deletar(removido);
+        Launch novo = salvar();
+
+        //execucao
+        LaunchChanges primeira = service.alteracoes(usuario.getId(), completa.getToken(), 1);
+        LaunchChanges segunda = service.alteracoes(usuario.getId(), primeira.getToken(), 1);
+        LaunchChanges vazia = service.alteracoes(usuario.getId(), segunda.getToken(), 1);
+
+        //verificacao
+        assertThat(completa.getAlterados()).extracting(Launch::getId).containsExactly(alterado.getId(), removido.getId());
+        assertThat(completa.isTemMais()).isFalse();
+        assertThat(completa.getRemovidos()).isEmpty();
+
+        assertThat(primeira.isTemMais()).isTrue();
+        assertThat(primeira.getAlterados()).extracting(Launch::getDescricao).containsExactly("alterado");
+        assertThat(primeira.getRemovidos()).isEmpty();
+
+        assertThat(segunda.isTemMais()).isFalse();
+        assertThat(segunda.getAlterados()).extracting(Launch::getId).containsExactly(novo.getId());
+        assertThat(segunda.getRemovidos()).containsExactly(removido.getId());
+
+        assertThat(vazia.getAlterados()).isEmpty();
+        assertThat(vazia.getRemovidos()).isEmpty();
+        assertThat(vazia.getToken()).isEqualTo(segunda.getToken());
+    }
+
+    @Test
+    public void deveExpirarTokensAnterioresAsRemocoesExpurgadas() {
+        //cenário
+        Launch lancamento = salvar();
+        String token = service.alteracoes(usuario.getId(), null, 10).getToken();
+        lancamentoService.deletar(lancamento);
+        LaunchTombstone remocao = tombstoneRepository.findById(lancamento.getId()).get();
+        remocao.setDataRemocao(LocalDateTime.now().minusDays(31));
+        tombstoneRepository.save(remocao);
+
+        //execucao
+        int expurgados = service.expurgar();
+
+        //verificacao
+        assertThat(expurgados).isEqualTo(1);
+        assertThat(tombstoneRepository.count()).isZero();
+        assertThatThrownBy(() -> service.alteracoes(usuario.getId(), token, 10))
+                .isInstanceOf(ExpiredChangeTokenException.class);
+        assertThat(service.alteracoes(usuario.getId(), Long.toString(remocao.getSequencia()), 10).getRemovidos()).isEmpty();
+    }
+
+    @Test
+    public void deveRejeitarTokenInvalido() {
+        assertThatThrownBy(() -> service.alteracoes(usuario.getId(), "abc", 10))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("Token de sincronização inválido.");
+    }
+
+    private Launch salvar() {
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        return lancamentoService.salvar(lancamento);
+    }
+
+}
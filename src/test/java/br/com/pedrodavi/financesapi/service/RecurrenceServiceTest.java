@@ -0,0 +1,162 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.index.LaunchDedupIndex;
+import br.com.pedrodavi.financesapi.index.LaunchTagIndex;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.Recurrence;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.RecurrenceRepository;
+import br.com.pedrodavi.financesapi.service.impl.LaunchServiceImpl;
+import br.com.pedrodavi.financesapi.service.impl.RecurrenceServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RecurrenceServiceTest {
+
+    @SpyBean
+    RecurrenceServiceImpl service;
+
+    @SpyBean
+    LaunchServiceImpl lancamentoService;
+
+    @MockBean
+    RecurrenceRepository repository;
+
+    @MockBean
+    LaunchRepository lancamentoRepository;
+
+    @MockBean
+    LaunchTagIndex indice;
+
+    @MockBean
+    LaunchDedupIndex deduplicacao;
+
+    @MockBean
+    TagService tagService;
+
+    @MockBean
+    ExchangeRates cambio;
+
+    @MockBean
+    BudgetService orcamentoService;
+
+    @Test
+    public void deveGerarAsOcorrenciasMensaisAtravessandoOAno() {
+        //cenário
+        Recurrence recorrencia = criarRecorrencia();
+        recorrencia.setId(1l);
+
+        //execucao
+        List<Launch> ocorrencias = service.gerarOcorrencias(recorrencia);
+
+        //verificacao
+        assertThat(ocorrencias).hasSize(3);
+        assertThat(ocorrencias).extracting(Launch::getMes).containsExactly(11, 12, 1);
+        assertThat(ocorrencias).extracting(Launch::getAno).containsExactly(2020, 2020, 2021);
+        assertThat(ocorrencias).extracting(Launch::getParcela).containsExactly(1, 2, 3);
+        assertThat(ocorrencias).allMatch(l -> l.getIdRecorrencia() == 1l && l.getStatus() == LaunchStatus.PENDENTE);
+    }
+
+    @Test
+    public void deveDividirOValorTotalEmParcelasEGravarEmLote() {
+        //cenário
+        Recurrence recorrencia = criarRecorrencia();
+        recorrencia.setValor(null);
+        recorrencia.setValorTotal(Money.ofCents(1000));
+        when(repository.save(recorrencia)).thenReturn(recorrencia);
+
+        //execucao
+        service.salvar(recorrencia);
+
+        //verificacao
+        ArgumentCaptor<List<Launch>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoRepository).inserirEmLote(captor.capture());
+        assertThat(captor.getValue()).extracting(Launch::getValor)
+                .containsExactly(Money.ofCents(334), Money.ofCents(333), Money.ofCents(333));
+        verify(lancamentoService, times(1)).validar(any(Launch.class));
+    }
+
+    @Test
+    public void naoDeveSalvarRecorrenciaComQuantidadeInvalida() {
+        //cenário
+        Recurrence recorrencia = criarRecorrencia();
+        recorrencia.setQuantidade(0);
+
+        //execucao e verificacao
+        Throwable erro = catchThrowable( () -> service.salvar(recorrencia) );
+        assertThat(erro).isInstanceOf(BusinessRuleException.class);
+        verify(lancamentoRepository, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    public void deveCancelarAsOcorrenciasFuturasEmUmaUnicaInstrucao() {
+        //cenário
+        Recurrence recorrencia = criarRecorrencia();
+        recorrencia.setId(1l);
+        when(lancamentoRepository.atualizarStatusOcorrenciasFuturas(1l, 2021 * 12 + 1, LaunchStatus.PENDENTE, LaunchStatus.CANCELADO, 0l))
+                .thenReturn(1);
+
+        //execucao
+        int cancelados = service.cancelar(recorrencia, 1, 2021);
+
+        //verificacao
+        assertThat(cancelados).isEqualTo(1);
+    }
+
+    @Test
+    public void deveManterADivisaoDasParcelasAoAtualizarUmaRecorrenciaParcelada() {
+        //cenário
+        Recurrence recorrencia = criarParcelada();
+        recorrencia.setDescricao("notebook novo");
+        when(lancamentoRepository.atualizarParcelasFuturas(1l, 2021 * 12 + 1, LaunchStatus.PENDENTE, "notebook novo",
+                null, ReleaseType.DESPESA, 0l)).thenReturn(2);
+
+        //execucao
+        int atualizados = service.atualizar(recorrencia, 1, 2021);
+
+        //verificacao
+        assertThat(atualizados).isEqualTo(2);
+        verify(lancamentoRepository, never()).atualizarOcorrenciasFuturas(anyLong(), anyInt(), any(), any(), any(), any(), any(), any());
+    }
+
+    private static Recurrence criarParcelada() {
+        Recurrence recorrencia = criarRecorrencia();
+        recorrencia.setId(1l);
+        recorrencia.setDescricao("notebook");
+        recorrencia.setParcelado(true);
+        recorrencia.setValorTotal(Money.ofCents(10000));
+        recorrencia.setValor(Money.ofCents(3334));
+        return recorrencia;
+    }
+
+    public static Recurrence criarRecorrencia() {
+        return Recurrence.builder()
+                .descricao("aluguel")
+                .mesInicio(11)
+                .anoInicio(2020)
+                .quantidade(3)
+                .valor(Money.valueOf(100))
+                .tipo(ReleaseType.DESPESA)
+                .usuario(User.builder().id(1l).build())
+                .build();
+    }
+
+}
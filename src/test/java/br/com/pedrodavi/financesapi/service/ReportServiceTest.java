@@ -0,0 +1,139 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
+import br.com.pedrodavi.financesapi.enums.LaunchStatus;
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.enums.ReportStatus;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.event.UserDataVersions;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.ReportJob;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.model.dto.DescriptionTotalDTO;
+import br.com.pedrodavi.financesapi.model.dto.YearlyReportDTO;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.projection.DescriptionTotal;
+import br.com.pedrodavi.financesapi.repository.projection.MonthlyTotal;
+import br.com.pedrodavi.financesapi.service.impl.ReportServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReportServiceTest {
+
+    LaunchRepository repository = mock(LaunchRepository.class);
+    UserRepository usuarioRepository = mock(UserRepository.class);
+    UserDataVersions versoes = new UserDataVersions();
+    ExchangeRates cambio = new ExchangeRates(Map.of("BRL", BigDecimal.ONE, "USD", new BigDecimal("5.40")), "BRL");
+    ReportServiceImpl service = new ReportServiceImpl(repository, usuarioRepository, versoes, cambio, 1, 10, 10);
+
+    @Test
+    public void deveConsolidarOsTotaisMensais() {
+        //cenário
+        when(usuarioRepository.findById(1l)).thenReturn(Optional.of(User.builder().id(1l).moeda("BRL").build()));
+        when(repository.obterTotaisMensais(1l, 2021, LaunchStatus.CANCELADO)).thenReturn(List.of(
+                total(1, ReleaseType.RECEITA, "BRL", Money.valueOf(100), 2),
+                total(1, ReleaseType.RECEITA, "USD", Money.valueOf(10), 1),
+                total(1, ReleaseType.DESPESA, "BRL", Money.valueOf(30), 1),
+                total(12, ReleaseType.DESPESA, "BRL", Money.valueOf(50), 1)));
+        when(repository.obterTotaisPorDescricao(1l, 2021, ReleaseType.RECEITA, LaunchStatus.CANCELADO)).thenReturn(List.of(
+                descricao("salario", "BRL", Money.valueOf(100), 2),
+                descricao("freela", "USD", Money.valueOf(10), 1),
+                descricao("freela", "BRL", Money.valueOf(60), 1)));
+
+        //execucao
+        YearlyReportDTO relatorio = service.gerar(1l, 2021);
+
+        //verificacao
+        assertThat(relatorio.getMeses()).hasSize(12);
+        assertThat(relatorio.getMoeda()).isEqualTo("BRL");
+        assertThat(relatorio.getMeses().get(0).getSaldo()).isEqualTo(Money.valueOf(124));
+        assertThat(relatorio.getMeses().get(0).getQuantidade()).isEqualTo(4);
+        assertThat(relatorio.getMeses().get(11).getSaldo()).isEqualTo(Money.valueOf(-50));
+        assertThat(relatorio.getSaldo()).isEqualTo(Money.valueOf(74));
+        assertThat(relatorio.getMaioresReceitas()).extracting(DescriptionTotalDTO::getDescricao, DescriptionTotalDTO::getTotal)
+                .containsExactly(tuple("freela", Money.valueOf(114)), tuple("salario", Money.valueOf(100)));
+    }
+
+    @Test
+    public void deveReaproveitarORelatorioEnquantoOsDadosNaoMudarem() {
+        //cenário
+        when(usuarioRepository.findById(1l)).thenReturn(Optional.of(User.builder().id(1l).moeda("BRL").build()));
+
+        //execucao
+        ReportJob primeiro = service.solicitar(1l, 2021);
+        aguardar(primeiro);
+        ReportJob segundo = service.solicitar(1l, 2021);
+
+        //verificacao
+        assertThat(segundo).isSameAs(primeiro);
+        assertThat(segundo.getStatus()).isEqualTo(ReportStatus.CONCLUIDO);
+        verify(repository, times(1)).obterTotaisMensais(1l, 2021, LaunchStatus.CANCELADO);
+
+        //execucao apos alteracao dos dados
+        versoes.aoAlterarLancamento(LaunchEvent.lote(1l));
+        ReportJob terceiro = service.solicitar(1l, 2021);
+        aguardar(terceiro);
+
+        //verificacao
+        assertThat(terceiro).isNotSameAs(primeiro);
+        verify(repository, times(2)).obterTotaisMensais(1l, 2021, LaunchStatus.CANCELADO);
+        verify(repository, times(4)).obterTotaisPorDescricao(eq(1l), eq(2021), any(ReleaseType.class), eq(LaunchStatus.CANCELADO));
+    }
+
+    @Test
+    public void deveFalharOJobQuandoOUsuarioNaoExiste() {
+        //cenário
+        when(usuarioRepository.findById(1l)).thenReturn(Optional.empty());
+
+        //execucao
+        ReportJob job = service.solicitar(1l, 2021);
+        aguardar(job);
+
+        //verificacao
+        assertThat(job.getStatus()).isEqualTo(ReportStatus.ERRO);
+        verify(repository, never()).obterTotaisMensais(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    public void naoDeveAceitarAnoInvalido() {
+        Throwable erro = catchThrowable( () -> service.solicitar(1l, 21) );
+        assertThat(erro).isInstanceOf(BusinessRuleException.class).hasMessage("Informe um Ano válido.");
+    }
+
+    private static void aguardar(ReportJob job) {
+        long limite = System.currentTimeMillis() + 5000;
+        while (job.getStatus() == ReportStatus.PROCESSANDO && System.currentTimeMillis() < limite) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static MonthlyTotal total(int mes, ReleaseType tipo, String moeda, Money valor, long quantidade) {
+        return new MonthlyTotal() {
+            public Integer getMes() { return mes; }
+            public ReleaseType getTipo() { return tipo; }
+            public String getMoeda() { return moeda; }
+            public Money getTotal() { return valor; }
+            public Long getQuantidade() { return quantidade; }
+        };
+    }
+
+    private static DescriptionTotal descricao(String descricao, String moeda, Money valor, long quantidade) {
+        return new DescriptionTotal() {
+            public String getDescricao() { return descricao; }
+            public ReleaseType getTipo() { return ReleaseType.RECEITA; }
+            public String getMoeda() { return moeda; }
+            public Money getTotal() { return valor; }
+            public Long getQuantidade() { return quantidade; }
+        };
+    }
+
+}
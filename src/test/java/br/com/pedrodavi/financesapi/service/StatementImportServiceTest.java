@@ -0,0 +1,151 @@
+package br.com.pedrodavi.financesapi.service;
+
+import br.com.pedrodavi.financesapi.enums.ImportStatus;
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+import br.com.pedrodavi.financesapi.event.LaunchEvent;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.ImportJob;
+import br.com.pedrodavi.financesapi.model.ImportResult;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.service.impl.StatementImportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StatementImportServiceTest {
+
+    LaunchService lancamentoService = mock(LaunchService.class);
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    StatementImportServiceImpl service = new StatementImportServiceImpl(lancamentoService, publisher, 2, 3, 2, 10);
+    User usuario = User.builder().id(1L).build();
+    List<Integer> lotes = new ArrayList<>();
+
+    @Test
+    public void deveGravarEmLotesNaOrdemDoArquivoEReportarErrosPorLinha() {
+        //cenário
+        gravarLotes();
+        String csv = csv(10, 4, 7, 8);
+
+        //execucao
+        ImportJob job = service.importar(usuario, StatementFormat.CSV, entrada(csv), StandardCharsets.UTF_8, null);
+
+        //verificacao
+        assertThat(job.getStatus()).isEqualTo(ImportStatus.CONCLUIDO);
+        assertThat(job.getRegistrosConfirmados()).isEqualTo(10);
+        assertThat(job.getImportados()).isEqualTo(7);
+        assertThat(job.getInvalidos()).isEqualTo(3);
+        // só os dois primeiros erros são guardados
+        assertThat(job.getErros()).extracting(e -> e.getLinha()).containsExactly(5, 8);
+        assertThat(lotes).containsExactly(3, 2, 1, 1);
+        assertThat(service.obterPorId(job.getId())).contains(job);
+        // um único aviso para a importação inteira
+        verify(lancamentoService, never()).importar(anyList());
+        verify(publisher, times(1)).publishEvent(any(LaunchEvent.class));
+    }
+
+    @Test
+    public void deveRetomarAPartirDoPrimeiroLoteNaoConfirmado() {
+        //cenário
+        when(lancamentoService.importar(anyList(), eq(false)))
+                .thenAnswer(i -> resultado(i.getArgument(0)))
+                .thenThrow(new BusinessRuleException("Lançamentos importados ao mesmo tempo por outra requisição. Tente novamente."))
+                .thenAnswer(i -> resultado(i.getArgument(0)));
+        String csv = csv(7);
+
+        //execucao
+        ImportJob interrompido = service.importar(usuario, StatementFormat.CSV, entrada(csv), StandardCharsets.UTF_8, null);
+        int confirmados = interrompido.getRegistrosConfirmados();
+        ImportStatus statusInterrompido = interrompido.getStatus();
+        ImportJob retomado = service.importar(usuario, StatementFormat.CSV, entrada(csv), StandardCharsets.UTF_8, interrompido.getId());
+
+        //verificacao
+        assertThat(statusInterrompido).isEqualTo(ImportStatus.INTERROMPIDO);
+        assertThat(confirmados).isEqualTo(3);
+        assertThat(retomado.getId()).isEqualTo(interrompido.getId());
+        assertThat(retomado.getStatus()).isEqualTo(ImportStatus.CONCLUIDO);
+        assertThat(retomado.getRegistrosConfirmados()).isEqualTo(7);
+        assertThat(retomado.getImportados()).isEqualTo(7);
+        verify(publisher, times(2)).publishEvent(any(LaunchEvent.class));
+    }
+
+    @Test
+    public void naoDeveRetomarImportacaoConcluidaOuDeOutroUsuario() {
+        //cenário
+        gravarLotes();
+        ImportJob job = service.importar(usuario, StatementFormat.CSV, entrada(csv(1)), StandardCharsets.UTF_8, null);
+
+        //execucao e verificacao
+        assertThatThrownBy(() -> service.importar(usuario, StatementFormat.CSV, entrada(csv(1)), StandardCharsets.UTF_8, job.getId()))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> service.importar(User.builder().id(2L).build(), StatementFormat.CSV, entrada(csv(1)), StandardCharsets.UTF_8, job.getId()))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    public void deveInterromperQuandoALeituraFalhar() {
+        //cenário
+        gravarLotes();
+        InputStream quebrada = new InputStream() {
+            final InputStream inicio = entrada(csv(4));
+            @Override
+            public int read() throws IOException {
+                int c = inicio.read();
+                if(c == -1) {
+                    throw new IOException("conexão encerrada");
+                }
+                return c;
+            }
+        };
+
+        //execucao
+        ImportJob job = service.importar(usuario, StatementFormat.CSV, quebrada, StandardCharsets.UTF_8, null);
+
+        //verificacao
+        assertThat(job.getStatus()).isEqualTo(ImportStatus.INTERROMPIDO);
+        assertThat(job.getErro()).isNotNull();
+    }
+
+    private void gravarLotes() {
+        when(lancamentoService.importar(anyList(), eq(false))).thenAnswer(i -> {
+            List<Launch> lote = i.getArgument(0);
+            lotes.add(lote.size());
+            return resultado(lote);
+        });
+    }
+
+    private static ImportResult resultado(List<Launch> lote) {
+        return new ImportResult(lote.size(), 0);
+    }
+
+    /**
+     * CSV com {@code linhas} registros; os números informados em {@code invalidas} (contando
+     * do 1) recebem um valor inválido.
+     */
+    private static String csv(int linhas, int... invalidas) {
+        StringBuilder csv = new StringBuilder("data;descricao;valor\n");
+        for(int i = 1; i <= linhas; i++) {
+            boolean invalida = false;
+            for(int n : invalidas) {
+                invalida |= n == i;
+            }
+            csv.append("05/01/2021;lancamento ").append(i).append(';').append(invalida ? "x" : "-10,00").append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static InputStream entrada(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
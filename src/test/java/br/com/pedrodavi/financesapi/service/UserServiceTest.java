@@ -1,23 +1,34 @@
 package br.com.pedrodavi.financesapi.service;
 
+import br.com.pedrodavi.financesapi.currency.ExchangeRates;
 import br.com.pedrodavi.financesapi.exception.AuthError;
 import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.index.EmailIndex;
+import br.com.pedrodavi.financesapi.invalidation.InvalidationBus;
 import br.com.pedrodavi.financesapi.model.User;
 import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.repository.ShardDirectoryRepository;
 import br.com.pedrodavi.financesapi.service.impl.UserServiceImpl;
+import br.com.pedrodavi.financesapi.sharding.ShardDirectory;
+import br.com.pedrodavi.financesapi.sharding.ShardProperties;
+import br.com.pedrodavi.financesapi.sharding.ShardRouter;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
+@Import({ ShardProperties.class, ShardRouter.class, ShardDirectory.class })
 public class UserServiceTest {
 
     @SpyBean
@@ -26,6 +37,24 @@ public class UserServiceTest {
     @MockBean
     UserRepository repository;
 
+    @MockBean
+    InvalidationBus invalidacao;
+
+    @MockBean
+    ShardDirectoryRepository diretorioRepository;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @MockBean
+    EmailIndex emails;
+
+    @MockBean
+    ExchangeRates cambio;
+
+    @MockBean
+    BudgetService orcamentoService;
+
     @Test
     public void deveSalvarUmUsuario() {
         //cenário
@@ -72,7 +101,7 @@ public class UserServiceTest {
         String senha = "senha";
 
         User usuario = User.builder().email(email).senha(senha).id(1l).build();
-        Mockito.when( repository.findByEmail(email) ).thenReturn(Optional.of(usuario));
+        Mockito.when( repository.findByEmailIgnoreCase(email) ).thenReturn(Optional.of(usuario));
 
         //acao
         User result = service.autenticar(email, senha);
@@ -86,7 +115,7 @@ public class UserServiceTest {
     public void deveLancarErroQUandoNaoEncontrarUsuarioCadastradoComOEmailInformado() {
 
         //cenário
-        Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(repository.findByEmailIgnoreCase(Mockito.anyString())).thenReturn(Optional.empty());
 
         //acao
         Throwable exception = Assertions.catchThrowable( () -> service.autenticar("email@email.com", "senha") );
@@ -102,7 +131,7 @@ public class UserServiceTest {
         //cenario
         String senha = "senha";
         User usuario = User.builder().email("email@email.com").senha(senha).build();
-        Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
+        Mockito.when(repository.findByEmailIgnoreCase(Mockito.anyString())).thenReturn(Optional.of(usuario));
 
         //acao
         Throwable exception = Assertions.catchThrowable( () ->  service.autenticar("email@email.com", "123") );
@@ -113,7 +142,7 @@ public class UserServiceTest {
     @Test
     public void deveValidarEmail() {
         // cenario
-        Mockito.when(repository.existsByEmail(Mockito.anyString())).thenReturn(false);
+        Mockito.when(repository.existsByEmailIgnoreCase(Mockito.anyString())).thenReturn(false);
 
         //acao
         service.validarEmail("email@email.com");
@@ -122,11 +151,117 @@ public class UserServiceTest {
     @Test
     public void deveLancarErroAoValidarEmailQuandoExistirEmailCadastrado() {
         //cenario
-        Mockito.when(repository.existsByEmail(Mockito.anyString())).thenReturn(true);
+        Mockito.when(repository.existsByEmailIgnoreCase(Mockito.anyString())).thenReturn(true);
 
         //acao
         org.junit.jupiter.api.Assertions
                 .assertThrows(BusinessRuleException.class, () -> service.validarEmail("email@email.com"));
     }
 
+    @Test
+    public void naoDeveConsultarOBancoQuandoOIndiceGarantirQueOEmailNaoExiste() {
+        //cenário
+        Mockito.when(emails.certamenteAusente("email@email.com")).thenReturn(true);
+
+        //acao
+        Throwable exception = Assertions.catchThrowable( () -> service.autenticar(" Email@Email.com ", "senha") );
+        service.validarEmail("EMAIL@email.com");
+
+        //verificacao
+        Assertions.assertThat(exception).isInstanceOf(AuthError.class);
+        Mockito.verify(repository, Mockito.never()).findByEmailIgnoreCase(Mockito.anyString());
+        Mockito.verify(repository, Mockito.never()).existsByEmailIgnoreCase(Mockito.anyString());
+    }
+
+    @Test
+    public void deveAutenticarPeloIdQuandoOEmailFoiUsadoRecentemente() {
+        //cenário
+        User usuario = User.builder().id(1l).email("email@email.com").senha("senha").build();
+        Mockito.when(emails.idConhecido("email@email.com")).thenReturn(Optional.of(1l));
+        Mockito.when(repository.findById(1l)).thenReturn(Optional.of(usuario));
+
+        //acao
+        User result = service.autenticar("email@email.com", "senha");
+
+        //verificacao
+        Assertions.assertThat(result).isSameAs(usuario);
+        Mockito.verify(repository, Mockito.never()).findByEmailIgnoreCase(Mockito.anyString());
+    }
+
+    @Test
+    public void deveAutenticarPeloIdUmUsuarioGravadoComMaiusculas() {
+        //cenário
+        User usuario = User.builder().id(1l).email("Email@Email.com").senha("senha").build();
+        Mockito.when(emails.idConhecido("email@email.com")).thenReturn(Optional.of(1l));
+        Mockito.when(repository.findById(1l)).thenReturn(Optional.of(usuario));
+
+        //acao
+        User result = service.autenticar("email@email.com", "senha");
+
+        //verificacao
+        Assertions.assertThat(result).isSameAs(usuario);
+        Mockito.verify(repository, Mockito.never()).findByEmailIgnoreCase(Mockito.anyString());
+    }
+
+    @Test
+    public void naoDeveTraduzirViolacaoDeOutraRestricao() {
+        //cenário
+        DataIntegrityViolationException violacao = new DataIntegrityViolationException("null value in column \"nome\"");
+        Mockito.when(emails.certamenteAusente("email@email.com")).thenReturn(true);
+        Mockito.when(repository.save(Mockito.any(User.class))).thenThrow(violacao);
+        User usuario = User.builder().email("email@email.com").build();
+
+        //acao
+        Throwable exception = Assertions.catchThrowable( () -> service.salvarUsuario(usuario) );
+
+        //verificacao
+        Assertions.assertThat(exception).isSameAs(violacao);
+    }
+
+    @Test
+    public void deveTraduzirAViolacaoDoIndiceUnicoDeEmail() {
+        //cenário
+        Mockito.when(emails.certamenteAusente("email@email.com")).thenReturn(true);
+        Mockito.when(repository.save(Mockito.any(User.class))).thenThrow(new DataIntegrityViolationException("uk_usuario_email"));
+        User usuario = User.builder().email("Email@Email.com").build();
+
+        //acao
+        Throwable exception = Assertions.catchThrowable( () -> service.salvarUsuario(usuario) );
+
+        //verificacao
+        Assertions.assertThat(exception)
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("Já existe um usuário cadastrado com este email.");
+        Assertions.assertThat(usuario.getEmail()).isEqualTo("email@email.com");
+    }
+
+    @Test
+    public void naoDeveSalvarUmUsuarioComMoedaSemCotacao() {
+        //cenário
+        Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+        User usuario = User.builder().email("email@email.com").moeda("xyz").build();
+
+        //acao
+        Throwable exception = Assertions.catchThrowable( () -> service.salvarUsuario(usuario) );
+
+        //verificacao
+        Assertions.assertThat(exception).isInstanceOf(BusinessRuleException.class).hasMessage("Moeda não suportada: xyz.");
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any(User.class));
+    }
+
+    @Test
+    public void deveAtualizarAMoedaERecalcularOsOrcamentos() {
+        //cenário
+        User usuario = User.builder().id(1l).email("email@email.com").moeda("BRL").build();
+        Mockito.when(cambio.suporta("USD")).thenReturn(true);
+        Mockito.when(repository.save(usuario)).thenReturn(usuario);
+
+        //acao
+        User atualizado = service.atualizarMoeda(usuario, " usd ");
+
+        //verificacao
+        Assertions.assertThat(atualizado.getMoeda()).isEqualTo("USD");
+        Mockito.verify(orcamentoService).recalcular(1l);
+    }
+
 }
@@ -0,0 +1,165 @@
+package br.com.pedrodavi.financesapi.sharding;
+
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.User;
+import br.com.pedrodavi.financesapi.repository.LaunchRepository;
+import br.com.pedrodavi.financesapi.repository.LaunchRepositoryTest;
+import br.com.pedrodavi.financesapi.repository.LaunchTombstoneRepository;
+import br.com.pedrodavi.financesapi.repository.ShardDirectoryRepository;
+import br.com.pedrodavi.financesapi.repository.UserRepository;
+import br.com.pedrodavi.financesapi.service.LaunchService;
+import br.com.pedrodavi.financesapi.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Três bancos H2 em memória, um por shard.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "finances.shards.habilitado=true",
+        "finances.shards.fontes[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS finances",
+        "finances.shards.fontes[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS finances",
+        "finances.shards.fontes[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS finances",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ShardRoutingTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ShardRouter router;
+
+    @Autowired
+    ShardRoutingDataSource shards;
+
+    @Autowired
+    UserService usuarioService;
+
+    @Autowired
+    LaunchService lancamentoService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LaunchRepository launchRepository;
+
+    @Autowired
+    LaunchTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    ShardDirectoryRepository diretorioRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    List<User> usuarios = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        // um usuário por shard
+        for(int i = 0; usuarios.size() < router.quantidade(); i++) {
+            String email = "usuario" + i + "@email.com";
+            if(router.shardDoEmail(email) == usuarios.size()) {
+                usuarios.add(usuarioService.salvarUsuario(User.builder().nome("usuario").email(email).senha("senha").build()));
+            }
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        router.emTodos(shard -> {
+            launchRepository.deleteAllInBatch();
+            tombstoneRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+            diretorioRepository.deleteAllInBatch();
+            return null;
+        });
+        ShardContext.limpar();
+    }
+
+    @Test
+    public void deveGravarCadaUsuarioNoShardDoEmail() {
+        for(int shard = 0; shard < router.quantidade(); shard++) {
+            User usuario = usuarios.get(shard);
+
+            //verificacao
+            assertThat(usuario.getId()).isGreaterThanOrEqualTo(ShardRouter.primeiroId(shard));
+            assertThat(router.shardDoId(usuario.getId())).isEqualTo(shard);
+            assertThat(new JdbcTemplate(shards.fonte(shard)).queryForObject(
+                    "select count(*) from finances.usuario where id = ?", Long.class, usuario.getId())).isEqualTo(1L);
+        }
+        // o diretório fica só no shard principal
+        assertThat(new JdbcTemplate(shards.fonte(ShardRouter.PRINCIPAL)).queryForObject(
+                "select count(*) from finances.diretorio_usuario", Long.class)).isEqualTo(3L);
+        assertThat(new JdbcTemplate(shards.fonte(1)).queryForObject(
+                "select count(*) from finances.diretorio_usuario", Long.class)).isZero();
+    }
+
+    @Test
+    public void deveAutenticarEValidarEmailPeloDiretorio() {
+        //cenário
+        User usuario = usuarios.get(2);
+
+        //execucao
+        User autenticado = usuarioService.autenticar(usuario.getEmail(), "senha");
+
+        //verificacao
+        assertThat(autenticado.getId()).isEqualTo(usuario.getId());
+        assertThatThrownBy(() -> usuarioService.validarEmail(usuario.getEmail())).isInstanceOf(BusinessRuleException.class);
+        assertThatCode(() -> usuarioService.validarEmail("outro@email.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void deveRotearOsLancamentosPeloUsuario() throws Exception {
+        //cenário
+        User usuario = usuarios.get(1);
+        Launch lancamento = LaunchRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+
+        //execucao
+        Launch salvo = lancamentoService.salvar(lancamento);
+        ShardContext.limpar();
+
+        //verificacao
+        assertThat(router.shardDoId(salvo.getId())).isEqualTo(1);
+        assertThat(lancamentoService.obterPorId(salvo.getId())).isPresent();
+        mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos").param("usuario", usuario.getId().toString()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(salvo.getId()));
+        assertThat(router.emTodos(shard -> launchRepository.count())).containsExactly(0L, 1L, 0L);
+    }
+
+    @Test
+    public void naoDeveAtravessarShardsNaMesmaTransacao() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> transacao.executeWithoutResult(status -> {
+            userRepository.findById(usuarios.get(0).getId());
+            userRepository.findById(usuarios.get(2).getId());
+        })).isInstanceOf(IllegalStateException.class).hasMessageContaining("dentro de uma transação do shard 0");
+    }
+
+}
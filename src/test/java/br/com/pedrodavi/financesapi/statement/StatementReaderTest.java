@@ -0,0 +1,124 @@
+package br.com.pedrodavi.financesapi.statement;
+
+import br.com.pedrodavi.financesapi.enums.ReleaseType;
+import br.com.pedrodavi.financesapi.enums.StatementFormat;
+import br.com.pedrodavi.financesapi.exception.BusinessRuleException;
+import br.com.pedrodavi.financesapi.model.Launch;
+import br.com.pedrodavi.financesapi.model.Money;
+import br.com.pedrodavi.financesapi.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class StatementReaderTest {
+
+    @Test
+    public void deveLerCsvComSeparadorPontoEVirgulaEAspas() throws IOException {
+        //cenário
+        String csv = "\uFEFFData;Histórico;Valor;Moeda\n"
+                + "05/01/2021;\"Mercado; filial 2\";-1.234,56;brl\n"
+                + "\n"
+                + "06/01/2021;\"Salário \"\"janeiro\"\"\";5000,00\n";
+
+        //execucao
+        List<StatementRecord> registros = ler(StatementFormat.CSV, csv, StandardCharsets.UTF_8);
+
+        //verificacao
+        assertThat(registros).hasSize(2);
+        assertThat(registros.get(0).getLinha()).isEqualTo(2);
+        assertThat(registros.get(0).getDescricao()).isEqualTo("Mercado; filial 2");
+        assertThat(registros.get(0).getValor()).isEqualTo("-1.234,56");
+        assertThat(registros.get(0).getMoeda()).isEqualTo("brl");
+        assertThat(registros.get(1).getLinha()).isEqualTo(4);
+        assertThat(registros.get(1).getDescricao()).isEqualTo("Salário \"janeiro\"");
+        assertThat(registros.get(1).getMoeda()).isNull();
+    }
+
+    @Test
+    public void deveRecusarCsvSemAsColunasObrigatorias() {
+        assertThatThrownBy(() -> ler(StatementFormat.CSV, "data,valor\n2021-01-05,10.00\n", StandardCharsets.UTF_8))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    public void deveLerOfxSgmlEXml() throws IOException {
+        //cenário
+        String sgml = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><CURDEF>BRL\n<BANKTRANLIST>\n"
+                + "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20210105120000[-3:BRT]\n<TRNAMT>-45.90\n<FITID>1\n<MEMO>Padaria &amp; Cia\n</STMTTRN>\n"
+                + "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20210110<TRNAMT>1500,00<NAME>PIX RECEBIDO</STMTTRN>\n"
+                + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+        String xml = "<?xml version=\"1.0\"?><OFX><CURDEF>USD</CURDEF><STMTTRN><DTPOSTED>20210301</DTPOSTED>"
+                + "<TRNAMT>-10.00</TRNAMT><MEMO>Coffee</MEMO></STMTTRN></OFX>";
+
+        //execucao
+        List<StatementRecord> registrosSgml = ler(StatementFormat.OFX, sgml, StandardCharsets.ISO_8859_1);
+        List<StatementRecord> registrosXml = ler(StatementFormat.OFX, xml, StandardCharsets.UTF_8);
+
+        //verificacao
+        assertThat(registrosSgml).extracting(StatementRecord::getLinha).containsExactly(1, 2);
+        assertThat(registrosSgml.get(0).getDescricao()).isEqualTo("Padaria & Cia");
+        assertThat(registrosSgml.get(0).getData()).isEqualTo("20210105120000[-3:BRT]");
+        assertThat(registrosSgml.get(0).getValor()).isEqualTo("-45.90");
+        assertThat(registrosSgml.get(0).getMoeda()).isEqualTo("BRL");
+        assertThat(registrosSgml.get(0).getIdentificador()).isEqualTo("1");
+        assertThat(registrosSgml.get(1).getIdentificador()).isNull();
+        assertThat(registrosSgml.get(1).getDescricao()).isEqualTo("PIX RECEBIDO");
+        assertThat(registrosXml).hasSize(1);
+        assertThat(registrosXml.get(0).getDescricao()).isEqualTo("Coffee");
+        assertThat(registrosXml.get(0).getMoeda()).isEqualTo("USD");
+    }
+
+    @Test
+    public void deveConverterRegistroEmLancamento() {
+        //cenário
+        User usuario = User.builder().id(1L).build();
+        StatementRecord despesa = new StatementRecord(2, "20210105120000", "Padaria", "-45,90", null, "brl", null);
+        StatementRecord receita = new StatementRecord(3, "2021-02-10", "Estorno", "10.00", "despesa", null, "abc");
+
+        //execucao
+        Launch lancamentoDespesa = StatementMapper.converter(despesa, usuario, 2);
+        Launch lancamentoReceita = StatementMapper.converter(receita, usuario, 1);
+
+        //verificacao
+        assertThat(lancamentoDespesa.getTipo()).isEqualTo(ReleaseType.DESPESA);
+        assertThat(lancamentoDespesa.getValor()).isEqualTo(Money.ofCents(4590));
+        assertThat(lancamentoDespesa.getMes()).isEqualTo(1);
+        assertThat(lancamentoDespesa.getAno()).isEqualTo(2021);
+        assertThat(lancamentoDespesa.getMoeda()).isEqualTo("BRL");
+        assertThat(lancamentoReceita.getTipo()).isEqualTo(ReleaseType.DESPESA);
+        assertThat(lancamentoReceita.getMes()).isEqualTo(2);
+        assertThat(lancamentoDespesa.getReferenciaImportacao()).isEqualTo("2021-01-05#2");
+        assertThat(lancamentoReceita.getReferenciaImportacao()).isEqualTo("fitid:abc");
+    }
+
+    @Test
+    public void deveInterpretarValoresEDatasDosBancos() {
+        assertThat(StatementMapper.valor("R$ 1.234,56")).isEqualByComparingTo(new BigDecimal("1234.56"));
+        assertThat(StatementMapper.valor("1,234.56")).isEqualByComparingTo(new BigDecimal("1234.56"));
+        assertThat(StatementMapper.valor("-0,05")).isEqualByComparingTo(new BigDecimal("-0.05"));
+        assertThat(StatementMapper.data("31/12/2020")).isEqualTo(LocalDate.of(2020, 12, 31));
+        assertThatThrownBy(() -> StatementMapper.valor("dez reais")).isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> StatementMapper.data("31/02/2020")).isInstanceOf(BusinessRuleException.class);
+    }
+
+    private static List<StatementRecord> ler(StatementFormat formato, String conteudo, Charset charset) throws IOException {
+        List<StatementRecord> registros = new ArrayList<>();
+        try(StatementReader leitor = StatementReader.de(formato, new ByteArrayInputStream(conteudo.getBytes(charset)), charset)) {
+            StatementRecord registro;
+            while ((registro = leitor.proximo()) != null) {
+                registros.add(registro);
+            }
+        }
+        return registros;
+    }
+
+}